@@ -0,0 +1,92 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.FileVisitResult;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Random;
+
+/**
+ * Helper methods to create and remove the files used by the benchmarks.
+ */
+public final class BenchmarkFiles {
+
+	private static final int WRITE_CHUNK_SIZE = 1024 * 1024;
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray( );
+
+	private BenchmarkFiles( ) {
+	}
+
+	public static Path createTemporaryDirectory( ) throws IOException {
+		return Files.createTempDirectory( "maven-sha-validator-benchmark" );
+	}
+
+	/**
+	 * Writes a file with random content.
+	 *
+	 * @param file   The file.
+	 * @param size   The size of the file in bytes.
+	 * @param random The source of the content.
+	 *
+	 * @return The digest of the written content for the given algorithm as hex
+	 *         string.
+	 */
+	public static String writeRandomFile( final Path file, final long size, final Random random, final String algorithm ) throws IOException {
+		final MessageDigest messageDigest = createMessageDigest( algorithm );
+		final byte[] chunk = new byte[(int) Math.min( WRITE_CHUNK_SIZE, size )];
+		try ( OutputStream outputStream = Files.newOutputStream( file ) ) {
+			long remaining = size;
+			while ( remaining > 0 ) {
+				final int length = (int) Math.min( chunk.length, remaining );
+				random.nextBytes( chunk );
+				outputStream.write( chunk, 0, length );
+				messageDigest.update( chunk, 0, length );
+				remaining -= length;
+			}
+		}
+		return toHex( messageDigest.digest( ) );
+	}
+
+	public static void deleteRecursively( final Path directory ) throws IOException {
+		if ( directory == null || !Files.exists( directory ) ) {
+			return;
+		}
+		Files.walkFileTree( directory, new SimpleFileVisitor<Path>( ) {
+
+			@Override
+			public FileVisitResult visitFile( final Path file, final BasicFileAttributes attributes ) throws IOException {
+				Files.delete( file );
+				return FileVisitResult.CONTINUE;
+			}
+
+			@Override
+			public FileVisitResult postVisitDirectory( final Path dir, final IOException exception ) throws IOException {
+				Files.delete( dir );
+				return FileVisitResult.CONTINUE;
+			}
+
+		} );
+	}
+
+	public static String toHex( final byte[] bytes ) {
+		final StringBuilder builder = new StringBuilder( bytes.length * 2 );
+		for ( final byte b : bytes ) {
+			builder.append( HEX_DIGITS[( b >> 4 ) & 0xF] ).append( HEX_DIGITS[b & 0xF] );
+		}
+		return builder.toString( );
+	}
+
+	private static MessageDigest createMessageDigest( final String algorithm ) {
+		try {
+			return MessageDigest.getInstance( algorithm );
+		} catch ( final NoSuchAlgorithmException ex ) {
+			throw new IllegalArgumentException( ex );
+		}
+	}
+
+}
@@ -0,0 +1,104 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Properties;
+
+/**
+ * The statistics of a repository created by the {@link RepositoryGenerator}.
+ * They can be stored next to the repository, so that a large repository has to
+ * be generated only once.
+ */
+public final class GeneratedRepository {
+
+	private long artifactCount;
+	private long totalBytes;
+	private long invalidArtifactCount;
+	private long hardlinkCount;
+
+	void addArtifact( final long size ) {
+		artifactCount++;
+		totalBytes += size;
+	}
+
+	void addInvalidArtifact( ) {
+		invalidArtifactCount++;
+	}
+
+	void addHardlink( ) {
+		hardlinkCount++;
+	}
+
+	/**
+	 * @return The number of poms and jars.
+	 */
+	public long getArtifactCount( ) {
+		return artifactCount;
+	}
+
+	/**
+	 * @return The total size of the poms and jars in bytes. Hardlinked jars are
+	 *         counted for every path, as the validator reads them for every path.
+	 */
+	public long getTotalBytes( ) {
+		return totalBytes;
+	}
+
+	/**
+	 * @return The number of poms and jars with a corrupt or missing SHA1 file.
+	 */
+	public long getInvalidArtifactCount( ) {
+		return invalidArtifactCount;
+	}
+
+	public long getHardlinkCount( ) {
+		return hardlinkCount;
+	}
+
+	public void store( final Path file, final String layout ) throws IOException {
+		final Properties properties = new Properties( );
+		properties.setProperty( "layout", layout );
+		properties.setProperty( "artifactCount", Long.toString( artifactCount ) );
+		properties.setProperty( "totalBytes", Long.toString( totalBytes ) );
+		properties.setProperty( "invalidArtifactCount", Long.toString( invalidArtifactCount ) );
+		properties.setProperty( "hardlinkCount", Long.toString( hardlinkCount ) );
+		try ( Writer writer = Files.newBufferedWriter( file, StandardCharsets.UTF_8 ) ) {
+			properties.store( writer, "Generated by the RepositoryGenerator" );
+		}
+	}
+
+	/**
+	 * Loads the stored statistics.
+	 *
+	 * @param file   The file with the statistics.
+	 * @param layout The description of the expected layout.
+	 *
+	 * @return The statistics, or null if the file does not exist or the
+	 *         repository has been generated with a different layout.
+	 */
+	public static GeneratedRepository load( final Path file, final String layout ) throws IOException {
+		if ( !Files.isRegularFile( file ) ) {
+			return null;
+		}
+
+		final Properties properties = new Properties( );
+		try ( Reader reader = Files.newBufferedReader( file, StandardCharsets.UTF_8 ) ) {
+			properties.load( reader );
+		}
+		if ( !layout.equals( properties.getProperty( "layout" ) ) ) {
+			return null;
+		}
+
+		final GeneratedRepository repository = new GeneratedRepository( );
+		repository.artifactCount = Long.parseLong( properties.getProperty( "artifactCount" ) );
+		repository.totalBytes = Long.parseLong( properties.getProperty( "totalBytes" ) );
+		repository.invalidArtifactCount = Long.parseLong( properties.getProperty( "invalidArtifactCount" ) );
+		repository.hardlinkCount = Long.parseLong( properties.getProperty( "hardlinkCount" ) );
+		return repository;
+	}
+
+}
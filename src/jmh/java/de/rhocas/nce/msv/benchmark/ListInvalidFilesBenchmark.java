@@ -0,0 +1,99 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.rhocas.nce.msv.adapter.cache.NoVerificationCache;
+import de.rhocas.nce.msv.adapter.execution.PlatformThreadExecution;
+import de.rhocas.nce.msv.adapter.filesystem.RealFileSystem;
+import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Calculator;
+import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Extractor;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
+import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.domain.port.CheckpointStore;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.ReadOrder;
+import de.rhocas.nce.msv.domain.port.StructureCheck;
+import de.rhocas.nce.msv.usecase.ListInvalidFiles;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+/**
+ * Measures the whole validation of a generated repository, including the
+ * walk, the extraction and the hashing.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 5 )
+@Measurement( iterations = 5, time = 5 )
+@Fork( 1 )
+public class ListInvalidFilesBenchmark {
+
+	@Param( { "10" } )
+	public int groupCount;
+
+	@Param( { "20" } )
+	public int artifactsPerGroup;
+
+	@Param( { "5" } )
+	public int versionsPerArtifact;
+
+	@Param( { "65536" } )
+	public long jarSize;
+
+	@Param( { "1", "4" } )
+	public int threads;
+
+	private Path directory;
+	private ListInvalidFiles listInvalidFiles;
+
+	@Setup
+	public void setUp( ) throws IOException {
+		directory = BenchmarkFiles.createTemporaryDirectory( );
+		new RepositoryGenerator( groupCount, artifactsPerGroup, versionsPerArtifact, jarSize, 42 ).generate( directory );
+
+		final FileSystem fileSystem = new RealFileSystem( );
+		listInvalidFiles = new ListInvalidFiles( fileSystem, new DefaultSHA1Calculator( fileSystem ), new DefaultSHA1Extractor( fileSystem ), new NoVerificationCache( ), new PlatformThreadExecution( threads ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+	}
+
+	@TearDown
+	public void tearDown( ) throws IOException {
+		BenchmarkFiles.deleteRecursively( directory );
+	}
+
+	@Benchmark
+	public List<File> list( ) {
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
+		return result.get( );
+	}
+
+	@Benchmark
+	public Option<RootDirectoryCannotBeAccessed> stream( final Blackhole blackhole ) {
+		return listInvalidFiles.streamInvalidFiles( directory, TraversalFilter.ALL, invalidFile -> blackhole.consume( invalidFile ) );
+	}
+
+	@Benchmark
+	public Option<RootDirectoryCannotBeAccessed> streamByDirectory( final Blackhole blackhole ) {
+		return listInvalidFiles.streamInvalidFilesByDirectory( directory, TraversalFilter.ALL, invalidFile -> blackhole.consume( invalidFile ), new ValidationStatistics( ) );
+	}
+
+}
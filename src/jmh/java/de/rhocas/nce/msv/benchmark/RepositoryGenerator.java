@@ -0,0 +1,145 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.Random;
+
+/**
+ * Generates a synthetic Maven repository with a pom and a jar per version,
+ * each with a SHA1 file. The content is random, but reproducible for the same
+ * seed. The sizes of the jars follow a log-normal distribution around the
+ * median size, which resembles real repositories with many small and few very
+ * large artifacts. Optionally, some SHA1 files are corrupt or missing and some
+ * jars are hardlinks to the jar of the previous version.
+ */
+public final class RepositoryGenerator {
+
+	private static final long MEDIAN_POM_SIZE = 2 * 1024;
+	private static final double POM_SIZE_SIGMA = 0.5;
+	private static final long MAXIMAL_JAR_SIZE = 1024L * 1024 * 1024;
+
+	private final int groupCount;
+	private final int artifactsPerGroup;
+	private final int versionsPerArtifact;
+	private final long medianJarSize;
+	private final double jarSizeSigma;
+	private final double corruptFraction;
+	private final double missingFraction;
+	private final double hardlinkFraction;
+	private final Random random;
+
+	/**
+	 * Creates a generator for a repository with jars of the same size and only
+	 * valid SHA1 files.
+	 */
+	public RepositoryGenerator( final int groupCount, final int artifactsPerGroup, final int versionsPerArtifact, final long jarSize, final long seed ) {
+		this( groupCount, artifactsPerGroup, versionsPerArtifact, jarSize, 0.0, 0.0, 0.0, 0.0, seed );
+	}
+
+	/**
+	 * Creates a new generator.
+	 *
+	 * @param groupCount          The number of groups.
+	 * @param artifactsPerGroup   The number of artifacts per group.
+	 * @param versionsPerArtifact The number of versions per artifact.
+	 * @param medianJarSize       The median size of the jars in bytes.
+	 * @param jarSizeSigma        The standard deviation of the logarithm of the
+	 *                            jar sizes. 0 means that all jars have the median
+	 *                            size.
+	 * @param corruptFraction     The fraction of artifacts with a wrong SHA1.
+	 * @param missingFraction     The fraction of artifacts without SHA1 file.
+	 * @param hardlinkFraction    The fraction of jars which are hardlinks to the
+	 *                            jar of the previous version.
+	 * @param seed                The seed for the content and the distribution.
+	 */
+	public RepositoryGenerator( final int groupCount, final int artifactsPerGroup, final int versionsPerArtifact, final long medianJarSize, final double jarSizeSigma, final double corruptFraction,
+			final double missingFraction, final double hardlinkFraction, final long seed ) {
+		this.groupCount = groupCount;
+		this.artifactsPerGroup = artifactsPerGroup;
+		this.versionsPerArtifact = versionsPerArtifact;
+		this.medianJarSize = medianJarSize;
+		this.jarSizeSigma = jarSizeSigma;
+		this.corruptFraction = corruptFraction;
+		this.missingFraction = missingFraction;
+		this.hardlinkFraction = hardlinkFraction;
+		random = new Random( seed );
+	}
+
+	/**
+	 * Generates the repository.
+	 *
+	 * @param root The root directory of the repository.
+	 *
+	 * @return The statistics of the generated repository.
+	 */
+	public GeneratedRepository generate( final Path root ) throws IOException {
+		final GeneratedRepository statistics = new GeneratedRepository( );
+		for ( int group = 0; group < groupCount; group++ ) {
+			final Path groupDirectory = root.resolve( "org" ).resolve( "example" ).resolve( "group" + group );
+			for ( int artifact = 0; artifact < artifactsPerGroup; artifact++ ) {
+				final String artifactId = "artifact" + artifact;
+				Path previousJar = null;
+				String previousJarSHA1 = null;
+				for ( int version = 0; version < versionsPerArtifact; version++ ) {
+					final String versionString = MessageFormat.format( "1.{0}.{1}", artifact % 10, version );
+					final Path versionDirectory = groupDirectory.resolve( artifactId ).resolve( versionString );
+					Files.createDirectories( versionDirectory );
+
+					final String baseName = artifactId + '-' + versionString;
+					final Path pom = versionDirectory.resolve( baseName + ".pom" );
+					writeSHA1File( pom, BenchmarkFiles.writeRandomFile( pom, logNormalSize( MEDIAN_POM_SIZE, POM_SIZE_SIGMA ), random, "SHA-1" ), statistics );
+					statistics.addArtifact( Files.size( pom ) );
+
+					final Path jar = versionDirectory.resolve( baseName + ".jar" );
+					final String jarSHA1;
+					if ( previousJar != null && random.nextDouble( ) < hardlinkFraction && createLink( jar, previousJar ) ) {
+						jarSHA1 = previousJarSHA1;
+						statistics.addHardlink( );
+					} else {
+						jarSHA1 = BenchmarkFiles.writeRandomFile( jar, logNormalSize( medianJarSize, jarSizeSigma ), random, "SHA-1" );
+					}
+					writeSHA1File( jar, jarSHA1, statistics );
+					statistics.addArtifact( Files.size( jar ) );
+
+					previousJar = jar;
+					previousJarSHA1 = jarSHA1;
+				}
+			}
+		}
+		return statistics;
+	}
+
+	private long logNormalSize( final long median, final double sigma ) {
+		final double size = median * Math.exp( sigma * random.nextGaussian( ) );
+		return Math.max( 1, Math.min( MAXIMAL_JAR_SIZE, Math.round( size ) ) );
+	}
+
+	private boolean createLink( final Path link, final Path existing ) {
+		try {
+			Files.createLink( link, existing );
+			return true;
+		} catch ( final IOException | UnsupportedOperationException ex ) {
+			// The file system does not support hardlinks. The jar is written as usual.
+			return false;
+		}
+	}
+
+	private void writeSHA1File( final Path file, final String sha1, final GeneratedRepository statistics ) throws IOException {
+		final double dice = random.nextDouble( );
+		if ( dice < missingFraction ) {
+			statistics.addInvalidArtifact( );
+			return;
+		}
+
+		String content = sha1;
+		if ( dice < missingFraction + corruptFraction ) {
+			content = ( sha1.charAt( 0 ) == '0' ? '1' : '0' ) + sha1.substring( 1 );
+			statistics.addInvalidArtifact( );
+		}
+		Files.write( file.resolveSibling( file.getFileName( ) + ".sha1" ), content.getBytes( StandardCharsets.US_ASCII ) );
+	}
+
+}
@@ -0,0 +1,87 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.EnumSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.rhocas.nce.msv.adapter.filesystem.RealFileSystem;
+import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Calculator;
+import de.rhocas.nce.msv.adapter.sha1.MappedSHA1Calculator;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.SHA1Calculator;
+
+/**
+ * Measures the hashing of single files from small poms to large jars. The
+ * files are read from the page cache after the first iteration, so this
+ * measures the CPU side of the hashing rather than the disk.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+@OutputTimeUnit( TimeUnit.MILLISECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class SHA1CalculatorBenchmark {
+
+	@Param( { "1024", "1048576", "67108864", "524288000" } )
+	public long fileSize;
+
+	@Param( { "DEFAULT", "MAPPED" } )
+	public String hashingMode;
+
+	@Param( { "SHA1", "MD5,SHA1,SHA256,SHA512" } )
+	public String algorithms;
+
+	private Path directory;
+	private File file;
+	private Set<ChecksumAlgorithm> checksumAlgorithms;
+	private SHA1Calculator calculator;
+
+	@Setup
+	public void setUp( ) throws IOException {
+		directory = BenchmarkFiles.createTemporaryDirectory( );
+		final Path path = directory.resolve( "artifact.jar" );
+		BenchmarkFiles.writeRandomFile( path, fileSize, new Random( 42 ), "SHA-1" );
+		file = new File( path, "jar", directory );
+
+		checksumAlgorithms = Stream.of( algorithms.split( "," ) )
+				.map( algorithm -> ChecksumAlgorithm.valueOf( algorithm ) )
+				.collect( Collectors.toCollection( ( ) -> EnumSet.noneOf( ChecksumAlgorithm.class ) ) );
+
+		final FileSystem fileSystem = new RealFileSystem( );
+		final SHA1Calculator defaultCalculator = new DefaultSHA1Calculator( fileSystem );
+		calculator = "MAPPED".equals( hashingMode ) ? new MappedSHA1Calculator( fileSystem, defaultCalculator, MappedSHA1Calculator.DEFAULT_MAPPING_THRESHOLD, MappedSHA1Calculator.DEFAULT_WINDOW_SIZE ) : defaultCalculator;
+	}
+
+	@TearDown
+	public void tearDown( ) throws IOException {
+		BenchmarkFiles.deleteRecursively( directory );
+	}
+
+	@Benchmark
+	public Checksums calculate( ) {
+		return calculator.calculate( file, checksumAlgorithms ).get( );
+	}
+
+}
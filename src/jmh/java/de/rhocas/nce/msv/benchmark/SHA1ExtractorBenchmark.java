@@ -0,0 +1,72 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.rhocas.nce.msv.adapter.filesystem.RealFileSystem;
+import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Extractor;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.File;
+
+/**
+ * Measures the lookup and parsing of the checksum files of a single artifact.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class SHA1ExtractorBenchmark {
+
+	@Param( { "SHA1", "MD5,SHA1,SHA256,SHA512" } )
+	public String checksumFiles;
+
+	private Path directory;
+	private File file;
+	private DefaultSHA1Extractor extractor;
+
+	@Setup
+	public void setUp( ) throws IOException {
+		directory = BenchmarkFiles.createTemporaryDirectory( );
+		final Path path = directory.resolve( "artifact-1.0.pom" );
+		for ( final String checksumFile : checksumFiles.split( "," ) ) {
+			// The same seed writes the same content again, but yields the digest for the next algorithm
+			final ChecksumAlgorithm algorithm = ChecksumAlgorithm.valueOf( checksumFile );
+			final String digest = BenchmarkFiles.writeRandomFile( path, 1024, new Random( 42 ), algorithm.getAlgorithmName( ) );
+			final String content = digest + "  " + path.getFileName( ) + "\n";
+			Files.write( path.resolveSibling( algorithm.getChecksumFileName( path.getFileName( ).toString( ) ) ), content.getBytes( StandardCharsets.US_ASCII ) );
+		}
+		file = new File( path, "pom", directory );
+		extractor = new DefaultSHA1Extractor( new RealFileSystem( ) );
+	}
+
+	@TearDown
+	public void tearDown( ) throws IOException {
+		BenchmarkFiles.deleteRecursively( directory );
+	}
+
+	@Benchmark
+	public Checksums extract( ) {
+		return extractor.extract( file ).get( );
+	}
+
+}
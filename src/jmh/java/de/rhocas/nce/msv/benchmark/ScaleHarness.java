@@ -0,0 +1,279 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.Callable;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.rhocas.nce.msv.MavenSHAValidator;
+import picocli.CommandLine;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Option;
+import picocli.CommandLine.Parameters;
+
+/**
+ * An end-to-end benchmark. It generates a synthetic repository (or reuses a
+ * previously generated one with the same layout), runs the validator in a
+ * separate JVM on it and records the wall time, the throughput and the peak
+ * resident set size. The result can be compared against a baseline from a
+ * previous version to detect throughput regressions.
+ */
+@Command( name = "ScaleHarness", description = "Measures the validator end to end on a synthetic Maven repository." )
+public final class ScaleHarness implements Callable<Integer> {
+
+	private static final String INVALID_FILE_PREFIX = "Invalid file detected: ";
+	private static final Pattern BASELINE_FILES_PER_SECOND = Pattern.compile( "\"medianFilesPerSecond\"\\s*:\\s*([0-9.]+)" );
+	private static final long RSS_POLL_INTERVAL_MILLIS = 50;
+	private static final double BYTES_PER_MEGABYTE = 1024.0 * 1024.0;
+
+	@Option( names = "--directory", required = true, description = "The directory of the synthetic repository. It is reused if it has been generated with the same layout." )
+	private Path directory;
+
+	@Option( names = "--groups", description = "The number of groups (default: ${DEFAULT-VALUE})" )
+	private int groupCount = 10;
+
+	@Option( names = "--artifacts", description = "The number of artifacts per group (default: ${DEFAULT-VALUE})" )
+	private int artifactsPerGroup = 100;
+
+	@Option( names = "--versions", description = "The number of versions per artifact; every version has a pom and a jar (default: ${DEFAULT-VALUE})" )
+	private int versionsPerArtifact = 5;
+
+	@Option( names = "--median-jar-size", description = "The median size of the jars in bytes (default: ${DEFAULT-VALUE})" )
+	private long medianJarSize = 64 * 1024;
+
+	@Option( names = "--jar-size-sigma", description = "The spread of the log-normal jar size distribution (default: ${DEFAULT-VALUE})" )
+	private double jarSizeSigma = 1.5;
+
+	@Option( names = "--corrupt", description = "The fraction of artifacts with a wrong SHA1 (default: ${DEFAULT-VALUE})" )
+	private double corruptFraction = 0.01;
+
+	@Option( names = "--missing", description = "The fraction of artifacts without SHA1 file (default: ${DEFAULT-VALUE})" )
+	private double missingFraction = 0.01;
+
+	@Option( names = "--hardlinks", description = "The fraction of jars which are hardlinks to the previous version (default: ${DEFAULT-VALUE})" )
+	private double hardlinkFraction = 0.05;
+
+	@Option( names = "--seed", description = "The seed for the generated repository (default: ${DEFAULT-VALUE})" )
+	private long seed = 42;
+
+	@Option( names = "--runs", description = "The number of measured runs; the median is reported (default: ${DEFAULT-VALUE})" )
+	private int runs = 3;
+
+	@Option( names = "--jvm-option", description = "An option for the JVM of the validator, e.g. -Xmx1g (multiple usages possible)" )
+	private final List<String> jvmOptions = new ArrayList<>( );
+
+	@Option( names = "--result", description = "The file to write the result to as JSON" )
+	private Path resultFile;
+
+	@Option( names = "--baseline", description = "A result of a previous version. The harness fails if the throughput dropped by more than the tolerance." )
+	private Path baselineFile;
+
+	@Option( names = "--tolerance", description = "The tolerated drop of the throughput compared to the baseline (default: ${DEFAULT-VALUE})" )
+	private double tolerance = 0.1;
+
+	@Parameters( description = "Additional arguments for the validator, e.g. --streaming or --threads 8 (after --)" )
+	private final List<String> validatorArguments = new ArrayList<>( );
+
+	public static void main( final String[] args ) {
+		System.exit( new CommandLine( new ScaleHarness( ) ).execute( args ) );
+	}
+
+	@Override
+	public Integer call( ) throws Exception {
+		if ( validatorArguments.contains( "-r" ) ) {
+			System.err.println( "The validator must not remove files, as the repository is reused for all runs." );
+			return 3;
+		}
+
+		final GeneratedRepository repository = prepareRepository( );
+		final List<Run> measuredRuns = new ArrayList<>( );
+		for ( int i = 0; i < runs; i++ ) {
+			final Run run = runValidator( repository );
+			System.out.println( MessageFormat.format( "Run {0}: {1}", i + 1, run ) );
+			if ( run.invalidFiles != repository.getInvalidArtifactCount( ) ) {
+				System.err.println( MessageFormat.format( "The validator reported {0} invalid files, but {1} were expected.", run.invalidFiles, repository.getInvalidArtifactCount( ) ) );
+				return 2;
+			}
+			measuredRuns.add( run );
+		}
+
+		final Run median = median( measuredRuns );
+		System.out.println( MessageFormat.format( "Median: {0}", median ) );
+		if ( resultFile != null ) {
+			Files.writeString( resultFile, toJson( repository, measuredRuns, median ) );
+		}
+		return checkBaseline( median ) ? 0 : 1;
+	}
+
+	private GeneratedRepository prepareRepository( ) throws IOException {
+		final String layout = String.format( Locale.ROOT, "groups=%d,artifacts=%d,versions=%d,medianJarSize=%d,jarSizeSigma=%s,corrupt=%s,missing=%s,hardlinks=%s,seed=%d", groupCount,
+				artifactsPerGroup, versionsPerArtifact, medianJarSize, jarSizeSigma, corruptFraction, missingFraction, hardlinkFraction, seed );
+		final Path repositoryDirectory = directory.resolve( "repository" );
+		final Path statisticsFile = directory.resolve( "repository.properties" );
+
+		GeneratedRepository repository = GeneratedRepository.load( statisticsFile, layout );
+		if ( repository == null ) {
+			System.out.println( MessageFormat.format( "Generating repository in {0} ({1})", repositoryDirectory, layout ) );
+			BenchmarkFiles.deleteRecursively( repositoryDirectory );
+			Files.createDirectories( repositoryDirectory );
+			repository = new RepositoryGenerator( groupCount, artifactsPerGroup, versionsPerArtifact, medianJarSize, jarSizeSigma, corruptFraction, missingFraction, hardlinkFraction, seed )
+					.generate( repositoryDirectory );
+			repository.store( statisticsFile, layout );
+		}
+		System.out.println( MessageFormat.format( "Repository with {0} artifacts ({1} MB, {2} invalid, {3} hardlinks)", repository.getArtifactCount( ),
+				Math.round( repository.getTotalBytes( ) / BYTES_PER_MEGABYTE ), repository.getInvalidArtifactCount( ), repository.getHardlinkCount( ) ) );
+		return repository;
+	}
+
+	private Run runValidator( final GeneratedRepository repository ) throws IOException, InterruptedException {
+		final List<String> command = new ArrayList<>( );
+		command.add( Paths.get( System.getProperty( "java.home" ), "bin", "java" ).toString( ) );
+		command.addAll( jvmOptions );
+		command.add( "-classpath" );
+		command.add( System.getProperty( "java.class.path" ) );
+		command.add( MavenSHAValidator.class.getName( ) );
+		command.add( directory.resolve( "repository" ).toString( ) );
+		command.addAll( validatorArguments );
+
+		final long start = System.nanoTime( );
+		final Process process = new ProcessBuilder( command ).redirectError( ProcessBuilder.Redirect.INHERIT ).start( );
+		final AtomicLong peakRss = new AtomicLong( -1 );
+		final Thread rssSampler = new Thread( ( ) -> sampleRss( process, peakRss ), "rss-sampler" );
+		rssSampler.setDaemon( true );
+		rssSampler.start( );
+
+		long invalidFiles = 0;
+		try ( BufferedReader reader = new BufferedReader( new InputStreamReader( process.getInputStream( ), StandardCharsets.UTF_8 ) ) ) {
+			String line;
+			while ( ( line = reader.readLine( ) ) != null ) {
+				if ( line.startsWith( INVALID_FILE_PREFIX ) ) {
+					invalidFiles++;
+				}
+			}
+		}
+		process.waitFor( );
+		final long wallTimeNanos = System.nanoTime( ) - start;
+		rssSampler.join( );
+
+		final double seconds = wallTimeNanos / 1e9;
+		return new Run( TimeUnit.NANOSECONDS.toMillis( wallTimeNanos ), repository.getArtifactCount( ) / seconds, repository.getTotalBytes( ) / BYTES_PER_MEGABYTE / seconds, peakRss.get( ), invalidFiles );
+	}
+
+	/**
+	 * Polls the high water mark of the resident set size of the process. This is
+	 * only supported on Linux; on other systems the peak stays unknown (-1).
+	 */
+	private void sampleRss( final Process process, final AtomicLong peakRss ) {
+		final Path status = Paths.get( "/proc", Long.toString( process.pid( ) ), "status" );
+		while ( process.isAlive( ) ) {
+			try {
+				for ( final String line : Files.readAllLines( status ) ) {
+					if ( line.startsWith( "VmHWM:" ) ) {
+						final long kilobytes = Long.parseLong( line.replaceAll( "[^0-9]", "" ) );
+						peakRss.accumulateAndGet( kilobytes * 1024, Math::max );
+					}
+				}
+				Thread.sleep( RSS_POLL_INTERVAL_MILLIS );
+			} catch ( final IOException ex ) {
+				// The process has terminated or the system does not provide the information
+				return;
+			} catch ( final InterruptedException ex ) {
+				Thread.currentThread( ).interrupt( );
+				return;
+			}
+		}
+	}
+
+	private Run median( final List<Run> measuredRuns ) {
+		final List<Run> sortedRuns = new ArrayList<>( measuredRuns );
+		Collections.sort( sortedRuns, Comparator.comparingLong( run -> run.wallTimeMillis ) );
+		return sortedRuns.get( sortedRuns.size( ) / 2 );
+	}
+
+	private boolean checkBaseline( final Run median ) throws IOException {
+		if ( baselineFile == null ) {
+			return true;
+		}
+
+		final Matcher matcher = BASELINE_FILES_PER_SECOND.matcher( Files.readString( baselineFile ) );
+		if ( !matcher.find( ) ) {
+			System.err.println( MessageFormat.format( "The baseline ''{0}'' does not contain a throughput.", baselineFile ) );
+			return false;
+		}
+
+		final double baselineFilesPerSecond = Double.parseDouble( matcher.group( 1 ) );
+		final double change = median.filesPerSecond / baselineFilesPerSecond - 1.0;
+		final String message = String.format( Locale.ROOT, "Throughput %.1f files/s compared to %.1f files/s in the baseline (%+.1f%%)", median.filesPerSecond, baselineFilesPerSecond, change * 100 );
+		if ( change < -tolerance ) {
+			System.err.println( "Regression: " + message );
+			return false;
+		}
+		System.out.println( message );
+		return true;
+	}
+
+	private String toJson( final GeneratedRepository repository, final List<Run> measuredRuns, final Run median ) {
+		final StringBuilder json = new StringBuilder( );
+		json.append( "{\n" );
+		json.append( String.format( Locale.ROOT, "  \"artifacts\": %d,%n", repository.getArtifactCount( ) ) );
+		json.append( String.format( Locale.ROOT, "  \"totalBytes\": %d,%n", repository.getTotalBytes( ) ) );
+		json.append( String.format( Locale.ROOT, "  \"invalidArtifacts\": %d,%n", repository.getInvalidArtifactCount( ) ) );
+		json.append( String.format( Locale.ROOT, "  \"hardlinks\": %d,%n", repository.getHardlinkCount( ) ) );
+		json.append( String.format( Locale.ROOT, "  \"validatorArguments\": \"%s\",%n", String.join( " ", validatorArguments ).replace( "\\", "\\\\" ).replace( "\"", "\\\"" ) ) );
+		json.append( "  \"runs\": [\n" );
+		for ( int i = 0; i < measuredRuns.size( ); i++ ) {
+			json.append( "    " ).append( measuredRuns.get( i ).toJson( ) ).append( i + 1 < measuredRuns.size( ) ? ",\n" : "\n" );
+		}
+		json.append( "  ],\n" );
+		json.append( String.format( Locale.ROOT, "  \"medianWallTimeMillis\": %d,%n", median.wallTimeMillis ) );
+		json.append( String.format( Locale.ROOT, "  \"medianFilesPerSecond\": %.1f,%n", median.filesPerSecond ) );
+		json.append( String.format( Locale.ROOT, "  \"medianMegabytesPerSecond\": %.1f,%n", median.megabytesPerSecond ) );
+		json.append( String.format( Locale.ROOT, "  \"medianPeakRssBytes\": %d%n", median.peakRssBytes ) );
+		json.append( "}\n" );
+		return json.toString( );
+	}
+
+	private static final class Run {
+
+		private final long wallTimeMillis;
+		private final double filesPerSecond;
+		private final double megabytesPerSecond;
+		private final long peakRssBytes;
+		private final long invalidFiles;
+
+		Run( final long wallTimeMillis, final double filesPerSecond, final double megabytesPerSecond, final long peakRssBytes, final long invalidFiles ) {
+			this.wallTimeMillis = wallTimeMillis;
+			this.filesPerSecond = filesPerSecond;
+			this.megabytesPerSecond = megabytesPerSecond;
+			this.peakRssBytes = peakRssBytes;
+			this.invalidFiles = invalidFiles;
+		}
+
+		String toJson( ) {
+			return String.format( Locale.ROOT, "{ \"wallTimeMillis\": %d, \"filesPerSecond\": %.1f, \"megabytesPerSecond\": %.1f, \"peakRssBytes\": %d }", wallTimeMillis, filesPerSecond,
+					megabytesPerSecond, peakRssBytes );
+		}
+
+		@Override
+		public String toString( ) {
+			return String.format( Locale.ROOT, "%d ms, %.1f files/s, %.1f MB/s, peak RSS %s", wallTimeMillis, filesPerSecond, megabytesPerSecond,
+					peakRssBytes < 0 ? "unknown" : Math.round( peakRssBytes / BYTES_PER_MEGABYTE ) + " MB" );
+		}
+
+	}
+
+}
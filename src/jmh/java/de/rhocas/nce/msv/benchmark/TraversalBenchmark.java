@@ -0,0 +1,102 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import de.rhocas.nce.msv.adapter.filesystem.RealFileSystem;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.CoordinateFilter;
+import de.rhocas.nce.msv.domain.filter.PathPrefixFilter;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+/**
+ * Measures the directory walk and the filtering over a generated repository.
+ * The directory entries are served from the file system cache after the first
+ * iteration.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( { Mode.Throughput, Mode.SampleTime } )
+@OutputTimeUnit( TimeUnit.SECONDS )
+@Warmup( iterations = 3, time = 5 )
+@Measurement( iterations = 5, time = 5 )
+@Fork( 1 )
+public class TraversalBenchmark {
+
+	@Param( { "20" } )
+	public int groupCount;
+
+	@Param( { "50" } )
+	public int artifactsPerGroup;
+
+	@Param( { "5" } )
+	public int versionsPerArtifact;
+
+	/**
+	 * ALL walks everything, IGNORED_PREFIX skips the groups starting with group1 and
+	 * INCLUDE_RULE only includes a single group by Maven coordinates.
+	 */
+	@Param( { "ALL", "IGNORED_PREFIX", "INCLUDE_RULE" } )
+	public String filter;
+
+	private Path directory;
+	private TraversalFilter traversalFilter;
+	private FileSystem fileSystem;
+
+	@Setup
+	public void setUp( ) throws IOException {
+		directory = BenchmarkFiles.createTemporaryDirectory( );
+		new RepositoryGenerator( groupCount, artifactsPerGroup, versionsPerArtifact, 1024, 42 ).generate( directory );
+		traversalFilter = createFilter( );
+		fileSystem = new RealFileSystem( );
+	}
+
+	private TraversalFilter createFilter( ) {
+		switch ( filter ) {
+			case "IGNORED_PREFIX":
+				return new PathPrefixFilter( Collections.singletonList( "org/example/group1" ) );
+			case "INCLUDE_RULE":
+				return CoordinateFilter.compile( Collections.singletonList( "org.example.group0:*:*:jar" ), Collections.emptyList( ) ).get( );
+			case "ALL":
+			default:
+				return TraversalFilter.ALL;
+		}
+	}
+
+	@TearDown
+	public void tearDown( ) throws IOException {
+		BenchmarkFiles.deleteRecursively( directory );
+	}
+
+	@Benchmark
+	public List<File> listFiles( ) {
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = fileSystem.listFilesInDirectory( directory, traversalFilter );
+		return result.get( );
+	}
+
+	@Benchmark
+	public Option<RootDirectoryCannotBeAccessed> walkFiles( final Blackhole blackhole ) {
+		return fileSystem.walkFilesInDirectory( directory, traversalFilter, file -> blackhole.consume( file ) );
+	}
+
+}
@@ -0,0 +1,77 @@
+package de.rhocas.nce.msv.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import de.rhocas.nce.msv.adapter.filesystem.RealFileSystem;
+import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Calculator;
+import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Extractor;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.File;
+
+/**
+ * Measures the verification of a small file on the hot path (extracting the
+ * expected digest, calculating the actual digest and comparing both). Run with
+ * the gc profiler, the normalized allocation rate is the number of bytes
+ * allocated per verified file, including the accesses to the file system.
+ */
+@State( Scope.Benchmark )
+@BenchmarkMode( Mode.AverageTime )
+@OutputTimeUnit( TimeUnit.MICROSECONDS )
+@Warmup( iterations = 3, time = 2 )
+@Measurement( iterations = 5, time = 2 )
+@Fork( 1 )
+public class VerificationBenchmark {
+
+	private Path directory;
+	private File file;
+	private DefaultSHA1Extractor extractor;
+	private DefaultSHA1Calculator calculator;
+
+	@Setup
+	public void setUp( ) throws IOException {
+		directory = BenchmarkFiles.createTemporaryDirectory( );
+		final Path path = directory.resolve( "artifact-1.0.pom" );
+		final String digest = BenchmarkFiles.writeRandomFile( path, 2048, new Random( 42 ), ChecksumAlgorithm.SHA1.getAlgorithmName( ) );
+		final String content = digest + "  " + path.getFileName( ) + "\n";
+		Files.write( path.resolveSibling( ChecksumAlgorithm.SHA1.getChecksumFileName( path.getFileName( ).toString( ) ) ), content.getBytes( StandardCharsets.US_ASCII ) );
+		file = new File( path, "pom", directory );
+
+		final RealFileSystem fileSystem = new RealFileSystem( );
+		extractor = new DefaultSHA1Extractor( fileSystem );
+		calculator = new DefaultSHA1Calculator( fileSystem );
+	}
+
+	@TearDown
+	public void tearDown( ) throws IOException {
+		BenchmarkFiles.deleteRecursively( directory );
+	}
+
+	@Benchmark
+	public boolean verify( ) {
+		final Checksums expectedChecksums = extractor.extract( file ).get( );
+		final Checksums actualChecksums = calculator.calculate( file, expectedChecksums.getAlgorithms( ) ).get( );
+		if ( !expectedChecksums.isConfirmedBy( actualChecksums ) ) {
+			throw new IllegalStateException( "The file has not been verified." );
+		}
+		return true;
+	}
+
+}
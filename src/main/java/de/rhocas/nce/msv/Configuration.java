@@ -1,15 +1,38 @@
 package de.rhocas.nce.msv;
 
+import java.time.Clock;
+
+import de.rhocas.nce.msv.adapter.cache.FileVerificationCache;
+import de.rhocas.nce.msv.adapter.cache.NoVerificationCache;
+import de.rhocas.nce.msv.adapter.checkpoint.FileCheckpointStore;
+import de.rhocas.nce.msv.adapter.console.AsyncConsole;
 import de.rhocas.nce.msv.adapter.console.SysOutConsole;
+import de.rhocas.nce.msv.adapter.execution.PlatformThreadExecution;
+import de.rhocas.nce.msv.adapter.execution.VirtualThreadExecution;
+import de.rhocas.nce.msv.adapter.filesystem.PhysicalReadOrder;
 import de.rhocas.nce.msv.adapter.filesystem.RealFileSystem;
+import de.rhocas.nce.msv.adapter.report.CsvResultReport;
+import de.rhocas.nce.msv.adapter.report.FileResultReportReader;
+import de.rhocas.nce.msv.adapter.report.JsonLinesResultReport;
+import de.rhocas.nce.msv.adapter.report.NoResultReport;
 import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Calculator;
 import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Extractor;
+import de.rhocas.nce.msv.adapter.sha1.HardlinkAwareSHA1Calculator;
+import de.rhocas.nce.msv.adapter.sha1.MappedSHA1Calculator;
+import de.rhocas.nce.msv.adapter.structure.ArchiveStructureCheck;
+import de.rhocas.nce.msv.domain.port.CheckpointStore;
 import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.ExecutionStrategy;
 import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.ReadOrder;
+import de.rhocas.nce.msv.domain.port.ResultReport;
 import de.rhocas.nce.msv.domain.port.SHA1Calculator;
 import de.rhocas.nce.msv.domain.port.SHA1Extractor;
+import de.rhocas.nce.msv.domain.port.VerificationCache;
 import de.rhocas.nce.msv.usecase.ListInvalidFiles;
+import de.rhocas.nce.msv.usecase.MergeResultReports;
 import de.rhocas.nce.msv.usecase.RemoveInvalidFiles;
+import de.rhocas.nce.msv.usecase.WatchInvalidFiles;
 
 /**
  * The default configuration for the whole application. It assembles all
@@ -18,16 +41,125 @@ import de.rhocas.nce.msv.usecase.RemoveInvalidFiles;
 public final class Configuration {
 
 	private final FileSystem fileSystem = new RealFileSystem( );
-	private final Console console = new SysOutConsole( );
+	private final Console console;
 
-	private final SHA1Calculator sha1Calculator = new DefaultSHA1Calculator( fileSystem );
+	private final SHA1Calculator sha1Calculator;
 	private final SHA1Extractor sha1Extractor = new DefaultSHA1Extractor( fileSystem );
+	private final VerificationCache verificationCache;
+	private final ExecutionStrategy executionStrategy;
+	private final ResultReport resultReport;
+
+	private final ListInvalidFiles listInvalidFiles;
+	private final RemoveInvalidFiles removeInvalidFiles;
+	private final WatchInvalidFiles watchInvalidFiles;
+	private final MergeResultReports mergeResultReports = new MergeResultReports( new FileResultReportReader( ) );
+
+	public Configuration( final Settings settings ) {
+		console = createConsole( settings );
+		sha1Calculator = createSHA1Calculator( settings );
+		verificationCache = createVerificationCache( settings );
+		executionStrategy = createExecutionStrategy( settings );
+		resultReport = createResultReport( settings );
+		listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, verificationCache, executionStrategy, createReadOrder( settings ), createCheckpointStore( settings ),
+				new ArchiveStructureCheck( fileSystem ), ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		watchInvalidFiles = new WatchInvalidFiles( fileSystem, listInvalidFiles, console );
+		removeInvalidFiles = new RemoveInvalidFiles( fileSystem, new PlatformThreadExecution( Math.max( 1, settings.getRemovalThreads( ) ) ) );
+	}
+
+	private Console createConsole( final Settings settings ) {
+		switch ( settings.getConsoleMode( ) ) {
+			case ASYNC:
+				final Console asyncConsole = new AsyncConsole( );
+				// Writes the pending lines even if the application is terminated
+				Runtime.getRuntime( ).addShutdownHook( new Thread( asyncConsole::close, "console-shutdown" ) );
+				return asyncConsole;
+			case DIRECT:
+			default:
+				return new SysOutConsole( );
+		}
+	}
 
-	private final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor );
-	private final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem );
+	private ResultReport createResultReport( final Settings settings ) {
+		return settings.getReportFile( )
+				.<ResultReport> map( reportFile -> {
+					switch ( settings.getReportFormat( ) ) {
+						case CSV:
+							return new CsvResultReport( reportFile, console );
+						case JSONL:
+						default:
+							return new JsonLinesResultReport( reportFile, console );
+					}
+				} )
+				.getOrElse( ( ) -> new NoResultReport( ) );
+	}
+
+	private ReadOrder createReadOrder( final Settings settings ) {
+		switch ( settings.getReadOrderMode( ) ) {
+			case PHYSICAL:
+				return new PhysicalReadOrder( );
+			case WALK:
+			default:
+				return ReadOrder.WALK;
+		}
+	}
+
+	private CheckpointStore createCheckpointStore( final Settings settings ) {
+		return settings.getCheckpointFile( )
+				.<CheckpointStore> map( checkpointFile -> new FileCheckpointStore( checkpointFile, settings.isResume( ), console ) )
+				.getOrElse( CheckpointStore.NONE );
+	}
+
+	private ExecutionStrategy createExecutionStrategy( final Settings settings ) {
+		final int threads = Math.max( 1, settings.getThreads( ) );
+		switch ( settings.getExecutionMode( ) ) {
+			case VIRTUAL:
+				if ( VirtualThreadExecution.isSupported( ) ) {
+					return new VirtualThreadExecution( threads );
+				}
+				console.printError( "Virtual threads are not supported by this runtime. Platform threads are used instead." );
+				return new PlatformThreadExecution( threads );
+			case PLATFORM:
+			default:
+				return new PlatformThreadExecution( threads );
+		}
+	}
+
+	private VerificationCache createVerificationCache( final Settings settings ) {
+		return settings.getCacheFile( )
+				.<VerificationCache> map( cacheFile -> new FileVerificationCache( cacheFile, settings.isFullRescan( ), settings.getReverifyAfter( ), Clock.systemUTC( ), console ) )
+				.getOrElse( ( ) -> new NoVerificationCache( ) );
+	}
+
+	private SHA1Calculator createSHA1Calculator( final Settings settings ) {
+		// Hardlinked files are only read once, regardless of how they are read
+		return new HardlinkAwareSHA1Calculator( fileSystem, createReadingSHA1Calculator( settings ), HardlinkAwareSHA1Calculator.DEFAULT_MAXIMAL_SHARED_FILES );
+	}
+
+	private SHA1Calculator createReadingSHA1Calculator( final Settings settings ) {
+		final SHA1Calculator defaultSHA1Calculator = new DefaultSHA1Calculator( fileSystem );
+		switch ( settings.getHashingMode( ) ) {
+			case MAPPED:
+				return new MappedSHA1Calculator( fileSystem, defaultSHA1Calculator, settings.getMappingThreshold( ), MappedSHA1Calculator.DEFAULT_WINDOW_SIZE );
+			case DEFAULT:
+			default:
+				return defaultSHA1Calculator;
+		}
+	}
+
+	/**
+	 * Releases the resources of the configuration. This writes the pending output
+	 * on the console.
+	 */
+	public void close( ) {
+		console.close( );
+	}
 
 	public MavenSHAValidatorCommand getCommand( ) {
-		return new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles );
+		return new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, watchInvalidFiles, resultReport );
+	}
+
+	public MergeReportsCommand getMergeCommand( ) {
+		return new MergeReportsCommand( console, mergeResultReports, resultReport );
 	}
 
 }
@@ -8,9 +8,16 @@ import picocli.CommandLine;
 public final class MavenSHAValidator {
 
 	public static void main( final String[] args ) {
-		final Configuration configuration = new Configuration( );
+		final Configuration configuration = new Configuration( Settings.parse( args ) );
 		final CommandLine commandLine = new CommandLine( configuration.getCommand( ) );
-		final int exitCode = commandLine.execute( args );
+		commandLine.addSubcommand( configuration.getMergeCommand( ) );
+		commandLine.setCaseInsensitiveEnumValuesAllowed( true );
+		final int exitCode;
+		try {
+			exitCode = commandLine.execute( args );
+		} finally {
+			configuration.close( );
+		}
 		if ( exitCode != 0 ) {
 			System.exit( exitCode );
 		}
@@ -1,21 +1,42 @@
 package de.rhocas.nce.msv;
 
+import java.io.IOException;
+import java.net.InetSocketAddress;
 import java.nio.file.Path;
 import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.Callable;
+import java.util.function.Consumer;
 
+import de.rhocas.nce.msv.adapter.console.ProgressReporter;
+import de.rhocas.nce.msv.adapter.console.ProgressReporter.SummaryFormat;
+import de.rhocas.nce.msv.adapter.server.ValidationServer;
 import de.rhocas.nce.msv.domain.entity.File;
-import de.rhocas.nce.msv.domain.error.FilesCannotBeRemoved;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.RemovalScope;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
+import de.rhocas.nce.msv.domain.error.FilterRuleCannotBeParsed;
 import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.CoordinateFilter;
+import de.rhocas.nce.msv.domain.filter.PathPrefixFilter;
+import de.rhocas.nce.msv.domain.filter.ShardFilter;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
 import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.ResultReport;
 import de.rhocas.nce.msv.usecase.ListInvalidFiles;
 import de.rhocas.nce.msv.usecase.RemoveInvalidFiles;
+import de.rhocas.nce.msv.usecase.WatchInvalidFiles;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Model.CommandSpec;
+import picocli.CommandLine.ParameterException;
 import picocli.CommandLine.Parameters;
+import picocli.CommandLine.Spec;
 
 /**
  * This is the actual command executed by the application.
@@ -23,48 +44,251 @@ import picocli.CommandLine.Parameters;
 @Command( name = "MavenSHAValidator", description = "Validates the given Maven repository." )
 public final class MavenSHAValidatorCommand implements Callable<Integer> {
 
-	@Parameters( index = "0", description = "The path to the repository that should be validated." )
+	/**
+	 * The repository is only optional for picocli, as the required parameters of
+	 * this command would otherwise be demanded for the subcommands as well.
+	 */
+	@Parameters( index = "0", arity = "0..1", description = "The path to the repository that should be validated." )
 	private Path repositoryPath;
 
 	@picocli.CommandLine.Option( names = "-r", description = "Removes the invalid files" )
 	private boolean remove;
 
+	@picocli.CommandLine.Option( names = "--remove-scope", description = "What is removed together with an invalid file: FILE (only the file), SIDECARS (also its checksum files and *.lastUpdated markers as well as the version directory if only Maven bookkeeping files remain) or VERSION (the whole version directory) (default: ${DEFAULT-VALUE})" )
+	private RemovalScope removalScope = RemovalScope.FILE;
+
+	@picocli.CommandLine.Option( names = "--remove-immediately", description = "Removes each invalid file as soon as it has been detected instead of after the whole run (implies -r and --streaming; only with the FILE removal scope)" )
+	private boolean removeImmediately;
+
 	@picocli.CommandLine.Option( names = "-i", description = "Ignores files starting with those paths (relative to the repository; multiple usages possible)" )
 	private final List<String> ignorePathPrefixes = Collections.emptyList( );
 
+	@picocli.CommandLine.Option( names = "--include", description = "Validates only files matching one of those Maven coordinates, e.g. com.ourcorp:*:*-SNAPSHOT or *:*:[2020,):jar,pom (groupId[:artifactId[:version[:extension[:classifier]]]]; multiple usages possible)" )
+	private final List<String> includeRules = Collections.emptyList( );
+
+	@picocli.CommandLine.Option( names = "--exclude", description = "Ignores files matching one of those Maven coordinates (same syntax as --include; multiple usages possible)" )
+	private final List<String> excludeRules = Collections.emptyList( );
+
+	@picocli.CommandLine.Option( names = "--shard", paramLabel = "<k>/<N>", description = "Validates only the k-th of N disjoint parts of the repository, e.g. 2/4. The artifacts are assigned by their groupId and artifactId, so that N processes or machines can validate the repository together. Their reports can be combined with the merge command." )
+	private String shard;
+
+	@picocli.CommandLine.Option( names = "--streaming", description = "Validates the files while the repository is still being walked, without listing all files in memory first" )
+	private boolean streaming;
+
+	@picocli.CommandLine.Option( names = "--batched", description = "Validates the files directory by directory while the repository is being walked and takes the checksum files and metadata from the directory listing (implies --streaming)" )
+	private boolean batched;
+
+	@picocli.CommandLine.Option( names = "--watch", description = "Watches the repository and validates the artifacts as soon as they and their checksum files have been written, until the application is terminated. The existing artifacts are not validated." )
+	private boolean watch;
+
+	@picocli.CommandLine.Option( names = "--settle-time", paramLabel = "<milliseconds>", description = "The time without changes after which an artifact is validated in the watch mode (default: ${DEFAULT-VALUE})" )
+	private long settleTimeMillis = WatchInvalidFiles.DEFAULT_SETTLE_TIME.toMillis( );
+
+	@picocli.CommandLine.Option( names = "--serve", description = "Starts a local HTTP server which validates the requested parts of the repository until the application is terminated, e.g. POST /validate?path=org/example&include=*:*:1.0 (parameters: path, include and exclude; multiple usages possible). Requests from web pages are rejected. The invalid files are also reported and removed like in a regular run." )
+	private boolean serve;
+
+	@picocli.CommandLine.Option( names = "--port", description = "The port of the local HTTP server (default: ${DEFAULT-VALUE}; 0 selects a free port)" )
+	private int serverPort = ValidationServer.DEFAULT_PORT;
+
+	@picocli.CommandLine.Option( names = "--progress", paramLabel = "<seconds>", description = "Prints the progress with an estimated time of arrival on the error stream in the given interval" )
+	private Integer progressIntervalSeconds;
+
+	@picocli.CommandLine.Option( names = "--summary", description = "Prints the statistics of the run at the end: ${COMPLETION-CANDIDATES}" )
+	private SummaryFormat summaryFormat;
+
+	/**
+	 * The settings have already been used to assemble the configuration. They are
+	 * only mixed in, so that they are accepted and listed in the usage help.
+	 */
+	@Mixin
+	private final Settings settings = new Settings( );
+
+	@Spec
+	private CommandSpec spec;
+
 	private final Console console;
 	private final ListInvalidFiles listInvalidFiles;
 	private final RemoveInvalidFiles removeInvalidFiles;
+	private final WatchInvalidFiles watchInvalidFiles;
+	private final ResultReport resultReport;
 
-	MavenSHAValidatorCommand( final Console console, final ListInvalidFiles listInvalidFiles, final RemoveInvalidFiles removeInvalidFiles ) {
+	MavenSHAValidatorCommand( final Console console, final ListInvalidFiles listInvalidFiles, final RemoveInvalidFiles removeInvalidFiles, final WatchInvalidFiles watchInvalidFiles, final ResultReport resultReport ) {
 		this.console = console;
 		this.listInvalidFiles = listInvalidFiles;
 		this.removeInvalidFiles = removeInvalidFiles;
+		this.watchInvalidFiles = watchInvalidFiles;
+		this.resultReport = resultReport;
 	}
 
 	@Override
 	public Integer call( ) throws Exception {
-		final Either<RootDirectoryCannotBeAccessed, List<File>> eitherErrorOrInvalidFiles = listInvalidFiles.listInvalidFiles( repositoryPath, ignorePathPrefixes );
+		if ( repositoryPath == null ) {
+			throw new ParameterException( spec.commandLine( ), "Missing required parameter: '<repositoryPath>'" );
+		}
+
+		final Either<FilterRuleCannotBeParsed, TraversalFilter> eitherErrorOrCoordinateFilter = CoordinateFilter.compile( includeRules, excludeRules );
+		if ( eitherErrorOrCoordinateFilter.isLeft( ) ) {
+			console.printError( MessageFormat.format( "The filter rule ''{0}'' cannot be parsed.", eitherErrorOrCoordinateFilter.getLeft( ).getRule( ) ) );
+			return -3;
+		}
+		if ( removeImmediately && removalScope != RemovalScope.FILE ) {
+			console.printError( MessageFormat.format( "The removal scope {0} cannot be used to remove files immediately.", removalScope ) );
+			return -4;
+		}
+
+		if ( settings.getCheckpointFile( ).isDefined( ) && ( streaming || batched || removeImmediately || watch || serve ) ) {
+			console.printError( "A checkpoint can only be used for a regular validation, but not with --streaming, --batched, --remove-immediately, --watch or --serve." );
+			return -8;
+		}
+		if ( settings.isResume( ) && settings.getCheckpointFile( ).isEmpty( ) ) {
+			console.printError( "A validation can only be resumed with a checkpoint given with --checkpoint." );
+			return -8;
+		}
+
+		final Either<FilterRuleCannotBeParsed, TraversalFilter> eitherErrorOrShardFilter = Option.of( shard ).map( ShardFilter::compile ).getOrElse( Either.right( TraversalFilter.ALL ) );
+		if ( eitherErrorOrShardFilter.isLeft( ) ) {
+			console.printError( MessageFormat.format( "The shard ''{0}'' cannot be parsed. It has to be given as k/N with 1 <= k <= N.", shard ) );
+			return -3;
+		}
+
+		// Only an unrestricted validation is allowed to prune the verification cache
+		final boolean restricted = !ignorePathPrefixes.isEmpty( ) || !includeRules.isEmpty( ) || !excludeRules.isEmpty( ) || shard != null;
+		final TraversalFilter filter = restricted ? new PathPrefixFilter( ignorePathPrefixes ).and( eitherErrorOrCoordinateFilter.get( ) ).and( eitherErrorOrShardFilter.get( ) ) : TraversalFilter.ALL;
+		try {
+			if ( serve ) {
+				return serve( filter );
+			}
+			return watch ? watch( filter ) : validate( filter );
+		} finally {
+			resultReport.close( );
+		}
+	}
+
+	private int validate( final TraversalFilter filter ) {
+		final ValidationStatistics statistics = new ValidationStatistics( );
+		final ProgressReporter progressReporter = new ProgressReporter( console, statistics );
+		final List<File> unremovableFiles = Collections.synchronizedList( new ArrayList<>( ) );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> eitherErrorOrInvalidFiles;
+		try {
+			Option.of( progressIntervalSeconds ).forEach( seconds -> progressReporter.start( Duration.ofSeconds( seconds ) ) );
+			if ( streaming || batched || removeImmediately ) {
+				eitherErrorOrInvalidFiles = streamInvalidFiles( filter, statistics, unremovableFiles );
+			} else {
+				eitherErrorOrInvalidFiles = listInvalidFiles.listInvalidFiles( repositoryPath, filter, statistics );
+				eitherErrorOrInvalidFiles.forEach( invalidFiles -> invalidFiles.forEach( this::reportInvalidFile ) );
+			}
+		} finally {
+			progressReporter.stop( );
+		}
 
 		if ( eitherErrorOrInvalidFiles.isLeft( ) ) {
 			console.printError( MessageFormat.format( "The given directory ''{0}'' cannot be accessed.", repositoryPath ) );
 			return -1;
 		}
 
-		final List<File> invalidFiles = eitherErrorOrInvalidFiles.get( );
-		invalidFiles.stream( )
-				.map( invalidFile -> MessageFormat.format( "Invalid file detected: {0}", invalidFile ) )
-				.forEach( msg -> console.printMessage( msg ) );
+		Option.of( summaryFormat ).forEach( format -> progressReporter.printSummary( format ) );
 
-		if ( remove ) {
-			final Option<FilesCannotBeRemoved> optionalError = removeInvalidFiles.remove( invalidFiles );
-			if ( !optionalError.isEmpty( ) ) {
-				console.printError( MessageFormat.format( "Following files could not be removed: {0}", optionalError.get( ).getUnremovableFiles( ) ) );
-				return -2;
-			}
+		if ( remove && !removeImmediately ) {
+			reportRemoval( removeInvalidFiles.remove( eitherErrorOrInvalidFiles.get( ), removalScope ), unremovableFiles );
+		}
+		if ( !unremovableFiles.isEmpty( ) ) {
+			console.printError( MessageFormat.format( "Following files could not be removed: {0}", unremovableFiles ) );
+			return -2;
+		}
+
+		return 0;
+	}
+
+	private int watch( final TraversalFilter filter ) {
+		// The watch only ends if the application is terminated, so that the verification cache has to be persisted then
+		final Thread shutdownHook = new Thread( watchInvalidFiles::persistVerificationCache, "watch-shutdown" );
+		Runtime.getRuntime( ).addShutdownHook( shutdownHook );
+		final Option<RootDirectoryCannotBeAccessed> optionalError;
+		try {
+			optionalError = watchInvalidFiles.watchInvalidFiles( repositoryPath, filter, Duration.ofMillis( settleTimeMillis ), this::reportAndRemoveInvalidFile, new ValidationStatistics( ) );
+		} finally {
+			removeShutdownHook( shutdownHook );
+		}
+		if ( optionalError.isDefined( ) ) {
+			console.printError( MessageFormat.format( "The given directory ''{0}'' cannot be accessed.", repositoryPath ) );
+			return -1;
+		}
+		return 0;
+	}
+
+	private int serve( final TraversalFilter filter ) throws InterruptedException {
+		final ValidationServer server = new ValidationServer( listInvalidFiles, repositoryPath, filter, this::reportAndRemoveInvalidFile );
+		final InetSocketAddress address;
+		try {
+			address = server.start( serverPort );
+		} catch ( final IOException ex ) {
+			console.printError( MessageFormat.format( "The server cannot be started on port {0}.", String.valueOf( serverPort ) ) );
+			return -5;
 		}
 
+		// The server is stopped when the application is terminated, so that the verification cache is persisted
+		final Thread shutdownHook = new Thread( server::stop, "server-shutdown" );
+		Runtime.getRuntime( ).addShutdownHook( shutdownHook );
+		console.printMessage( MessageFormat.format( "Listening on http://{0}:{1}/validate", address.getHostString( ), String.valueOf( address.getPort( ) ) ) );
+		try {
+			server.awaitStop( );
+		} finally {
+			server.stop( );
+			removeShutdownHook( shutdownHook );
+		}
 		return 0;
 	}
 
+	private void removeShutdownHook( final Thread shutdownHook ) {
+		try {
+			Runtime.getRuntime( ).removeShutdownHook( shutdownHook );
+		} catch ( final IllegalStateException ex ) {
+			// The application is already being terminated
+		}
+	}
+
+	/**
+	 * Reports a single invalid file and removes it, if requested. This is used by
+	 * the long-running modes, which continue if a file cannot be removed.
+	 */
+	private void reportAndRemoveInvalidFile( final File invalidFile ) {
+		reportInvalidFile( invalidFile );
+		if ( remove || removeImmediately ) {
+			final List<File> unremovableFiles = new ArrayList<>( );
+			reportRemoval( removeInvalidFiles.remove( Collections.singletonList( invalidFile ), removalScope ), unremovableFiles );
+			if ( !unremovableFiles.isEmpty( ) ) {
+				// The following artifacts might be removable
+				console.printError( MessageFormat.format( "Following files could not be removed: {0}", unremovableFiles ) );
+			}
+		}
+	}
+
+	private Either<RootDirectoryCannotBeAccessed, List<File>> streamInvalidFiles( final TraversalFilter filter, final ValidationStatistics statistics, final List<File> unremovableFiles ) {
+		final List<File> invalidFiles = Collections.synchronizedList( new ArrayList<>( ) );
+		final Consumer<File> invalidFileConsumer = invalidFile -> {
+			invalidFiles.add( invalidFile );
+			reportInvalidFile( invalidFile );
+			if ( removeImmediately ) {
+				// Only the file itself is removed, as the other files of its directory might still be validated
+				reportRemoval( removeInvalidFiles.remove( Collections.singletonList( invalidFile ), RemovalScope.FILE ), unremovableFiles );
+			}
+		};
+		final Option<RootDirectoryCannotBeAccessed> optionalError = batched
+				? listInvalidFiles.streamInvalidFilesByDirectory( repositoryPath, filter, invalidFileConsumer, statistics )
+				: listInvalidFiles.streamInvalidFiles( repositoryPath, filter, invalidFileConsumer, statistics );
+		return optionalError.isDefined( ) ? Either.left( optionalError.get( ) ) : Either.right( invalidFiles );
+	}
+
+	private void reportInvalidFile( final File invalidFile ) {
+		console.printMessage( MessageFormat.format( "Invalid file detected: {0}", invalidFile ) );
+		resultReport.invalidFileDetected( invalidFile );
+	}
+
+	private void reportRemoval( final RemovalReport report, final List<File> unremovableFiles ) {
+		report.getRemovedFiles( ).forEach( file -> console.printMessage( MessageFormat.format( "Removed file: {0}", file ) ) );
+		report.getRemovedDirectories( ).forEach( directory -> console.printMessage( MessageFormat.format( "Removed directory: {0}", directory ) ) );
+		resultReport.removalFinished( report );
+		unremovableFiles.addAll( report.getUnremovableFiles( ) );
+	}
+
 }
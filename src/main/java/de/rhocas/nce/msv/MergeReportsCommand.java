@@ -0,0 +1,91 @@
+package de.rhocas.nce.msv;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.stream.Collectors;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.ReportedResults;
+import de.rhocas.nce.msv.domain.error.ReportCannotBeRead;
+import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.ResultReport;
+import de.rhocas.nce.msv.usecase.MergeResultReports;
+import io.vavr.control.Either;
+import picocli.CommandLine.Command;
+import picocli.CommandLine.Mixin;
+import picocli.CommandLine.Parameters;
+
+/**
+ * This command merges the reports of several shards into a single report and a
+ * single removal plan.
+ */
+@Command( name = "merge", description = "Merges the reports of several runs (e.g. of the shards given with --shard) into the report given with --report and a removal plan." )
+public final class MergeReportsCommand implements Callable<Integer> {
+
+	@Parameters( arity = "1..*", paramLabel = "<report>", description = "The reports written with --report (JSONL or CSV)." )
+	private List<Path> reportFiles;
+
+	@picocli.CommandLine.Option( names = "--removal-plan", description = "The file in which the invalid files which have not been removed yet are listed, one path per line" )
+	private Path removalPlanFile;
+
+	/**
+	 * The settings have already been used to assemble the configuration. They are
+	 * only mixed in, so that the report file and format are accepted.
+	 */
+	@Mixin
+	private final Settings settings = new Settings( );
+
+	private final Console console;
+	private final MergeResultReports mergeResultReports;
+	private final ResultReport resultReport;
+
+	MergeReportsCommand( final Console console, final MergeResultReports mergeResultReports, final ResultReport resultReport ) {
+		this.console = console;
+		this.mergeResultReports = mergeResultReports;
+		this.resultReport = resultReport;
+	}
+
+	@Override
+	public Integer call( ) throws Exception {
+		try {
+			return merge( );
+		} finally {
+			resultReport.close( );
+		}
+	}
+
+	private int merge( ) {
+		final Either<ReportCannotBeRead, ReportedResults> eitherErrorOrResults = mergeResultReports.merge( reportFiles );
+		if ( eitherErrorOrResults.isLeft( ) ) {
+			console.printError( MessageFormat.format( "The report ''{0}'' cannot be read.", eitherErrorOrResults.getLeft( ).getReportFile( ) ) );
+			return -6;
+		}
+
+		final ReportedResults results = eitherErrorOrResults.get( );
+		results.getInvalidFiles( ).forEach( invalidFile -> {
+			console.printMessage( MessageFormat.format( "Invalid file detected: {0}", invalidFile ) );
+			resultReport.invalidFileDetected( invalidFile );
+		} );
+		resultReport.removalFinished( results.getRemovalReport( ) );
+
+		final List<File> removalPlan = mergeResultReports.createRemovalPlan( results );
+		console.printMessage( MessageFormat.format( "Merged {0} reports: {1} invalid files, {2} of them not removed yet", String.valueOf( reportFiles.size( ) ), String.valueOf( results.getInvalidFiles( ).size( ) ),
+				String.valueOf( removalPlan.size( ) ) ) );
+
+		if ( removalPlanFile != null ) {
+			try {
+				Files.write( removalPlanFile, removalPlan.stream( ).map( File::toString ).collect( Collectors.toList( ) ), StandardCharsets.UTF_8 );
+			} catch ( final IOException ex ) {
+				console.printError( MessageFormat.format( "The removal plan ''{0}'' could not be written.", removalPlanFile ) );
+				return -7;
+			}
+		}
+		return 0;
+	}
+
+}
@@ -0,0 +1,240 @@
+package de.rhocas.nce.msv;
+
+import java.nio.file.Path;
+import java.time.Duration;
+
+import de.rhocas.nce.msv.adapter.sha1.MappedSHA1Calculator;
+import io.vavr.control.Option;
+import picocli.CommandLine;
+import picocli.CommandLine.ParameterException;
+
+/**
+ * The settings which are given on the command line, but which are required to
+ * assemble the {@link Configuration}. They are therefore parsed before the
+ * actual command.
+ */
+public final class Settings {
+
+	/**
+	 * The available modes to calculate the SHA1.
+	 */
+	public enum HashingMode {
+
+		/**
+		 * Reads all files chunk by chunk into a buffer.
+		 */
+		DEFAULT,
+
+		/**
+		 * Memory-maps files above the mapping threshold.
+		 */
+		MAPPED
+
+	}
+
+	/**
+	 * The available threads to validate the files on.
+	 */
+	public enum ExecutionMode {
+
+		/**
+		 * Uses a bounded pool of platform threads.
+		 */
+		PLATFORM,
+
+		/**
+		 * Uses a new virtual thread for each file (requires Java 21 or later).
+		 */
+		VIRTUAL
+
+	}
+
+	/**
+	 * The available orders to read the listed files in.
+	 */
+	public enum ReadOrderMode {
+
+		/**
+		 * Reads the files in the order of the walk.
+		 */
+		WALK,
+
+		/**
+		 * Reads the files in the order of their physical location (inode), which
+		 * avoids seeks on rotating disks.
+		 */
+		PHYSICAL
+
+	}
+
+	/**
+	 * The available ways to write on the console.
+	 */
+	public enum ConsoleMode {
+
+		/**
+		 * Writes every line directly on the printing thread.
+		 */
+		DIRECT,
+
+		/**
+		 * Hands the lines to a single writer thread, which writes them buffered.
+		 */
+		ASYNC
+
+	}
+
+	/**
+	 * The available formats of the report file.
+	 */
+	public enum ReportFormat {
+
+		/**
+		 * One JSON object per line.
+		 */
+		JSONL,
+
+		/**
+		 * Comma-separated values with a header line.
+		 */
+		CSV
+
+	}
+
+	/**
+	 * The default number of threads in the PHYSICAL read order: one file is read
+	 * while the other one is hashed, but the disk does not have to seek between
+	 * many files.
+	 */
+	static final int PHYSICAL_READ_ORDER_THREADS = 2;
+
+	/**
+	 * The default number of threads removing files. Removals barely use the CPU,
+	 * but network file systems serve multiple concurrent requests much faster.
+	 */
+	static final int DEFAULT_REMOVAL_THREADS = 4;
+
+	@picocli.CommandLine.Option( names = "--hashing", description = "The mode to calculate the SHA1: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})" )
+	private HashingMode hashingMode = HashingMode.DEFAULT;
+
+	@picocli.CommandLine.Option( names = "--mapping-threshold", description = "The size in bytes above which files are memory-mapped in the MAPPED hashing mode (default: ${DEFAULT-VALUE})" )
+	private long mappingThreshold = MappedSHA1Calculator.DEFAULT_MAPPING_THRESHOLD;
+
+	@picocli.CommandLine.Option( names = { "-j", "--threads" }, description = "The number of files validated concurrently (default: number of processors, " + PHYSICAL_READ_ORDER_THREADS + " in the PHYSICAL read order)" )
+	private Integer threads;
+
+	@picocli.CommandLine.Option( names = "--execution", description = "The threads to validate the files on: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})" )
+	private ExecutionMode executionMode = ExecutionMode.PLATFORM;
+
+	@picocli.CommandLine.Option( names = "--cache", description = "The file in which the results are cached. Files whose metadata did not change since the last run are not hashed again." )
+	private Path cacheFile;
+
+	@picocli.CommandLine.Option( names = "--full-rescan", description = "Ignores the cached results, but updates the cache with the results of this run" )
+	private boolean fullRescan;
+
+	@picocli.CommandLine.Option( names = "--reverify-after", description = "The number of days after which cached results are verified again" )
+	private Integer reverifyAfterDays;
+
+	@picocli.CommandLine.Option( names = "--checkpoint", description = "The file in which the progress of the validation is stored from time to time, so that an interrupted validation can be continued with --resume. The file is deleted once the validation has been finished." )
+	private Path checkpointFile;
+
+	@picocli.CommandLine.Option( names = "--resume", description = "Continues an interrupted validation from the checkpoint given with --checkpoint instead of starting over" )
+	private boolean resume;
+
+	@picocli.CommandLine.Option( names = "--read-order", description = "The order to read the files in: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). PHYSICAL is meant for rotating disks and is ignored with --streaming and --batched." )
+	private ReadOrderMode readOrderMode = ReadOrderMode.WALK;
+
+	@picocli.CommandLine.Option( names = "--removal-threads", description = "The number of directories from which invalid files are removed concurrently (default: ${DEFAULT-VALUE})" )
+	private int removalThreads = DEFAULT_REMOVAL_THREADS;
+
+	@picocli.CommandLine.Option( names = "--console", description = "The way to write on the console: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE}). ASYNC does not slow down the validation if the output is consumed slowly, but prints the lines with a short delay." )
+	private ConsoleMode consoleMode = ConsoleMode.DIRECT;
+
+	@picocli.CommandLine.Option( names = "--report", description = "The file in which the invalid and removed files are reported as soon as they are known" )
+	private Path reportFile;
+
+	@picocli.CommandLine.Option( names = "--report-format", description = "The format of the report file: ${COMPLETION-CANDIDATES} (default: ${DEFAULT-VALUE})" )
+	private ReportFormat reportFormat = ReportFormat.JSONL;
+
+	/**
+	 * Parses the settings from the given command line arguments. All other
+	 * arguments are ignored. Invalid arguments are ignored as well, as they are
+	 * reported by the actual command.
+	 *
+	 * @param args The command line arguments.
+	 *
+	 * @return The settings.
+	 */
+	public static Settings parse( final String... args ) {
+		final Settings settings = new Settings( );
+		final CommandLine commandLine = new CommandLine( settings );
+		commandLine.setUnmatchedArgumentsAllowed( true );
+		commandLine.setCaseInsensitiveEnumValuesAllowed( true );
+		try {
+			commandLine.parseArgs( args );
+		} catch ( final ParameterException ex ) {
+			// The actual command reports this
+		}
+		return settings;
+	}
+
+	public HashingMode getHashingMode( ) {
+		return hashingMode;
+	}
+
+	public long getMappingThreshold( ) {
+		return mappingThreshold;
+	}
+
+	public int getThreads( ) {
+		if ( threads != null ) {
+			return threads;
+		}
+		return readOrderMode == ReadOrderMode.PHYSICAL ? PHYSICAL_READ_ORDER_THREADS : Runtime.getRuntime( ).availableProcessors( );
+	}
+
+	public int getRemovalThreads( ) {
+		return removalThreads;
+	}
+
+	public ExecutionMode getExecutionMode( ) {
+		return executionMode;
+	}
+
+	public Option<Path> getCacheFile( ) {
+		return Option.of( cacheFile );
+	}
+
+	public boolean isFullRescan( ) {
+		return fullRescan;
+	}
+
+	public Option<Path> getCheckpointFile( ) {
+		return Option.of( checkpointFile );
+	}
+
+	public boolean isResume( ) {
+		return resume;
+	}
+
+	public ConsoleMode getConsoleMode( ) {
+		return consoleMode;
+	}
+
+	public Option<Path> getReportFile( ) {
+		return Option.of( reportFile );
+	}
+
+	public ReportFormat getReportFormat( ) {
+		return reportFormat;
+	}
+
+	public ReadOrderMode getReadOrderMode( ) {
+		return readOrderMode;
+	}
+
+	public Option<Duration> getReverifyAfter( ) {
+		return Option.of( reverifyAfterDays ).map( days -> Duration.ofDays( days ) );
+	}
+
+}
@@ -0,0 +1,247 @@
+package de.rhocas.nce.msv.adapter.cache;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileFingerprint;
+import de.rhocas.nce.msv.domain.entity.FileMetadata;
+import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.VerificationCache;
+import io.vavr.Lazy;
+import io.vavr.control.Option;
+
+/**
+ * This adapter is an implementation of {@link VerificationCache} that stores
+ * the results in a file. Each line of the file contains the result for a
+ * single file with its fingerprint, separated by tabs. The metadata of the
+ * checksum files is stored in the order of the {@link ChecksumAlgorithm}s.
+ */
+public final class FileVerificationCache implements VerificationCache {
+
+	private static final String HEADER = "# maven-sha-validator verification cache v2";
+	private static final String SEPARATOR = "\t";
+	private static final String MISSING = "-";
+	private static final int METADATA_FIELD_COUNT = 3;
+	private static final int FIELD_COUNT = 2 + METADATA_FIELD_COUNT * ( 1 + ChecksumAlgorithm.values( ).length ) + 1;
+
+	private final Path cacheFile;
+	private final boolean fullRescan;
+	private final Option<Duration> maximalAge;
+	private final Clock clock;
+	private final Console console;
+	private final Lazy<Map<String, Entry>> entries = Lazy.of( ( ) -> load( ) );
+
+	/**
+	 * Creates a new cache.
+	 *
+	 * @param cacheFile  The file in which the cache is stored.
+	 * @param fullRescan If set, the stored entries are not used, but they are
+	 *                   replaced by the results of this run. The entries of files
+	 *                   which are not validated in this run are kept.
+	 * @param maximalAge The age after which a stored entry has to be verified
+	 *                   again.
+	 * @param clock      The clock to determine the age of the entries.
+	 * @param console    The console to report problems with the cache file.
+	 */
+	public FileVerificationCache( final Path cacheFile, final boolean fullRescan, final Option<Duration> maximalAge, final Clock clock, final Console console ) {
+		this.cacheFile = cacheFile;
+		this.fullRescan = fullRescan;
+		this.maximalAge = maximalAge;
+		this.clock = clock;
+		this.console = console;
+	}
+
+	@Override
+	public boolean isEnabled( ) {
+		return true;
+	}
+
+	@Override
+	public Option<Boolean> getValidity( final File file, final FileFingerprint fingerprint ) {
+		final long now = clock.millis( );
+		final Option<Entry> optionalEntry = Option.of( entries.get( ).get( toKey( file ) ) );
+		optionalEntry.forEach( entry -> entry.used = true );
+		if ( fullRescan ) {
+			return Option.none( );
+		}
+		return optionalEntry
+				.filter( entry -> entry.fingerprint.equals( fingerprint ) )
+				.filter( entry -> maximalAge.forAll( age -> now - entry.verifiedAt <= age.toMillis( ) ) )
+				.map( entry -> entry.valid );
+	}
+
+	@Override
+	public void putValidity( final File file, final FileFingerprint fingerprint, final boolean valid ) {
+		final Entry entry = new Entry( fingerprint, valid, clock.millis( ) );
+		entry.used = true;
+		entries.get( ).put( toKey( file ), entry );
+	}
+
+	@Override
+	public void prune( ) {
+		if ( entries.isEvaluated( ) ) {
+			entries.get( ).values( ).removeIf( entry -> !entry.used );
+		}
+	}
+
+	/**
+	 * Persists the cache. This is synchronized, as the long-running modes persist
+	 * the cache from their own threads and the temporary file is shared.
+	 */
+	@Override
+	public synchronized void persist( ) {
+		if ( !entries.isEvaluated( ) ) {
+			return;
+		}
+
+		final Path absoluteCacheFile = cacheFile.toAbsolutePath( );
+		// The temporary file is created with the default permissions instead of the restrictive ones of a temporary file
+		final Path temporaryFile = absoluteCacheFile.resolveSibling( absoluteCacheFile.getFileName( ) + "." + ProcessHandle.current( ).pid( ) + ".tmp" );
+		try {
+			try ( BufferedWriter writer = Files.newBufferedWriter( temporaryFile, StandardCharsets.UTF_8 ) ) {
+				writer.write( HEADER );
+				writer.newLine( );
+				for ( final Map.Entry<String, Entry> entry : entries.get( ).entrySet( ) ) {
+					writer.write( format( entry.getKey( ), entry.getValue( ) ) );
+					writer.newLine( );
+				}
+			}
+			copyPermissions( absoluteCacheFile, temporaryFile );
+			move( temporaryFile, absoluteCacheFile );
+		} catch ( final IOException ex ) {
+			console.printError( MessageFormat.format( "The verification cache ''{0}'' could not be written.", cacheFile ) );
+			deleteQuietly( temporaryFile );
+		}
+	}
+
+	private void copyPermissions( final Path source, final Path target ) throws IOException {
+		try {
+			Files.setPosixFilePermissions( target, Files.getPosixFilePermissions( source ) );
+		} catch ( final NoSuchFileException | UnsupportedOperationException ex ) {
+			// The cache is written for the first time or the file system does not support POSIX permissions
+		}
+	}
+
+	private void move( final Path source, final Path target ) throws IOException {
+		try {
+			Files.move( source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		} catch ( final AtomicMoveNotSupportedException ex ) {
+			Files.move( source, target, StandardCopyOption.REPLACE_EXISTING );
+		}
+	}
+
+	private void deleteQuietly( final Path path ) {
+		try {
+			Files.deleteIfExists( path );
+		} catch ( final IOException ex ) {
+			// Nothing we can do about it
+		}
+	}
+
+	private Map<String, Entry> load( ) {
+		final Map<String, Entry> loadedEntries = new ConcurrentHashMap<>( );
+		try ( BufferedReader reader = Files.newBufferedReader( cacheFile, StandardCharsets.UTF_8 ) ) {
+			String line = reader.readLine( );
+			if ( !HEADER.equals( line ) ) {
+				console.printError( MessageFormat.format( "The verification cache ''{0}'' has an unknown format and is ignored.", cacheFile ) );
+				return loadedEntries;
+			}
+			while ( ( line = reader.readLine( ) ) != null ) {
+				parse( line, loadedEntries );
+			}
+		} catch ( final NoSuchFileException ex ) {
+			// The cache is created on the first run
+		} catch ( final IOException | RuntimeException ex ) {
+			console.printError( MessageFormat.format( "The verification cache ''{0}'' could not be read and is ignored.", cacheFile ) );
+			loadedEntries.clear( );
+		}
+		return loadedEntries;
+	}
+
+	private void parse( final String line, final Map<String, Entry> loadedEntries ) {
+		final String[] fields = line.split( SEPARATOR, FIELD_COUNT );
+		if ( fields.length != FIELD_COUNT ) {
+			return;
+		}
+
+		final FileMetadata fileMetadata = parseMetadata( fields, 2 ).get( );
+		final Map<ChecksumAlgorithm, FileMetadata> checksumFileMetadata = new EnumMap<>( ChecksumAlgorithm.class );
+		int field = 2 + METADATA_FIELD_COUNT;
+		for ( final ChecksumAlgorithm algorithm : ChecksumAlgorithm.values( ) ) {
+			parseMetadata( fields, field ).forEach( metadata -> checksumFileMetadata.put( algorithm, metadata ) );
+			field += METADATA_FIELD_COUNT;
+		}
+		final Entry entry = new Entry( new FileFingerprint( fileMetadata, checksumFileMetadata ), Boolean.parseBoolean( fields[0] ), Long.parseLong( fields[1] ) );
+		loadedEntries.put( fields[field], entry );
+	}
+
+	private Option<FileMetadata> parseMetadata( final String[] fields, final int firstField ) {
+		if ( MISSING.equals( fields[firstField] ) ) {
+			return Option.none( );
+		}
+		return Option.of( new FileMetadata( Long.parseLong( fields[firstField] ), Long.parseLong( fields[firstField + 1] ), parseFileKey( fields[firstField + 2] ) ) );
+	}
+
+	private String parseFileKey( final String field ) {
+		return MISSING.equals( field ) ? null : field;
+	}
+
+	private String format( final String key, final Entry entry ) {
+		final List<String> fields = new ArrayList<>( FIELD_COUNT );
+		fields.add( Boolean.toString( entry.valid ) );
+		fields.add( Long.toString( entry.verifiedAt ) );
+		formatMetadata( Option.of( entry.fingerprint.getFileMetadata( ) ), fields );
+		for ( final ChecksumAlgorithm algorithm : ChecksumAlgorithm.values( ) ) {
+			formatMetadata( Option.of( entry.fingerprint.getChecksumFileMetadata( ).get( algorithm ) ), fields );
+		}
+		fields.add( key );
+		return String.join( SEPARATOR, fields );
+	}
+
+	private void formatMetadata( final Option<FileMetadata> optionalMetadata, final List<String> fields ) {
+		fields.add( optionalMetadata.map( metadata -> Long.toString( metadata.getSize( ) ) ).getOrElse( MISSING ) );
+		fields.add( optionalMetadata.map( metadata -> Long.toString( metadata.getLastModified( ) ) ).getOrElse( MISSING ) );
+		fields.add( optionalMetadata.flatMap( metadata -> metadata.getFileKey( ) ).getOrElse( MISSING ) );
+	}
+
+	private String toKey( final File file ) {
+		return file.getPath( ).toAbsolutePath( ).normalize( ).toString( );
+	}
+
+	private static final class Entry {
+
+		private final FileFingerprint fingerprint;
+		private final boolean valid;
+		private final long verifiedAt;
+
+		/**
+		 * Whether the file has been looked up since the cache has been loaded.
+		 */
+		private volatile boolean used;
+
+		Entry( final FileFingerprint fingerprint, final boolean valid, final long verifiedAt ) {
+			this.fingerprint = fingerprint;
+			this.valid = valid;
+			this.verifiedAt = verifiedAt;
+		}
+
+	}
+
+}
@@ -0,0 +1,39 @@
+package de.rhocas.nce.msv.adapter.cache;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileFingerprint;
+import de.rhocas.nce.msv.domain.port.VerificationCache;
+import io.vavr.control.Option;
+
+/**
+ * This adapter is an implementation of {@link VerificationCache} that does not
+ * cache anything. It is used if the cache is not enabled.
+ */
+public final class NoVerificationCache implements VerificationCache {
+
+	@Override
+	public boolean isEnabled( ) {
+		return false;
+	}
+
+	@Override
+	public Option<Boolean> getValidity( final File file, final FileFingerprint fingerprint ) {
+		return Option.none( );
+	}
+
+	@Override
+	public void putValidity( final File file, final FileFingerprint fingerprint, final boolean valid ) {
+		// Nothing to do
+	}
+
+	@Override
+	public void prune( ) {
+		// Nothing to do
+	}
+
+	@Override
+	public void persist( ) {
+		// Nothing to do
+	}
+
+}
@@ -0,0 +1,157 @@
+package de.rhocas.nce.msv.adapter.checkpoint;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.text.MessageFormat;
+import java.util.ArrayList;
+import java.util.List;
+
+import de.rhocas.nce.msv.domain.entity.Checkpoint;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.port.CheckpointStore;
+import de.rhocas.nce.msv.domain.port.Console;
+import io.vavr.control.Option;
+
+/**
+ * This adapter is an implementation of {@link CheckpointStore} that stores the
+ * checkpoint in a file. The file contains the validated repository, the
+ * position and the relative paths of the invalid files, one per line.
+ */
+public final class FileCheckpointStore implements CheckpointStore {
+
+	private static final String HEADER = "# maven-sha-validator checkpoint v1";
+
+	private final Path checkpointFile;
+	private final boolean resume;
+	private final Console console;
+
+	/**
+	 * Creates a new store.
+	 *
+	 * @param checkpointFile The file in which the checkpoint is stored.
+	 * @param resume         If set, the stored checkpoint is loaded. Otherwise
+	 *                       the validation starts over and the stored
+	 *                       checkpoint is replaced.
+	 * @param console        The console to report problems with the checkpoint
+	 *                       file.
+	 */
+	public FileCheckpointStore( final Path checkpointFile, final boolean resume, final Console console ) {
+		this.checkpointFile = checkpointFile;
+		this.resume = resume;
+		this.console = console;
+	}
+
+	@Override
+	public boolean isEnabled( ) {
+		return true;
+	}
+
+	@Override
+	public Option<Checkpoint> load( final Path directory ) {
+		if ( !resume ) {
+			return Option.none( );
+		}
+
+		try ( BufferedReader reader = Files.newBufferedReader( checkpointFile, StandardCharsets.UTF_8 ) ) {
+			if ( !HEADER.equals( reader.readLine( ) ) ) {
+				console.printError( MessageFormat.format( "The checkpoint ''{0}'' has an unknown format and is ignored.", checkpointFile ) );
+				return Option.none( );
+			}
+			if ( !toKey( directory ).equals( reader.readLine( ) ) ) {
+				console.printError( MessageFormat.format( "The checkpoint ''{0}'' belongs to another repository and is ignored.", checkpointFile ) );
+				return Option.none( );
+			}
+			final String position = reader.readLine( );
+			if ( position == null ) {
+				throw new IOException( "The position is missing." );
+			}
+			final List<File> invalidFiles = new ArrayList<>( );
+			String line;
+			while ( ( line = reader.readLine( ) ) != null ) {
+				invalidFiles.add( toFile( directory, line ) );
+			}
+
+			console.printMessage( MessageFormat.format( "Resuming the validation after ''{0}''.", position ) );
+			return Option.some( new Checkpoint( position, invalidFiles ) );
+		} catch ( final NoSuchFileException ex ) {
+			console.printMessage( MessageFormat.format( "The checkpoint ''{0}'' does not exist. The validation starts from the beginning.", checkpointFile ) );
+			return Option.none( );
+		} catch ( final IOException | RuntimeException ex ) {
+			console.printError( MessageFormat.format( "The checkpoint ''{0}'' could not be read and is ignored.", checkpointFile ) );
+			return Option.none( );
+		}
+	}
+
+	@Override
+	public void save( final Path directory, final Checkpoint checkpoint ) {
+		final Path absoluteCheckpointFile = checkpointFile.toAbsolutePath( );
+		Path temporaryFile = null;
+		try {
+			temporaryFile = Files.createTempFile( absoluteCheckpointFile.getParent( ), absoluteCheckpointFile.getFileName( ).toString( ), ".tmp" );
+			try ( BufferedWriter writer = Files.newBufferedWriter( temporaryFile, StandardCharsets.UTF_8 ) ) {
+				writer.write( HEADER );
+				writer.newLine( );
+				writer.write( toKey( directory ) );
+				writer.newLine( );
+				writer.write( checkpoint.getPosition( ) );
+				writer.newLine( );
+				for ( final File invalidFile : checkpoint.getInvalidFiles( ) ) {
+					writer.write( invalidFile.getPathRelativeToDirectory( ) );
+					writer.newLine( );
+				}
+			}
+			// An interrupted write must not destroy the previous checkpoint
+			move( temporaryFile, absoluteCheckpointFile );
+		} catch ( final IOException ex ) {
+			console.printError( MessageFormat.format( "The checkpoint ''{0}'' could not be written.", checkpointFile ) );
+			deleteQuietly( temporaryFile );
+		}
+	}
+
+	@Override
+	public void delete( ) {
+		try {
+			Files.deleteIfExists( checkpointFile );
+		} catch ( final IOException ex ) {
+			console.printError( MessageFormat.format( "The checkpoint ''{0}'' could not be deleted.", checkpointFile ) );
+		}
+	}
+
+	private void move( final Path source, final Path target ) throws IOException {
+		try {
+			Files.move( source, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE );
+		} catch ( final AtomicMoveNotSupportedException ex ) {
+			Files.move( source, target, StandardCopyOption.REPLACE_EXISTING );
+		}
+	}
+
+	private void deleteQuietly( final Path path ) {
+		if ( path == null ) {
+			return;
+		}
+		try {
+			Files.deleteIfExists( path );
+		} catch ( final IOException ex ) {
+			// Nothing we can do about it
+		}
+	}
+
+	private File toFile( final Path directory, final String relativePath ) {
+		final Path path = directory.resolve( relativePath );
+		final String fileName = path.getFileName( ).toString( );
+		final int lastIndex = fileName.lastIndexOf( '.' );
+		return new File( path, lastIndex == -1 ? null : fileName.substring( lastIndex + 1 ), directory );
+	}
+
+	private String toKey( final Path directory ) {
+		return directory.toAbsolutePath( ).normalize( ).toString( );
+	}
+
+}
@@ -0,0 +1,206 @@
+package de.rhocas.nce.msv.adapter.console;
+
+import java.io.BufferedWriter;
+import java.io.FileDescriptor;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.locks.LockSupport;
+
+import de.rhocas.nce.msv.domain.port.Console;
+
+/**
+ * This adapter is an implementation of {@link Console} that hands the output
+ * to a single writer thread through a lock-free queue. The writer thread
+ * writes into large buffers and flushes them at the latest after the flush
+ * interval, which means that the printing threads usually neither wait for the
+ * stream lock nor for a slow consumer of the output. The number of pending lines
+ * is bounded: progress lines are dropped while the writer thread is far behind,
+ * all other lines wait for a free slot. Lines printed after closing the console
+ * are written and flushed directly.
+ */
+public final class AsyncConsole implements Console {
+
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+	public static final Duration DEFAULT_FLUSH_INTERVAL = Duration.ofMillis( 200 );
+
+	/**
+	 * The number of pending lines above which the printing threads wait for the
+	 * writer thread, so that a slow consumer of the output cannot exhaust the
+	 * memory.
+	 */
+	public static final int DEFAULT_MAXIMAL_PENDING_LINES = 64 * 1024;
+
+	/**
+	 * The number of pending lines above which progress lines are dropped. The
+	 * progress is outdated anyway once it is written.
+	 */
+	static final int MAXIMAL_PENDING_LINES_FOR_PROGRESS = 1024;
+
+	private final Queue<Line> lines = new ConcurrentLinkedQueue<>( );
+	private final Semaphore freeSlots;
+	private final int maximalPendingLines;
+	private final Writer outWriter;
+	private final Writer errWriter;
+	private final long flushIntervalNanos;
+	private final Thread writerThread;
+
+	private volatile boolean closed;
+
+	/**
+	 * Whether the output is gone. Guarded by this console.
+	 */
+	private boolean failed;
+
+	public AsyncConsole( ) {
+		// The file descriptors are used directly, as System.out and System.err synchronize and flush every line
+		this( new FileOutputStream( FileDescriptor.out ), new FileOutputStream( FileDescriptor.err ), DEFAULT_BUFFER_SIZE, DEFAULT_FLUSH_INTERVAL, DEFAULT_MAXIMAL_PENDING_LINES );
+	}
+
+	AsyncConsole( final OutputStream out, final OutputStream err, final int bufferSize, final Duration flushInterval, final int maximalPendingLines ) {
+		this.maximalPendingLines = maximalPendingLines;
+		freeSlots = new Semaphore( maximalPendingLines );
+		outWriter = new BufferedWriter( new OutputStreamWriter( out, Charset.defaultCharset( ) ), bufferSize );
+		errWriter = new BufferedWriter( new OutputStreamWriter( err, Charset.defaultCharset( ) ), bufferSize );
+		flushIntervalNanos = flushInterval.toNanos( );
+		writerThread = new Thread( this::writeLines, "console-writer" );
+		writerThread.setDaemon( true );
+		writerThread.start( );
+	}
+
+	@Override
+	public void printMessage( final String message ) {
+		freeSlots.acquireUninterruptibly( );
+		enqueue( new Line( message, false ) );
+	}
+
+	@Override
+	public void printError( final String error ) {
+		freeSlots.acquireUninterruptibly( );
+		enqueue( new Line( error, true ) );
+	}
+
+	@Override
+	public void printProgress( final String progress ) {
+		if ( maximalPendingLines - freeSlots.availablePermits( ) < MAXIMAL_PENDING_LINES_FOR_PROGRESS && freeSlots.tryAcquire( ) ) {
+			// The progress is written to SysErr, so that the output can still be processed by scripts
+			enqueue( new Line( progress, true ) );
+		}
+	}
+
+	private void enqueue( final Line line ) {
+		lines.offer( line );
+		// The flag has to be read after the line is enqueued, so that either the writer thread or this thread writes the line
+		if ( closed ) {
+			writePendingLines( );
+			flushPendingLines( );
+		}
+	}
+
+	@Override
+	public void close( ) {
+		if ( closed ) {
+			return;
+		}
+
+		closed = true;
+		LockSupport.unpark( writerThread );
+		try {
+			writerThread.join( );
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+		}
+	}
+
+	private void writeLines( ) {
+		long unflushedSince = 0;
+		boolean unflushed = false;
+
+		while ( true ) {
+			// The flag has to be read before the queue is drained, so that no line enqueued before the closing is lost
+			final boolean closing = closed;
+
+			if ( writePendingLines( ) && !unflushed ) {
+				unflushed = true;
+				unflushedSince = System.nanoTime( );
+			}
+
+			if ( unflushed && ( closing || System.nanoTime( ) - unflushedSince >= flushIntervalNanos ) ) {
+				flushPendingLines( );
+				unflushed = false;
+			}
+			if ( closing ) {
+				return;
+			}
+
+			LockSupport.parkNanos( this, unflushed ? Math.max( 1, flushIntervalNanos - ( System.nanoTime( ) - unflushedSince ) ) : flushIntervalNanos );
+		}
+	}
+
+	/**
+	 * Writes the pending lines. This is usually only done by the writer thread,
+	 * but after closing the console also by the printing threads.
+	 *
+	 * @return true if and only if any line has been written.
+	 */
+	private synchronized boolean writePendingLines( ) {
+		boolean written = false;
+		Line line;
+		while ( ( line = lines.poll( ) ) != null ) {
+			freeSlots.release( );
+			if ( !failed ) {
+				failed = !write( line );
+				written = true;
+			}
+		}
+		return written;
+	}
+
+	private synchronized void flushPendingLines( ) {
+		if ( !failed ) {
+			failed = !flush( );
+		}
+	}
+
+	private boolean write( final Line line ) {
+		try {
+			final Writer writer = line.error ? errWriter : outWriter;
+			writer.write( line.text );
+			writer.write( System.lineSeparator( ) );
+			return true;
+		} catch ( final IOException ex ) {
+			// Like System.out, the console stays silent if the output is gone (e.g. a closed pipe)
+			return false;
+		}
+	}
+
+	private boolean flush( ) {
+		try {
+			outWriter.flush( );
+			errWriter.flush( );
+			return true;
+		} catch ( final IOException ex ) {
+			return false;
+		}
+	}
+
+	private static final class Line {
+
+		private final String text;
+		private final boolean error;
+
+		Line( final String text, final boolean error ) {
+			this.text = text;
+			this.error = error;
+		}
+
+	}
+
+}
@@ -0,0 +1,201 @@
+package de.rhocas.nce.msv.adapter.console;
+
+import java.time.Duration;
+import java.util.Locale;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+import de.rhocas.nce.msv.domain.entity.LatencyHistogram;
+import de.rhocas.nce.msv.domain.entity.ValidationStage;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
+import de.rhocas.nce.msv.domain.port.Console;
+
+/**
+ * This adapter reports the statistics of a validation run on the console: periodically
+ * during the run and as summary at the end.
+ */
+public final class ProgressReporter {
+
+	/**
+	 * The available formats of the summary.
+	 */
+	public enum SummaryFormat {
+
+		/**
+		 * A few human readable lines.
+		 */
+		TEXT,
+
+		/**
+		 * A single JSON object.
+		 */
+		JSON
+
+	}
+
+	private static final String[] BYTE_UNITS = { "B", "KiB", "MiB", "GiB", "TiB", "PiB" };
+
+	private final Console console;
+	private final ValidationStatistics statistics;
+
+	private ScheduledExecutorService scheduler;
+
+	public ProgressReporter( final Console console, final ValidationStatistics statistics ) {
+		this.console = console;
+		this.statistics = statistics;
+	}
+
+	/**
+	 * Starts to print the progress periodically.
+	 *
+	 * @param interval The interval between two progress lines.
+	 */
+	public void start( final Duration interval ) {
+		scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+			final Thread thread = new Thread( runnable, "progress-reporter" );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		final long intervalMillis = Math.max( 1, interval.toMillis( ) );
+		scheduler.scheduleAtFixedRate( ( ) -> console.printProgress( formatProgress( System.nanoTime( ) ) ), intervalMillis, intervalMillis, TimeUnit.MILLISECONDS );
+	}
+
+	/**
+	 * Stops to print the progress. This method does nothing if the reporter has
+	 * not been started.
+	 */
+	public void stop( ) {
+		if ( scheduler != null ) {
+			scheduler.shutdownNow( );
+			scheduler = null;
+		}
+	}
+
+	public void printSummary( final SummaryFormat format ) {
+		console.printMessage( formatSummary( format, System.nanoTime( ) ) );
+	}
+
+	String formatProgress( final long nowNanos ) {
+		final long elapsedNanos = nowNanos - statistics.getStartNanos( );
+		final StringBuilder builder = new StringBuilder( "Progress: " );
+		builder.append( statistics.getDiscoveredFiles( ) ).append( " files discovered" );
+		if ( !statistics.isTraversalFinished( ) ) {
+			builder.append( " so far" );
+		}
+		builder.append( ", " ).append( statistics.getVerifiedFiles( ) ).append( " verified" );
+		builder.append( ", " ).append( statistics.getInvalidFiles( ) ).append( " invalid" );
+		builder.append( ", " ).append( formatBytes( statistics.getHashedBytes( ) ) ).append( " hashed" );
+		builder.append( " (" ).append( formatThroughput( statistics.getHashedBytes( ), elapsedNanos ) ).append( ')' );
+		builder.append( ", ETA " ).append( formatEstimatedTimeOfArrival( elapsedNanos ) );
+		return builder.toString( );
+	}
+
+	private String formatEstimatedTimeOfArrival( final long elapsedNanos ) {
+		final long verifiedFiles = statistics.getVerifiedFiles( );
+		if ( verifiedFiles == 0 || elapsedNanos <= 0 ) {
+			return "unknown";
+		}
+
+		// The estimation is based on the files, as the sizes of the pending files are not known
+		final double nanosPerFile = (double) elapsedNanos / verifiedFiles;
+		final String eta = formatDuration( (long) ( nanosPerFile * statistics.getPendingFiles( ) ) );
+		return statistics.isTraversalFinished( ) ? eta : "at least " + eta;
+	}
+
+	String formatSummary( final SummaryFormat format, final long nowNanos ) {
+		final long elapsedNanos = nowNanos - statistics.getStartNanos( );
+		switch ( format ) {
+			case JSON:
+				return formatJsonSummary( elapsedNanos, nowNanos );
+			case TEXT:
+			default:
+				return formatTextSummary( elapsedNanos, nowNanos );
+		}
+	}
+
+	private String formatTextSummary( final long elapsedNanos, final long nowNanos ) {
+		final StringBuilder builder = new StringBuilder( );
+		builder.append( "Validation finished in " ).append( formatDuration( elapsedNanos ) );
+		builder.append( " (traversal: " ).append( formatDuration( statistics.getTraversalNanos( nowNanos ) ) ).append( ')' );
+		builder.append( System.lineSeparator( ) ).append( "Files: " )
+				.append( statistics.getDiscoveredFiles( ) ).append( " discovered, " )
+				.append( statistics.getSkippedFiles( ) ).append( " skipped, " )
+				.append( statistics.getVerifiedFiles( ) ).append( " verified (" ).append( statistics.getCachedFiles( ) ).append( " from cache), " )
+				.append( statistics.getHashedFiles( ) ).append( " hashed, " )
+				.append( statistics.getInvalidFiles( ) ).append( " invalid" );
+		builder.append( System.lineSeparator( ) ).append( "Hashed: " )
+				.append( formatBytes( statistics.getHashedBytes( ) ) )
+				.append( " (" ).append( formatThroughput( statistics.getHashedBytes( ), elapsedNanos ) ).append( ')' );
+
+		for ( final ValidationStage stage : ValidationStage.values( ) ) {
+			final LatencyHistogram latencies = statistics.getLatencies( stage );
+			if ( latencies.getCount( ) > 0 ) {
+				builder.append( System.lineSeparator( ) ).append( "Latency of " ).append( stage.getDescription( ) ).append( ": " )
+						.append( latencies.getCount( ) ).append( " files, mean " ).append( formatLatency( latencies.getMeanNanos( ) ) )
+						.append( ", p50 " ).append( formatLatency( latencies.getPercentileNanos( 50 ) ) )
+						.append( ", p90 " ).append( formatLatency( latencies.getPercentileNanos( 90 ) ) )
+						.append( ", p99 " ).append( formatLatency( latencies.getPercentileNanos( 99 ) ) )
+						.append( ", max " ).append( formatLatency( latencies.getMaximalNanos( ) ) );
+			}
+		}
+		return builder.toString( );
+	}
+
+	private String formatJsonSummary( final long elapsedNanos, final long nowNanos ) {
+		final StringBuilder builder = new StringBuilder( "{" );
+		builder.append( "\"elapsedNanos\":" ).append( elapsedNanos );
+		builder.append( ",\"traversalNanos\":" ).append( statistics.getTraversalNanos( nowNanos ) );
+		builder.append( ",\"discoveredFiles\":" ).append( statistics.getDiscoveredFiles( ) );
+		builder.append( ",\"skippedFiles\":" ).append( statistics.getSkippedFiles( ) );
+		builder.append( ",\"verifiedFiles\":" ).append( statistics.getVerifiedFiles( ) );
+		builder.append( ",\"cachedFiles\":" ).append( statistics.getCachedFiles( ) );
+		builder.append( ",\"hashedFiles\":" ).append( statistics.getHashedFiles( ) );
+		builder.append( ",\"hashedBytes\":" ).append( statistics.getHashedBytes( ) );
+		builder.append( ",\"invalidFiles\":" ).append( statistics.getInvalidFiles( ) );
+		builder.append( ",\"latencies\":{" );
+		for ( final ValidationStage stage : ValidationStage.values( ) ) {
+			final LatencyHistogram latencies = statistics.getLatencies( stage );
+			if ( stage.ordinal( ) > 0 ) {
+				builder.append( ',' );
+			}
+			builder.append( '"' ).append( stage.name( ).toLowerCase( Locale.ROOT ) ).append( "\":{" )
+					.append( "\"count\":" ).append( latencies.getCount( ) )
+					.append( ",\"meanNanos\":" ).append( latencies.getMeanNanos( ) )
+					.append( ",\"p50Nanos\":" ).append( latencies.getPercentileNanos( 50 ) )
+					.append( ",\"p90Nanos\":" ).append( latencies.getPercentileNanos( 90 ) )
+					.append( ",\"p99Nanos\":" ).append( latencies.getPercentileNanos( 99 ) )
+					.append( ",\"maxNanos\":" ).append( latencies.getMaximalNanos( ) )
+					.append( '}' );
+		}
+		builder.append( "}}" );
+		return builder.toString( );
+	}
+
+	private static String formatThroughput( final long bytes, final long elapsedNanos ) {
+		if ( elapsedNanos <= 0 ) {
+			return "n/a";
+		}
+		return formatBytes( (long) ( bytes * 1e9 / elapsedNanos ) ) + "/s";
+	}
+
+	static String formatBytes( final long bytes ) {
+		double value = bytes;
+		int unit = 0;
+		while ( value >= 1024 && unit < BYTE_UNITS.length - 1 ) {
+			value /= 1024;
+			unit++;
+		}
+		return unit == 0 ? bytes + " B" : String.format( Locale.ROOT, "%.1f %s", value, BYTE_UNITS[unit] );
+	}
+
+	static String formatDuration( final long nanos ) {
+		final long seconds = TimeUnit.NANOSECONDS.toSeconds( Math.max( 0, nanos ) );
+		return String.format( Locale.ROOT, "%d:%02d:%02d", seconds / 3600, seconds / 60 % 60, seconds % 60 );
+	}
+
+	private static String formatLatency( final long nanos ) {
+		return String.format( Locale.ROOT, "%.3f ms", nanos / 1e6 );
+	}
+
+}
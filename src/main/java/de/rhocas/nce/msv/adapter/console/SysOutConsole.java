@@ -18,4 +18,16 @@ public final class SysOutConsole implements Console {
 		System.err.println( error );
 	}
 
+	@Override
+	public void printProgress( final String progress ) {
+		// The progress is written to SysErr, so that the output can still be processed by scripts
+		System.err.println( progress );
+	}
+
+	@Override
+	public void close( ) {
+		System.out.flush( );
+		System.err.flush( );
+	}
+
 }
@@ -0,0 +1,45 @@
+package de.rhocas.nce.msv.adapter.execution;
+
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.rhocas.nce.msv.domain.port.ExecutionStrategy;
+
+/**
+ * This adapter is an implementation of {@link ExecutionStrategy} that uses a
+ * bounded pool of platform threads.
+ */
+public final class PlatformThreadExecution implements ExecutionStrategy {
+
+	private final int threads;
+
+	public PlatformThreadExecution( final int threads ) {
+		this.threads = threads;
+	}
+
+	@Override
+	public ExecutorService createExecutorService( ) {
+		return Executors.newFixedThreadPool( threads, new ValidationThreadFactory( ) );
+	}
+
+	@Override
+	public int getParallelism( ) {
+		return threads;
+	}
+
+	private static final class ValidationThreadFactory implements ThreadFactory {
+
+		private final AtomicInteger threadNumber = new AtomicInteger( 1 );
+
+		@Override
+		public Thread newThread( final Runnable runnable ) {
+			final Thread thread = new Thread( runnable, "validation-" + threadNumber.getAndIncrement( ) );
+			thread.setDaemon( true );
+			return thread;
+		}
+
+	}
+
+}
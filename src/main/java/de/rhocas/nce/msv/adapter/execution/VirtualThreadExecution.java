@@ -0,0 +1,47 @@
+package de.rhocas.nce.msv.adapter.execution;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import de.rhocas.nce.msv.domain.port.ExecutionStrategy;
+import io.vavr.control.Option;
+import io.vavr.control.Try;
+
+/**
+ * This adapter is an implementation of {@link ExecutionStrategy} that starts a
+ * new virtual thread for each task. As the application is still compiled for
+ * older runtimes, the virtual threads are created reflectively.
+ */
+public final class VirtualThreadExecution implements ExecutionStrategy {
+
+	private static final Option<Method> FACTORY_METHOD = Try.of( ( ) -> Executors.class.getMethod( "newVirtualThreadPerTaskExecutor" ) ).toOption( );
+
+	private final int parallelism;
+
+	public VirtualThreadExecution( final int parallelism ) {
+		this.parallelism = parallelism;
+	}
+
+	/**
+	 * Checks whether the current runtime supports virtual threads.
+	 *
+	 * @return true if and only if virtual threads are supported.
+	 */
+	public static boolean isSupported( ) {
+		return FACTORY_METHOD.isDefined( );
+	}
+
+	@Override
+	public ExecutorService createExecutorService( ) {
+		final Method factoryMethod = FACTORY_METHOD.getOrElseThrow( ( ) -> new IllegalStateException( "Virtual threads are not supported by this runtime." ) );
+		return Try.of( ( ) -> (ExecutorService) factoryMethod.invoke( null ) )
+				.getOrElseThrow( ex -> new IllegalStateException( "The virtual threads could not be created.", ex ) );
+	}
+
+	@Override
+	public int getParallelism( ) {
+		return parallelism;
+	}
+
+}
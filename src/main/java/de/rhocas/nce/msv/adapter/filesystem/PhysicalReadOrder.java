@@ -0,0 +1,63 @@
+package de.rhocas.nce.msv.adapter.filesystem;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.port.ReadOrder;
+
+/**
+ * This adapter is an implementation of {@link ReadOrder} that orders the files
+ * by their physical location, approximated by the device and the inode number.
+ * Most file systems allocate the inodes and the data of files created together
+ * close to each other, which means that rotating disks can read the files with
+ * few seeks. Files whose inode cannot be determined (e.g. on Windows) are read
+ * last in the order of the walk.
+ */
+public final class PhysicalReadOrder implements ReadOrder {
+
+	private static final long UNKNOWN = Long.MAX_VALUE;
+
+	@Override
+	public List<File> order( final List<File> files ) {
+		final List<Location> locations = files.stream( )
+				.map( file -> getLocation( file ) )
+				.collect( Collectors.toCollection( ArrayList::new ) );
+
+		// The sort is stable, so that files with the same or an unknown location keep the order of the walk
+		locations.sort( Comparator.comparingLong( ( final Location location ) -> location.device ).thenComparingLong( location -> location.inode ) );
+		return locations.stream( )
+				.map( location -> location.file )
+				.collect( Collectors.toList( ) );
+	}
+
+	private Location getLocation( final File file ) {
+		try {
+			final Map<String, Object> attributes = Files.readAttributes( file.getPath( ), "unix:dev,ino" );
+			return new Location( file, ( (Number) attributes.get( "dev" ) ).longValue( ), ( (Number) attributes.get( "ino" ) ).longValue( ) );
+		} catch ( final IOException | UnsupportedOperationException ex ) {
+			// The file system does not provide the inode or the file cannot be accessed (which is detected later on)
+			return new Location( file, UNKNOWN, UNKNOWN );
+		}
+	}
+
+	private static final class Location {
+
+		private final File file;
+		private final long device;
+		private final long inode;
+
+		Location( final File file, final long device, final long inode ) {
+			this.file = file;
+			this.device = device;
+			this.inode = inode;
+		}
+
+	}
+
+}
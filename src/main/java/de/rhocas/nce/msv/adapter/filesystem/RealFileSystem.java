@@ -1,16 +1,45 @@
 package de.rhocas.nce.msv.adapter.filesystem;
 
 import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileVisitResult;
 import java.nio.file.Files;
+import java.nio.file.LinkOption;
 import java.nio.file.Path;
+import java.nio.file.SimpleFileVisitor;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayDeque;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import de.rhocas.nce.msv.adapter.jfr.DirectoryVisitedEvent;
+import de.rhocas.nce.msv.adapter.jfr.FileDeletedEvent;
+import de.rhocas.nce.msv.adapter.jfr.FileReadEvent;
+import de.rhocas.nce.msv.domain.entity.DirectoryListing;
 import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileMetadata;
 import de.rhocas.nce.msv.domain.error.FilesCannotBeRemoved;
 import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.domain.filter.WalkOrder;
 import de.rhocas.nce.msv.domain.port.FileSystem;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
@@ -22,14 +51,84 @@ import io.vavr.control.Option;
 public final class RealFileSystem implements FileSystem {
 
 	@Override
-	public Either<RootDirectoryCannotBeAccessed, List<File>> listFilesInDirectory( final Path directory ) {
-		try ( Stream<Path> stream = Files.walk( directory ) ) {
-			return Either.right( stream
-					.filter( path -> Files.isRegularFile( path ) )
-					.map( path -> pathToFile( path, directory ) )
-					.collect( Collectors.toList( ) ) );
+	public Either<RootDirectoryCannotBeAccessed, List<File>> listFilesInDirectory( final Path directory, final TraversalFilter filter ) {
+		final List<File> files = new ArrayList<>( );
+		final Option<RootDirectoryCannotBeAccessed> optionalError = walkFilesInDirectory( directory, filter, file -> files.add( file ) );
+		if ( optionalError.isDefined( ) ) {
+			return Either.left( optionalError.get( ) );
+		}
+
+		// All paths start with the directory, so comparing them is the same as comparing the relative paths
+		files.sort( Comparator.comparing( file -> file.getPath( ).toString( ), WalkOrder.COMPARATOR ) );
+		return Either.right( files );
+	}
+
+	@Override
+	public Option<RootDirectoryCannotBeAccessed> walkFilesInDirectory( final Path directory, final TraversalFilter filter, final Consumer<File> fileConsumer ) {
+		try {
+			Files.walkFileTree( directory, new FilteringFileVisitor( directory, filter, fileConsumer, Option.none( ), Option.none( ) ) );
+			return Option.none( );
+		} catch ( final IOException ex ) {
+			return Option.some( new RootDirectoryCannotBeAccessed( ) );
+		}
+	}
+
+	@Override
+	public Option<RootDirectoryCannotBeAccessed> walkDirectoriesInDirectory( final Path directory, final TraversalFilter filter, final Consumer<DirectoryListing> directoryConsumer ) {
+		try {
+			Files.walkFileTree( directory, new FilteringFileVisitor( directory, filter, file -> {
+			}, Option.of( directoryConsumer ), Option.none( ) ) );
+			return Option.none( );
 		} catch ( final IOException ex ) {
-			return Either.left( new RootDirectoryCannotBeAccessed( ) );
+			return Option.some( new RootDirectoryCannotBeAccessed( ) );
+		}
+	}
+
+	@Override
+	public Option<RootDirectoryCannotBeAccessed> watchFilesInDirectory( final Path directory, final TraversalFilter filter, final Consumer<File> changedFileConsumer ) {
+		try ( WatchService watchService = directory.getFileSystem( ).newWatchService( ) ) {
+			Files.walkFileTree( directory, new FilteringFileVisitor( directory, filter, file -> {
+			}, Option.none( ), Option.of( watchService ) ) );
+
+			while ( true ) {
+				final WatchKey key = watchService.take( );
+				final Path watchedDirectory = (Path) key.watchable( );
+				for ( final WatchEvent<?> event : key.pollEvents( ) ) {
+					if ( event.kind( ) == StandardWatchEventKinds.OVERFLOW ) {
+						// Events have been lost, which means that all files of the directory are reported again
+						watchNewDirectory( directory, watchedDirectory, filter, watchService, changedFileConsumer );
+					} else {
+						handleWatchEvent( directory, watchedDirectory.resolve( (Path) event.context( ) ), event.kind( ), filter, watchService, changedFileConsumer );
+					}
+				}
+				key.reset( );
+			}
+		} catch ( final IOException ex ) {
+			return Option.some( new RootDirectoryCannotBeAccessed( ) );
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			return Option.none( );
+		} catch ( final ClosedWatchServiceException ex ) {
+			return Option.none( );
+		}
+	}
+
+	private void handleWatchEvent( final Path directory, final Path changedPath, final WatchEvent.Kind<?> kind, final TraversalFilter filter, final WatchService watchService, final Consumer<File> changedFileConsumer ) {
+		if ( Files.isDirectory( changedPath, LinkOption.NOFOLLOW_LINKS ) ) {
+			if ( kind == StandardWatchEventKinds.ENTRY_CREATE ) {
+				// Files can be created before the new directory is watched. They are therefore reported by the walk.
+				watchNewDirectory( directory, changedPath, filter, watchService, changedFileConsumer );
+			}
+		} else if ( Files.isRegularFile( changedPath ) && filter.includesFile( directory.relativize( changedPath ).toString( ) ) ) {
+			changedFileConsumer.accept( pathToFile( changedPath, directory ) );
+		}
+	}
+
+	private void watchNewDirectory( final Path directory, final Path newDirectory, final TraversalFilter filter, final WatchService watchService, final Consumer<File> changedFileConsumer ) {
+		try {
+			Files.walkFileTree( newDirectory, new FilteringFileVisitor( directory, filter, changedFileConsumer, Option.none( ), Option.of( watchService ) ) );
+		} catch ( final IOException | UncheckedIOException ex ) {
+			// The directory has been removed in the meantime
 		}
 	}
 
@@ -42,9 +141,12 @@ public final class RealFileSystem implements FileSystem {
 		final List<File> unremovableFiles = new ArrayList<>( );
 
 		for ( final File file : files ) {
+			final Option<FileDeletedEvent> optionalEvent = FileDeletedEvent.beginIfRecorded( );
 			try {
 				Files.delete( file.getPath( ) );
+				optionalEvent.forEach( event -> event.finish( file.getPath( ), true ) );
 			} catch ( final IOException e ) {
+				optionalEvent.forEach( event -> event.finish( file.getPath( ), false ) );
 				unremovableFiles.add( file );
 			}
 		}
@@ -52,6 +154,31 @@ public final class RealFileSystem implements FileSystem {
 		return Option.when( !unremovableFiles.isEmpty( ), ( ) -> new FilesCannotBeRemoved( unremovableFiles ) );
 	}
 
+	@Override
+	public boolean removeDirectoryIfEmpty( final Path directory ) {
+		final Option<FileDeletedEvent> optionalEvent = FileDeletedEvent.beginIfRecorded( );
+		try {
+			Files.delete( directory );
+			optionalEvent.forEach( event -> event.finish( directory, true ) );
+			return true;
+		} catch ( final IOException e ) {
+			optionalEvent.forEach( event -> event.finish( directory, false ) );
+			return false;
+		}
+	}
+
+	@Override
+	public Option<List<File>> listSiblingFiles( final File file ) {
+		try ( Stream<Path> siblings = Files.list( file.getPath( ).getParent( ) ) ) {
+			return Option.of( siblings
+					.filter( path -> Files.isRegularFile( path ) )
+					.map( path -> pathToFile( path, file.getRootDirectory( ) ) )
+					.collect( Collectors.toList( ) ) );
+		} catch ( final IOException | UncheckedIOException e ) {
+			return Option.none( );
+		}
+	}
+
 	private String findExtension( final Path path ) {
 		final String fileName = path.getFileName( ).toString( );
 		final int lastIndex = fileName.lastIndexOf( '.' );
@@ -63,14 +190,109 @@ public final class RealFileSystem implements FileSystem {
 
 	@Override
 	public Option<byte[]> readBytes( final File file ) {
+		final Option<FileReadEvent> optionalEvent = FileReadEvent.beginIfRecorded( );
 		try {
 			final byte[] allBytes = Files.readAllBytes( file.getPath( ) );
+			optionalEvent.forEach( event -> event.finish( file.getPath( ), allBytes.length, "bytes" ) );
 			return Option.of( allBytes );
 		} catch ( final IOException e ) {
 			return Option.none( );
 		}
 	}
 
+	@Override
+	public Option<byte[]> readTail( final File file, final int length ) {
+		final Option<FileReadEvent> optionalEvent = FileReadEvent.beginIfRecorded( );
+		try ( FileChannel channel = FileChannel.open( file.getPath( ), StandardOpenOption.READ ) ) {
+			final ByteBuffer buffer = ByteBuffer.allocate( (int) Math.min( length, channel.size( ) ) );
+			long position = channel.size( ) - buffer.capacity( );
+			while ( buffer.hasRemaining( ) ) {
+				final int readBytes = channel.read( buffer, position );
+				if ( readBytes == -1 ) {
+					// The file has been truncated in the meantime
+					break;
+				}
+				position += readBytes;
+			}
+			optionalEvent.forEach( event -> event.finish( file.getPath( ), buffer.position( ), "tail" ) );
+			return Option.of( Arrays.copyOf( buffer.array( ), buffer.position( ) ) );
+		} catch ( final IOException e ) {
+			return Option.none( );
+		}
+	}
+
+	@Override
+	public Option<Long> readChunks( final File file, final ByteBuffer buffer, final Consumer<ByteBuffer> chunkConsumer ) {
+		final Option<FileReadEvent> optionalEvent = FileReadEvent.beginIfRecorded( );
+		try ( FileChannel channel = FileChannel.open( file.getPath( ), StandardOpenOption.READ ) ) {
+			long totalBytes = 0;
+			buffer.clear( );
+			while ( channel.read( buffer ) != -1 ) {
+				buffer.flip( );
+				totalBytes += buffer.remaining( );
+				chunkConsumer.accept( buffer );
+				buffer.clear( );
+			}
+			final long readBytes = totalBytes;
+			optionalEvent.forEach( event -> event.finish( file.getPath( ), readBytes, "chunks" ) );
+			return Option.of( totalBytes );
+		} catch ( final IOException e ) {
+			return Option.none( );
+		}
+	}
+
+	@Override
+	public Option<Long> mapChunks( final File file, final long windowSize, final Consumer<ByteBuffer> chunkConsumer ) {
+		final Option<FileReadEvent> optionalEvent = FileReadEvent.beginIfRecorded( );
+		try ( FileChannel channel = FileChannel.open( file.getPath( ), StandardOpenOption.READ ) ) {
+			final long size = channel.size( );
+			long position = 0;
+			while ( position < size ) {
+				final long length = Math.min( windowSize, size - position );
+				final MappedByteBuffer window = channel.map( MapMode.READ_ONLY, position, length );
+				chunkConsumer.accept( window );
+				position += length;
+			}
+			optionalEvent.forEach( event -> event.finish( file.getPath( ), size, "mapped" ) );
+			return Option.of( size );
+		} catch ( final IOException e ) {
+			return Option.none( );
+		}
+	}
+
+	@Override
+	public Option<Long> getSize( final File file ) {
+		try {
+			return Option.of( Files.size( file.getPath( ) ) );
+		} catch ( final IOException e ) {
+			return Option.none( );
+		}
+	}
+
+	@Override
+	public Option<FileMetadata> getMetadata( final File file ) {
+		try {
+			return Option.of( toMetadata( Files.readAttributes( file.getPath( ), BasicFileAttributes.class ) ) );
+		} catch ( final IOException e ) {
+			return Option.none( );
+		}
+	}
+
+	@Override
+	public Option<Integer> getLinkCount( final File file ) {
+		try {
+			return Option.of( (Integer) Files.getAttribute( file.getPath( ), "unix:nlink" ) );
+		} catch ( final IOException | UnsupportedOperationException | IllegalArgumentException e ) {
+			// The unix attributes are not available on every platform
+			return Option.none( );
+		}
+	}
+
+	private static FileMetadata toMetadata( final BasicFileAttributes attributes ) {
+		final Object fileKey = attributes.fileKey( );
+		return new FileMetadata( attributes.size( ), attributes.lastModifiedTime( ).toMillis( ), fileKey != null ? fileKey.toString( ) : null );
+	}
+
 	@Override
 	public Option<File> getSiblingFile( final File file, final String siblingFileName ) {
 		return Option.of( file.getPath( ).resolveSibling( siblingFileName ) )
@@ -88,4 +310,143 @@ public final class RealFileSystem implements FileSystem {
 		}
 	}
 
+	/**
+	 * Skips the excluded directories as a whole, so that no file within them is
+	 * accessed at all. If a directory consumer is given, the content of each
+	 * directory is collected into a listing as well.
+	 */
+	private final class FilteringFileVisitor extends SimpleFileVisitor<Path> {
+
+		private final Path directory;
+		private final TraversalFilter filter;
+		private final Consumer<File> fileConsumer;
+		private final Option<Consumer<DirectoryListing>> optionalDirectoryConsumer;
+		private final Option<WatchService> optionalWatchService;
+		private final Deque<VisitedDirectory> visitedDirectories = new ArrayDeque<>( );
+
+		FilteringFileVisitor( final Path directory, final TraversalFilter filter, final Consumer<File> fileConsumer, final Option<Consumer<DirectoryListing>> optionalDirectoryConsumer,
+				final Option<WatchService> optionalWatchService ) {
+			this.directory = directory;
+			this.filter = filter;
+			this.fileConsumer = fileConsumer;
+			this.optionalDirectoryConsumer = optionalDirectoryConsumer;
+			this.optionalWatchService = optionalWatchService;
+		}
+
+		@Override
+		public FileVisitResult preVisitDirectory( final Path dir, final BasicFileAttributes attributes ) throws IOException {
+			final Option<DirectoryVisitedEvent> optionalEvent = DirectoryVisitedEvent.beginIfRecorded( );
+			if ( dir.equals( directory ) || filter.includesDirectory( directory.relativize( dir ).toString( ) ) ) {
+				if ( optionalWatchService.isDefined( ) ) {
+					watch( dir, optionalWatchService.get( ) );
+				}
+				visitedDirectories.push( new VisitedDirectory( optionalEvent ) );
+				return FileVisitResult.CONTINUE;
+			}
+			optionalEvent.forEach( event -> event.finish( dir, true ) );
+			return FileVisitResult.SKIP_SUBTREE;
+		}
+
+		private void watch( final Path dir, final WatchService watchService ) throws IOException {
+			try {
+				dir.register( watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY );
+			} catch ( final IOException ex ) {
+				// Without the root directory there is nothing to watch, but a single directory can be missed
+				if ( dir.equals( directory ) ) {
+					throw ex;
+				}
+			}
+		}
+
+		@Override
+		public FileVisitResult visitFile( final Path file, final BasicFileAttributes attributes ) {
+			// The walk does not visit any directory if the root itself is a file
+			final VisitedDirectory visitedDirectory = visitedDirectories.peek( );
+			if ( isRegularFile( file, attributes ) ) {
+				final File domainFile = pathToFile( file, directory );
+				final boolean included = filter.includesFile( directory.relativize( file ).toString( ) );
+				if ( visitedDirectory != null ) {
+					visitedDirectory.addFile( domainFile, included, optionalDirectoryConsumer.isDefined( ) ? getTargetMetadata( file, attributes ) : null );
+				}
+				if ( included ) {
+					fileConsumer.accept( domainFile );
+				}
+			}
+			return FileVisitResult.CONTINUE;
+		}
+
+		private FileMetadata getTargetMetadata( final Path file, final BasicFileAttributes attributes ) {
+			if ( !attributes.isSymbolicLink( ) ) {
+				return toMetadata( attributes );
+			}
+			// The attributes of the link itself are not relevant, but those of the linked file
+			try {
+				return toMetadata( Files.readAttributes( file, BasicFileAttributes.class ) );
+			} catch ( final IOException ex ) {
+				return null;
+			}
+		}
+
+		@Override
+		public FileVisitResult postVisitDirectory( final Path dir, final IOException ex ) throws IOException {
+			final VisitedDirectory visitedDirectory = visitedDirectories.pop( );
+			visitedDirectory.optionalEvent.forEach( event -> event.finish( dir, false ) );
+			if ( !visitedDirectory.files.isEmpty( ) ) {
+				optionalDirectoryConsumer.forEach( directoryConsumer -> directoryConsumer.accept( new DirectoryListing( dir, visitedDirectory.files, visitedDirectory.entries, visitedDirectory.metadata ) ) );
+			}
+			return super.postVisitDirectory( dir, ex );
+		}
+
+		private boolean isRegularFile( final Path file, final BasicFileAttributes attributes ) {
+			// Symbolic links are not followed by the walk, but linked files are validated nevertheless
+			return attributes.isRegularFile( ) || attributes.isSymbolicLink( ) && Files.isRegularFile( file );
+		}
+
+		@Override
+		public FileVisitResult visitFileFailed( final Path file, final IOException ex ) throws IOException {
+			if ( file.equals( directory ) ) {
+				throw ex;
+			}
+			throw new UncheckedIOException( ex );
+		}
+
+	}
+
+	/**
+	 * The state of a directory while its content is being walked.
+	 */
+	private static final class VisitedDirectory {
+
+		private final Option<DirectoryVisitedEvent> optionalEvent;
+		private final List<File> files = new ArrayList<>( );
+		private final Map<String, File> entries = new HashMap<>( );
+		private final Map<String, FileMetadata> metadata = new HashMap<>( );
+
+		VisitedDirectory( final Option<DirectoryVisitedEvent> optionalEvent ) {
+			this.optionalEvent = optionalEvent;
+		}
+
+		/**
+		 * Adds a regular file of the directory.
+		 *
+		 * @param file         The file.
+		 * @param included     Whether the file is included by the filter.
+		 * @param fileMetadata The metadata of the file, or null if the content of
+		 *                     the directory is not collected.
+		 */
+		void addFile( final File file, final boolean included, final FileMetadata fileMetadata ) {
+			if ( included ) {
+				optionalEvent.forEach( DirectoryVisitedEvent::addFile );
+			}
+			if ( fileMetadata != null ) {
+				entries.put( file.getName( ), file );
+				metadata.put( file.getName( ), fileMetadata );
+				if ( included ) {
+					files.add( file );
+				}
+			}
+		}
+
+	}
+
 }
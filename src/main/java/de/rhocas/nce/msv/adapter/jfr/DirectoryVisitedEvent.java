@@ -0,0 +1,81 @@
+package de.rhocas.nce.msv.adapter.jfr;
+
+import java.nio.file.Path;
+
+import io.vavr.control.Option;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a directory of the walk. Its duration includes
+ * the whole subtree.
+ */
+@Name( "de.rhocas.nce.msv.DirectoryVisited" )
+@Label( "Directory Visited" )
+@Category( { "Maven SHA Validator", "Traversal" } )
+@Description( "A directory visited by the walk through the repository, including its subtree" )
+@StackTrace( false )
+public final class DirectoryVisitedEvent extends Event {
+
+	private static final EventType EVENT_TYPE = EventType.getEventType( DirectoryVisitedEvent.class );
+
+	@Label( "Path" )
+	private String path;
+
+	@Label( "Files" )
+	@Description( "The number of files in the directory (without subdirectories) which passed the filter" )
+	private int files;
+
+	@Label( "Skipped" )
+	@Description( "Whether the directory has been excluded by the filter as a whole" )
+	private boolean skipped;
+
+	/**
+	 * Checks whether the event is enabled in a running recording.
+	 *
+	 * @return true if and only if the event is recorded.
+	 */
+	public static boolean isRecorded( ) {
+		return EVENT_TYPE.isEnabled( );
+	}
+
+	/**
+	 * Creates and begins a new event, if it is recorded. As every directory of the
+	 * repository is visited, no event should be created otherwise.
+	 *
+	 * @return The begun event, or an empty option if the event is not recorded.
+	 */
+	public static Option<DirectoryVisitedEvent> beginIfRecorded( ) {
+		if ( !isRecorded( ) ) {
+			return Option.none( );
+		}
+		final DirectoryVisitedEvent event = new DirectoryVisitedEvent( );
+		event.begin( );
+		return Option.of( event );
+	}
+
+	public void addFile( ) {
+		files++;
+	}
+
+	/**
+	 * Ends and commits the event, if it is enabled in a running recording.
+	 *
+	 * @param directory The visited directory.
+	 * @param skipped   Whether the directory has been excluded by the filter.
+	 */
+	public void finish( final Path directory, final boolean skipped ) {
+		end( );
+		if ( shouldCommit( ) ) {
+			path = directory.toString( );
+			this.skipped = skipped;
+			commit( );
+		}
+	}
+
+}
@@ -0,0 +1,73 @@
+package de.rhocas.nce.msv.adapter.jfr;
+
+import java.nio.file.Path;
+
+import io.vavr.control.Option;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a file which should be removed from the file
+ * system.
+ */
+@Name( "de.rhocas.nce.msv.FileDeleted" )
+@Label( "File Deleted" )
+@Category( { "Maven SHA Validator", "File System" } )
+@Description( "An invalid file which should be removed from the file system" )
+@StackTrace( false )
+public final class FileDeletedEvent extends Event {
+
+	private static final EventType EVENT_TYPE = EventType.getEventType( FileDeletedEvent.class );
+
+	@Label( "Path" )
+	private String path;
+
+	@Label( "Deleted" )
+	@Description( "Whether the file could be deleted" )
+	private boolean deleted;
+
+	/**
+	 * Checks whether the event is enabled in a running recording.
+	 *
+	 * @return true if and only if the event is recorded.
+	 */
+	public static boolean isRecorded( ) {
+		return EVENT_TYPE.isEnabled( );
+	}
+
+	/**
+	 * Creates and begins a new event, if it is recorded. As possibly many files
+	 * are removed, no event should be created otherwise.
+	 *
+	 * @return The begun event, or an empty option if the event is not recorded.
+	 */
+	public static Option<FileDeletedEvent> beginIfRecorded( ) {
+		if ( !isRecorded( ) ) {
+			return Option.none( );
+		}
+		final FileDeletedEvent event = new FileDeletedEvent( );
+		event.begin( );
+		return Option.of( event );
+	}
+
+	/**
+	 * Ends and commits the event, if it is enabled in a running recording.
+	 *
+	 * @param file    The file.
+	 * @param deleted Whether the file could be deleted.
+	 */
+	public void finish( final Path file, final boolean deleted ) {
+		end( );
+		if ( shouldCommit( ) ) {
+			path = file.toString( );
+			this.deleted = deleted;
+			commit( );
+		}
+	}
+
+}
@@ -0,0 +1,106 @@
+package de.rhocas.nce.msv.adapter.jfr;
+
+import java.nio.file.Path;
+import java.util.Set;
+
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * A flight recorder event for a file whose checksums have been calculated. The
+ * duration is split into the time spent in the message digests (CPU) and the
+ * remaining time, which is mostly spent waiting for the file system (I/O).
+ */
+@Name( "de.rhocas.nce.msv.FileHashed" )
+@Label( "File Hashed" )
+@Category( { "Maven SHA Validator", "Hashing" } )
+@Description( "A file whose checksums have been calculated" )
+@StackTrace( false )
+public final class FileHashedEvent extends Event {
+
+	private static final EventType EVENT_TYPE = EventType.getEventType( FileHashedEvent.class );
+
+	@Label( "Path" )
+	private String path;
+
+	@Label( "Size" )
+	@DataAmount
+	private long size;
+
+	@Label( "Algorithms" )
+	private String algorithms;
+
+	@Label( "Digest Time" )
+	@Description( "The time spent in the message digests" )
+	@Timespan
+	private long digestTime;
+
+	@Label( "I/O Time" )
+	@Description( "The time not spent in the message digests, which is mostly the time to read the file" )
+	@Timespan
+	private long ioTime;
+
+	/**
+	 * The start of the event. It is only measured if the event is enabled and not
+	 * recorded itself.
+	 */
+	private transient long startNanos;
+
+	/**
+	 * Checks whether the event is enabled in a running recording. As files are
+	 * hashed on the hot path, the event should only be created in this case.
+	 *
+	 * @return true if and only if the event is recorded.
+	 */
+	public static boolean isRecorded( ) {
+		return EVENT_TYPE.isEnabled( );
+	}
+
+	/**
+	 * Starts the event.
+	 */
+	public void start( ) {
+		begin( );
+		if ( isEnabled( ) ) {
+			startNanos = System.nanoTime( );
+		}
+	}
+
+	/**
+	 * Adds the time spent in the message digests. This should only be measured if
+	 * {@link #isEnabled()} returns true.
+	 *
+	 * @param nanos The time in nanoseconds.
+	 */
+	public void addDigestTime( final long nanos ) {
+		digestTime += nanos;
+	}
+
+	/**
+	 * Ends and commits the event, if it is enabled in a running recording.
+	 *
+	 * @param file       The hashed file.
+	 * @param size       The size of the file.
+	 * @param algorithms The calculated algorithms.
+	 */
+	public void finish( final Path file, final long size, final Set<ChecksumAlgorithm> algorithms ) {
+		end( );
+		if ( shouldCommit( ) ) {
+			path = file.toString( );
+			this.size = size;
+			this.algorithms = algorithms.toString( );
+			// The recording might have been started while the file was hashed
+			ioTime = startNanos == 0 ? 0 : Math.max( 0, System.nanoTime( ) - startNanos - digestTime );
+			commit( );
+		}
+	}
+
+}
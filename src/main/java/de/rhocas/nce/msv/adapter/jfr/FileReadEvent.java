@@ -0,0 +1,79 @@
+package de.rhocas.nce.msv.adapter.jfr;
+
+import java.nio.file.Path;
+
+import io.vavr.control.Option;
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.EventType;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * A flight recorder event for a file read from the file system.
+ */
+@Name( "de.rhocas.nce.msv.FileRead" )
+@Label( "File Read" )
+@Category( { "Maven SHA Validator", "File System" } )
+@Description( "A file completely read from the file system" )
+@StackTrace( false )
+public final class FileReadEvent extends Event {
+
+	private static final EventType EVENT_TYPE = EventType.getEventType( FileReadEvent.class );
+
+	@Label( "Path" )
+	private String path;
+
+	@Label( "Bytes" )
+	@DataAmount
+	private long bytes;
+
+	@Label( "Mode" )
+	@Description( "How the file has been read: bytes, chunks or mapped" )
+	private String mode;
+
+	/**
+	 * Checks whether the event is enabled in a running recording.
+	 *
+	 * @return true if and only if the event is recorded.
+	 */
+	public static boolean isRecorded( ) {
+		return EVENT_TYPE.isEnabled( );
+	}
+
+	/**
+	 * Creates and begins a new event, if it is recorded. As files are read on the
+	 * hot path, no event should be created otherwise.
+	 *
+	 * @return The begun event, or an empty option if the event is not recorded.
+	 */
+	public static Option<FileReadEvent> beginIfRecorded( ) {
+		if ( !isRecorded( ) ) {
+			return Option.none( );
+		}
+		final FileReadEvent event = new FileReadEvent( );
+		event.begin( );
+		return Option.of( event );
+	}
+
+	/**
+	 * Ends and commits the event, if it is enabled in a running recording.
+	 *
+	 * @param file  The read file.
+	 * @param bytes The number of bytes read.
+	 * @param mode  How the file has been read.
+	 */
+	public void finish( final Path file, final long bytes, final String mode ) {
+		end( );
+		if ( shouldCommit( ) ) {
+			path = file.toString( );
+			this.bytes = bytes;
+			this.mode = mode;
+			commit( );
+		}
+	}
+
+}
@@ -0,0 +1,53 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import java.nio.file.Path;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.ResultReport;
+import io.vavr.control.Option;
+
+/**
+ * This adapter is an implementation of {@link ResultReport} that writes a CSV
+ * file (RFC 4180) with the columns type and path.
+ */
+public final class CsvResultReport implements ResultReport {
+
+	static final String HEADER = "type,path";
+
+	private final ReportFileWriter writer;
+
+	public CsvResultReport( final Path reportFile, final Console console ) {
+		writer = new ReportFileWriter( reportFile, Option.of( HEADER ), console );
+	}
+
+	@Override
+	public void invalidFileDetected( final File file ) {
+		writeLine( ResultType.INVALID, file.getPath( ) );
+	}
+
+	@Override
+	public void removalFinished( final RemovalReport report ) {
+		report.getRemovedFiles( ).forEach( file -> writeLine( ResultType.REMOVED, file.getPath( ) ) );
+		report.getRemovedDirectories( ).forEach( directory -> writeLine( ResultType.DIRECTORY_REMOVED, directory ) );
+		report.getUnremovableFiles( ).forEach( file -> writeLine( ResultType.NOT_REMOVED, file.getPath( ) ) );
+	}
+
+	private void writeLine( final ResultType type, final Path path ) {
+		writer.writeLine( type.getName( ) + ',' + quote( path.toString( ) ) );
+	}
+
+	static String quote( final String value ) {
+		if ( value.indexOf( ',' ) == -1 && value.indexOf( '"' ) == -1 && value.indexOf( '\n' ) == -1 && value.indexOf( '\r' ) == -1 ) {
+			return value;
+		}
+		return '"' + value.replace( "\"", "\"\"" ) + '"';
+	}
+
+	@Override
+	public void close( ) {
+		writer.close( );
+	}
+
+}
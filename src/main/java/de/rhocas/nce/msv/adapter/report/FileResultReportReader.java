@@ -0,0 +1,186 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.ReportedResults;
+import de.rhocas.nce.msv.domain.error.ReportCannotBeRead;
+import de.rhocas.nce.msv.domain.port.ResultReportReader;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+/**
+ * This adapter is an implementation of {@link ResultReportReader} that reads
+ * the report files written by {@link JsonLinesResultReport} and
+ * {@link CsvResultReport}. The format is detected by the header of the CSV
+ * files.
+ */
+public final class FileResultReportReader implements ResultReportReader {
+
+	private static final Pattern JSON_LINE = Pattern.compile( "\\{\"type\":\"([^\"\\\\]*)\",\"path\":\"((?:[^\"\\\\]|\\\\.)*)\"\\}" );
+
+	/**
+	 * The paths are reported like they have been printed, i.e. relative to the
+	 * working directory if the repository has been given relative.
+	 */
+	private static final Path WORKING_DIRECTORY = Paths.get( "" );
+
+	@Override
+	public Either<ReportCannotBeRead, ReportedResults> read( final Path reportFile ) {
+		final String content;
+		try {
+			content = Files.readString( reportFile, StandardCharsets.UTF_8 );
+		} catch ( final IOException ex ) {
+			return Either.left( new ReportCannotBeRead( reportFile ) );
+		}
+
+		final Option<List<String[]>> optionalEntries = content.startsWith( CsvResultReport.HEADER ) ? parseCsv( content ) : parseJsonLines( content );
+		return optionalEntries
+				.flatMap( FileResultReportReader::toResults )
+				.toEither( ( ) -> new ReportCannotBeRead( reportFile ) );
+	}
+
+	private static Option<List<String[]>> parseJsonLines( final String content ) {
+		final List<String[]> entries = new ArrayList<>( );
+		for ( final String line : content.split( "\r?\n" ) ) {
+			if ( line.isEmpty( ) ) {
+				continue;
+			}
+			final Matcher matcher = JSON_LINE.matcher( line );
+			if ( !matcher.matches( ) ) {
+				return Option.none( );
+			}
+			final Option<String> optionalPath = unescape( matcher.group( 2 ) );
+			if ( optionalPath.isEmpty( ) ) {
+				return Option.none( );
+			}
+			entries.add( new String[] { matcher.group( 1 ), optionalPath.get( ) } );
+		}
+		return Option.of( entries );
+	}
+
+	/**
+	 * Reverses {@link JsonLinesResultReport#escape(String)}.
+	 */
+	private static Option<String> unescape( final String value ) {
+		final StringBuilder builder = new StringBuilder( value.length( ) );
+		for ( int index = 0; index < value.length( ); index++ ) {
+			final char character = value.charAt( index );
+			if ( character != '\\' ) {
+				builder.append( character );
+			} else if ( index + 1 < value.length( ) && value.charAt( index + 1 ) != 'u' ) {
+				builder.append( value.charAt( ++index ) );
+			} else if ( index + 5 < value.length( ) ) {
+				try {
+					builder.append( (char) Integer.parseInt( value.substring( index + 2, index + 6 ), 16 ) );
+				} catch ( final NumberFormatException ex ) {
+					return Option.none( );
+				}
+				index += 5;
+			} else {
+				return Option.none( );
+			}
+		}
+		return Option.of( builder.toString( ) );
+	}
+
+	/**
+	 * Parses the records of a CSV file (RFC 4180). Quoted values can contain
+	 * separators, quotes and line breaks.
+	 */
+	private static Option<List<String[]>> parseCsv( final String content ) {
+		final List<String[]> entries = new ArrayList<>( );
+		final List<String> values = new ArrayList<>( );
+		final StringBuilder value = new StringBuilder( );
+		boolean quoted = false;
+		for ( int index = 0; index < content.length( ); index++ ) {
+			final char character = content.charAt( index );
+			if ( quoted ) {
+				if ( character != '"' ) {
+					value.append( character );
+				} else if ( index + 1 < content.length( ) && content.charAt( index + 1 ) == '"' ) {
+					value.append( '"' );
+					index++;
+				} else {
+					quoted = false;
+				}
+			} else if ( character == '"' ) {
+				quoted = true;
+			} else if ( character == ',' ) {
+				values.add( value.toString( ) );
+				value.setLength( 0 );
+			} else if ( character == '\n' ) {
+				values.add( value.toString( ) );
+				value.setLength( 0 );
+				entries.add( values.toArray( new String[0] ) );
+				values.clear( );
+			} else if ( character != '\r' ) {
+				value.append( character );
+			}
+		}
+		if ( quoted ) {
+			return Option.none( );
+		}
+		if ( value.length( ) > 0 || !values.isEmpty( ) ) {
+			values.add( value.toString( ) );
+			entries.add( values.toArray( new String[0] ) );
+		}
+
+		// The first record is the header
+		return Option.of( entries.subList( 1, entries.size( ) ) );
+	}
+
+	private static Option<ReportedResults> toResults( final List<String[]> entries ) {
+		final List<File> invalidFiles = new ArrayList<>( );
+		final List<File> removedFiles = new ArrayList<>( );
+		final List<Path> removedDirectories = new ArrayList<>( );
+		final List<File> unremovableFiles = new ArrayList<>( );
+
+		for ( final String[] entry : entries ) {
+			final Option<ResultType> optionalType = entry.length == 2 ? ResultType.fromName( entry[0] ) : Option.none( );
+			if ( optionalType.isEmpty( ) ) {
+				return Option.none( );
+			}
+
+			final Path path;
+			try {
+				path = Paths.get( entry[1] );
+			} catch ( final InvalidPathException ex ) {
+				return Option.none( );
+			}
+			switch ( optionalType.get( ) ) {
+				case INVALID:
+					invalidFiles.add( toFile( path ) );
+					break;
+				case REMOVED:
+					removedFiles.add( toFile( path ) );
+					break;
+				case DIRECTORY_REMOVED:
+					removedDirectories.add( path );
+					break;
+				case NOT_REMOVED:
+				default:
+					unremovableFiles.add( toFile( path ) );
+					break;
+			}
+		}
+		return Option.of( new ReportedResults( invalidFiles, new RemovalReport( removedFiles, removedDirectories, unremovableFiles ) ) );
+	}
+
+	private static File toFile( final Path path ) {
+		final String fileName = Option.of( path.getFileName( ) ).map( Path::toString ).getOrElse( "" );
+		final int lastIndex = fileName.lastIndexOf( '.' );
+		return new File( path, lastIndex == -1 ? null : fileName.substring( lastIndex + 1 ), WORKING_DIRECTORY );
+	}
+
+}
@@ -0,0 +1,66 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import java.nio.file.Path;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.ResultReport;
+import io.vavr.control.Option;
+
+/**
+ * This adapter is an implementation of {@link ResultReport} that writes one
+ * JSON object per line, e.g. {"type":"invalid","path":"..."}.
+ */
+public final class JsonLinesResultReport implements ResultReport {
+
+	private final ReportFileWriter writer;
+
+	public JsonLinesResultReport( final Path reportFile, final Console console ) {
+		writer = new ReportFileWriter( reportFile, Option.none( ), console );
+	}
+
+	@Override
+	public void invalidFileDetected( final File file ) {
+		writeLine( ResultType.INVALID, file.getPath( ) );
+	}
+
+	@Override
+	public void removalFinished( final RemovalReport report ) {
+		report.getRemovedFiles( ).forEach( file -> writeLine( ResultType.REMOVED, file.getPath( ) ) );
+		report.getRemovedDirectories( ).forEach( directory -> writeLine( ResultType.DIRECTORY_REMOVED, directory ) );
+		report.getUnremovableFiles( ).forEach( file -> writeLine( ResultType.NOT_REMOVED, file.getPath( ) ) );
+	}
+
+	private void writeLine( final ResultType type, final Path path ) {
+		writer.writeLine( "{\"type\":\"" + type.getName( ) + "\",\"path\":\"" + escape( path.toString( ) ) + "\"}" );
+	}
+
+	/**
+	 * Escapes the given value for a JSON string.
+	 *
+	 * @param value The value.
+	 *
+	 * @return The escaped value without the surrounding quotes.
+	 */
+	public static String escape( final String value ) {
+		final StringBuilder builder = new StringBuilder( value.length( ) );
+		for ( int index = 0; index < value.length( ); index++ ) {
+			final char character = value.charAt( index );
+			if ( character == '"' || character == '\\' ) {
+				builder.append( '\\' ).append( character );
+			} else if ( character < 0x20 ) {
+				builder.append( String.format( "\\u%04x", (int) character ) );
+			} else {
+				builder.append( character );
+			}
+		}
+		return builder.toString( );
+	}
+
+	@Override
+	public void close( ) {
+		writer.close( );
+	}
+
+}
@@ -0,0 +1,28 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.port.ResultReport;
+
+/**
+ * This adapter is an implementation of {@link ResultReport} that does not
+ * record anything. It is used if no report has been requested.
+ */
+public final class NoResultReport implements ResultReport {
+
+	@Override
+	public void invalidFileDetected( final File file ) {
+		// Nothing to do
+	}
+
+	@Override
+	public void removalFinished( final RemovalReport report ) {
+		// Nothing to do
+	}
+
+	@Override
+	public void close( ) {
+		// Nothing to do
+	}
+
+}
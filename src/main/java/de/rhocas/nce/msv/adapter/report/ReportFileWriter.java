@@ -0,0 +1,86 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+
+import de.rhocas.nce.msv.domain.port.Console;
+import io.vavr.control.Option;
+
+/**
+ * Writes the lines of a report file. Each line is flushed immediately, so that
+ * the report is complete up to the last result even if the run is aborted. If
+ * the file cannot be written, the error is reported once and all further lines
+ * are dropped.
+ */
+final class ReportFileWriter {
+
+	private final Path reportFile;
+	private final Option<String> header;
+	private final Console console;
+
+	private BufferedWriter writer;
+	private boolean closed;
+
+	ReportFileWriter( final Path reportFile, final Option<String> header, final Console console ) {
+		this.reportFile = reportFile;
+		this.header = header;
+		this.console = console;
+	}
+
+	synchronized void writeLine( final String line ) {
+		if ( closed ) {
+			return;
+		}
+
+		try {
+			open( );
+			writer.write( line );
+			writer.newLine( );
+			writer.flush( );
+		} catch ( final IOException ex ) {
+			fail( );
+		}
+	}
+
+	synchronized void close( ) {
+		if ( closed ) {
+			return;
+		}
+
+		try {
+			// The report is written even without results, so that it is clear that nothing has been found
+			open( );
+			writer.close( );
+		} catch ( final IOException ex ) {
+			fail( );
+		}
+		closed = true;
+	}
+
+	private void open( ) throws IOException {
+		if ( writer == null ) {
+			writer = Files.newBufferedWriter( reportFile, StandardCharsets.UTF_8 );
+			if ( header.isDefined( ) ) {
+				writer.write( header.get( ) );
+				writer.newLine( );
+			}
+		}
+	}
+
+	private void fail( ) {
+		closed = true;
+		console.printError( MessageFormat.format( "The report ''{0}'' could not be written.", reportFile ) );
+		if ( writer != null ) {
+			try {
+				writer.close( );
+			} catch ( final IOException ex ) {
+				// Nothing we can do about it
+			}
+		}
+	}
+
+}
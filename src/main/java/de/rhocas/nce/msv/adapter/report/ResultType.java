@@ -0,0 +1,34 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import io.vavr.control.Option;
+
+/**
+ * The types of the entries in a report file.
+ */
+enum ResultType {
+
+	INVALID( "invalid" ),
+	REMOVED( "removed" ),
+	DIRECTORY_REMOVED( "directory-removed" ),
+	NOT_REMOVED( "not-removed" );
+
+	private final String name;
+
+	ResultType( final String name ) {
+		this.name = name;
+	}
+
+	String getName( ) {
+		return name;
+	}
+
+	static Option<ResultType> fromName( final String name ) {
+		for ( final ResultType type : values( ) ) {
+			if ( type.name.equals( name ) ) {
+				return Option.of( type );
+			}
+		}
+		return Option.none( );
+	}
+
+}
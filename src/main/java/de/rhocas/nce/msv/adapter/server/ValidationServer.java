@@ -0,0 +1,327 @@
+package de.rhocas.nce.msv.adapter.server;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import com.sun.net.httpserver.Headers;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import de.rhocas.nce.msv.adapter.report.JsonLinesResultReport;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
+import de.rhocas.nce.msv.domain.error.FilterRuleCannotBeParsed;
+import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.CoordinateFilter;
+import de.rhocas.nce.msv.domain.filter.SubtreeFilter;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.usecase.ListInvalidFiles;
+import io.vavr.control.Either;
+
+/**
+ * This adapter is a local HTTP server which validates parts of the repository on request. As
+ * the process keeps running, a request neither pays for the startup of the JVM
+ * nor for a cold JIT, and the verification cache stays in memory. The server is
+ * only bound to the loopback address.
+ * <p>
+ * {@code POST /validate?path=<path>&include=<rule>&exclude=<rule>} validates the
+ * given files or directories (relative to the repository), restricted by the
+ * given coordinate rules. Each parameter can be given multiple times. Without
+ * any path, the whole repository is validated. The response is a JSON object
+ * like {"invalidFiles":["..."],"verifiedFiles":2,"cachedFiles":1,"elapsedNanos":123}.
+ * <p>
+ * As a validation might remove files, it is neither triggered by a GET request
+ * nor by a request from a web page. A browser could otherwise be lured into
+ * sending such requests to the server, e.g. by an image or by DNS rebinding.
+ */
+public final class ValidationServer {
+
+	public static final int DEFAULT_PORT = 8787;
+
+	/**
+	 * The interval in which the verification cache is persisted, if anything has
+	 * been validated in the meantime.
+	 */
+	static final Duration CACHE_PERSIST_INTERVAL = Duration.ofMinutes( 1 );
+
+	private static final String CONTEXT = "/validate";
+	private static final String PATH_PARAMETER = "path";
+	private static final String INCLUDE_PARAMETER = "include";
+	private static final String EXCLUDE_PARAMETER = "exclude";
+	private static final Set<String> PARAMETERS = Set.of( PATH_PARAMETER, INCLUDE_PARAMETER, EXCLUDE_PARAMETER );
+	private static final Set<String> LOOPBACK_HOSTS = Set.of( "localhost", "127.0.0.1", "[::1]" );
+	private static final String HTTP_SCHEME = "http://";
+
+	/**
+	 * The number of requests handled concurrently. Each request validates its
+	 * files concurrently on its own.
+	 */
+	private static final int REQUEST_THREADS = 4;
+
+	private final ListInvalidFiles listInvalidFiles;
+	private final Path repositoryPath;
+	private final TraversalFilter filter;
+	private final Consumer<File> invalidFileConsumer;
+	private final AtomicBoolean validatedSinceLastPersist = new AtomicBoolean( );
+	private final CountDownLatch stopped = new CountDownLatch( 1 );
+
+	private HttpServer server;
+	private ExecutorService requestExecutor;
+	private ScheduledExecutorService scheduler;
+
+	/**
+	 * @param invalidFileConsumer The consumer receiving the invalid files. It can
+	 *                            be called from multiple threads concurrently.
+	 */
+	public ValidationServer( final ListInvalidFiles listInvalidFiles, final Path repositoryPath, final TraversalFilter filter, final Consumer<File> invalidFileConsumer ) {
+		this.listInvalidFiles = listInvalidFiles;
+		this.repositoryPath = repositoryPath;
+		this.filter = filter;
+		this.invalidFileConsumer = invalidFileConsumer;
+	}
+
+	/**
+	 * Starts the server.
+	 *
+	 * @param port The port to listen on. 0 selects a free port.
+	 *
+	 * @return The address the server is listening on.
+	 *
+	 * @throws IOException If the server cannot be bound to the port.
+	 */
+	public synchronized InetSocketAddress start( final int port ) throws IOException {
+		server = HttpServer.create( new InetSocketAddress( InetAddress.getLoopbackAddress( ), port ), 0 );
+		server.createContext( CONTEXT, this::handle );
+		requestExecutor = Executors.newFixedThreadPool( REQUEST_THREADS, runnable -> createDaemonThread( runnable, "validation-server" ) );
+		server.setExecutor( requestExecutor );
+		server.start( );
+
+		scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> createDaemonThread( runnable, "cache-persister" ) );
+		final long intervalMillis = CACHE_PERSIST_INTERVAL.toMillis( );
+		scheduler.scheduleWithFixedDelay( this::persistVerificationCache, intervalMillis, intervalMillis, TimeUnit.MILLISECONDS );
+		return server.getAddress( );
+	}
+
+	private static Thread createDaemonThread( final Runnable runnable, final String name ) {
+		final Thread thread = new Thread( runnable, name );
+		thread.setDaemon( true );
+		return thread;
+	}
+
+	/**
+	 * Waits until the server has been stopped.
+	 *
+	 * @throws InterruptedException If the waiting thread has been interrupted.
+	 */
+	public void awaitStop( ) throws InterruptedException {
+		stopped.await( );
+	}
+
+	/**
+	 * Stops the server and persists the verification cache. This method does
+	 * nothing if the server is not running.
+	 */
+	public synchronized void stop( ) {
+		if ( server == null ) {
+			return;
+		}
+
+		server.stop( 0 );
+		requestExecutor.shutdownNow( );
+		scheduler.shutdown( );
+		server = null;
+		persistVerificationCache( );
+		stopped.countDown( );
+	}
+
+	private synchronized void persistVerificationCache( ) {
+		if ( validatedSinceLastPersist.getAndSet( false ) ) {
+			listInvalidFiles.persistVerificationCache( );
+		}
+	}
+
+	private void handle( final HttpExchange exchange ) throws IOException {
+		try {
+			final Response response;
+			if ( !isLocalRequest( exchange.getRequestHeaders( ) ) ) {
+				response = Response.error( 403, "Only requests from the local machine are accepted." );
+			} else if ( !"POST".equals( exchange.getRequestMethod( ) ) ) {
+				exchange.getResponseHeaders( ).set( "Allow", "POST" );
+				response = Response.error( 405, "Only POST requests are supported." );
+			} else {
+				response = validateSafely( exchange.getRequestURI( ).getRawQuery( ) );
+			}
+
+			final byte[] body = response.body.getBytes( StandardCharsets.UTF_8 );
+			exchange.getResponseHeaders( ).set( "Content-Type", "application/json; charset=utf-8" );
+			exchange.sendResponseHeaders( response.status, body.length );
+			try ( OutputStream responseBody = exchange.getResponseBody( ) ) {
+				responseBody.write( body );
+			}
+		} finally {
+			exchange.close( );
+		}
+	}
+
+	/**
+	 * Checks whether the request has been addressed to the loopback address and
+	 * has not been sent by a web page. A browser sends the host of the requested
+	 * URL, which differs after a DNS rebinding, and the origin of the web page for
+	 * a POST request.
+	 */
+	static boolean isLocalRequest( final Headers headers ) {
+		final String host = headers.getFirst( "Host" );
+		if ( host == null || !isLoopbackHost( host ) ) {
+			return false;
+		}
+		final String origin = headers.getFirst( "Origin" );
+		return origin == null || origin.startsWith( HTTP_SCHEME ) && isLoopbackHost( origin.substring( HTTP_SCHEME.length( ) ) );
+	}
+
+	private static boolean isLoopbackHost( final String hostAndPort ) {
+		// IPv6 addresses contain colons themselves, but are enclosed in brackets
+		final int portIndex = hostAndPort.lastIndexOf( ':' );
+		final String host = portIndex > hostAndPort.lastIndexOf( ']' ) ? hostAndPort.substring( 0, portIndex ) : hostAndPort;
+		return LOOPBACK_HOSTS.contains( host.toLowerCase( Locale.ROOT ) );
+	}
+
+	private Response validateSafely( final String rawQuery ) {
+		try {
+			return validate( rawQuery );
+		} catch ( final RuntimeException ex ) {
+			// The server keeps running, as the following requests might succeed
+			return Response.error( 500, "The validation failed." );
+		}
+	}
+
+	Response validate( final String rawQuery ) {
+		final Map<String, List<String>> parameters;
+		try {
+			parameters = parseQuery( rawQuery );
+		} catch ( final IllegalArgumentException ex ) {
+			return Response.error( 400, "The query cannot be decoded." );
+		}
+		for ( final String parameter : parameters.keySet( ) ) {
+			if ( !PARAMETERS.contains( parameter ) ) {
+				return Response.error( 400, MessageFormat.format( "The parameter ''{0}'' is not supported.", parameter ) );
+			}
+		}
+
+		final Either<FilterRuleCannotBeParsed, TraversalFilter> eitherErrorOrCoordinateFilter = CoordinateFilter.compile( getValues( parameters, INCLUDE_PARAMETER ), getValues( parameters, EXCLUDE_PARAMETER ) );
+		if ( eitherErrorOrCoordinateFilter.isLeft( ) ) {
+			return Response.error( 400, MessageFormat.format( "The filter rule ''{0}'' cannot be parsed.", eitherErrorOrCoordinateFilter.getLeft( ).getRule( ) ) );
+		}
+
+		final Path normalizedRepositoryPath = repositoryPath.toAbsolutePath( ).normalize( );
+		final List<String> subtrees = new ArrayList<>( );
+		for ( final String path : getValues( parameters, PATH_PARAMETER ) ) {
+			final Path resolvedPath;
+			try {
+				resolvedPath = normalizedRepositoryPath.resolve( path ).normalize( );
+			} catch ( final InvalidPathException ex ) {
+				return Response.error( 400, MessageFormat.format( "The path ''{0}'' is invalid.", path ) );
+			}
+			if ( !resolvedPath.startsWith( normalizedRepositoryPath ) ) {
+				return Response.error( 400, MessageFormat.format( "The path ''{0}'' is not within the repository.", path ) );
+			}
+			subtrees.add( normalizedRepositoryPath.relativize( resolvedPath ).toString( ) );
+		}
+
+		// The repository is always walked from its root, so that the paths and coordinates of the files are the same as in a full validation
+		final ValidationStatistics statistics = new ValidationStatistics( );
+		final TraversalFilter requestFilter = filter.and( new SubtreeFilter( subtrees ) ).and( eitherErrorOrCoordinateFilter.get( ) );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> eitherErrorOrInvalidFiles = listInvalidFiles.listInvalidFilesWithoutPersisting( repositoryPath, requestFilter, statistics );
+		validatedSinceLastPersist.set( true );
+		if ( eitherErrorOrInvalidFiles.isLeft( ) ) {
+			return Response.error( 500, MessageFormat.format( "The given directory ''{0}'' cannot be accessed.", repositoryPath ) );
+		}
+
+		final List<File> invalidFiles = eitherErrorOrInvalidFiles.get( );
+		invalidFiles.forEach( invalidFileConsumer );
+		return new Response( 200, formatResult( invalidFiles, statistics ) );
+	}
+
+	private static String formatResult( final List<File> invalidFiles, final ValidationStatistics statistics ) {
+		final StringBuilder builder = new StringBuilder( "{\"invalidFiles\":[" );
+		for ( int index = 0; index < invalidFiles.size( ); index++ ) {
+			if ( index > 0 ) {
+				builder.append( ',' );
+			}
+			builder.append( '"' ).append( JsonLinesResultReport.escape( invalidFiles.get( index ).getPath( ).toString( ) ) ).append( '"' );
+		}
+		builder.append( "],\"verifiedFiles\":" ).append( statistics.getVerifiedFiles( ) );
+		builder.append( ",\"cachedFiles\":" ).append( statistics.getCachedFiles( ) );
+		builder.append( ",\"elapsedNanos\":" ).append( System.nanoTime( ) - statistics.getStartNanos( ) );
+		builder.append( '}' );
+		return builder.toString( );
+	}
+
+	private static Map<String, List<String>> parseQuery( final String rawQuery ) {
+		final Map<String, List<String>> parameters = new LinkedHashMap<>( );
+		if ( rawQuery == null || rawQuery.isEmpty( ) ) {
+			return parameters;
+		}
+
+		for ( final String parameter : rawQuery.split( "&" ) ) {
+			if ( parameter.isEmpty( ) ) {
+				continue;
+			}
+			final int separatorIndex = parameter.indexOf( '=' );
+			final String name = separatorIndex == -1 ? parameter : parameter.substring( 0, separatorIndex );
+			final String value = separatorIndex == -1 ? "" : parameter.substring( separatorIndex + 1 );
+			parameters.computeIfAbsent( URLDecoder.decode( name, StandardCharsets.UTF_8 ), key -> new ArrayList<>( ) ).add( URLDecoder.decode( value, StandardCharsets.UTF_8 ) );
+		}
+		return parameters;
+	}
+
+	private static List<String> getValues( final Map<String, List<String>> parameters, final String name ) {
+		return parameters.getOrDefault( name, Collections.emptyList( ) );
+	}
+
+	static final class Response {
+
+		private final int status;
+		private final String body;
+
+		Response( final int status, final String body ) {
+			this.status = status;
+			this.body = body;
+		}
+
+		static Response error( final int status, final String message ) {
+			return new Response( status, "{\"error\":\"" + JsonLinesResultReport.escape( message ) + "\"}" );
+		}
+
+		int getStatus( ) {
+			return status;
+		}
+
+		String getBody( ) {
+			return body;
+		}
+
+	}
+
+}
@@ -1,50 +1,53 @@
 package de.rhocas.nce.msv.adapter.sha1;
 
+import java.nio.ByteBuffer;
 import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
-import java.util.Formatter;
+import java.util.Set;
 
+import de.rhocas.nce.msv.adapter.jfr.FileHashedEvent;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
 import de.rhocas.nce.msv.domain.entity.File;
 import de.rhocas.nce.msv.domain.port.FileSystem;
 import de.rhocas.nce.msv.domain.port.SHA1Calculator;
 import io.vavr.control.Option;
 
 /**
- * This adapter is the default implementation of the {@link SHA1Calculator}.
+ * This adapter is the default implementation of the {@link SHA1Calculator}. It
+ * reads the files chunk by chunk into a reusable buffer per thread, which means
+ * that the memory consumption does not depend on the size of the files. Each
+ * chunk is fed into the message digests of all requested algorithms.
  */
 public final class DefaultSHA1Calculator implements SHA1Calculator {
 
-	private static final String SHA1_ALGORITHM = "SHA-1";
+	public static final int DEFAULT_BUFFER_SIZE = 64 * 1024;
+
 	private final FileSystem fileSystem;
+	private final ThreadLocal<ByteBuffer> buffers;
 
 	public DefaultSHA1Calculator( final FileSystem fileSystem ) {
-		this.fileSystem = fileSystem;
+		this( fileSystem, DEFAULT_BUFFER_SIZE, false );
 	}
 
-	@Override
-	public Option<String> calculate( final File file ) {
-		return fileSystem.readBytes( file )
-				.map( bytes -> calculateSHA1Bytes( bytes ) )
-				.map( bytes -> byteToHex( bytes ) );
+	public DefaultSHA1Calculator( final FileSystem fileSystem, final int bufferSize, final boolean directBuffer ) {
+		this.fileSystem = fileSystem;
+		buffers = ThreadLocal.withInitial( ( ) -> directBuffer ? ByteBuffer.allocateDirect( bufferSize ) : ByteBuffer.allocate( bufferSize ) );
 	}
 
-	private byte[] calculateSHA1Bytes( final byte[] bytes ) {
-		try {
-			final MessageDigest messageDigest = MessageDigest.getInstance( SHA1_ALGORITHM );
-			return messageDigest.digest( bytes );
-		} catch ( final NoSuchAlgorithmException ex ) {
-			// TODO: Can we do this better?
-			throw new RuntimeException( "The SHA1-Algorithm is not available.", ex );
+	@Override
+	public Option<Checksums> calculate( final File file, final Set<ChecksumAlgorithm> algorithms ) {
+		if ( !FileHashedEvent.isRecorded( ) ) {
+			final MessageDigest[] messageDigests = MessageDigests.getMessageDigests( algorithms );
+			return fileSystem.readChunks( file, buffers.get( ), chunk -> MessageDigests.update( messageDigests, algorithms, chunk ) )
+					.map( totalBytes -> MessageDigests.digest( messageDigests, algorithms ) );
 		}
-	}
 
-	private String byteToHex( final byte[] bytes ) {
-		try ( final Formatter formatter = new Formatter( ) ) {
-			for ( final byte b : bytes ) {
-				formatter.format( "%02x", b );
-			}
-			return formatter.toString( );
-		}
+		final FileHashedEvent event = new FileHashedEvent( );
+		event.start( );
+		final MessageDigest[] messageDigests = MessageDigests.getMessageDigests( algorithms );
+		return fileSystem.readChunks( file, buffers.get( ), chunk -> MessageDigests.update( messageDigests, algorithms, chunk, event ) )
+				.peek( totalBytes -> event.finish( file.getPath( ), totalBytes, algorithms ) )
+				.map( totalBytes -> MessageDigests.digest( messageDigests, algorithms ) );
 	}
 
 }
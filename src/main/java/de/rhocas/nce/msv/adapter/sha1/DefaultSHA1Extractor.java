@@ -1,17 +1,24 @@
 package de.rhocas.nce.msv.adapter.sha1;
 
-import java.text.MessageFormat;
+import java.util.function.Function;
 
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.DirectoryListing;
 import de.rhocas.nce.msv.domain.entity.File;
 import de.rhocas.nce.msv.domain.port.FileSystem;
 import de.rhocas.nce.msv.domain.port.SHA1Extractor;
 import io.vavr.control.Option;
 
 /**
- * This adapter is the default implementation of the {@link SHA1Extractor}.
+ * This adapter is the default implementation of the {@link SHA1Extractor}. The
+ * checksum files are parsed directly into raw digests. They are either looked up
+ * in the file system or resolved from the listing of the directory.
  */
 public final class DefaultSHA1Extractor implements SHA1Extractor {
 
+	private static final ChecksumAlgorithm[] ALGORITHMS = ChecksumAlgorithm.values( );
+
 	private final FileSystem fileSystem;
 
 	public DefaultSHA1Extractor( final FileSystem fileSystem ) {
@@ -19,20 +26,62 @@ public final class DefaultSHA1Extractor implements SHA1Extractor {
 	}
 
 	@Override
-	public Option<String> extract( final File file ) {
-		final String siblingFileName = MessageFormat.format( "{0}.sha1", file.getName( ).toString( ) );
-		return fileSystem.getSiblingFile( file, siblingFileName )
-				.flatMap( sha1File -> fileSystem.readString( sha1File ) )
-				.map( string -> extractActualSHA1String( string ) );
+	public Option<Checksums> extract( final File file ) {
+		return extract( file, checksumFileName -> fileSystem.getSiblingFile( file, checksumFileName ) );
+	}
+
+	@Override
+	public Option<Checksums> extract( final File file, final DirectoryListing listing ) {
+		return extract( file, checksumFileName -> listing.getEntry( checksumFileName ) );
+	}
+
+	private Option<Checksums> extract( final File file, final Function<String, Option<File>> checksumFileResolver ) {
+		final String fileName = file.getName( );
+		Checksums checksums = Checksums.EMPTY;
+		for ( final ChecksumAlgorithm algorithm : ALGORITHMS ) {
+			final Option<File> optionalChecksumFile = checksumFileResolver.apply( algorithm.getChecksumFileName( fileName ) );
+			if ( optionalChecksumFile.isDefined( ) ) {
+				final Option<byte[]> optionalDigest = fileSystem.readBytes( optionalChecksumFile.get( ) )
+						.flatMap( content -> parseDigest( content, algorithm.getDigestLength( ) ) );
+				if ( optionalDigest.isEmpty( ) ) {
+					return Option.none( );
+				}
+				checksums = checksums.with( algorithm, optionalDigest.get( ) );
+			}
+		}
+		return Option.of( checksums );
 	}
 
-	private String extractActualSHA1String( final String string ) {
-		String actualSHA1String = string;
-		final int firstSpaceIndex = actualSHA1String.indexOf( ' ' );
-		if ( firstSpaceIndex != -1 ) {
-			actualSHA1String = actualSHA1String.substring( 0, firstSpaceIndex );
+	/**
+	 * Parses the hexadecimal digest at the beginning of the content. Everything
+	 * after the first whitespace following the digest (usually the file name) is
+	 * ignored.
+	 */
+	private Option<byte[]> parseDigest( final byte[] content, final int digestLength ) {
+		int index = 0;
+		while ( index < content.length && isWhitespace( content[index] ) ) {
+			index++;
 		}
-		return actualSHA1String;
+
+		final int end = index + 2 * digestLength;
+		if ( end > content.length || end < content.length && !isWhitespace( content[end] ) ) {
+			return Option.none( );
+		}
+
+		final byte[] digest = new byte[digestLength];
+		for ( int i = 0; i < digestLength; i++ ) {
+			final int high = Character.digit( content[index++], 16 );
+			final int low = Character.digit( content[index++], 16 );
+			if ( high < 0 || low < 0 ) {
+				return Option.none( );
+			}
+			digest[i] = (byte) ( high << 4 | low );
+		}
+		return Option.of( digest );
+	}
+
+	private boolean isWhitespace( final byte b ) {
+		return b == ' ' || b == '\t' || b == '\r' || b == '\n';
 	}
 
 }
@@ -0,0 +1,111 @@
+package de.rhocas.nce.msv.adapter.sha1;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileMetadata;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.SHA1Calculator;
+import io.vavr.control.Option;
+
+/**
+ * This adapter is an implementation of the {@link SHA1Calculator} that
+ * calculates the checksums of a physical file only once, even if it is linked
+ * into the repository under several paths. The checksums are identified by the
+ * file key (e.g. the inode) and are only remembered until all links have been
+ * calculated. Links outside of the validated files are never calculated, so
+ * that only a limited number of the least recently used checksums is kept.
+ * Files with a single link are delegated directly to another calculator.
+ */
+public final class HardlinkAwareSHA1Calculator implements SHA1Calculator {
+
+	public static final int DEFAULT_MAXIMAL_SHARED_FILES = 10_000;
+
+	private final FileSystem fileSystem;
+	private final SHA1Calculator calculator;
+	private final Map<String, SharedChecksums> sharedChecksums;
+
+	public HardlinkAwareSHA1Calculator( final FileSystem fileSystem, final SHA1Calculator calculator, final int maximalSharedFiles ) {
+		this.fileSystem = fileSystem;
+		this.calculator = calculator;
+		// An evicted file is simply calculated again by its next link
+		sharedChecksums = Collections.synchronizedMap( new LinkedHashMap<String, SharedChecksums>( 16, 0.75f, true ) {
+
+			private static final long serialVersionUID = 1L;
+
+			@Override
+			protected boolean removeEldestEntry( final Map.Entry<String, SharedChecksums> eldest ) {
+				return size( ) > maximalSharedFiles;
+			}
+
+		} );
+	}
+
+	@Override
+	public Option<Checksums> calculate( final File file, final Set<ChecksumAlgorithm> algorithms ) {
+		final int linkCount = fileSystem.getLinkCount( file ).getOrElse( 1 );
+		if ( linkCount <= 1 ) {
+			return calculator.calculate( file, algorithms );
+		}
+
+		final Option<String> optionalKey = fileSystem.getMetadata( file ).flatMap( metadata -> toKey( metadata ) );
+		if ( optionalKey.isEmpty( ) ) {
+			return calculator.calculate( file, algorithms );
+		}
+
+		final String key = optionalKey.get( );
+		final SharedChecksums newChecksums = new SharedChecksums( linkCount - 1 );
+		final SharedChecksums existingChecksums = sharedChecksums.putIfAbsent( key, newChecksums );
+		if ( existingChecksums == null ) {
+			return calculateShared( key, newChecksums, file, algorithms );
+		}
+
+		// The other link might still be read, but reading the same file concurrently would not be faster
+		final Option<Checksums> optionalChecksums = existingChecksums.checksums.join( );
+		if ( optionalChecksums.isEmpty( ) || !optionalChecksums.get( ).getAlgorithms( ).containsAll( algorithms ) ) {
+			return calculator.calculate( file, algorithms );
+		}
+		if ( existingChecksums.remainingLinks.decrementAndGet( ) <= 0 ) {
+			sharedChecksums.remove( key, existingChecksums );
+		}
+		return optionalChecksums;
+	}
+
+	private Option<Checksums> calculateShared( final String key, final SharedChecksums checksums, final File file, final Set<ChecksumAlgorithm> algorithms ) {
+		Option<Checksums> optionalChecksums = Option.none( );
+		try {
+			optionalChecksums = calculator.calculate( file, algorithms );
+			return optionalChecksums;
+		} finally {
+			if ( optionalChecksums.isEmpty( ) ) {
+				// The next link tries again on its own
+				sharedChecksums.remove( key, checksums );
+			}
+			checksums.checksums.complete( optionalChecksums );
+		}
+	}
+
+	private Option<String> toKey( final FileMetadata metadata ) {
+		// Size and modification time are part of the key, so that a changed file is not mistaken for the same content
+		return metadata.getFileKey( ).map( fileKey -> fileKey + '/' + metadata.getSize( ) + '/' + metadata.getLastModified( ) );
+	}
+
+	private static final class SharedChecksums {
+
+		private final CompletableFuture<Option<Checksums>> checksums = new CompletableFuture<>( );
+		private final AtomicInteger remainingLinks;
+
+		SharedChecksums( final int remainingLinks ) {
+			this.remainingLinks = new AtomicInteger( remainingLinks );
+		}
+
+	}
+
+}
@@ -0,0 +1,58 @@
+package de.rhocas.nce.msv.adapter.sha1;
+
+import java.security.MessageDigest;
+import java.util.Set;
+
+import de.rhocas.nce.msv.adapter.jfr.FileHashedEvent;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.SHA1Calculator;
+import io.vavr.control.Option;
+
+/**
+ * This adapter is an implementation of the {@link SHA1Calculator} that
+ * memory-maps large files window by window instead of copying their content
+ * into a buffer. Files up to the mapping threshold are delegated to another
+ * calculator, as mapping small files costs more than it saves.
+ */
+public final class MappedSHA1Calculator implements SHA1Calculator {
+
+	public static final long DEFAULT_MAPPING_THRESHOLD = 16L * 1024 * 1024;
+	public static final long DEFAULT_WINDOW_SIZE = 64L * 1024 * 1024;
+
+	private final FileSystem fileSystem;
+	private final SHA1Calculator smallFileCalculator;
+	private final long mappingThreshold;
+	private final long windowSize;
+
+	public MappedSHA1Calculator( final FileSystem fileSystem, final SHA1Calculator smallFileCalculator, final long mappingThreshold, final long windowSize ) {
+		this.fileSystem = fileSystem;
+		this.smallFileCalculator = smallFileCalculator;
+		this.mappingThreshold = mappingThreshold;
+		this.windowSize = windowSize;
+	}
+
+	@Override
+	public Option<Checksums> calculate( final File file, final Set<ChecksumAlgorithm> algorithms ) {
+		return fileSystem.getSize( file )
+				.flatMap( size -> size > mappingThreshold ? calculateMapped( file, algorithms ) : smallFileCalculator.calculate( file, algorithms ) );
+	}
+
+	private Option<Checksums> calculateMapped( final File file, final Set<ChecksumAlgorithm> algorithms ) {
+		if ( !FileHashedEvent.isRecorded( ) ) {
+			final MessageDigest[] messageDigests = MessageDigests.getMessageDigests( algorithms );
+			return fileSystem.mapChunks( file, windowSize, chunk -> MessageDigests.update( messageDigests, algorithms, chunk ) )
+					.map( totalBytes -> MessageDigests.digest( messageDigests, algorithms ) );
+		}
+
+		final FileHashedEvent event = new FileHashedEvent( );
+		event.start( );
+		final MessageDigest[] messageDigests = MessageDigests.getMessageDigests( algorithms );
+		return fileSystem.mapChunks( file, windowSize, chunk -> MessageDigests.update( messageDigests, algorithms, chunk, event ) )
+				.peek( totalBytes -> event.finish( file.getPath( ), totalBytes, algorithms ) )
+				.map( totalBytes -> MessageDigests.digest( messageDigests, algorithms ) );
+	}
+
+}
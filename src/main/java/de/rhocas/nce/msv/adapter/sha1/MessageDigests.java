@@ -0,0 +1,90 @@
+package de.rhocas.nce.msv.adapter.sha1;
+
+import java.nio.ByteBuffer;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.text.MessageFormat;
+import java.util.Set;
+
+import de.rhocas.nce.msv.adapter.jfr.FileHashedEvent;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+
+/**
+ * Helper methods for the {@link MessageDigest} shared by the SHA1 adapters.
+ * The message digests are cached per thread, as looking them up for every
+ * single file is expensive.
+ */
+final class MessageDigests {
+
+	private static final ChecksumAlgorithm[] ALGORITHMS = ChecksumAlgorithm.values( );
+	private static final ThreadLocal<MessageDigest[]> THREAD_MESSAGE_DIGESTS = ThreadLocal.withInitial( ( ) -> createMessageDigests( ) );
+
+	private MessageDigests( ) {
+	}
+
+	private static MessageDigest[] createMessageDigests( ) {
+		final MessageDigest[] messageDigests = new MessageDigest[ALGORITHMS.length];
+		for ( final ChecksumAlgorithm algorithm : ALGORITHMS ) {
+			messageDigests[algorithm.ordinal( )] = createMessageDigest( algorithm );
+		}
+		return messageDigests;
+	}
+
+	private static MessageDigest createMessageDigest( final ChecksumAlgorithm algorithm ) {
+		try {
+			return MessageDigest.getInstance( algorithm.getAlgorithmName( ) );
+		} catch ( final NoSuchAlgorithmException ex ) {
+			// TODO: Can we do this better?
+			throw new RuntimeException( MessageFormat.format( "The {0}-Algorithm is not available.", algorithm.getAlgorithmName( ) ), ex );
+		}
+	}
+
+	/**
+	 * Gets the message digests of the current thread, indexed by the ordinal of
+	 * their algorithm. The digests for the given algorithms are reset, as a
+	 * previous calculation might have been aborted.
+	 */
+	static MessageDigest[] getMessageDigests( final Set<ChecksumAlgorithm> algorithms ) {
+		final MessageDigest[] messageDigests = THREAD_MESSAGE_DIGESTS.get( );
+		for ( final ChecksumAlgorithm algorithm : algorithms ) {
+			messageDigests[algorithm.ordinal( )].reset( );
+		}
+		return messageDigests;
+	}
+
+	/**
+	 * Feeds the same chunk into the message digests of all given algorithms.
+	 */
+	static void update( final MessageDigest[] messageDigests, final Set<ChecksumAlgorithm> algorithms, final ByteBuffer chunk ) {
+		final int position = chunk.position( );
+		for ( final ChecksumAlgorithm algorithm : algorithms ) {
+			chunk.position( position );
+			messageDigests[algorithm.ordinal( )].update( chunk );
+		}
+	}
+
+	/**
+	 * Feeds the same chunk into the message digests of all given algorithms and
+	 * measures the time for the given event, if it is enabled.
+	 */
+	static void update( final MessageDigest[] messageDigests, final Set<ChecksumAlgorithm> algorithms, final ByteBuffer chunk, final FileHashedEvent event ) {
+		if ( !event.isEnabled( ) ) {
+			update( messageDigests, algorithms, chunk );
+			return;
+		}
+
+		final long startNanos = System.nanoTime( );
+		update( messageDigests, algorithms, chunk );
+		event.addDigestTime( System.nanoTime( ) - startNanos );
+	}
+
+	static Checksums digest( final MessageDigest[] messageDigests, final Set<ChecksumAlgorithm> algorithms ) {
+		Checksums checksums = Checksums.EMPTY;
+		for ( final ChecksumAlgorithm algorithm : algorithms ) {
+			checksums = checksums.with( algorithm, messageDigests[algorithm.ordinal( )].digest( ) );
+		}
+		return checksums;
+	}
+
+}
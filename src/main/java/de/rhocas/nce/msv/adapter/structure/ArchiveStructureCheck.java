@@ -0,0 +1,70 @@
+package de.rhocas.nce.msv.adapter.structure;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.StructureCheck;
+
+/**
+ * This adapter is an implementation of the {@link StructureCheck} that
+ * considers empty files damaged and probes the end of central directory record
+ * of jars. The record is located at the end of every zip file, which means
+ * that it is missing if the file has been truncated. Only the tail of the file
+ * is read.
+ */
+public final class ArchiveStructureCheck implements StructureCheck {
+
+	private static final int END_OF_CENTRAL_DIRECTORY_LENGTH = 22;
+	private static final int MAXIMAL_COMMENT_LENGTH = 0xFFFF;
+	private static final byte[] END_OF_CENTRAL_DIRECTORY_SIGNATURE = { 'P', 'K', 5, 6 };
+
+	private final FileSystem fileSystem;
+
+	public ArchiveStructureCheck( final FileSystem fileSystem ) {
+		this.fileSystem = fileSystem;
+	}
+
+	@Override
+	public boolean isIntact( final File file, final long size ) {
+		if ( size == 0 ) {
+			return false;
+		}
+		if ( !file.getExtension( ).exists( extension -> extension.equalsIgnoreCase( "jar" ) ) ) {
+			return true;
+		}
+		if ( size < END_OF_CENTRAL_DIRECTORY_LENGTH ) {
+			return false;
+		}
+
+		// Usually the archive has no comment and the record is exactly at the end
+		if ( containsEndOfCentralDirectory( file, END_OF_CENTRAL_DIRECTORY_LENGTH ) ) {
+			return true;
+		}
+		return containsEndOfCentralDirectory( file, END_OF_CENTRAL_DIRECTORY_LENGTH + MAXIMAL_COMMENT_LENGTH );
+	}
+
+	private boolean containsEndOfCentralDirectory( final File file, final int tailLength ) {
+		// If the tail cannot be read, the file is left to the hashing
+		return fileSystem.readTail( file, tailLength )
+				.map( tail -> findEndOfCentralDirectory( tail ) )
+				.getOrElse( true );
+	}
+
+	private boolean findEndOfCentralDirectory( final byte[] tail ) {
+		for ( int index = tail.length - END_OF_CENTRAL_DIRECTORY_LENGTH; index >= 0; index-- ) {
+			if ( hasSignatureAt( tail, index ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private boolean hasSignatureAt( final byte[] tail, final int index ) {
+		for ( int offset = 0; offset < END_OF_CENTRAL_DIRECTORY_SIGNATURE.length; offset++ ) {
+			if ( tail[index + offset] != END_OF_CENTRAL_DIRECTORY_SIGNATURE[offset] ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,125 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import io.vavr.control.Option;
+
+/**
+ * This domain entity represents the Maven coordinates of a single file within
+ * the repository, as they can be derived from the layout
+ * {@code groupId/artifactId/version/artifactId-version[-classifier].extension}.
+ */
+public final class ArtifactCoordinates {
+
+	private static final String SNAPSHOT_SUFFIX = "-SNAPSHOT";
+	private static final Pattern TIMESTAMPED_SNAPSHOT = Pattern.compile( "^-\\d{8}\\.\\d{6}-\\d+" );
+
+	private final String groupId;
+	private final String artifactId;
+	private final String version;
+	private final String classifier;
+	private final String extension;
+
+	public ArtifactCoordinates( final String groupId, final String artifactId, final String version, final String classifier, final String extension ) {
+		this.groupId = groupId;
+		this.artifactId = artifactId;
+		this.version = version;
+		this.classifier = classifier;
+		this.extension = extension;
+	}
+
+	/**
+	 * Derives the coordinates from the path of a file relative to the repository.
+	 *
+	 * @param relativePath The relative path of the file.
+	 * @param separator    The separator of the path segments.
+	 *
+	 * @return The coordinates, if the path follows the Maven repository layout,
+	 *         an empty option otherwise.
+	 */
+	public static Option<ArtifactCoordinates> fromRelativePath( final String relativePath, final char separator ) {
+		final int fileNameIndex = relativePath.lastIndexOf( separator );
+		final int versionIndex = relativePath.lastIndexOf( separator, fileNameIndex - 1 );
+		final int artifactIdIndex = versionIndex > 0 ? relativePath.lastIndexOf( separator, versionIndex - 1 ) : -1;
+		if ( artifactIdIndex <= 0 ) {
+			return Option.none( );
+		}
+
+		final String groupId = relativePath.substring( 0, artifactIdIndex ).replace( separator, '.' );
+		final String artifactId = relativePath.substring( artifactIdIndex + 1, versionIndex );
+		final String version = relativePath.substring( versionIndex + 1, fileNameIndex );
+		final String fileName = relativePath.substring( fileNameIndex + 1 );
+
+		final String artifactIdPrefix = artifactId + "-";
+		if ( !fileName.startsWith( artifactIdPrefix ) ) {
+			return Option.none( );
+		}
+		return findVersionSuffix( fileName.substring( artifactIdPrefix.length( ) ), version )
+				.flatMap( suffix -> fromSuffix( groupId, artifactId, version, suffix ) );
+	}
+
+	/**
+	 * @return The part of the file name after the version, i.e. the classifier and
+	 *         the extension.
+	 */
+	private static Option<String> findVersionSuffix( final String fileNameWithoutArtifactId, final String version ) {
+		if ( fileNameWithoutArtifactId.startsWith( version ) ) {
+			return Option.of( fileNameWithoutArtifactId.substring( version.length( ) ) );
+		}
+
+		// Snapshots can be deployed with a timestamp instead of the SNAPSHOT qualifier
+		if ( version.endsWith( SNAPSHOT_SUFFIX ) ) {
+			final String baseVersion = version.substring( 0, version.length( ) - SNAPSHOT_SUFFIX.length( ) );
+			if ( fileNameWithoutArtifactId.startsWith( baseVersion ) ) {
+				final String rest = fileNameWithoutArtifactId.substring( baseVersion.length( ) );
+				final Matcher matcher = TIMESTAMPED_SNAPSHOT.matcher( rest );
+				if ( matcher.find( ) ) {
+					return Option.of( rest.substring( matcher.end( ) ) );
+				}
+			}
+		}
+
+		return Option.none( );
+	}
+
+	private static Option<ArtifactCoordinates> fromSuffix( final String groupId, final String artifactId, final String version, final String suffix ) {
+		if ( suffix.startsWith( "." ) ) {
+			return Option.of( new ArtifactCoordinates( groupId, artifactId, version, "", suffix.substring( 1 ) ) );
+		}
+		final int extensionIndex = suffix.indexOf( '.' );
+		if ( suffix.startsWith( "-" ) && extensionIndex > 1 ) {
+			return Option.of( new ArtifactCoordinates( groupId, artifactId, version, suffix.substring( 1, extensionIndex ), suffix.substring( extensionIndex + 1 ) ) );
+		}
+		return Option.none( );
+	}
+
+	public String getGroupId( ) {
+		return groupId;
+	}
+
+	public String getArtifactId( ) {
+		return artifactId;
+	}
+
+	public String getVersion( ) {
+		return version;
+	}
+
+	/**
+	 * @return The classifier or an empty string, if the file has no classifier.
+	 */
+	public String getClassifier( ) {
+		return classifier;
+	}
+
+	public String getExtension( ) {
+		return extension;
+	}
+
+	@Override
+	public String toString( ) {
+		return String.join( ":", groupId, artifactId, version, extension, classifier );
+	}
+
+}
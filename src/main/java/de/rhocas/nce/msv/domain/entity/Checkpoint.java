@@ -0,0 +1,31 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.util.List;
+
+/**
+ * This domain entity contains the progress of an interrupted validation: the
+ * position in the walk up to which all files have been validated and the
+ * invalid files found up to this position.
+ */
+public final class Checkpoint {
+
+	private final String position;
+	private final List<File> invalidFiles;
+
+	public Checkpoint( final String position, final List<File> invalidFiles ) {
+		this.position = position;
+		this.invalidFiles = invalidFiles;
+	}
+
+	/**
+	 * @return The relative path of the last validated file.
+	 */
+	public String getPosition( ) {
+		return position;
+	}
+
+	public List<File> getInvalidFiles( ) {
+		return invalidFiles;
+	}
+
+}
@@ -0,0 +1,55 @@
+package de.rhocas.nce.msv.domain.entity;
+
+/**
+ * This domain entity represents the checksum algorithms which can be found in
+ * a Maven repository. Each algorithm has its own checksum file next to the
+ * artifact.
+ */
+public enum ChecksumAlgorithm {
+
+	MD5( "MD5", "md5", 16 ),
+	SHA1( "SHA-1", "sha1", 20 ),
+	SHA256( "SHA-256", "sha256", 32 ),
+	SHA512( "SHA-512", "sha512", 64 );
+
+	private final String algorithmName;
+	private final String fileExtension;
+	private final int digestLength;
+
+	ChecksumAlgorithm( final String algorithmName, final String fileExtension, final int digestLength ) {
+		this.algorithmName = algorithmName;
+		this.fileExtension = fileExtension;
+		this.digestLength = digestLength;
+	}
+
+	/**
+	 * @return The name of the algorithm as known by the
+	 *         {@link java.security.MessageDigest}.
+	 */
+	public String getAlgorithmName( ) {
+		return algorithmName;
+	}
+
+	public String getFileExtension( ) {
+		return fileExtension;
+	}
+
+	/**
+	 * @return The length of the digest in bytes.
+	 */
+	public int getDigestLength( ) {
+		return digestLength;
+	}
+
+	/**
+	 * Gets the name of the checksum file for a file with the given name.
+	 *
+	 * @param fileName The name of the file.
+	 *
+	 * @return The name of the checksum file.
+	 */
+	public String getChecksumFileName( final String fileName ) {
+		return fileName + '.' + fileExtension;
+	}
+
+}
@@ -0,0 +1,132 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+
+import io.vavr.control.Option;
+
+/**
+ * This domain entity represents the checksums of a single file, with at most
+ * one checksum per algorithm. The checksums are kept as raw digests, so that
+ * they can be compared without any conversion.
+ */
+public final class Checksums {
+
+	private static final ChecksumAlgorithm[] ALGORITHMS = ChecksumAlgorithm.values( );
+	private static final char[] HEX_DIGITS = "0123456789abcdef".toCharArray( );
+
+	public static final Checksums EMPTY = new Checksums( new byte[ALGORITHMS.length][] );
+
+	/**
+	 * The digests indexed by the ordinal of their algorithm.
+	 */
+	private final byte[][] digests;
+
+	private Checksums( final byte[][] digests ) {
+		this.digests = digests;
+	}
+
+	public static Checksums of( final ChecksumAlgorithm algorithm, final byte[] digest ) {
+		return EMPTY.with( algorithm, digest );
+	}
+
+	/**
+	 * Creates a copy of these checksums with the given digest.
+	 *
+	 * @param algorithm The algorithm of the digest.
+	 * @param digest    The digest. It must not be modified afterwards.
+	 *
+	 * @return The new checksums.
+	 */
+	public Checksums with( final ChecksumAlgorithm algorithm, final byte[] digest ) {
+		final byte[][] newDigests = digests.clone( );
+		newDigests[algorithm.ordinal( )] = digest;
+		return new Checksums( newDigests );
+	}
+
+	public Set<ChecksumAlgorithm> getAlgorithms( ) {
+		final Set<ChecksumAlgorithm> algorithms = EnumSet.noneOf( ChecksumAlgorithm.class );
+		for ( final ChecksumAlgorithm algorithm : ALGORITHMS ) {
+			if ( digests[algorithm.ordinal( )] != null ) {
+				algorithms.add( algorithm );
+			}
+		}
+		return algorithms;
+	}
+
+	/**
+	 * @return A copy of the digest for the given algorithm, if it is available.
+	 */
+	public Option<byte[]> get( final ChecksumAlgorithm algorithm ) {
+		return Option.of( digests[algorithm.ordinal( )] ).map( digest -> digest.clone( ) );
+	}
+
+	public boolean isEmpty( ) {
+		for ( final byte[] digest : digests ) {
+			if ( digest != null ) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Checks whether the given actual checksums confirm these expected checksums.
+	 * As MD5 collisions can be forged easily, an MD5 checksum alone does not
+	 * confirm a file.
+	 *
+	 * @param actualChecksums The actual checksums.
+	 *
+	 * @return true if and only if there is at least one expected checksum other
+	 *         than MD5 and the actual checksums contain the same digest for every
+	 *         expected algorithm.
+	 */
+	public boolean isConfirmedBy( final Checksums actualChecksums ) {
+		boolean confirmed = false;
+		for ( int i = 0; i < digests.length; i++ ) {
+			if ( digests[i] != null ) {
+				if ( !Arrays.equals( digests[i], actualChecksums.digests[i] ) ) {
+					return false;
+				}
+				confirmed |= i != ChecksumAlgorithm.MD5.ordinal( );
+			}
+		}
+		return confirmed;
+	}
+
+	@Override
+	public boolean equals( final Object object ) {
+		if ( this == object ) {
+			return true;
+		}
+		if ( !( object instanceof Checksums ) ) {
+			return false;
+		}
+		return Arrays.deepEquals( digests, ( (Checksums) object ).digests );
+	}
+
+	@Override
+	public int hashCode( ) {
+		return Arrays.deepHashCode( digests );
+	}
+
+	@Override
+	public String toString( ) {
+		final StringBuilder builder = new StringBuilder( "{" );
+		for ( final ChecksumAlgorithm algorithm : ALGORITHMS ) {
+			final byte[] digest = digests[algorithm.ordinal( )];
+			if ( digest != null ) {
+				if ( builder.length( ) > 1 ) {
+					builder.append( ", " );
+				}
+				builder.append( algorithm ).append( '=' );
+				for ( final byte b : digest ) {
+					builder.append( HEX_DIGITS[( b >> 4 ) & 0xF] ).append( HEX_DIGITS[b & 0xF] );
+				}
+			}
+		}
+		return builder.append( '}' ).toString( );
+	}
+
+}
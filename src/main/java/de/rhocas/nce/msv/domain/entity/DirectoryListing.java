@@ -0,0 +1,64 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Map;
+
+import io.vavr.control.Option;
+
+/**
+ * This domain entity represents the content of a single directory as it has
+ * been listed by the walk. It contains the files included by the filter and all
+ * regular files of the directory with their metadata, so that siblings (like
+ * checksum files) can be resolved without accessing the file system again.
+ */
+public final class DirectoryListing {
+
+	private final Path directory;
+	private final List<File> files;
+	private final Map<String, File> entries;
+	private final Map<String, FileMetadata> metadata;
+
+	/**
+	 * Creates a new listing.
+	 *
+	 * @param directory The listed directory.
+	 * @param files     The files included by the filter.
+	 * @param entries   All regular files of the directory by their names.
+	 * @param metadata  The metadata of the regular files by their names.
+	 */
+	public DirectoryListing( final Path directory, final List<File> files, final Map<String, File> entries, final Map<String, FileMetadata> metadata ) {
+		this.directory = directory;
+		this.files = files;
+		this.entries = entries;
+		this.metadata = metadata;
+	}
+
+	public Path getDirectory( ) {
+		return directory;
+	}
+
+	/**
+	 * @return The files of the directory included by the filter.
+	 */
+	public List<File> getFiles( ) {
+		return files;
+	}
+
+	/**
+	 * @return The regular file with the given name, if it exists in the
+	 *         directory. The file is not necessarily included by the filter.
+	 */
+	public Option<File> getEntry( final String name ) {
+		return Option.of( entries.get( name ) );
+	}
+
+	/**
+	 * @return The metadata of the regular file with the given name, if it exists
+	 *         in the directory.
+	 */
+	public Option<FileMetadata> getMetadata( final String name ) {
+		return Option.of( metadata.get( name ) );
+	}
+
+}
@@ -0,0 +1,49 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * This domain entity represents the state of a file and its checksum files at
+ * the time of a verification. If the fingerprint is unchanged, the result of the
+ * verification is still valid.
+ */
+public final class FileFingerprint {
+
+	private final FileMetadata fileMetadata;
+	private final Map<ChecksumAlgorithm, FileMetadata> checksumFileMetadata;
+
+	public FileFingerprint( final FileMetadata fileMetadata, final Map<ChecksumAlgorithm, FileMetadata> checksumFileMetadata ) {
+		this.fileMetadata = fileMetadata;
+		this.checksumFileMetadata = checksumFileMetadata;
+	}
+
+	public FileMetadata getFileMetadata( ) {
+		return fileMetadata;
+	}
+
+	/**
+	 * @return The metadata of the existing checksum files.
+	 */
+	public Map<ChecksumAlgorithm, FileMetadata> getChecksumFileMetadata( ) {
+		return checksumFileMetadata;
+	}
+
+	@Override
+	public boolean equals( final Object object ) {
+		if ( this == object ) {
+			return true;
+		}
+		if ( !( object instanceof FileFingerprint ) ) {
+			return false;
+		}
+		final FileFingerprint other = (FileFingerprint) object;
+		return fileMetadata.equals( other.fileMetadata ) && checksumFileMetadata.equals( other.checksumFileMetadata );
+	}
+
+	@Override
+	public int hashCode( ) {
+		return Objects.hash( fileMetadata, checksumFileMetadata );
+	}
+
+}
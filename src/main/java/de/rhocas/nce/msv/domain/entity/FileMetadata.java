@@ -0,0 +1,59 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.util.Objects;
+
+import io.vavr.control.Option;
+
+/**
+ * This domain entity represents the metadata of a single file, as far as it is
+ * relevant to detect whether the file has been changed.
+ */
+public final class FileMetadata {
+
+	private final long size;
+	private final long lastModified;
+	private final String fileKey;
+
+	public FileMetadata( final long size, final long lastModified, final String fileKey ) {
+		this.size = size;
+		this.lastModified = lastModified;
+		this.fileKey = fileKey;
+	}
+
+	public long getSize( ) {
+		return size;
+	}
+
+	/**
+	 * @return The time of the last modification in milliseconds since the epoch.
+	 */
+	public long getLastModified( ) {
+		return lastModified;
+	}
+
+	/**
+	 * @return The key which identifies the physical file (e.g. the inode), if it
+	 *         is provided by the file system.
+	 */
+	public Option<String> getFileKey( ) {
+		return Option.of( fileKey );
+	}
+
+	@Override
+	public boolean equals( final Object object ) {
+		if ( this == object ) {
+			return true;
+		}
+		if ( !( object instanceof FileMetadata ) ) {
+			return false;
+		}
+		final FileMetadata other = (FileMetadata) object;
+		return size == other.size && lastModified == other.lastModified && Objects.equals( fileKey, other.fileKey );
+	}
+
+	@Override
+	public int hashCode( ) {
+		return Objects.hash( size, lastModified, fileKey );
+	}
+
+}
@@ -0,0 +1,84 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This domain entity records latencies in buckets with exponentially growing
+ * bounds (powers of two nanoseconds). The percentiles are therefore only
+ * approximations, but the histogram has a fixed size and can be updated by
+ * multiple threads without locking.
+ */
+public final class LatencyHistogram {
+
+	private static final int BUCKET_COUNT = Long.SIZE;
+
+	private final AtomicLongArray buckets = new AtomicLongArray( BUCKET_COUNT );
+	private final LongAdder count = new LongAdder( );
+	private final LongAdder totalNanos = new LongAdder( );
+	private final LongAccumulator maximalNanos = new LongAccumulator( Math::max, 0 );
+
+	/**
+	 * Records a single latency.
+	 *
+	 * @param nanos The latency in nanoseconds. Negative values are treated as
+	 *              zero.
+	 */
+	public void record( final long nanos ) {
+		final long latency = Math.max( 0, nanos );
+		buckets.incrementAndGet( getBucket( latency ) );
+		count.increment( );
+		totalNanos.add( latency );
+		maximalNanos.accumulate( latency );
+	}
+
+	private static int getBucket( final long nanos ) {
+		// Bucket 0 contains only zero, bucket i the latencies in [2^(i-1), 2^i)
+		return BUCKET_COUNT - Long.numberOfLeadingZeros( nanos );
+	}
+
+	public long getCount( ) {
+		return count.sum( );
+	}
+
+	public long getTotalNanos( ) {
+		return totalNanos.sum( );
+	}
+
+	public long getMeanNanos( ) {
+		final long currentCount = getCount( );
+		return currentCount == 0 ? 0 : getTotalNanos( ) / currentCount;
+	}
+
+	public long getMaximalNanos( ) {
+		return maximalNanos.get( );
+	}
+
+	/**
+	 * Estimates a percentile of the recorded latencies.
+	 *
+	 * @param percentile The percentile between 0 and 100.
+	 *
+	 * @return The upper bound of the bucket containing the percentile, but at most
+	 *         the maximal recorded latency. 0 if nothing has been recorded.
+	 */
+	public long getPercentileNanos( final double percentile ) {
+		final long currentCount = getCount( );
+		if ( currentCount == 0 ) {
+			return 0;
+		}
+
+		final long rank = Math.max( 1, (long) Math.ceil( currentCount * percentile / 100.0 ) );
+		long seen = 0;
+		for ( int bucket = 0; bucket < BUCKET_COUNT; bucket++ ) {
+			seen += buckets.get( bucket );
+			if ( seen >= rank ) {
+				// For the last bucket the shift overflows to Long.MIN_VALUE, which results in Long.MAX_VALUE
+				return Math.min( ( 1L << bucket ) - 1, getMaximalNanos( ) );
+			}
+		}
+		return getMaximalNanos( );
+	}
+
+}
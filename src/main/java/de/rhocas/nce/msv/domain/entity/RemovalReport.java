@@ -0,0 +1,34 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.nio.file.Path;
+import java.util.List;
+
+/**
+ * This domain entity lists what has been removed from the file system and what
+ * could not be removed.
+ */
+public final class RemovalReport {
+
+	private final List<File> removedFiles;
+	private final List<Path> removedDirectories;
+	private final List<File> unremovableFiles;
+
+	public RemovalReport( final List<File> removedFiles, final List<Path> removedDirectories, final List<File> unremovableFiles ) {
+		this.removedFiles = removedFiles;
+		this.removedDirectories = removedDirectories;
+		this.unremovableFiles = unremovableFiles;
+	}
+
+	public List<File> getRemovedFiles( ) {
+		return removedFiles;
+	}
+
+	public List<Path> getRemovedDirectories( ) {
+		return removedDirectories;
+	}
+
+	public List<File> getUnremovableFiles( ) {
+		return unremovableFiles;
+	}
+
+}
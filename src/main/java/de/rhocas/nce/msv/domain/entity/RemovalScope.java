@@ -0,0 +1,27 @@
+package de.rhocas.nce.msv.domain.entity;
+
+/**
+ * This domain entity represents what is removed together with an invalid file.
+ */
+public enum RemovalScope {
+
+	/**
+	 * Removes only the invalid file.
+	 */
+	FILE,
+
+	/**
+	 * Removes the invalid file together with its checksum files and its marker of
+	 * a failed download (*.lastUpdated). If only the bookkeeping files of Maven
+	 * remain in the version directory afterwards, they are removed together with
+	 * the directory.
+	 */
+	SIDECARS,
+
+	/**
+	 * Removes all files in the version directory of the invalid file and the
+	 * directory itself, so that Maven downloads the whole version again.
+	 */
+	VERSION
+
+}
@@ -0,0 +1,27 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.util.List;
+
+/**
+ * This domain entity contains the results which have been recorded in a
+ * report, i.e. the invalid files and what has been removed.
+ */
+public final class ReportedResults {
+
+	private final List<File> invalidFiles;
+	private final RemovalReport removalReport;
+
+	public ReportedResults( final List<File> invalidFiles, final RemovalReport removalReport ) {
+		this.invalidFiles = invalidFiles;
+		this.removalReport = removalReport;
+	}
+
+	public List<File> getInvalidFiles( ) {
+		return invalidFiles;
+	}
+
+	public RemovalReport getRemovalReport( ) {
+		return removalReport;
+	}
+
+}
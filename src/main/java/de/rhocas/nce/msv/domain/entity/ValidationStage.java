@@ -0,0 +1,39 @@
+package de.rhocas.nce.msv.domain.entity;
+
+/**
+ * The stages a single file passes during the validation.
+ */
+public enum ValidationStage {
+
+	/**
+	 * Looking up a previous result in the verification cache, including the
+	 * determination of the fingerprint.
+	 */
+	CACHE_LOOKUP( "cache lookup" ),
+
+	/**
+	 * Reading and parsing the checksum files.
+	 */
+	EXTRACTION( "extraction" ),
+
+	/**
+	 * Checking the structure of the file, e.g. whether an archive is complete.
+	 */
+	STRUCTURE_CHECK( "structure check" ),
+
+	/**
+	 * Reading the file and calculating its checksums.
+	 */
+	HASHING( "hashing" );
+
+	private final String description;
+
+	ValidationStage( final String description ) {
+		this.description = description;
+	}
+
+	public String getDescription( ) {
+		return description;
+	}
+
+}
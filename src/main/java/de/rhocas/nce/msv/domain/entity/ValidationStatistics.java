@@ -0,0 +1,169 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This domain entity collects the statistics of a single validation run. It is
+ * updated by the walk and by the workers concurrently and can be read at any
+ * time, e.g. to report the progress.
+ */
+public final class ValidationStatistics {
+
+	private static final long NOT_FINISHED = -1;
+
+	private final long startNanos;
+	private final AtomicLong traversalEndNanos = new AtomicLong( NOT_FINISHED );
+
+	private final LongAdder discoveredFiles = new LongAdder( );
+	private final LongAdder skippedFiles = new LongAdder( );
+	private final LongAdder verifiedFiles = new LongAdder( );
+	private final LongAdder cachedFiles = new LongAdder( );
+	private final LongAdder hashedFiles = new LongAdder( );
+	private final LongAdder hashedBytes = new LongAdder( );
+	private final LongAdder invalidFiles = new LongAdder( );
+	private final Map<ValidationStage, LatencyHistogram> latencies = new EnumMap<>( ValidationStage.class );
+
+	public ValidationStatistics( ) {
+		this( System.nanoTime( ) );
+	}
+
+	/**
+	 * Creates new statistics.
+	 *
+	 * @param startNanos The start of the run as given by
+	 *                   {@link System#nanoTime()}.
+	 */
+	public ValidationStatistics( final long startNanos ) {
+		this.startNanos = startNanos;
+		for ( final ValidationStage stage : ValidationStage.values( ) ) {
+			latencies.put( stage, new LatencyHistogram( ) );
+		}
+	}
+
+	/**
+	 * Records a file reported by the walk.
+	 */
+	public void fileDiscovered( ) {
+		discoveredFiles.increment( );
+	}
+
+	/**
+	 * Records multiple files reported by the walk at once.
+	 *
+	 * @param count The number of files.
+	 */
+	public void filesDiscovered( final long count ) {
+		discoveredFiles.add( count );
+	}
+
+	/**
+	 * Records a discovered file which is not validated at all (e.g. a checksum
+	 * file).
+	 */
+	public void fileSkipped( ) {
+		skippedFiles.increment( );
+	}
+
+	/**
+	 * Records a file whose validity has been taken from the verification cache.
+	 */
+	public void fileCached( ) {
+		cachedFiles.increment( );
+	}
+
+	/**
+	 * Records a file whose checksums have been calculated.
+	 *
+	 * @param bytes The size of the file.
+	 */
+	public void fileHashed( final long bytes ) {
+		hashedFiles.increment( );
+		hashedBytes.add( bytes );
+	}
+
+	/**
+	 * Records a file whose validity has been determined.
+	 *
+	 * @param valid Whether the file is valid.
+	 */
+	public void fileVerified( final boolean valid ) {
+		verifiedFiles.increment( );
+		if ( !valid ) {
+			invalidFiles.increment( );
+		}
+	}
+
+	public void recordLatency( final ValidationStage stage, final long nanos ) {
+		latencies.get( stage ).record( nanos );
+	}
+
+	/**
+	 * Records the end of the walk, after which no more files are discovered.
+	 *
+	 * @param endNanos The end as given by {@link System#nanoTime()}.
+	 */
+	public void traversalFinished( final long endNanos ) {
+		traversalEndNanos.compareAndSet( NOT_FINISHED, endNanos );
+	}
+
+	public long getStartNanos( ) {
+		return startNanos;
+	}
+
+	public boolean isTraversalFinished( ) {
+		return traversalEndNanos.get( ) != NOT_FINISHED;
+	}
+
+	/**
+	 * @return The duration of the walk in nanoseconds, or the duration so far if
+	 *         the walk is not yet finished.
+	 */
+	public long getTraversalNanos( final long nowNanos ) {
+		final long endNanos = traversalEndNanos.get( );
+		return ( endNanos == NOT_FINISHED ? nowNanos : endNanos ) - startNanos;
+	}
+
+	public long getDiscoveredFiles( ) {
+		return discoveredFiles.sum( );
+	}
+
+	public long getSkippedFiles( ) {
+		return skippedFiles.sum( );
+	}
+
+	public long getVerifiedFiles( ) {
+		return verifiedFiles.sum( );
+	}
+
+	public long getCachedFiles( ) {
+		return cachedFiles.sum( );
+	}
+
+	public long getHashedFiles( ) {
+		return hashedFiles.sum( );
+	}
+
+	public long getHashedBytes( ) {
+		return hashedBytes.sum( );
+	}
+
+	public long getInvalidFiles( ) {
+		return invalidFiles.sum( );
+	}
+
+	/**
+	 * @return The number of discovered files which still have to be verified.
+	 */
+	public long getPendingFiles( ) {
+		// The counters are read one after the other, so they might be slightly inconsistent during a run
+		return Math.max( 0, getDiscoveredFiles( ) - getSkippedFiles( ) - getVerifiedFiles( ) );
+	}
+
+	public LatencyHistogram getLatencies( final ValidationStage stage ) {
+		return latencies.get( stage );
+	}
+
+}
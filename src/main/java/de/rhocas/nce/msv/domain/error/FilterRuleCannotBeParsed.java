@@ -0,0 +1,18 @@
+package de.rhocas.nce.msv.domain.error;
+
+/**
+ * This error can be used if a filter rule cannot be parsed.
+ */
+public final class FilterRuleCannotBeParsed {
+
+	private final String rule;
+
+	public FilterRuleCannotBeParsed( final String rule ) {
+		this.rule = rule;
+	}
+
+	public String getRule( ) {
+		return rule;
+	}
+
+}
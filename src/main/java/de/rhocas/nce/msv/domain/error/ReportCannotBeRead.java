@@ -0,0 +1,20 @@
+package de.rhocas.nce.msv.domain.error;
+
+import java.nio.file.Path;
+
+/**
+ * This error can be used if a report cannot be read or parsed.
+ */
+public final class ReportCannotBeRead {
+
+	private final Path reportFile;
+
+	public ReportCannotBeRead( final Path reportFile ) {
+		this.reportFile = reportFile;
+	}
+
+	public Path getReportFile( ) {
+		return reportFile;
+	}
+
+}
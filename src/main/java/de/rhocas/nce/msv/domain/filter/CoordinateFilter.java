@@ -0,0 +1,82 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import de.rhocas.nce.msv.domain.entity.ArtifactCoordinates;
+import de.rhocas.nce.msv.domain.error.FilterRuleCannotBeParsed;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+/**
+ * This filter includes and excludes files based on their Maven coordinates. A
+ * file is included if it matches any include rule (or if there are no include
+ * rules at all) and does not match any exclude rule. Directories which cannot
+ * contain files matching the include rules are skipped.
+ * <p>
+ * A rule has the form
+ * {@code groupId[:artifactId[:version[:extension[:classifier]]]]}, for
+ * instance {@code com.ourcorp:*:*-SNAPSHOT} or {@code *:*:[2020,):jar,pom}.
+ * Each part is a comma-separated list of globs. The version can alternatively
+ * be a version range. Missing parts match everything.
+ */
+public final class CoordinateFilter implements TraversalFilter {
+
+	private final List<CoordinatePattern> includes;
+	private final List<CoordinatePattern> excludes;
+
+	private CoordinateFilter( final List<CoordinatePattern> includes, final List<CoordinatePattern> excludes ) {
+		this.includes = includes;
+		this.excludes = excludes;
+	}
+
+	/**
+	 * Compiles the given rules into a filter.
+	 *
+	 * @param includeRules The include rules.
+	 * @param excludeRules The exclude rules.
+	 *
+	 * @return Either an error, if a rule cannot be parsed, or the filter.
+	 */
+	public static Either<FilterRuleCannotBeParsed, TraversalFilter> compile( final List<String> includeRules, final List<String> excludeRules ) {
+		return compile( includeRules ).flatMap( includes -> compile( excludeRules ).map( excludes -> new CoordinateFilter( includes, excludes ) ) );
+	}
+
+	private static Either<FilterRuleCannotBeParsed, List<CoordinatePattern>> compile( final List<String> rules ) {
+		final List<CoordinatePattern> patterns = new ArrayList<>( );
+		for ( final String rule : rules ) {
+			final Option<CoordinatePattern> optionalPattern = CoordinatePattern.compile( rule );
+			if ( optionalPattern.isEmpty( ) ) {
+				return Either.left( new FilterRuleCannotBeParsed( rule ) );
+			}
+			patterns.add( optionalPattern.get( ) );
+		}
+		return Either.right( patterns );
+	}
+
+	@Override
+	public boolean includesDirectory( final String relativeDirectory ) {
+		if ( includes.isEmpty( ) ) {
+			return true;
+		}
+		final List<String> segments = Arrays.asList( relativeDirectory.split( Pattern.quote( File.separator ) ) );
+		return includes.stream( ).anyMatch( include -> include.mayMatchWithin( segments ) );
+	}
+
+	@Override
+	public boolean includesFile( final String relativePath ) {
+		final Option<ArtifactCoordinates> optionalCoordinates = ArtifactCoordinates.fromRelativePath( relativePath, File.separatorChar );
+		if ( optionalCoordinates.isEmpty( ) ) {
+			// Files outside of the repository layout cannot match any rule
+			return includes.isEmpty( );
+		}
+
+		final ArtifactCoordinates coordinates = optionalCoordinates.get( );
+		return ( includes.isEmpty( ) || includes.stream( ).anyMatch( include -> include.matches( coordinates ) ) )
+				&& excludes.stream( ).noneMatch( exclude -> exclude.matches( coordinates ) );
+	}
+
+}
@@ -0,0 +1,136 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import de.rhocas.nce.msv.domain.entity.ArtifactCoordinates;
+import io.vavr.control.Option;
+
+/**
+ * A compiled pattern for Maven coordinates in the form
+ * {@code groupId[:artifactId[:version[:extension[:classifier]]]]}. Each part
+ * is a comma-separated list of globs ({@code *} and {@code ?} as wildcards).
+ * The version can alternatively be a version range. Missing parts match
+ * everything.
+ */
+final class CoordinatePattern {
+
+	private static final int MAXIMAL_PART_COUNT = 5;
+
+	private final Pattern groupId;
+	private final Pattern artifactId;
+	private final Pattern version;
+	private final Option<VersionRange> versionRange;
+	private final Pattern extension;
+	private final Pattern classifier;
+
+	private CoordinatePattern( final Pattern groupId, final Pattern artifactId, final Pattern version, final Option<VersionRange> versionRange, final Pattern extension, final Pattern classifier ) {
+		this.groupId = groupId;
+		this.artifactId = artifactId;
+		this.version = version;
+		this.versionRange = versionRange;
+		this.extension = extension;
+		this.classifier = classifier;
+	}
+
+	/**
+	 * Compiles the given rule.
+	 *
+	 * @param rule The rule.
+	 *
+	 * @return The pattern, if the rule is valid, an empty option otherwise.
+	 */
+	static Option<CoordinatePattern> compile( final String rule ) {
+		final String[] parts = rule.split( ":", -1 );
+		if ( rule.isEmpty( ) || parts.length > MAXIMAL_PART_COUNT ) {
+			return Option.none( );
+		}
+
+		final String versionPart = part( parts, 2 );
+		final Option<VersionRange> versionRange;
+		final Pattern versionPattern;
+		if ( VersionRange.isRange( versionPart ) ) {
+			versionRange = VersionRange.parse( versionPart );
+			if ( versionRange.isEmpty( ) ) {
+				return Option.none( );
+			}
+			versionPattern = compileGlobs( "*" );
+		} else {
+			versionRange = Option.none( );
+			versionPattern = compileGlobs( versionPart );
+		}
+
+		return Option.of( new CoordinatePattern( compileGlobs( part( parts, 0 ) ), compileGlobs( part( parts, 1 ) ), versionPattern, versionRange, compileGlobs( part( parts, 3 ) ), compileGlobs( part( parts, 4 ) ) ) );
+	}
+
+	private static String part( final String[] parts, final int index ) {
+		return index < parts.length ? parts[index] : "*";
+	}
+
+	private static Pattern compileGlobs( final String globs ) {
+		final List<String> regexes = new ArrayList<>( );
+		for ( final String glob : globs.split( ",", -1 ) ) {
+			final StringBuilder regex = new StringBuilder( );
+			for ( final char character : glob.trim( ).toCharArray( ) ) {
+				if ( character == '*' ) {
+					regex.append( ".*" );
+				} else if ( character == '?' ) {
+					regex.append( '.' );
+				} else {
+					regex.append( Pattern.quote( String.valueOf( character ) ) );
+				}
+			}
+			regexes.add( regex.toString( ) );
+		}
+		return Pattern.compile( String.join( "|", regexes ) );
+	}
+
+	boolean matches( final ArtifactCoordinates coordinates ) {
+		return groupId.matcher( coordinates.getGroupId( ) ).matches( )
+				&& artifactId.matcher( coordinates.getArtifactId( ) ).matches( )
+				&& version.matcher( coordinates.getVersion( ) ).matches( )
+				&& versionRange.forAll( range -> range.contains( coordinates.getVersion( ) ) )
+				&& extension.matcher( coordinates.getExtension( ) ).matches( )
+				&& classifier.matcher( coordinates.getClassifier( ) ).matches( );
+	}
+
+	/**
+	 * Checks whether a directory with the given path segments can contain files
+	 * matching this pattern. As the directory structure does not tell where the
+	 * groupId ends, all possible interpretations are checked.
+	 *
+	 * @param segments The path segments of the directory.
+	 *
+	 * @return false if no file within the directory can match, true otherwise.
+	 */
+	boolean mayMatchWithin( final List<String> segments ) {
+		final int segmentCount = segments.size( );
+
+		// The directory is part of the groupId
+		final String allSegmentsAsGroupId = String.join( ".", segments );
+		if ( groupId.matcher( allSegmentsAsGroupId ).matches( ) || mayMatchWithMoreInput( groupId, allSegmentsAsGroupId + "." ) ) {
+			return true;
+		}
+
+		// The directory is the artifactId
+		if ( segmentCount >= 2 && groupId.matcher( String.join( ".", segments.subList( 0, segmentCount - 1 ) ) ).matches( )
+				&& artifactId.matcher( segments.get( segmentCount - 1 ) ).matches( ) ) {
+			return true;
+		}
+
+		// The directory is the version
+		final String versionSegment = segments.get( segmentCount - 1 );
+		return segmentCount >= 3 && groupId.matcher( String.join( ".", segments.subList( 0, segmentCount - 2 ) ) ).matches( )
+				&& artifactId.matcher( segments.get( segmentCount - 2 ) ).matches( )
+				&& version.matcher( versionSegment ).matches( )
+				&& versionRange.forAll( range -> range.contains( versionSegment ) );
+	}
+
+	private boolean mayMatchWithMoreInput( final Pattern pattern, final String input ) {
+		final Matcher matcher = pattern.matcher( input );
+		return matcher.matches( ) || matcher.hitEnd( );
+	}
+
+}
@@ -0,0 +1,116 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * A simplified version of the Maven version ordering. Versions are split into
+ * numeric and qualifier items, numeric items are compared numerically and the
+ * well-known qualifiers are ordered as in Maven.
+ */
+final class MavenVersion implements Comparable<MavenVersion> {
+
+	private static final List<String> QUALIFIER_ORDER = Arrays.asList( "alpha", "beta", "milestone", "rc", "snapshot", "", "sp" );
+	private static final int UNKNOWN_QUALIFIER_RANK = QUALIFIER_ORDER.size( );
+
+	private final List<Object> items = new ArrayList<>( );
+
+	MavenVersion( final String version ) {
+		final String normalizedVersion = version.toLowerCase( Locale.ROOT );
+		int start = 0;
+		for ( int i = 1; i <= normalizedVersion.length( ); i++ ) {
+			if ( i == normalizedVersion.length( ) || isItemBoundary( normalizedVersion, i ) ) {
+				addItem( normalizedVersion.substring( start, i ) );
+				start = i < normalizedVersion.length( ) && isSeparator( normalizedVersion.charAt( i ) ) ? i + 1 : i;
+			}
+		}
+	}
+
+	private boolean isItemBoundary( final String version, final int index ) {
+		final char current = version.charAt( index );
+		final char previous = version.charAt( index - 1 );
+		return isSeparator( current ) || !isSeparator( previous ) && Character.isDigit( current ) != Character.isDigit( previous );
+	}
+
+	private boolean isSeparator( final char character ) {
+		return character == '.' || character == '-';
+	}
+
+	private void addItem( final String item ) {
+		if ( item.isEmpty( ) ) {
+			return;
+		}
+		if ( Character.isDigit( item.charAt( 0 ) ) ) {
+			items.add( new BigInteger( item ) );
+		} else {
+			items.add( normalizeQualifier( item ) );
+		}
+	}
+
+	private String normalizeQualifier( final String qualifier ) {
+		switch ( qualifier ) {
+			case "a":
+				return "alpha";
+			case "b":
+				return "beta";
+			case "m":
+				return "milestone";
+			case "cr":
+				return "rc";
+			case "ga":
+			case "final":
+			case "release":
+				return "";
+			default:
+				return qualifier;
+		}
+	}
+
+	@Override
+	public int compareTo( final MavenVersion other ) {
+		final int itemCount = Math.max( items.size( ), other.items.size( ) );
+		for ( int i = 0; i < itemCount; i++ ) {
+			final Object item = i < items.size( ) ? items.get( i ) : null;
+			final Object otherItem = i < other.items.size( ) ? other.items.get( i ) : null;
+			final int result = compareItems( item, otherItem );
+			if ( result != 0 ) {
+				return result;
+			}
+		}
+		return 0;
+	}
+
+	private int compareItems( final Object item, final Object otherItem ) {
+		if ( item == null ) {
+			return -compareItems( otherItem, null );
+		}
+		if ( item instanceof BigInteger ) {
+			if ( otherItem == null ) {
+				return ( (BigInteger) item ).signum( );
+			}
+			return otherItem instanceof BigInteger ? ( (BigInteger) item ).compareTo( (BigInteger) otherItem ) : 1;
+		}
+		if ( otherItem instanceof BigInteger ) {
+			return -1;
+		}
+		return compareQualifiers( (String) item, otherItem == null ? "" : (String) otherItem );
+	}
+
+	private int compareQualifiers( final String qualifier, final String otherQualifier ) {
+		final int rank = rank( qualifier );
+		final int otherRank = rank( otherQualifier );
+		if ( rank != otherRank ) {
+			return Integer.compare( rank, otherRank );
+		}
+		return rank == UNKNOWN_QUALIFIER_RANK ? qualifier.compareTo( otherQualifier ) : 0;
+	}
+
+	private int rank( final String qualifier ) {
+		final int index = QUALIFIER_ORDER.indexOf( qualifier );
+		return index >= 0 ? index : UNKNOWN_QUALIFIER_RANK;
+	}
+
+}
@@ -0,0 +1,72 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import java.io.File;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * This filter excludes all files and directories whose relative path starts
+ * with one of the given prefixes (ignoring the case). The prefixes are compiled
+ * once into a trie, so that a check is a single pass over the path.
+ */
+public final class PathPrefixFilter implements TraversalFilter {
+
+	private final Node root = new Node( );
+
+	/**
+	 * Creates a new filter.
+	 *
+	 * @param excludedPathPrefixes The path prefixes to exclude.
+	 */
+	public PathPrefixFilter( final List<String> excludedPathPrefixes ) {
+		for ( final String excludedPathPrefix : excludedPathPrefixes ) {
+			Node node = root;
+			for ( int i = 0; i < excludedPathPrefix.length( ); i++ ) {
+				node = node.children.computeIfAbsent( Character.toLowerCase( excludedPathPrefix.charAt( i ) ), key -> new Node( ) );
+			}
+			node.terminal = true;
+		}
+	}
+
+	@Override
+	public boolean includesDirectory( final String relativeDirectory ) {
+		// Every file within the directory starts with the directory followed by a separator
+		return !startsWithExcludedPrefix( relativeDirectory, true );
+	}
+
+	@Override
+	public boolean includesFile( final String relativePath ) {
+		return !startsWithExcludedPrefix( relativePath, false );
+	}
+
+	private boolean startsWithExcludedPrefix( final String path, final boolean followedBySeparator ) {
+		Node node = root;
+		for ( int i = 0; i < path.length( ); i++ ) {
+			if ( node.terminal ) {
+				return true;
+			}
+			node = node.children.get( Character.toLowerCase( path.charAt( i ) ) );
+			if ( node == null ) {
+				return false;
+			}
+		}
+
+		if ( node.terminal ) {
+			return true;
+		}
+		if ( followedBySeparator ) {
+			final Node separatorNode = node.children.get( File.separatorChar );
+			return separatorNode != null && separatorNode.terminal;
+		}
+		return false;
+	}
+
+	private static final class Node {
+
+		private final Map<Character, Node> children = new HashMap<>( );
+		private boolean terminal;
+
+	}
+
+}
@@ -0,0 +1,33 @@
+package de.rhocas.nce.msv.domain.filter;
+
+/**
+ * This filter includes only the files after the given position in the
+ * {@link WalkOrder}. Directories whose whole content lies before the position
+ * are skipped. This allows to continue an interrupted validation.
+ */
+public final class ResumeFilter implements TraversalFilter {
+
+	private final String position;
+
+	/**
+	 * Creates a new filter.
+	 *
+	 * @param position The relative path of the last file which has already been
+	 *                 validated.
+	 */
+	public ResumeFilter( final String position ) {
+		this.position = position;
+	}
+
+	@Override
+	public boolean includesDirectory( final String relativeDirectory ) {
+		// The directories leading to the position contain files before and after it
+		return WalkOrder.isWithin( position, relativeDirectory ) || WalkOrder.compare( relativeDirectory, position ) > 0;
+	}
+
+	@Override
+	public boolean includesFile( final String relativePath ) {
+		return WalkOrder.compare( relativePath, position ) > 0;
+	}
+
+}
@@ -0,0 +1,91 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import java.io.File;
+import java.nio.charset.StandardCharsets;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.zip.CRC32;
+
+import de.rhocas.nce.msv.domain.error.FilterRuleCannotBeParsed;
+import io.vavr.control.Either;
+
+/**
+ * This filter includes only the files of a single shard, so that the
+ * validation of a repository can be split into several disjoint runs. The files
+ * are assigned by a stable hash of their {@code groupId/artifactId} directory,
+ * which means that all versions of an artifact belong to the same shard and
+ * that every process assigns them the same way, regardless of the platform.
+ * <p>
+ * As the directory of an artifact cannot be told apart from a group directory
+ * by its path alone, every shard walks all directories. Only the validation
+ * itself, which is by far the most expensive part, is split.
+ */
+public final class ShardFilter implements TraversalFilter {
+
+	private static final Pattern SHARD_PATTERN = Pattern.compile( "(\\d{1,9})/(\\d{1,9})" );
+
+	private final int index;
+	private final int count;
+
+	private ShardFilter( final int index, final int count ) {
+		this.index = index;
+		this.count = count;
+	}
+
+	/**
+	 * Compiles the given shard into a filter.
+	 *
+	 * @param shard The shard in the form {@code k/N}, i.e. the k-th of N shards
+	 *              (starting with 1).
+	 *
+	 * @return Either an error, if the shard cannot be parsed, or the filter.
+	 */
+	public static Either<FilterRuleCannotBeParsed, TraversalFilter> compile( final String shard ) {
+		final Matcher matcher = SHARD_PATTERN.matcher( shard );
+		if ( !matcher.matches( ) ) {
+			return Either.left( new FilterRuleCannotBeParsed( shard ) );
+		}
+
+		final int index = Integer.parseInt( matcher.group( 1 ) );
+		final int count = Integer.parseInt( matcher.group( 2 ) );
+		if ( index < 1 || index > count ) {
+			return Either.left( new FilterRuleCannotBeParsed( shard ) );
+		}
+		return Either.right( new ShardFilter( index - 1, count ) );
+	}
+
+	@Override
+	public boolean includesDirectory( final String relativeDirectory ) {
+		return true;
+	}
+
+	@Override
+	public boolean includesFile( final String relativePath ) {
+		return getShard( relativePath, count ) == index;
+	}
+
+	/**
+	 * @return The zero-based shard of the given file.
+	 */
+	static int getShard( final String relativePath, final int count ) {
+		// The separators are unified, so that processes on different platforms agree on the shards
+		final CRC32 crc = new CRC32( );
+		crc.update( getArtifactDirectory( relativePath ).replace( File.separatorChar, '/' ).getBytes( StandardCharsets.UTF_8 ) );
+		return (int) ( crc.getValue( ) % count );
+	}
+
+	/**
+	 * @return The directory two levels above the file, which is the
+	 *         {@code groupId/artifactId} directory in the Maven repository layout.
+	 *         For files closer to the root, their directory is used instead.
+	 */
+	private static String getArtifactDirectory( final String relativePath ) {
+		final int fileNameIndex = relativePath.lastIndexOf( File.separatorChar );
+		if ( fileNameIndex <= 0 ) {
+			return "";
+		}
+		final int versionIndex = relativePath.lastIndexOf( File.separatorChar, fileNameIndex - 1 );
+		return relativePath.substring( 0, versionIndex > 0 ? versionIndex : fileNameIndex );
+	}
+
+}
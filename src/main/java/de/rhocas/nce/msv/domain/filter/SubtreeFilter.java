@@ -0,0 +1,42 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import java.io.File;
+import java.util.List;
+
+/**
+ * This filter includes only the given files and directories (including their
+ * content). Directories above them are walked, but all other subtrees are
+ * skipped. This allows to validate a part of the repository while the paths of
+ * the files are still relative to the root directory of the repository.
+ */
+public final class SubtreeFilter implements TraversalFilter {
+
+	private final List<String> subtrees;
+
+	/**
+	 * Creates a new filter.
+	 *
+	 * @param subtrees The relative paths of the included files and directories.
+	 *                 An empty path includes the whole repository. If there are
+	 *                 no paths at all, everything is included.
+	 */
+	public SubtreeFilter( final List<String> subtrees ) {
+		this.subtrees = subtrees;
+	}
+
+	@Override
+	public boolean includesDirectory( final String relativeDirectory ) {
+		// The directories leading to a subtree have to be walked as well
+		return subtrees.isEmpty( ) || subtrees.stream( ).anyMatch( subtree -> isWithin( relativeDirectory, subtree ) || isWithin( subtree, relativeDirectory ) );
+	}
+
+	@Override
+	public boolean includesFile( final String relativePath ) {
+		return subtrees.isEmpty( ) || subtrees.stream( ).anyMatch( subtree -> isWithin( relativePath, subtree ) );
+	}
+
+	private static boolean isWithin( final String path, final String subtree ) {
+		return subtree.isEmpty( ) || path.equals( subtree ) || path.startsWith( subtree ) && path.charAt( subtree.length( ) ) == File.separatorChar;
+	}
+
+}
@@ -0,0 +1,71 @@
+package de.rhocas.nce.msv.domain.filter;
+
+/**
+ * A filter which is evaluated while the repository is walked. All paths are
+ * relative to the root directory of the repository.
+ */
+public interface TraversalFilter {
+
+	/**
+	 * A filter which includes everything.
+	 */
+	TraversalFilter ALL = new TraversalFilter( ) {
+
+		@Override
+		public boolean includesDirectory( final String relativeDirectory ) {
+			return true;
+		}
+
+		@Override
+		public boolean includesFile( final String relativePath ) {
+			return true;
+		}
+
+	};
+
+	/**
+	 * Checks whether the given directory has to be walked. If not, the whole
+	 * subtree is skipped.
+	 *
+	 * @param relativeDirectory The directory.
+	 *
+	 * @return false if no file within the directory can be included, true
+	 *         otherwise.
+	 */
+	boolean includesDirectory( String relativeDirectory );
+
+	/**
+	 * Checks whether the given file is included.
+	 *
+	 * @param relativePath The file.
+	 *
+	 * @return true if and only if the file is included.
+	 */
+	boolean includesFile( String relativePath );
+
+	/**
+	 * Combines this filter with the given filter. Directories and files are only
+	 * included if they are included by both filters.
+	 *
+	 * @param other The other filter.
+	 *
+	 * @return The combined filter.
+	 */
+	default TraversalFilter and( final TraversalFilter other ) {
+		final TraversalFilter self = this;
+		return new TraversalFilter( ) {
+
+			@Override
+			public boolean includesDirectory( final String relativeDirectory ) {
+				return self.includesDirectory( relativeDirectory ) && other.includesDirectory( relativeDirectory );
+			}
+
+			@Override
+			public boolean includesFile( final String relativePath ) {
+				return self.includesFile( relativePath ) && other.includesFile( relativePath );
+			}
+
+		};
+	}
+
+}
@@ -0,0 +1,79 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import io.vavr.control.Option;
+
+/**
+ * A Maven version range, like {@code [1.0,2.0)}, {@code [2020,)} or
+ * {@code [1.0]}.
+ */
+final class VersionRange {
+
+	private final Option<MavenVersion> lowerBound;
+	private final boolean lowerBoundInclusive;
+	private final Option<MavenVersion> upperBound;
+	private final boolean upperBoundInclusive;
+
+	private VersionRange( final Option<MavenVersion> lowerBound, final boolean lowerBoundInclusive, final Option<MavenVersion> upperBound, final boolean upperBoundInclusive ) {
+		this.lowerBound = lowerBound;
+		this.lowerBoundInclusive = lowerBoundInclusive;
+		this.upperBound = upperBound;
+		this.upperBoundInclusive = upperBoundInclusive;
+	}
+
+	static boolean isRange( final String specification ) {
+		return specification.startsWith( "[" ) || specification.startsWith( "(" );
+	}
+
+	/**
+	 * Parses the given range.
+	 *
+	 * @param specification The range.
+	 *
+	 * @return The range, if the specification is valid, an empty option otherwise.
+	 */
+	static Option<VersionRange> parse( final String specification ) {
+		if ( specification.length( ) < 3 || !isRange( specification ) || !( specification.endsWith( "]" ) || specification.endsWith( ")" ) ) ) {
+			return Option.none( );
+		}
+
+		final boolean lowerBoundInclusive = specification.startsWith( "[" );
+		final boolean upperBoundInclusive = specification.endsWith( "]" );
+		final String content = specification.substring( 1, specification.length( ) - 1 );
+		final int commaIndex = content.indexOf( ',' );
+
+		if ( commaIndex == -1 ) {
+			// A single version has to be an exact match
+			if ( !lowerBoundInclusive || !upperBoundInclusive || content.trim( ).isEmpty( ) ) {
+				return Option.none( );
+			}
+			final Option<MavenVersion> version = Option.of( new MavenVersion( content.trim( ) ) );
+			return Option.of( new VersionRange( version, true, version, true ) );
+		}
+		if ( content.indexOf( ',', commaIndex + 1 ) != -1 ) {
+			return Option.none( );
+		}
+
+		final Option<MavenVersion> lowerBound = parseBound( content.substring( 0, commaIndex ) );
+		final Option<MavenVersion> upperBound = parseBound( content.substring( commaIndex + 1 ) );
+		return Option.of( new VersionRange( lowerBound, lowerBoundInclusive, upperBound, upperBoundInclusive ) );
+	}
+
+	private static Option<MavenVersion> parseBound( final String bound ) {
+		final String trimmedBound = bound.trim( );
+		return trimmedBound.isEmpty( ) ? Option.none( ) : Option.of( new MavenVersion( trimmedBound ) );
+	}
+
+	boolean contains( final String version ) {
+		final MavenVersion mavenVersion = new MavenVersion( version );
+		final boolean aboveLowerBound = lowerBound.forAll( bound -> {
+			final int result = mavenVersion.compareTo( bound );
+			return lowerBoundInclusive ? result >= 0 : result > 0;
+		} );
+		final boolean belowUpperBound = upperBound.forAll( bound -> {
+			final int result = mavenVersion.compareTo( bound );
+			return upperBoundInclusive ? result <= 0 : result < 0;
+		} );
+		return aboveLowerBound && belowUpperBound;
+	}
+
+}
@@ -0,0 +1,64 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import java.io.File;
+import java.util.Comparator;
+
+/**
+ * The deterministic order in which the files of the repository are listed. The
+ * relative paths are compared segment by segment, so that a directory comes
+ * directly before its content and the content of a directory comes before its
+ * next sibling. The order therefore does not depend on the order in which the
+ * file system returns the entries of a directory.
+ */
+public final class WalkOrder {
+
+	/**
+	 * Compares relative paths in the walk order.
+	 */
+	public static final Comparator<String> COMPARATOR = WalkOrder::compare;
+
+	private WalkOrder( ) {
+	}
+
+	/**
+	 * Compares the given relative paths in the walk order.
+	 *
+	 * @param first  The first path.
+	 * @param second The second path.
+	 *
+	 * @return A negative number, zero or a positive number if the first path comes
+	 *         before, at the same position as or after the second path.
+	 */
+	public static int compare( final String first, final String second ) {
+		final int length = Math.min( first.length( ), second.length( ) );
+		for ( int index = 0; index < length; index++ ) {
+			final char firstChar = first.charAt( index );
+			final char secondChar = second.charAt( index );
+			if ( firstChar != secondChar ) {
+				// The end of a segment comes before any other character
+				if ( firstChar == File.separatorChar ) {
+					return -1;
+				}
+				if ( secondChar == File.separatorChar ) {
+					return 1;
+				}
+				return Character.compare( firstChar, secondChar );
+			}
+		}
+		return Integer.compare( first.length( ), second.length( ) );
+	}
+
+	/**
+	 * Checks whether the given path lies within the given directory.
+	 *
+	 * @param path      The relative path.
+	 * @param directory The relative directory.
+	 *
+	 * @return true if and only if the path lies within the directory (but is not
+	 *         the directory itself).
+	 */
+	public static boolean isWithin( final String path, final String directory ) {
+		return directory.isEmpty( ) ? !path.isEmpty( ) : path.length( ) > directory.length( ) && path.startsWith( directory ) && path.charAt( directory.length( ) ) == File.separatorChar;
+	}
+
+}
@@ -0,0 +1,69 @@
+package de.rhocas.nce.msv.domain.port;
+
+import java.nio.file.Path;
+
+import de.rhocas.nce.msv.domain.entity.Checkpoint;
+import io.vavr.control.Option;
+
+/**
+ * A port to store the progress of a validation, so that an interrupted
+ * validation can be continued instead of started over.
+ */
+public interface CheckpointStore {
+
+	/**
+	 * A store which does not store anything.
+	 */
+	CheckpointStore NONE = new CheckpointStore( ) {
+
+		@Override
+		public boolean isEnabled( ) {
+			return false;
+		}
+
+		@Override
+		public Option<Checkpoint> load( final Path directory ) {
+			return Option.none( );
+		}
+
+		@Override
+		public void save( final Path directory, final Checkpoint checkpoint ) {
+		}
+
+		@Override
+		public void delete( ) {
+		}
+
+	};
+
+	/**
+	 * Checks whether checkpoints are stored at all.
+	 *
+	 * @return true if and only if checkpoints are stored.
+	 */
+	boolean isEnabled( );
+
+	/**
+	 * Loads the checkpoint of an interrupted validation of the given directory.
+	 *
+	 * @param directory The root directory of the validation.
+	 *
+	 * @return The checkpoint, if the validation of the same directory should be
+	 *         continued, an empty option otherwise.
+	 */
+	Option<Checkpoint> load( Path directory );
+
+	/**
+	 * Stores the given checkpoint and replaces the previous one.
+	 *
+	 * @param directory  The root directory of the validation.
+	 * @param checkpoint The checkpoint.
+	 */
+	void save( Path directory, Checkpoint checkpoint );
+
+	/**
+	 * Deletes the stored checkpoint after the validation has been finished.
+	 */
+	void delete( );
+
+}
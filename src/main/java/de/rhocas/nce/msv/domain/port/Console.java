@@ -19,4 +19,18 @@ public interface Console {
 	 */
 	void printError( String error );
 
+	/**
+	 * Prints the given progress on the console. The progress is only informative
+	 * and must not be mixed up with the actual results.
+	 *
+	 * @param progress The progress to print.
+	 */
+	void printProgress( String progress );
+
+	/**
+	 * Writes all pending output and releases the console. The console must not
+	 * be used afterwards.
+	 */
+	void close( );
+
 }
@@ -0,0 +1,25 @@
+package de.rhocas.nce.msv.domain.port;
+
+import java.util.concurrent.ExecutorService;
+
+/**
+ * A port to provide the threads on which the files are validated.
+ */
+public interface ExecutionStrategy {
+
+	/**
+	 * Creates a new executor service for a single run. The caller is responsible
+	 * to shut it down afterwards.
+	 *
+	 * @return The new executor service.
+	 */
+	ExecutorService createExecutorService( );
+
+	/**
+	 * Gets the number of files which should be validated concurrently.
+	 *
+	 * @return The parallelism.
+	 */
+	int getParallelism( );
+
+}
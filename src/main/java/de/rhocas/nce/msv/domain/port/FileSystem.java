@@ -1,11 +1,17 @@
 package de.rhocas.nce.msv.domain.port;
 
+import java.nio.ByteBuffer;
 import java.nio.file.Path;
 import java.util.List;
+import java.util.function.Consumer;
 
+import de.rhocas.nce.msv.domain.entity.DirectoryListing;
 import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileMetadata;
 import de.rhocas.nce.msv.domain.error.FilesCannotBeRemoved;
 import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.domain.filter.WalkOrder;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 
@@ -15,14 +21,63 @@ import io.vavr.control.Option;
 public interface FileSystem {
 
 	/**
-	 * Lists all files in the given directory.
+	 * Lists all files in the given directory. Directories excluded by the filter
+	 * are not walked at all. The files are listed in the {@link WalkOrder}, so
+	 * that the same repository is always listed in the same order.
 	 *
 	 * @param directory The root directory.
+	 * @param filter    The filter for the directories and files.
 	 *
 	 * @return Either an error, if the root directory cannot be accessed, or a list
-	 *         with all files.
+	 *         with all included files.
 	 */
-	Either<RootDirectoryCannotBeAccessed, List<File>> listFilesInDirectory( Path directory );
+	Either<RootDirectoryCannotBeAccessed, List<File>> listFilesInDirectory( Path directory, TraversalFilter filter );
+
+	/**
+	 * Walks through all files in the given directory and passes each file to the
+	 * given consumer as soon as it is discovered. In contrast to
+	 * {@link #listFilesInDirectory(Path, TraversalFilter)} the files are not
+	 * collected.
+	 *
+	 * @param directory    The root directory.
+	 * @param filter       The filter for the directories and files.
+	 * @param fileConsumer The consumer receiving the included files.
+	 *
+	 * @return An empty option if the operation succeeded, or an error if the root
+	 *         directory cannot be accessed.
+	 */
+	Option<RootDirectoryCannotBeAccessed> walkFilesInDirectory( Path directory, TraversalFilter filter, Consumer<File> fileConsumer );
+
+	/**
+	 * Walks through all directories in the given directory and passes the listing
+	 * of each directory with included files to the given consumer, as soon as the
+	 * directory has been listed completely. The listing contains the metadata of
+	 * all regular files in the directory, which means that no file has to be
+	 * accessed separately to find or to fingerprint its siblings.
+	 *
+	 * @param directory         The root directory.
+	 * @param filter            The filter for the directories and files.
+	 * @param directoryConsumer The consumer receiving the directory listings.
+	 *
+	 * @return An empty option if the operation succeeded, or an error if the root
+	 *         directory cannot be accessed.
+	 */
+	Option<RootDirectoryCannotBeAccessed> walkDirectoriesInDirectory( Path directory, TraversalFilter filter, Consumer<DirectoryListing> directoryConsumer );
+
+	/**
+	 * Watches the given directory and passes each file to the given consumer as
+	 * soon as it is created or modified. A file can be passed multiple times, e.g.
+	 * while it is still being written. The files of new directories are passed as
+	 * well. This method blocks until the calling thread is interrupted.
+	 *
+	 * @param directory           The root directory.
+	 * @param filter              The filter for the directories and files.
+	 * @param changedFileConsumer The consumer receiving the changed files.
+	 *
+	 * @return An empty option if the watch has been interrupted, or an error if
+	 *         the root directory cannot be watched.
+	 */
+	Option<RootDirectoryCannotBeAccessed> watchFilesInDirectory( Path directory, TraversalFilter filter, Consumer<File> changedFileConsumer );
 
 	/**
 	 * Removes the given files from the file system.
@@ -34,6 +89,27 @@ public interface FileSystem {
 	 */
 	Option<FilesCannotBeRemoved> removeFiles( List<File> files );
 
+	/**
+	 * Removes the given directory, but only if it is empty.
+	 *
+	 * @param directory The directory to be removed.
+	 *
+	 * @return true if the directory has been removed, false if it is not empty or
+	 *         cannot be removed.
+	 */
+	boolean removeDirectoryIfEmpty( Path directory );
+
+	/**
+	 * Lists all regular files in the directory of the given file, including the
+	 * file itself.
+	 *
+	 * @param file The file.
+	 *
+	 * @return The files, if the directory could be accessed, an empty option
+	 *         otherwise.
+	 */
+	Option<List<File>> listSiblingFiles( File file );
+
 	/**
 	 * Reads all bytes from the given file.
 	 *
@@ -43,6 +119,75 @@ public interface FileSystem {
 	 */
 	Option<byte[]> readBytes( File file );
 
+	/**
+	 * Reads the last bytes of the given file.
+	 *
+	 * @param file   The file to read bytes from.
+	 * @param length The maximal number of bytes to read.
+	 *
+	 * @return The bytes (fewer than the given length, if the file is smaller), if
+	 *         the file could be accessed, an empty option otherwise.
+	 */
+	Option<byte[]> readTail( File file, int length );
+
+	/**
+	 * Reads the given file chunk by chunk into the given buffer. The buffer is
+	 * passed to the consumer after each chunk (ready to be read) and reused for the
+	 * next chunk afterwards. This means that the memory consumption does not depend
+	 * on the size of the file.
+	 *
+	 * @param file          The file to read.
+	 * @param buffer        The buffer to read the chunks into.
+	 * @param chunkConsumer The consumer receiving the chunks.
+	 *
+	 * @return The total number of bytes read, if the file could be accessed, an
+	 *         empty option otherwise.
+	 */
+	Option<Long> readChunks( File file, ByteBuffer buffer, Consumer<ByteBuffer> chunkConsumer );
+
+	/**
+	 * Maps the given file window by window into memory and passes each mapped
+	 * window to the consumer. The content is not copied into the heap.
+	 *
+	 * @param file          The file to map.
+	 * @param windowSize    The maximal size of a single window in bytes.
+	 * @param chunkConsumer The consumer receiving the mapped windows.
+	 *
+	 * @return The total number of bytes mapped, if the file could be accessed, an
+	 *         empty option otherwise.
+	 */
+	Option<Long> mapChunks( File file, long windowSize, Consumer<ByteBuffer> chunkConsumer );
+
+	/**
+	 * Gets the size of the given file.
+	 *
+	 * @param file The file.
+	 *
+	 * @return The size in bytes, if the file could be accessed, an empty option
+	 *         otherwise.
+	 */
+	Option<Long> getSize( File file );
+
+	/**
+	 * Gets the metadata of the given file.
+	 *
+	 * @param file The file.
+	 *
+	 * @return The metadata, if the file could be accessed, an empty option
+	 *         otherwise.
+	 */
+	Option<FileMetadata> getMetadata( File file );
+
+	/**
+	 * Gets the number of hard links to the physical file of the given file.
+	 *
+	 * @param file The file.
+	 *
+	 * @return The number of hard links, if the file could be accessed and the
+	 *         file system provides it, an empty option otherwise.
+	 */
+	Option<Integer> getLinkCount( File file );
+
 	/**
 	 * Gets the sibling of the given file with the given name.
 	 *
@@ -0,0 +1,28 @@
+package de.rhocas.nce.msv.domain.port;
+
+import java.util.List;
+
+import de.rhocas.nce.msv.domain.entity.File;
+
+/**
+ * A port to determine the order in which the listed files are read for the
+ * validation.
+ */
+public interface ReadOrder {
+
+	/**
+	 * Reads the files in the order of the walk.
+	 */
+	ReadOrder WALK = files -> files;
+
+	/**
+	 * Orders the given files for reading. The files are validated concurrently,
+	 * but started in this order.
+	 *
+	 * @param files The files in the order of the walk.
+	 *
+	 * @return The same files in the order in which they should be read.
+	 */
+	List<File> order( List<File> files );
+
+}
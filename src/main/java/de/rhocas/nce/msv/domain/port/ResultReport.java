@@ -0,0 +1,33 @@
+package de.rhocas.nce.msv.domain.port;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+
+/**
+ * A port to record the results of a run in a machine readable report. The
+ * results are recorded as soon as they are known, so that they are not lost if
+ * the run is aborted. All methods can be called concurrently.
+ */
+public interface ResultReport {
+
+	/**
+	 * Records an invalid file.
+	 *
+	 * @param file The invalid file.
+	 */
+	void invalidFileDetected( File file );
+
+	/**
+	 * Records the outcome of a removal.
+	 *
+	 * @param report The removed files and directories and the files which could
+	 *               not be removed.
+	 */
+	void removalFinished( RemovalReport report );
+
+	/**
+	 * Completes the report. Nothing is recorded afterwards.
+	 */
+	void close( );
+
+}
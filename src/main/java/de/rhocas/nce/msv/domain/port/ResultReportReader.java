@@ -0,0 +1,25 @@
+package de.rhocas.nce.msv.domain.port;
+
+import java.nio.file.Path;
+
+import de.rhocas.nce.msv.domain.entity.ReportedResults;
+import de.rhocas.nce.msv.domain.error.ReportCannotBeRead;
+import io.vavr.control.Either;
+
+/**
+ * A port to read the results which have been recorded by a
+ * {@link ResultReport}.
+ */
+public interface ResultReportReader {
+
+	/**
+	 * Reads the given report.
+	 *
+	 * @param reportFile The report.
+	 *
+	 * @return Either an error, if the report cannot be read or parsed, or the
+	 *         recorded results in the order of the report.
+	 */
+	Either<ReportCannotBeRead, ReportedResults> read( Path reportFile );
+
+}
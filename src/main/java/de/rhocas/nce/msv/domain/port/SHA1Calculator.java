@@ -1,20 +1,28 @@
 package de.rhocas.nce.msv.domain.port;
 
+import java.util.Set;
+
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
 import de.rhocas.nce.msv.domain.entity.File;
 import io.vavr.control.Option;
 
 /**
- * A port to calculate the SHA1 for a given file.
+ * A port to calculate the SHA1 and the other checksums for a given file.
  */
 public interface SHA1Calculator {
 
 	/**
-	 * Calculates the SHA1 for the given file.
+	 * Calculates the checksums for the given file. All checksums are calculated
+	 * while reading the file once.
 	 *
-	 * @param path The file.
+	 * @param path       The file.
+	 * @param algorithms The algorithms for which the checksums should be
+	 *                   calculated.
 	 *
-	 * @return The SHA1 if the file could be processed, an empty option otherwise.
+	 * @return The checksums if the file could be processed, an empty option
+	 *         otherwise.
 	 */
-	Option<String> calculate( File path );
+	Option<Checksums> calculate( File path, Set<ChecksumAlgorithm> algorithms );
 
 }
@@ -1,21 +1,39 @@
 package de.rhocas.nce.msv.domain.port;
 
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.DirectoryListing;
 import de.rhocas.nce.msv.domain.entity.File;
 import io.vavr.control.Option;
 
 /**
- * A port to extract the expected SHA1 for a given file.
+ * A port to extract the expected SHA1 and the other checksums for a given
+ * file.
  */
 public interface SHA1Extractor {
 
 	/**
-	 * Extracts the SHA1 for the given file.
+	 * Extracts the checksums for the given file from all of its checksum files.
 	 *
 	 * @param path The file.
 	 *
-	 * @return The SHA1 if the expected SHA1 for the file could be found, an empty
-	 *         option otherwise.
+	 * @return The checksums if all existing checksum files could be read and
+	 *         parsed, an empty option otherwise. The checksums are empty if there is no
+	 *         checksum file at all.
 	 */
-	Option<String> extract( File path );
+	Option<Checksums> extract( File path );
+
+	/**
+	 * Extracts the checksums for the given file like {@link #extract(File)}, but
+	 * resolves the checksum files from the given listing instead of looking them
+	 * up in the file system.
+	 *
+	 * @param path    The file.
+	 * @param listing The listing of the directory containing the file.
+	 *
+	 * @return The checksums if all existing checksum files could be read and
+	 *         parsed, an empty option otherwise. The checksums are empty if there is no
+	 *         checksum file at all.
+	 */
+	Option<Checksums> extract( File path, DirectoryListing listing );
 
 }
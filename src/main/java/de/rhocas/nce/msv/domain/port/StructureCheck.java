@@ -0,0 +1,30 @@
+package de.rhocas.nce.msv.domain.port;
+
+import de.rhocas.nce.msv.domain.entity.File;
+
+/**
+ * A port to detect obviously damaged files (e.g. truncated archives) before
+ * their checksums are calculated. The check reads at most a small part of the
+ * file, so that a damaged repository is examined much faster than by hashing
+ * every file.
+ */
+public interface StructureCheck {
+
+	/**
+	 * A check which considers every file intact.
+	 */
+	StructureCheck NONE = ( file, size ) -> true;
+
+	/**
+	 * Checks whether the structure of the given file is intact. A file which
+	 * passes the check can still be damaged, but a file which fails it is
+	 * damaged for sure.
+	 *
+	 * @param file The file.
+	 * @param size The size of the file in bytes.
+	 *
+	 * @return false if the file is damaged, true otherwise.
+	 */
+	boolean isIntact( File file, long size );
+
+}
@@ -0,0 +1,55 @@
+package de.rhocas.nce.msv.domain.port;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileFingerprint;
+import io.vavr.control.Option;
+
+/**
+ * A port to remember the results of previous verifications.
+ */
+public interface VerificationCache {
+
+	/**
+	 * Checks whether the cache is enabled at all. If it is not, there is no need
+	 * to calculate the fingerprints of the files.
+	 *
+	 * @return true if and only if the cache is enabled.
+	 */
+	boolean isEnabled( );
+
+	/**
+	 * Gets the cached validity of the given file.
+	 *
+	 * @param file        The file.
+	 * @param fingerprint The current fingerprint of the file.
+	 *
+	 * @return The validity, if the file has been verified with the same
+	 *         fingerprint before and the verification has not yet expired, an
+	 *         empty option otherwise.
+	 */
+	Option<Boolean> getValidity( File file, FileFingerprint fingerprint );
+
+	/**
+	 * Stores the validity of the given file.
+	 *
+	 * @param file        The file.
+	 * @param fingerprint The fingerprint of the file at the time of the
+	 *                    verification.
+	 * @param valid       Whether the file is valid.
+	 */
+	void putValidity( File file, FileFingerprint fingerprint, boolean valid );
+
+	/**
+	 * Removes the entries of all files which have been neither looked up nor
+	 * stored since the cache has been loaded. This is meant to be called after a
+	 * validation of the whole repository, so that the entries of deleted files do
+	 * not accumulate.
+	 */
+	void prune( );
+
+	/**
+	 * Persists the cache, so that it can be used by the next run.
+	 */
+	void persist( );
+
+}
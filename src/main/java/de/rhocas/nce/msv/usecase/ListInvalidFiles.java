@@ -1,17 +1,48 @@
 package de.rhocas.nce.msv.usecase;
 
-import static io.vavr.API.For;
-
 import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.IdentityHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import de.rhocas.nce.msv.domain.entity.Checkpoint;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.DirectoryListing;
 import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileFingerprint;
+import de.rhocas.nce.msv.domain.entity.FileMetadata;
+import de.rhocas.nce.msv.domain.entity.ValidationStage;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
 import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.ResumeFilter;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.domain.port.CheckpointStore;
+import de.rhocas.nce.msv.domain.port.ExecutionStrategy;
 import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.ReadOrder;
 import de.rhocas.nce.msv.domain.port.SHA1Calculator;
 import de.rhocas.nce.msv.domain.port.SHA1Extractor;
+import de.rhocas.nce.msv.domain.port.StructureCheck;
+import de.rhocas.nce.msv.domain.port.VerificationCache;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 
@@ -20,39 +51,400 @@ import io.vavr.control.Option;
  */
 public final class ListInvalidFiles {
 
+	private static final int QUEUE_CAPACITY = 1024;
+	private static final long QUEUE_OFFER_TIMEOUT_MILLIS = 100;
+
+	/**
+	 * The interval in which the progress of a validation is stored. Storing the
+	 * checkpoint also persists the verification cache, which takes a while for
+	 * large repositories.
+	 */
+	public static final Duration DEFAULT_CHECKPOINT_INTERVAL = Duration.ofMinutes( 1 );
+
+	/**
+	 * Marks the end of the walk for the workers in the streaming mode.
+	 */
+	private static final File END_OF_WALK = new File( null, null, null );
+	private static final DirectoryListing END_OF_DIRECTORY_WALK = new DirectoryListing( null, null, null, null );
+
 	private final FileSystem fileSystem;
 	private final SHA1Calculator sha1Calculator;
 	private final SHA1Extractor sha1Extractor;
+	private final VerificationCache verificationCache;
+	private final ExecutionStrategy executionStrategy;
+	private final ReadOrder readOrder;
+	private final CheckpointStore checkpointStore;
+	private final StructureCheck structureCheck;
+	private final Duration checkpointInterval;
 
-	public ListInvalidFiles( final FileSystem fileSystem, final SHA1Calculator sha1Calculator, final SHA1Extractor sha1Extractor ) {
+	public ListInvalidFiles( final FileSystem fileSystem, final SHA1Calculator sha1Calculator, final SHA1Extractor sha1Extractor, final VerificationCache verificationCache, final ExecutionStrategy executionStrategy,
+			final ReadOrder readOrder, final CheckpointStore checkpointStore, final StructureCheck structureCheck, final Duration checkpointInterval ) {
 		this.fileSystem = fileSystem;
 		this.sha1Calculator = sha1Calculator;
 		this.sha1Extractor = sha1Extractor;
+		this.verificationCache = verificationCache;
+		this.executionStrategy = executionStrategy;
+		this.readOrder = readOrder;
+		this.checkpointStore = checkpointStore;
+		this.structureCheck = structureCheck;
+		this.checkpointInterval = checkpointInterval;
 	}
 
 	/**
 	 * Lists all invalid files starting with the given directory.
 	 *
-	 * @param directory          The directory to start with.
-	 * @param ignorePathPrefixes The path prefixes (relative to the directory) to
-	 *                           ignore.
+	 * @param directory The directory to start with.
+	 * @param filter    The filter selecting the directories and files to
+	 *                  validate.
 	 *
 	 * @return Either an error, if the root directory cannot be accessed, or a list
 	 *         with the invalid files.
 	 */
-	public Either<RootDirectoryCannotBeAccessed, List<File>> listInvalidFiles( final Path directory, final List<String> ignorePathPrefixes ) {
-		final Either<RootDirectoryCannotBeAccessed, List<File>> eitherErrorOrFiles = fileSystem.listFilesInDirectory( directory );
+	public Either<RootDirectoryCannotBeAccessed, List<File>> listInvalidFiles( final Path directory, final TraversalFilter filter ) {
+		return listInvalidFiles( directory, filter, new ValidationStatistics( ) );
+	}
+
+	/**
+	 * Lists all invalid files starting with the given directory and records the
+	 * progress in the given statistics. If checkpoints are enabled, the progress
+	 * is stored from time to time in the walk order, and a stored checkpoint of an
+	 * interrupted validation of the same directory is continued. The invalid
+	 * files of the interrupted validation are listed first. The checkpoint is
+	 * deleted once the validation has been finished. If the whole repository is
+	 * validated with {@link TraversalFilter#ALL}, the entries of files which no
+	 * longer exist are removed from the verification cache.
+	 *
+	 * @param directory  The directory to start with.
+	 * @param filter     The filter selecting the directories and files to
+	 *                   validate.
+	 * @param statistics The statistics to update during the validation.
+	 *
+	 * @return Either an error, if the root directory cannot be accessed, or a list
+	 *         with the invalid files.
+	 */
+	public Either<RootDirectoryCannotBeAccessed, List<File>> listInvalidFiles( final Path directory, final TraversalFilter filter, final ValidationStatistics statistics ) {
+		if ( !checkpointStore.isEnabled( ) ) {
+			final Either<RootDirectoryCannotBeAccessed, List<File>> eitherErrorOrInvalidFiles = listInvalidFilesWithoutPersisting( directory, filter, statistics );
+			persistVerificationCache( filter, eitherErrorOrInvalidFiles.isRight( ) );
+
+			return eitherErrorOrInvalidFiles;
+		}
+
+		final Option<Checkpoint> optionalCheckpoint = checkpointStore.load( directory );
+		final List<File> previousInvalidFiles = optionalCheckpoint.map( Checkpoint::getInvalidFiles ).getOrElse( Collections.emptyList( ) );
+		final TraversalFilter resumingFilter = optionalCheckpoint.map( checkpoint -> filter.and( new ResumeFilter( checkpoint.getPosition( ) ) ) ).getOrElse( filter );
+		final CheckpointWriter checkpointWriter = new CheckpointWriter( directory, previousInvalidFiles );
+
+		final Either<RootDirectoryCannotBeAccessed, List<File>> eitherErrorOrFiles = listRelevantFiles( directory, resumingFilter, statistics );
 		final Either<RootDirectoryCannotBeAccessed, List<File>> eitherErrorOrInvalidFiles = eitherErrorOrFiles
-				.map( files -> files.parallelStream( )
-						.filter( path -> isRelevantForValidation( path ) )
-						.filter( path -> isNotIgnored( path, ignorePathPrefixes ) )
-						.filter( path -> isInvalid( path ) )
-						.collect( Collectors.toList( ) ) );
+				.map( files -> filterInvalidFiles( files, statistics, checkpointWriter ) )
+				.map( invalidFiles -> concat( previousInvalidFiles, invalidFiles ) );
+		persistVerificationCache( resumingFilter, eitherErrorOrInvalidFiles.isRight( ) );
+		if ( eitherErrorOrInvalidFiles.isRight( ) ) {
+			checkpointStore.delete( );
+		}
 
 		return eitherErrorOrInvalidFiles;
 	}
 
-	private boolean isRelevantForValidation( final File file ) {
+	/**
+	 * Lists all invalid files starting with the given directory like
+	 * {@link #listInvalidFiles(Path, TraversalFilter, ValidationStatistics)}, but
+	 * does not persist the verification cache afterwards. This is meant for
+	 * long-running processes validating many small parts of the repository, for
+	 * which writing the whole cache would take longer than the validation
+	 * itself. They persist the cache from time to time with
+	 * {@link #persistVerificationCache()} instead.
+	 *
+	 * @param directory  The directory to start with.
+	 * @param filter     The filter selecting the directories and files to
+	 *                   validate.
+	 * @param statistics The statistics to update during the validation.
+	 *
+	 * @return Either an error, if the root directory cannot be accessed, or a list
+	 *         with the invalid files.
+	 */
+	public Either<RootDirectoryCannotBeAccessed, List<File>> listInvalidFilesWithoutPersisting( final Path directory, final TraversalFilter filter, final ValidationStatistics statistics ) {
+		return listRelevantFiles( directory, filter, statistics )
+				.map( files -> filterInvalidFiles( files, statistics ) );
+	}
+
+	private Either<RootDirectoryCannotBeAccessed, List<File>> listRelevantFiles( final Path directory, final TraversalFilter filter, final ValidationStatistics statistics ) {
+		final Either<RootDirectoryCannotBeAccessed, List<File>> eitherErrorOrFiles = fileSystem.listFilesInDirectory( directory, filter );
+		statistics.traversalFinished( System.nanoTime( ) );
+		return eitherErrorOrFiles
+				.peek( files -> statistics.filesDiscovered( files.size( ) ) )
+				.map( files -> files.stream( )
+						.filter( file -> isRelevantForValidation( file, statistics ) )
+						.collect( Collectors.toList( ) ) );
+	}
+
+	private static List<File> concat( final List<File> first, final List<File> second ) {
+		if ( first.isEmpty( ) ) {
+			return second;
+		}
+		final List<File> files = new ArrayList<>( first );
+		files.addAll( second );
+		return files;
+	}
+
+	/**
+	 * Persists the results which have been put into the verification cache so far.
+	 */
+	public void persistVerificationCache( ) {
+		verificationCache.persist( );
+	}
+
+	private void persistVerificationCache( final TraversalFilter filter, final boolean walked ) {
+		// Only a complete walk of the whole repository looks up all files which still exist
+		if ( filter == TraversalFilter.ALL && walked ) {
+			verificationCache.prune( );
+		}
+		verificationCache.persist( );
+	}
+
+	/**
+	 * Validates only the given files, e.g. files which have been changed since the
+	 * last validation. Files which are not relevant for the validation are
+	 * skipped. In contrast to the validation of a whole directory, the
+	 * verification cache is not persisted afterwards.
+	 *
+	 * @param files      The files to validate.
+	 * @param statistics The statistics to update during the validation.
+	 *
+	 * @return The invalid files in the order of the given files.
+	 */
+	public List<File> listInvalidFiles( final List<File> files, final ValidationStatistics statistics ) {
+		statistics.filesDiscovered( files.size( ) );
+		final List<File> relevantFiles = files.stream( )
+				.filter( file -> isRelevantForValidation( file, statistics ) )
+				.collect( Collectors.toList( ) );
+		return filterInvalidFiles( relevantFiles, statistics );
+	}
+
+	private List<File> filterInvalidFiles( final List<File> files, final ValidationStatistics statistics ) {
+		return filterInvalidFiles( files, statistics, ( file, invalidFiles ) -> {
+		} );
+	}
+
+	/**
+	 * @param validatedFileListener Is called in the walk order for each file as
+	 *                              soon as the file and all files before it have
+	 *                              been validated, together with the invalid
+	 *                              files so far.
+	 */
+	private List<File> filterInvalidFiles( final List<File> files, final ValidationStatistics statistics, final BiConsumer<File, List<File>> validatedFileListener ) {
+		final Map<File, CompletableFuture<Boolean>> results = new IdentityHashMap<>( );
+		files.forEach( file -> results.put( file, new CompletableFuture<>( ) ) );
+		final Queue<File> pendingFiles = new ConcurrentLinkedQueue<>( readOrder.order( files ) );
+		final ExecutorService executorService = executionStrategy.createExecutorService( );
+
+		try {
+			// Long-living workers (instead of a task per file) bound the open files and reuse their buffers even with a thread per task
+			for ( int i = 0; i < executionStrategy.getParallelism( ); i++ ) {
+				executorService.execute( ( ) -> validatePendingFiles( pendingFiles, results, statistics ) );
+			}
+
+			// The files are validated in the read order, but the invalid files are reported in the order of the walk
+			final List<File> invalidFiles = new ArrayList<>( );
+			for ( final File file : files ) {
+				if ( await( results.get( file ) ) ) {
+					invalidFiles.add( file );
+				}
+				validatedFileListener.accept( file, invalidFiles );
+			}
+			return invalidFiles;
+		} finally {
+			executorService.shutdownNow( );
+		}
+	}
+
+	private void validatePendingFiles( final Queue<File> pendingFiles, final Map<File, CompletableFuture<Boolean>> results, final ValidationStatistics statistics ) {
+		File file = pendingFiles.poll( );
+		while ( file != null && !Thread.currentThread( ).isInterrupted( ) ) {
+			final CompletableFuture<Boolean> result = results.get( file );
+			try {
+				result.complete( isInvalid( file, Option.none( ), statistics ) );
+			} catch ( final RuntimeException | Error ex ) {
+				// The failure is reported as soon as the file is reached in the walk order
+				result.completeExceptionally( ex );
+			}
+			file = pendingFiles.poll( );
+		}
+	}
+
+	/**
+	 * Lists all invalid files starting with the given directory in a streaming
+	 * fashion. The discovered files are passed through a bounded queue directly to
+	 * the validation, which means that the memory consumption does not depend on
+	 * the size of the repository and that the validation starts while the
+	 * directory is still being walked. Like in
+	 * {@link #listInvalidFiles(Path, TraversalFilter, ValidationStatistics)}, the
+	 * verification cache is pruned if the whole repository is validated.
+	 *
+	 * @param directory           The directory to start with.
+	 * @param filter              The filter selecting the directories and files
+	 *                            to validate.
+	 * @param invalidFileConsumer The consumer receiving the invalid files. It can
+	 *                            be called from multiple threads concurrently.
+	 *
+	 * @return An empty option if the operation succeeded, or an error if the root
+	 *         directory cannot be accessed.
+	 */
+	public Option<RootDirectoryCannotBeAccessed> streamInvalidFiles( final Path directory, final TraversalFilter filter, final Consumer<File> invalidFileConsumer ) {
+		return streamInvalidFiles( directory, filter, invalidFileConsumer, new ValidationStatistics( ) );
+	}
+
+	/**
+	 * Lists all invalid files starting with the given directory in a streaming
+	 * fashion and records the progress in the given statistics.
+	 *
+	 * @param directory           The directory to start with.
+	 * @param filter              The filter selecting the directories and files
+	 *                            to validate.
+	 * @param invalidFileConsumer The consumer receiving the invalid files. It can
+	 *                            be called from multiple threads concurrently.
+	 * @param statistics          The statistics to update during the validation.
+	 *
+	 * @return An empty option if the operation succeeded, or an error if the root
+	 *         directory cannot be accessed.
+	 *
+	 * @see #streamInvalidFiles(Path, TraversalFilter, Consumer)
+	 */
+	public Option<RootDirectoryCannotBeAccessed> streamInvalidFiles( final Path directory, final TraversalFilter filter, final Consumer<File> invalidFileConsumer, final ValidationStatistics statistics ) {
+		return validateWhileWalking( filter, END_OF_WALK, file -> {
+			if ( isInvalid( file, Option.none( ), statistics ) ) {
+				invalidFileConsumer.accept( file );
+			}
+		}, fileConsumer -> fileSystem.walkFilesInDirectory( directory, filter, file -> {
+			statistics.fileDiscovered( );
+			if ( isRelevantForValidation( file, statistics ) ) {
+				fileConsumer.accept( file );
+			}
+		} ), statistics );
+	}
+
+	/**
+	 * Lists all invalid files starting with the given directory in a streaming
+	 * fashion like {@link #streamInvalidFiles(Path, TraversalFilter, Consumer)},
+	 * but directory by directory. Each directory is listed only once, and the
+	 * checksum files and the metadata for the verification cache are taken from
+	 * this listing. This avoids most of the file system accesses per file, which
+	 * are expensive on network file systems.
+	 *
+	 * @param directory           The directory to start with.
+	 * @param filter              The filter selecting the directories and files
+	 *                            to validate.
+	 * @param invalidFileConsumer The consumer receiving the invalid files. It can
+	 *                            be called from multiple threads concurrently.
+	 * @param statistics          The statistics to update during the validation.
+	 *
+	 * @return An empty option if the operation succeeded, or an error if the root
+	 *         directory cannot be accessed.
+	 */
+	public Option<RootDirectoryCannotBeAccessed> streamInvalidFilesByDirectory( final Path directory, final TraversalFilter filter, final Consumer<File> invalidFileConsumer, final ValidationStatistics statistics ) {
+		return validateWhileWalking( filter, END_OF_DIRECTORY_WALK, listing -> {
+			for ( final File file : listing.getFiles( ) ) {
+				if ( isRelevantForValidation( file ) && isInvalid( file, Option.of( listing ), statistics ) ) {
+					invalidFileConsumer.accept( file );
+				}
+			}
+		}, listingConsumer -> fileSystem.walkDirectoriesInDirectory( directory, filter, listing -> {
+			statistics.filesDiscovered( listing.getFiles( ).size( ) );
+			final long relevantFiles = listing.getFiles( ).stream( ).filter( file -> isRelevantForValidation( file, statistics ) ).count( );
+			if ( relevantFiles > 0 ) {
+				listingConsumer.accept( listing );
+			}
+		} ), statistics );
+	}
+
+	/**
+	 * Walks the repository and validates the discovered items concurrently. The
+	 * items are passed through a bounded queue to the workers.
+	 *
+	 * @param filter     The filter selecting the directories and files to
+	 *                   validate.
+	 * @param endOfWalk  The item marking the end of the walk for the workers.
+	 * @param validation The validation of a single item.
+	 * @param walk       The walk passing the items to the given consumer.
+	 * @param statistics The statistics to update during the validation.
+	 */
+	private <T> Option<RootDirectoryCannotBeAccessed> validateWhileWalking( final TraversalFilter filter, final T endOfWalk, final Consumer<T> validation, final Function<Consumer<T>, Option<RootDirectoryCannotBeAccessed>> walk, final ValidationStatistics statistics ) {
+		final int workerCount = executionStrategy.getParallelism( );
+		final BlockingQueue<T> queue = new ArrayBlockingQueue<>( QUEUE_CAPACITY );
+		final ExecutorService executorService = executionStrategy.createExecutorService( );
+
+		try {
+			final List<Future<?>> workers = new ArrayList<>( );
+			for ( int i = 0; i < workerCount; i++ ) {
+				workers.add( executorService.submit( ( ) -> {
+					validateFromQueue( queue, endOfWalk, validation );
+					return null;
+				} ) );
+			}
+
+			final Option<RootDirectoryCannotBeAccessed> optionalError = walk.apply( item -> enqueue( queue, item, workers ) );
+			statistics.traversalFinished( System.nanoTime( ) );
+
+			for ( int i = 0; i < workerCount; i++ ) {
+				enqueue( queue, endOfWalk, workers );
+			}
+			workers.forEach( worker -> await( worker ) );
+			persistVerificationCache( filter, optionalError.isEmpty( ) );
+
+			return optionalError;
+		} finally {
+			executorService.shutdownNow( );
+		}
+	}
+
+	private <T> void validateFromQueue( final BlockingQueue<T> queue, final T endOfWalk, final Consumer<T> validation ) throws InterruptedException {
+		T item = queue.take( );
+		while ( item != endOfWalk ) {
+			validation.accept( item );
+			item = queue.take( );
+		}
+	}
+
+	private <T> void enqueue( final BlockingQueue<T> queue, final T item, final List<Future<?>> workers ) {
+		try {
+			while ( !queue.offer( item, QUEUE_OFFER_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS ) ) {
+				// A worker only terminates early if it failed. Without this check we would wait forever for a free slot.
+				workers.stream( ).filter( worker -> worker.isDone( ) ).forEach( worker -> await( worker ) );
+			}
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			throw new IllegalStateException( "The validation has been interrupted.", ex );
+		}
+	}
+
+	private <T> T await( final Future<T> worker ) {
+		try {
+			return worker.get( );
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			throw new IllegalStateException( "The validation has been interrupted.", ex );
+		} catch ( final ExecutionException ex ) {
+			final Throwable cause = ex.getCause( );
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException( "The validation failed.", cause );
+		}
+	}
+
+	private boolean isRelevantForValidation( final File file, final ValidationStatistics statistics ) {
+		final boolean relevant = isRelevantForValidation( file );
+		if ( !relevant ) {
+			statistics.fileSkipped( );
+		}
+		return relevant;
+	}
+
+	boolean isRelevantForValidation( final File file ) {
 		return hasAnyExtension( file, "pom", "jar" );
 	}
 
@@ -60,20 +452,125 @@ public final class ListInvalidFiles {
 		return Stream.of( extensions ).anyMatch( extension -> file.getExtension( ).exists( pred -> pred.equalsIgnoreCase( extension ) ) );
 	}
 
-	private boolean isNotIgnored( final File file, final List<String> ignorePathPrefixes ) {
-		final String pathRelativeToDirectory = file.getPathRelativeToDirectory( ).toLowerCase( );
-		return ignorePathPrefixes.stream( )
-				.map( prefix -> prefix.toLowerCase( ) )
-				.noneMatch( prefix -> pathRelativeToDirectory.startsWith( prefix ) );
+	/**
+	 * @param optionalListing The listing of the directory containing the file, if
+	 *                        available. Otherwise the checksum files and the
+	 *                        metadata are looked up in the file system.
+	 */
+	private boolean isInvalid( final File file, final Option<DirectoryListing> optionalListing, final ValidationStatistics statistics ) {
+		final boolean invalid = determineInvalidity( file, optionalListing, statistics );
+		statistics.fileVerified( !invalid );
+		return invalid;
 	}
 
-	private boolean isInvalid( final File path ) {
-		final Option<String> optionalExpectedSha1 = sha1Extractor.extract( path );
-		final Option<String> optionalActualSha1 = sha1Calculator.calculate( path );
+	private boolean determineInvalidity( final File file, final Option<DirectoryListing> optionalListing, final ValidationStatistics statistics ) {
+		if ( !verificationCache.isEnabled( ) ) {
+			return isChecksumInvalid( file, optionalListing, statistics );
+		}
+
+		// The fingerprint has to be determined before the verification, as the file might be changed in the meantime
+		final long lookupStartNanos = System.nanoTime( );
+		final Option<FileFingerprint> optionalFingerprint = getFingerprint( file, optionalListing );
+		final Option<Boolean> optionalCachedValidity = optionalFingerprint.flatMap( fingerprint -> verificationCache.getValidity( file, fingerprint ) );
+		statistics.recordLatency( ValidationStage.CACHE_LOOKUP, System.nanoTime( ) - lookupStartNanos );
+		if ( optionalCachedValidity.isDefined( ) ) {
+			statistics.fileCached( );
+			return !optionalCachedValidity.get( );
+		}
+
+		final boolean invalid = isChecksumInvalid( file, optionalListing, statistics );
+		optionalFingerprint.forEach( fingerprint -> verificationCache.putValidity( file, fingerprint, !invalid ) );
+		return invalid;
+	}
+
+	private Option<FileFingerprint> getFingerprint( final File file, final Option<DirectoryListing> optionalListing ) {
+		return getMetadata( file, optionalListing )
+				.map( metadata -> new FileFingerprint( metadata, getChecksumFileMetadata( file, optionalListing ) ) );
+	}
+
+	private Map<ChecksumAlgorithm, FileMetadata> getChecksumFileMetadata( final File file, final Option<DirectoryListing> optionalListing ) {
+		final Map<ChecksumAlgorithm, FileMetadata> checksumFileMetadata = new EnumMap<>( ChecksumAlgorithm.class );
+		for ( final ChecksumAlgorithm algorithm : ChecksumAlgorithm.values( ) ) {
+			final String checksumFileName = algorithm.getChecksumFileName( file.getName( ) );
+			final Option<FileMetadata> optionalMetadata = optionalListing.isDefined( )
+					? optionalListing.get( ).getMetadata( checksumFileName )
+					: fileSystem.getSiblingFile( file, checksumFileName ).flatMap( checksumFile -> fileSystem.getMetadata( checksumFile ) );
+			optionalMetadata.forEach( metadata -> checksumFileMetadata.put( algorithm, metadata ) );
+		}
+		return checksumFileMetadata;
+	}
+
+	private Option<FileMetadata> getMetadata( final File file, final Option<DirectoryListing> optionalListing ) {
+		return optionalListing.isDefined( ) ? optionalListing.get( ).getMetadata( file.getName( ) ) : fileSystem.getMetadata( file );
+	}
 
-		return For( optionalExpectedSha1, optionalActualSha1 )
-				.yield( ( expectedSha1, actualSha1 ) -> !expectedSha1.equalsIgnoreCase( actualSha1 ) )
+	private boolean isChecksumInvalid( final File path, final Option<DirectoryListing> optionalListing, final ValidationStatistics statistics ) {
+		final long extractionStartNanos = System.nanoTime( );
+		final Option<Checksums> optionalExpectedChecksums = ( optionalListing.isDefined( ) ? sha1Extractor.extract( path, optionalListing.get( ) ) : sha1Extractor.extract( path ) )
+				.filter( expectedChecksums -> !expectedChecksums.isEmpty( ) );
+		statistics.recordLatency( ValidationStage.EXTRACTION, System.nanoTime( ) - extractionStartNanos );
+
+		// A missing or malformed checksum file already makes the file invalid, so that it does not have to be examined any further
+		if ( optionalExpectedChecksums.isEmpty( ) ) {
+			return true;
+		}
+
+		// The cheap structure check runs before the file is read completely
+		final Option<Long> optionalSize = optionalListing.isDefined( ) ? getMetadata( path, optionalListing ).map( metadata -> metadata.getSize( ) ) : fileSystem.getSize( path );
+		final long structureCheckStartNanos = System.nanoTime( );
+		final boolean intact = optionalSize.forAll( size -> structureCheck.isIntact( path, size ) );
+		statistics.recordLatency( ValidationStage.STRUCTURE_CHECK, System.nanoTime( ) - structureCheckStartNanos );
+		if ( !intact ) {
+			return true;
+		}
+
+		// Only the algorithms with a checksum file are calculated, but all of them in a single pass over the file
+		final Checksums expectedChecksums = optionalExpectedChecksums.get( );
+		return calculateChecksums( path, optionalSize, expectedChecksums, statistics )
+				.map( actualChecksums -> !expectedChecksums.isConfirmedBy( actualChecksums ) )
 				.getOrElse( true );
 	}
 
+	private Option<Checksums> calculateChecksums( final File path, final Option<Long> optionalSize, final Checksums expectedChecksums, final ValidationStatistics statistics ) {
+		final long hashingStartNanos = System.nanoTime( );
+		final Option<Checksums> optionalActualChecksums = sha1Calculator.calculate( path, expectedChecksums.getAlgorithms( ) );
+		statistics.recordLatency( ValidationStage.HASHING, System.nanoTime( ) - hashingStartNanos );
+		if ( optionalActualChecksums.isDefined( ) ) {
+			statistics.fileHashed( optionalSize.getOrElse( 0L ) );
+		}
+		return optionalActualChecksums;
+	}
+
+	/**
+	 * Stores the progress in the checkpoint interval. As the files are awaited in
+	 * the walk order, all files up to the given one have been validated, even if
+	 * they have been read in another order.
+	 */
+	private final class CheckpointWriter implements BiConsumer<File, List<File>> {
+
+		private final Path directory;
+		private final List<File> previousInvalidFiles;
+		private long nextCheckpointNanos;
+
+		CheckpointWriter( final Path directory, final List<File> previousInvalidFiles ) {
+			this.directory = directory;
+			this.previousInvalidFiles = previousInvalidFiles;
+			nextCheckpointNanos = System.nanoTime( ) + checkpointInterval.toNanos( );
+		}
+
+		@Override
+		public void accept( final File file, final List<File> invalidFiles ) {
+			final long now = System.nanoTime( );
+			if ( now - nextCheckpointNanos < 0 ) {
+				return;
+			}
+
+			// The cache is persisted first, so that the results before the checkpoint are not hashed again by the next full run
+			verificationCache.persist( );
+			checkpointStore.save( directory, new Checkpoint( file.getPathRelativeToDirectory( ), concat( previousInvalidFiles, invalidFiles ) ) );
+			nextCheckpointNanos = System.nanoTime( ) + checkpointInterval.toNanos( );
+		}
+
+	}
+
 }
@@ -0,0 +1,86 @@
+package de.rhocas.nce.msv.usecase;
+
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.ReportedResults;
+import de.rhocas.nce.msv.domain.error.ReportCannotBeRead;
+import de.rhocas.nce.msv.domain.port.ResultReportReader;
+import io.vavr.control.Either;
+
+/**
+ * This use case merges the reports of several runs, e.g. of the shards of a
+ * repository which have been validated on different machines, into a single
+ * result and derives the files which still have to be removed.
+ */
+public final class MergeResultReports {
+
+	private final ResultReportReader resultReportReader;
+
+	public MergeResultReports( final ResultReportReader resultReportReader ) {
+		this.resultReportReader = resultReportReader;
+	}
+
+	/**
+	 * Merges the given reports. Files reported multiple times (e.g. by
+	 * overlapping or repeated runs) are contained only once.
+	 *
+	 * @param reportFiles The reports to merge.
+	 *
+	 * @return Either an error, if a report cannot be read, or the merged results.
+	 *         The results are sorted by their paths, so that they do not depend
+	 *         on the order of the reports.
+	 */
+	public Either<ReportCannotBeRead, ReportedResults> merge( final List<Path> reportFiles ) {
+		final Map<Path, File> invalidFiles = new TreeMap<>( );
+		final Map<Path, File> removedFiles = new TreeMap<>( );
+		final Set<Path> removedDirectories = new TreeSet<>( );
+		final Map<Path, File> unremovableFiles = new TreeMap<>( );
+
+		for ( final Path reportFile : reportFiles ) {
+			final Either<ReportCannotBeRead, ReportedResults> eitherErrorOrResults = resultReportReader.read( reportFile );
+			if ( eitherErrorOrResults.isLeft( ) ) {
+				return Either.left( eitherErrorOrResults.getLeft( ) );
+			}
+
+			final ReportedResults results = eitherErrorOrResults.get( );
+			results.getInvalidFiles( ).forEach( file -> invalidFiles.putIfAbsent( file.getPath( ), file ) );
+			results.getRemovalReport( ).getRemovedFiles( ).forEach( file -> removedFiles.putIfAbsent( file.getPath( ), file ) );
+			removedDirectories.addAll( results.getRemovalReport( ).getRemovedDirectories( ) );
+			results.getRemovalReport( ).getUnremovableFiles( ).forEach( file -> unremovableFiles.putIfAbsent( file.getPath( ), file ) );
+		}
+
+		// A file which has been removed by a later run is no longer unremovable
+		removedFiles.keySet( ).forEach( unremovableFiles::remove );
+		final RemovalReport removalReport = new RemovalReport( new ArrayList<>( removedFiles.values( ) ), new ArrayList<>( removedDirectories ), new ArrayList<>( unremovableFiles.values( ) ) );
+		return Either.right( new ReportedResults( new ArrayList<>( invalidFiles.values( ) ), removalReport ) );
+	}
+
+	/**
+	 * Creates the plan for a single removal of the invalid files which have not
+	 * been removed yet, so that the shards do not have to remove files
+	 * concurrently on the same storage.
+	 *
+	 * @param results The (merged) results.
+	 *
+	 * @return The invalid files which have been neither removed themselves nor
+	 *         together with their directory.
+	 */
+	public List<File> createRemovalPlan( final ReportedResults results ) {
+		final RemovalReport removalReport = results.getRemovalReport( );
+		final Set<Path> removedPaths = removalReport.getRemovedFiles( ).stream( ).map( File::getPath ).collect( Collectors.toSet( ) );
+		return results.getInvalidFiles( ).stream( )
+				.filter( file -> !removedPaths.contains( file.getPath( ) ) )
+				.filter( file -> removalReport.getRemovedDirectories( ).stream( ).noneMatch( directory -> file.getPath( ).startsWith( directory ) ) )
+				.collect( Collectors.toList( ) );
+	}
+
+}
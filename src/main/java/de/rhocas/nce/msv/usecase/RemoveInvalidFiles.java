@@ -1,33 +1,208 @@
 package de.rhocas.nce.msv.usecase;
 
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
 
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
 import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.RemovalScope;
 import de.rhocas.nce.msv.domain.error.FilesCannotBeRemoved;
+import de.rhocas.nce.msv.domain.port.ExecutionStrategy;
 import de.rhocas.nce.msv.domain.port.FileSystem;
 import io.vavr.control.Option;
 
 /**
- * This use case removes files from the file system.
+ * This use case removes files from the file system. The files are grouped by
+ * their directories and the directories are removed concurrently in batches.
+ * As all files of a directory are handled within the same batch, the content
+ * of a directory can be inspected and cleaned up without interfering with
+ * other batches.
  */
 public final class RemoveInvalidFiles {
 
+	/**
+	 * The number of directories handled by a single task. Removals are cheap
+	 * compared to the latency of a task switch, but network file systems benefit
+	 * from multiple concurrent requests.
+	 */
+	static final int DIRECTORIES_PER_BATCH = 16;
+
+	private static final String LAST_UPDATED_SUFFIX = ".lastUpdated";
+	private static final Set<String> BOOKKEEPING_FILE_NAMES = Set.of( "_remote.repositories", "_maven.repositories", "resolver-status.properties" );
+	private static final String METADATA_PREFIX = "maven-metadata";
+
 	private final FileSystem fileSystem;
+	private final ExecutionStrategy executionStrategy;
 
-	public RemoveInvalidFiles( final FileSystem fileSystem ) {
+	public RemoveInvalidFiles( final FileSystem fileSystem, final ExecutionStrategy executionStrategy ) {
 		this.fileSystem = fileSystem;
+		this.executionStrategy = executionStrategy;
 	}
 
 	/**
-	 * Removes the given files from the file system.
+	 * Removes the given files and, depending on the scope, the files belonging to
+	 * them from the file system.
 	 *
 	 * @param invalidFiles The files to be removed.
+	 * @param scope        What is removed together with an invalid file.
 	 *
-	 * @return An empty option if the operation succeeded, or an error if some files
-	 *         could not be removed.
+	 * @return The report of the removal. It lists the removed files and
+	 *         directories in the order of the given files.
+	 */
+	public RemovalReport remove( final List<File> invalidFiles, final RemovalScope scope ) {
+		final Map<Path, List<File>> invalidFilesByDirectory = invalidFiles.stream( )
+				.collect( Collectors.groupingBy( file -> file.getPath( ).toAbsolutePath( ).getParent( ), LinkedHashMap::new, Collectors.toList( ) ) );
+		final List<Map.Entry<Path, List<File>>> directories = new ArrayList<>( invalidFilesByDirectory.entrySet( ) );
+		if ( directories.size( ) <= DIRECTORIES_PER_BATCH ) {
+			// A single batch is removed on the calling thread, which makes the removal of single files during the validation cheap
+			return removeBatch( directories, scope );
+		}
+
+		final ExecutorService executorService = executionStrategy.createExecutorService( );
+		try {
+			final List<Future<RemovalReport>> batches = new ArrayList<>( );
+			for ( int index = 0; index < directories.size( ); index += DIRECTORIES_PER_BATCH ) {
+				final List<Map.Entry<Path, List<File>>> batch = directories.subList( index, Math.min( index + DIRECTORIES_PER_BATCH, directories.size( ) ) );
+				batches.add( executorService.submit( ( ) -> removeBatch( batch, scope ) ) );
+			}
+
+			final List<File> removedFiles = new ArrayList<>( );
+			final List<Path> removedDirectories = new ArrayList<>( );
+			final List<File> unremovableFiles = new ArrayList<>( );
+			for ( final Future<RemovalReport> batch : batches ) {
+				final RemovalReport report = await( batch );
+				removedFiles.addAll( report.getRemovedFiles( ) );
+				removedDirectories.addAll( report.getRemovedDirectories( ) );
+				unremovableFiles.addAll( report.getUnremovableFiles( ) );
+			}
+			return new RemovalReport( removedFiles, removedDirectories, unremovableFiles );
+		} finally {
+			executorService.shutdownNow( );
+		}
+	}
+
+	private RemovalReport removeBatch( final List<Map.Entry<Path, List<File>>> batch, final RemovalScope scope ) {
+		final List<File> removedFiles = new ArrayList<>( );
+		final List<Path> removedDirectories = new ArrayList<>( );
+		final List<File> unremovableFiles = new ArrayList<>( );
+
+		for ( final Map.Entry<Path, List<File>> directory : batch ) {
+			final List<File> invalidFiles = directory.getValue( );
+			final Option<List<File>> optionalSiblings = scope == RemovalScope.FILE ? Option.none( ) : fileSystem.listSiblingFiles( invalidFiles.get( 0 ) );
+			final List<File> filesToRemove = determineFilesToRemove( invalidFiles, optionalSiblings, scope );
+			final List<File> unremovableFilesInDirectory = removeFiles( filesToRemove, removedFiles );
+			unremovableFiles.addAll( unremovableFilesInDirectory );
+
+			// A directory is only cleaned up if everything has been removed. Otherwise a following run would no longer find the invalid file.
+			if ( scope != RemovalScope.FILE && optionalSiblings.isDefined( ) && unremovableFilesInDirectory.isEmpty( ) ) {
+				final List<File> remainingFiles = getRemainingFiles( optionalSiblings.get( ), filesToRemove );
+				if ( remainingFiles.stream( ).allMatch( file -> isBookkeepingFile( file.getName( ) ) ) ) {
+					final List<File> unremovableBookkeepingFiles = removeFiles( remainingFiles, removedFiles );
+					unremovableFiles.addAll( unremovableBookkeepingFiles );
+					if ( unremovableBookkeepingFiles.isEmpty( ) && fileSystem.removeDirectoryIfEmpty( directory.getKey( ) ) ) {
+						// The directory is reported like the files, i.e. relative if the files are relative
+						removedDirectories.add( Option.of( invalidFiles.get( 0 ).getPath( ).getParent( ) ).getOrElse( directory.getKey( ) ) );
+					}
+				}
+			}
+		}
+
+		return new RemovalReport( removedFiles, removedDirectories, unremovableFiles );
+	}
+
+	private List<File> determineFilesToRemove( final List<File> invalidFiles, final Option<List<File>> optionalSiblings, final RemovalScope scope ) {
+		switch ( scope ) {
+			case SIDECARS:
+				final Set<String> sidecarNames = invalidFiles.stream( )
+						.flatMap( file -> getSidecarNames( file.getName( ) ).stream( ) )
+						.collect( Collectors.toSet( ) );
+				final List<File> filesWithSidecars = new ArrayList<>( invalidFiles );
+				optionalSiblings.getOrElse( Collections.emptyList( ) ).stream( )
+						.filter( sibling -> sidecarNames.contains( sibling.getName( ) ) )
+						.forEach( filesWithSidecars::add );
+				return filesWithSidecars;
+			case VERSION:
+				// The invalid files come first, so that they are removed even if the directory could not be listed
+				final Set<String> invalidFileNames = invalidFiles.stream( ).map( File::getName ).collect( Collectors.toSet( ) );
+				final List<File> allFiles = new ArrayList<>( invalidFiles );
+				optionalSiblings.getOrElse( Collections.emptyList( ) ).stream( )
+						.filter( sibling -> !invalidFileNames.contains( sibling.getName( ) ) )
+						.forEach( allFiles::add );
+				return allFiles;
+			case FILE:
+			default:
+				return invalidFiles;
+		}
+	}
+
+	private static List<String> getSidecarNames( final String fileName ) {
+		final List<String> sidecarNames = new ArrayList<>( );
+		for ( final ChecksumAlgorithm algorithm : ChecksumAlgorithm.values( ) ) {
+			sidecarNames.add( algorithm.getChecksumFileName( fileName ) );
+		}
+		sidecarNames.add( fileName + LAST_UPDATED_SUFFIX );
+		return sidecarNames;
+	}
+
+	private static List<File> getRemainingFiles( final List<File> siblings, final List<File> removedFiles ) {
+		final Set<String> removedFileNames = new HashSet<>( );
+		removedFiles.forEach( file -> removedFileNames.add( file.getName( ) ) );
+		return siblings.stream( )
+				.filter( sibling -> !removedFileNames.contains( sibling.getName( ) ) )
+				.collect( Collectors.toList( ) );
+	}
+
+	/**
+	 * Checks whether the given file is only used by Maven to keep track of the
+	 * downloads. Such files are worthless once all artifacts of a version are
+	 * gone.
 	 */
-	public Option<FilesCannotBeRemoved> remove( final List<File> invalidFiles ) {
-		return fileSystem.removeFiles( invalidFiles );
+	private static boolean isBookkeepingFile( final String fileName ) {
+		return BOOKKEEPING_FILE_NAMES.contains( fileName ) || fileName.endsWith( LAST_UPDATED_SUFFIX ) || fileName.startsWith( METADATA_PREFIX );
+	}
+
+	private List<File> removeFiles( final List<File> files, final List<File> removedFiles ) {
+		if ( files.isEmpty( ) ) {
+			return Collections.emptyList( );
+		}
+
+		final List<File> unremovableFiles = fileSystem.removeFiles( files )
+				.map( FilesCannotBeRemoved::getUnremovableFiles )
+				.getOrElse( Collections.emptyList( ) );
+		final Set<Path> unremovablePaths = unremovableFiles.stream( ).map( File::getPath ).collect( Collectors.toSet( ) );
+		files.stream( )
+				.filter( file -> !unremovablePaths.contains( file.getPath( ) ) )
+				.forEach( removedFiles::add );
+		return unremovableFiles;
+	}
+
+	private RemovalReport await( final Future<RemovalReport> batch ) {
+		try {
+			return batch.get( );
+		} catch ( final InterruptedException ex ) {
+			Thread.currentThread( ).interrupt( );
+			throw new IllegalStateException( "The removal has been interrupted.", ex );
+		} catch ( final ExecutionException ex ) {
+			final Throwable cause = ex.getCause( );
+			if ( cause instanceof RuntimeException ) {
+				throw (RuntimeException) cause;
+			}
+			if ( cause instanceof Error ) {
+				throw (Error) cause;
+			}
+			throw new IllegalStateException( "The removal failed.", cause );
+		}
 	}
 
 }
@@ -0,0 +1,191 @@
+package de.rhocas.nce.msv.usecase;
+
+import java.nio.file.Path;
+import java.text.MessageFormat;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
+import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import io.vavr.control.Option;
+
+/**
+ * This use case watches a directory and validates the artifacts which are
+ * created or modified in it. An artifact is validated once neither the artifact
+ * nor one of its checksum files has changed for the settle time, which means
+ * that the artifacts are not validated while they are still being written. The
+ * costs of the validation therefore depend on the changes and not on the size
+ * of the repository. The verification cache is persisted from time to time and
+ * when the watch ends.
+ */
+public final class WatchInvalidFiles {
+
+	public static final Duration DEFAULT_SETTLE_TIME = Duration.ofSeconds( 2 );
+
+	/**
+	 * An artifact without checksum file is validated after this multiple of the
+	 * settle time at the latest (and is then reported as invalid).
+	 */
+	static final int MAXIMAL_CHECKSUM_FILE_WAIT_FACTOR = 10;
+
+	/**
+	 * The interval in which the verification cache is persisted, if anything has
+	 * been validated in the meantime.
+	 */
+	static final Duration CACHE_PERSIST_INTERVAL = Duration.ofMinutes( 1 );
+
+	private final FileSystem fileSystem;
+	private final ListInvalidFiles listInvalidFiles;
+	private final Console console;
+	private final Map<Path, PendingArtifact> pendingArtifacts = new ConcurrentHashMap<>( );
+	private final AtomicBoolean validatedSinceLastPersist = new AtomicBoolean( );
+
+	public WatchInvalidFiles( final FileSystem fileSystem, final ListInvalidFiles listInvalidFiles, final Console console ) {
+		this.fileSystem = fileSystem;
+		this.listInvalidFiles = listInvalidFiles;
+		this.console = console;
+	}
+
+	/**
+	 * Watches the given directory and validates the changed artifacts. This
+	 * method blocks until the calling thread is interrupted.
+	 *
+	 * @param directory           The directory to watch.
+	 * @param filter              The filter selecting the directories and files
+	 *                            to validate.
+	 * @param settleTime          The time without changes after which an artifact
+	 *                            is validated.
+	 * @param invalidFileConsumer The consumer receiving the invalid files.
+	 * @param statistics          The statistics to update during the validation.
+	 *
+	 * @return An empty option if the watch has been interrupted, or an error if
+	 *         the directory cannot be watched.
+	 */
+	public Option<RootDirectoryCannotBeAccessed> watchInvalidFiles( final Path directory, final TraversalFilter filter, final Duration settleTime, final Consumer<File> invalidFileConsumer,
+			final ValidationStatistics statistics ) {
+		final ScheduledExecutorService scheduler = Executors.newSingleThreadScheduledExecutor( runnable -> {
+			final Thread thread = new Thread( runnable, "watch-validation" );
+			thread.setDaemon( true );
+			return thread;
+		} );
+		// The artifacts are checked a few times per settle time, so that they are validated soon after they have settled
+		final long checkIntervalMillis = Math.max( 1, settleTime.toMillis( ) / 4 );
+		scheduler.scheduleWithFixedDelay( reportingFailures( ( ) -> validateSettledArtifacts( System.nanoTime( ), settleTime, invalidFileConsumer, statistics ), "The changed artifacts could not be validated" ),
+				checkIntervalMillis, checkIntervalMillis, TimeUnit.MILLISECONDS );
+		final long persistIntervalMillis = CACHE_PERSIST_INTERVAL.toMillis( );
+		scheduler.scheduleWithFixedDelay( reportingFailures( this::persistVerificationCache, "The verification cache could not be persisted" ), persistIntervalMillis, persistIntervalMillis,
+				TimeUnit.MILLISECONDS );
+
+		try {
+			return fileSystem.watchFilesInDirectory( directory, filter, file -> fileChanged( file, System.nanoTime( ) ) );
+		} finally {
+			scheduler.shutdownNow( );
+			persistVerificationCache( );
+		}
+	}
+
+	/**
+	 * Wraps the given periodic task, so that a failure is reported instead of
+	 * silently cancelling all further runs of the task.
+	 */
+	private Runnable reportingFailures( final Runnable task, final String failureMessage ) {
+		return ( ) -> {
+			try {
+				task.run( );
+			} catch ( final RuntimeException ex ) {
+				console.printError( MessageFormat.format( "{0}: {1}", failureMessage, ex ) );
+			}
+		};
+	}
+
+	/**
+	 * Persists the verification cache, if artifacts have been validated since it
+	 * has been persisted the last time. This happens periodically and when the
+	 * watch ends, but has to be triggered if the application is terminated while
+	 * watching.
+	 */
+	public synchronized void persistVerificationCache( ) {
+		if ( validatedSinceLastPersist.getAndSet( false ) ) {
+			listInvalidFiles.persistVerificationCache( );
+		}
+	}
+
+	void fileChanged( final File file, final long nowNanos ) {
+		final File artifact = getArtifactOfChecksumFile( file ).getOrElse( file );
+		if ( listInvalidFiles.isRelevantForValidation( artifact ) ) {
+			pendingArtifacts.merge( artifact.getPath( ), new PendingArtifact( artifact, nowNanos, nowNanos ), ( pending, change ) -> new PendingArtifact( pending.artifact, pending.firstChangeNanos, nowNanos ) );
+		}
+	}
+
+	private Option<File> getArtifactOfChecksumFile( final File file ) {
+		final String fileName = file.getName( );
+		for ( final ChecksumAlgorithm algorithm : ChecksumAlgorithm.values( ) ) {
+			final String suffix = '.' + algorithm.getFileExtension( );
+			if ( fileName.endsWith( suffix ) ) {
+				final String artifactName = fileName.substring( 0, fileName.length( ) - suffix.length( ) );
+				final int lastIndex = artifactName.lastIndexOf( '.' );
+				return Option.of( new File( file.getPath( ).resolveSibling( artifactName ), lastIndex == -1 ? null : artifactName.substring( lastIndex + 1 ), file.getRootDirectory( ) ) );
+			}
+		}
+		return Option.none( );
+	}
+
+	void validateSettledArtifacts( final long nowNanos, final Duration settleTime, final Consumer<File> invalidFileConsumer, final ValidationStatistics statistics ) {
+		final long settleNanos = settleTime.toNanos( );
+		final List<File> settledArtifacts = new ArrayList<>( );
+		for ( final PendingArtifact pending : pendingArtifacts.values( ) ) {
+			if ( nowNanos - pending.lastChangeNanos < settleNanos ) {
+				continue;
+			}
+			if ( !hasChecksumFile( pending.artifact ) && nowNanos - pending.firstChangeNanos < settleNanos * MAXIMAL_CHECKSUM_FILE_WAIT_FACTOR ) {
+				continue;
+			}
+			// The artifact is only validated if it has not changed again in the meantime
+			if ( pendingArtifacts.remove( pending.artifact.getPath( ), pending ) && fileSystem.getSize( pending.artifact ).isDefined( ) ) {
+				settledArtifacts.add( pending.artifact );
+			}
+		}
+
+		if ( !settledArtifacts.isEmpty( ) ) {
+			listInvalidFiles.listInvalidFiles( settledArtifacts, statistics ).forEach( invalidFileConsumer );
+			validatedSinceLastPersist.set( true );
+		}
+	}
+
+	private boolean hasChecksumFile( final File artifact ) {
+		for ( final ChecksumAlgorithm algorithm : ChecksumAlgorithm.values( ) ) {
+			if ( fileSystem.getSiblingFile( artifact, algorithm.getChecksumFileName( artifact.getName( ) ) ).isDefined( ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	private static final class PendingArtifact {
+
+		private final File artifact;
+		private final long firstChangeNanos;
+		private final long lastChangeNanos;
+
+		PendingArtifact( final File artifact, final long firstChangeNanos, final long lastChangeNanos ) {
+			this.artifact = artifact;
+			this.firstChangeNanos = firstChangeNanos;
+			this.lastChangeNanos = lastChangeNanos;
+		}
+
+	}
+
+}
@@ -0,0 +1,16 @@
+@echo off
+rem Starts the validator with a flat class path, without the indirection of the
+rem Spring Boot launcher. JAVA_HOME selects the Java runtime and JAVA_OPTS passes
+rem further options to it. The class data sharing archive is only created by the
+rem shell script.
+
+setlocal
+set "LIB_DIRECTORY=%~dp0..\lib"
+if defined JAVA_HOME (
+	set "JAVA=%JAVA_HOME%\bin\java.exe"
+) else (
+	set "JAVA=java.exe"
+)
+
+"%JAVA%" %JAVA_OPTS% -cp "%LIB_DIRECTORY%\*" de.rhocas.nce.msv.MavenSHAValidator %*
+exit /b %ERRORLEVEL%
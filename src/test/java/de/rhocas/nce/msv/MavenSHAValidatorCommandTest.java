@@ -1,6 +1,10 @@
 package de.rhocas.nce.msv;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
@@ -8,20 +12,34 @@ import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.lang.reflect.Field;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.nio.file.FileSystems;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 
+import de.rhocas.nce.msv.adapter.console.ProgressReporter.SummaryFormat;
+import de.rhocas.nce.msv.adapter.report.NoResultReport;
 import de.rhocas.nce.msv.domain.entity.File;
-import de.rhocas.nce.msv.domain.error.FilesCannotBeRemoved;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.RemovalScope;
 import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
 import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.ResultReport;
 import de.rhocas.nce.msv.usecase.ListInvalidFiles;
 import de.rhocas.nce.msv.usecase.RemoveInvalidFiles;
+import de.rhocas.nce.msv.usecase.WatchInvalidFiles;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 
@@ -35,10 +53,10 @@ final class MavenSHAValidatorCommandTest {
 		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
 		final Path rootDirectory = Paths.get( "." );
 		final File invalidFile = new File( rootDirectory.resolve( "test.jar" ), "jar", rootDirectory );
-		when( listInvalidFiles.listInvalidFiles( rootDirectory, Collections.emptyList( ) ) ).thenReturn( Either.right( Collections.singletonList( invalidFile ) ) );
+		when( listInvalidFiles.listInvalidFiles( eq( rootDirectory ), any( ), any( ) ) ).thenReturn( Either.right( Collections.singletonList( invalidFile ) ) );
 		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
 
-		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles );
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
 		setField( command, "repositoryPath", rootDirectory );
 		setField( command, "remove", false );
 
@@ -46,6 +64,8 @@ final class MavenSHAValidatorCommandTest {
 		verify( console ).printMessage( "Invalid file detected: ./test.jar" );
 		verifyNoMoreInteractions( console );
 		verifyNoInteractions( removeInvalidFiles );
+		// Without any restriction the whole repository is validated, which allows to prune the verification cache
+		verify( listInvalidFiles ).listInvalidFiles( eq( rootDirectory ), eq( TraversalFilter.ALL ), any( ) );
 	}
 
 	private void setField( final MavenSHAValidatorCommand command, final String fieldName, final Object value ) throws ReflectiveOperationException {
@@ -61,19 +81,46 @@ final class MavenSHAValidatorCommandTest {
 		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
 		final Path rootDirectory = Paths.get( "." );
 		final File invalidFile = new File( rootDirectory.resolve( "test.jar" ), "jar", rootDirectory );
-		when( listInvalidFiles.listInvalidFiles( rootDirectory, Collections.emptyList( ) ) ).thenReturn( Either.right( Collections.singletonList( invalidFile ) ) );
+		when( listInvalidFiles.listInvalidFiles( eq( rootDirectory ), any( ), any( ) ) ).thenReturn( Either.right( Collections.singletonList( invalidFile ) ) );
 		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
 		final List<File> invalidFiles = Collections.singletonList( invalidFile );
-		when( removeInvalidFiles.remove( invalidFiles ) ).thenReturn( Option.none( ) );
+		when( removeInvalidFiles.remove( invalidFiles, RemovalScope.FILE ) ).thenReturn( new RemovalReport( invalidFiles, Collections.emptyList( ), Collections.emptyList( ) ) );
 
-		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles );
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
 		setField( command, "repositoryPath", rootDirectory );
 		setField( command, "remove", true );
 
 		assertThat( command.call( ) ).isEqualTo( 0 );
 		verify( console ).printMessage( "Invalid file detected: ./test.jar" );
+		verify( console ).printMessage( "Removed file: ./test.jar" );
+		verifyNoMoreInteractions( console );
+		verify( removeInvalidFiles ).remove( invalidFiles, RemovalScope.FILE );
+	}
+
+	@Test
+	@DisplayName( "Command should remove the whole version and report the removed directory" )
+	void commandShouldRemoveWholeVersion( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final Path rootDirectory = Paths.get( "." );
+		final File invalidFile = new File( rootDirectory.resolve( "lib/1.0/lib-1.0.jar" ), "jar", rootDirectory );
+		final File pomFile = new File( rootDirectory.resolve( "lib/1.0/lib-1.0.pom" ), "pom", rootDirectory );
+		when( listInvalidFiles.listInvalidFiles( eq( rootDirectory ), any( ), any( ) ) ).thenReturn( Either.right( Collections.singletonList( invalidFile ) ) );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+		final List<File> invalidFiles = Collections.singletonList( invalidFile );
+		when( removeInvalidFiles.remove( invalidFiles, RemovalScope.VERSION ) ).thenReturn( new RemovalReport( Arrays.asList( invalidFile, pomFile ), Collections.singletonList( rootDirectory.resolve( "lib/1.0" ) ), Collections.emptyList( ) ) );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", rootDirectory );
+		setField( command, "remove", true );
+		setField( command, "removalScope", RemovalScope.VERSION );
+
+		assertThat( command.call( ) ).isEqualTo( 0 );
+		verify( console ).printMessage( "Invalid file detected: ./lib/1.0/lib-1.0.jar" );
+		verify( console ).printMessage( "Removed file: ./lib/1.0/lib-1.0.jar" );
+		verify( console ).printMessage( "Removed file: ./lib/1.0/lib-1.0.pom" );
+		verify( console ).printMessage( "Removed directory: ./lib/1.0" );
 		verifyNoMoreInteractions( console );
-		verify( removeInvalidFiles ).remove( invalidFiles );
 	}
 
 	@Test
@@ -82,10 +129,10 @@ final class MavenSHAValidatorCommandTest {
 		final Console console = mock( Console.class );
 		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
 		final Path rootDirectory = Paths.get( "." );
-		when( listInvalidFiles.listInvalidFiles( rootDirectory, Collections.emptyList( ) ) ).thenReturn( Either.left( new RootDirectoryCannotBeAccessed( ) ) );
+		when( listInvalidFiles.listInvalidFiles( eq( rootDirectory ), any( ), any( ) ) ).thenReturn( Either.left( new RootDirectoryCannotBeAccessed( ) ) );
 		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
 
-		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles );
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
 		setField( command, "repositoryPath", rootDirectory );
 		setField( command, "remove", true );
 
@@ -102,12 +149,12 @@ final class MavenSHAValidatorCommandTest {
 		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
 		final Path rootDirectory = Paths.get( "." );
 		final File invalidFile = new File( rootDirectory.resolve( "test.jar" ), "jar", rootDirectory );
-		when( listInvalidFiles.listInvalidFiles( rootDirectory, Collections.emptyList( ) ) ).thenReturn( Either.right( Collections.singletonList( invalidFile ) ) );
+		when( listInvalidFiles.listInvalidFiles( eq( rootDirectory ), any( ), any( ) ) ).thenReturn( Either.right( Collections.singletonList( invalidFile ) ) );
 		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
 		final List<File> invalidFiles = Collections.singletonList( invalidFile );
-		when( removeInvalidFiles.remove( invalidFiles ) ).thenReturn( Option.some( new FilesCannotBeRemoved( invalidFiles ) ) );
+		when( removeInvalidFiles.remove( invalidFiles, RemovalScope.FILE ) ).thenReturn( new RemovalReport( Collections.emptyList( ), Collections.emptyList( ), invalidFiles ) );
 
-		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles );
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
 		setField( command, "repositoryPath", rootDirectory );
 		setField( command, "remove", true );
 
@@ -115,7 +162,267 @@ final class MavenSHAValidatorCommandTest {
 		verify( console ).printMessage( "Invalid file detected: ./test.jar" );
 		verify( console ).printError( "Following files could not be removed: [./test.jar]" );
 		verifyNoMoreInteractions( console );
-		verify( removeInvalidFiles ).remove( invalidFiles );
+		verify( removeInvalidFiles ).remove( invalidFiles, RemovalScope.FILE );
+	}
+
+	@Test
+	@DisplayName( "Command should print streamed files" )
+	@SuppressWarnings( "unchecked" )
+	void commandShouldPrintStreamedFiles( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final Path rootDirectory = Paths.get( "." );
+		final File invalidFile = new File( rootDirectory.resolve( "test.jar" ), "jar", rootDirectory );
+		doAnswer( invocation -> {
+			invocation.getArgument( 2, Consumer.class ).accept( invalidFile );
+			return Option.none( );
+		} ).when( listInvalidFiles ).streamInvalidFiles( eq( rootDirectory ), any( ), any( ), any( ) );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", rootDirectory );
+		setField( command, "remove", false );
+		setField( command, "streaming", true );
+
+		assertThat( command.call( ) ).isEqualTo( 0 );
+		verify( console ).printMessage( "Invalid file detected: ./test.jar" );
+		verifyNoMoreInteractions( console );
+		verifyNoInteractions( removeInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should print files streamed by directory" )
+	@SuppressWarnings( "unchecked" )
+	void commandShouldPrintFilesStreamedByDirectory( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final Path rootDirectory = Paths.get( "." );
+		final File invalidFile = new File( rootDirectory.resolve( "test.jar" ), "jar", rootDirectory );
+		doAnswer( invocation -> {
+			invocation.getArgument( 2, Consumer.class ).accept( invalidFile );
+			return Option.none( );
+		} ).when( listInvalidFiles ).streamInvalidFilesByDirectory( eq( rootDirectory ), any( ), any( ), any( ) );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", rootDirectory );
+		setField( command, "batched", true );
+
+		assertThat( command.call( ) ).isEqualTo( 0 );
+		verify( console ).printMessage( "Invalid file detected: ./test.jar" );
+		verifyNoMoreInteractions( console );
+	}
+
+	@Test
+	@DisplayName( "Command should report and remove streamed files immediately" )
+	@SuppressWarnings( "unchecked" )
+	void commandShouldReportAndRemoveStreamedFilesImmediately( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final Path rootDirectory = Paths.get( "." );
+		final File invalidFile = new File( rootDirectory.resolve( "test.jar" ), "jar", rootDirectory );
+		final List<File> invalidFiles = Collections.singletonList( invalidFile );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+		final RemovalReport removalReport = new RemovalReport( invalidFiles, Collections.emptyList( ), Collections.emptyList( ) );
+		when( removeInvalidFiles.remove( invalidFiles, RemovalScope.FILE ) ).thenReturn( removalReport );
+		final ResultReport resultReport = mock( ResultReport.class );
+		doAnswer( invocation -> {
+			invocation.getArgument( 2, Consumer.class ).accept( invalidFile );
+			// The file has to be reported and removed before the validation finishes
+			verify( resultReport ).invalidFileDetected( invalidFile );
+			verify( removeInvalidFiles ).remove( invalidFiles, RemovalScope.FILE );
+			return Option.none( );
+		} ).when( listInvalidFiles ).streamInvalidFiles( eq( rootDirectory ), any( ), any( ), any( ) );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), resultReport );
+		setField( command, "repositoryPath", rootDirectory );
+		setField( command, "removeImmediately", true );
+
+		assertThat( command.call( ) ).isEqualTo( 0 );
+		verify( console ).printMessage( "Invalid file detected: ./test.jar" );
+		verify( console ).printMessage( "Removed file: ./test.jar" );
+		verifyNoMoreInteractions( console );
+		verify( resultReport ).removalFinished( removalReport );
+		verify( resultReport ).close( );
+		verifyNoMoreInteractions( removeInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should not remove whole versions immediately" )
+	void commandShouldNotRemoveWholeVersionsImmediately( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", Paths.get( "." ) );
+		setField( command, "removeImmediately", true );
+		setField( command, "removalScope", RemovalScope.VERSION );
+
+		assertThat( command.call( ) ).isEqualTo( -4 );
+		verify( console ).printError( "The removal scope VERSION cannot be used to remove files immediately." );
+		verifyNoMoreInteractions( console );
+		verifyNoInteractions( listInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should report and remove watched files" )
+	@SuppressWarnings( "unchecked" )
+	void commandShouldReportAndRemoveWatchedFiles( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final Path rootDirectory = Paths.get( "." );
+		final File invalidFile = new File( rootDirectory.resolve( "test.jar" ), "jar", rootDirectory );
+		final List<File> invalidFiles = Collections.singletonList( invalidFile );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+		when( removeInvalidFiles.remove( invalidFiles, RemovalScope.SIDECARS ) ).thenReturn( new RemovalReport( Collections.emptyList( ), Collections.emptyList( ), invalidFiles ) );
+		final WatchInvalidFiles watchInvalidFiles = mock( WatchInvalidFiles.class );
+		doAnswer( invocation -> {
+			invocation.getArgument( 3, Consumer.class ).accept( invalidFile );
+			return Option.none( );
+		} ).when( watchInvalidFiles ).watchInvalidFiles( eq( rootDirectory ), any( ), eq( Duration.ofMillis( 500 ) ), any( ), any( ) );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, watchInvalidFiles, new NoResultReport( ) );
+		setField( command, "repositoryPath", rootDirectory );
+		setField( command, "watch", true );
+		setField( command, "settleTimeMillis", 500L );
+		setField( command, "remove", true );
+		setField( command, "removalScope", RemovalScope.SIDECARS );
+
+		assertThat( command.call( ) ).isEqualTo( 0 );
+		verify( console ).printMessage( "Invalid file detected: ./test.jar" );
+		verify( console ).printError( "Following files could not be removed: [./test.jar]" );
+		verifyNoMoreInteractions( console );
+		verifyNoInteractions( listInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should stop if server cannot be started" )
+	void commandShouldStopIfServerCannotBeStarted( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+
+		try ( ServerSocket occupiedSocket = new ServerSocket( 0, 1, InetAddress.getLoopbackAddress( ) ) ) {
+			final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+			setField( command, "repositoryPath", Paths.get( "." ) );
+			setField( command, "serve", true );
+			setField( command, "serverPort", occupiedSocket.getLocalPort( ) );
+
+			assertThat( command.call( ) ).isEqualTo( -5 );
+			verify( console ).printError( "The server cannot be started on port " + occupiedSocket.getLocalPort( ) + "." );
+		}
+		verifyNoMoreInteractions( console );
+		verifyNoInteractions( listInvalidFiles );
+		verifyNoInteractions( removeInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should stop if checkpoint is used with another mode" )
+	void commandShouldStopIfCheckpointIsUsedWithAnotherMode( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, mock( RemoveInvalidFiles.class ), mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", Paths.get( "." ) );
+		setField( command, "settings", Settings.parse( "--checkpoint", "checkpoint" ) );
+		setField( command, "streaming", true );
+
+		assertThat( command.call( ) ).isEqualTo( -8 );
+		verify( console ).printError( "A checkpoint can only be used for a regular validation, but not with --streaming, --batched, --remove-immediately, --watch or --serve." );
+		verifyNoMoreInteractions( console );
+		verifyNoInteractions( listInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should stop if validation is resumed without checkpoint" )
+	void commandShouldStopIfValidationIsResumedWithoutCheckpoint( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, mock( RemoveInvalidFiles.class ), mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", Paths.get( "." ) );
+		setField( command, "settings", Settings.parse( "--resume" ) );
+
+		assertThat( command.call( ) ).isEqualTo( -8 );
+		verify( console ).printError( "A validation can only be resumed with a checkpoint given with --checkpoint." );
+		verifyNoMoreInteractions( console );
+		verifyNoInteractions( listInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should print summary" )
+	void commandShouldPrintSummary( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final Path rootDirectory = Paths.get( "." );
+		when( listInvalidFiles.listInvalidFiles( eq( rootDirectory ), any( ), any( ) ) ).thenReturn( Either.right( Collections.emptyList( ) ) );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", rootDirectory );
+		setField( command, "summaryFormat", SummaryFormat.JSON );
+
+		assertThat( command.call( ) ).isEqualTo( 0 );
+		verify( console ).printMessage( startsWith( "{\"elapsedNanos\":" ) );
+		verifyNoMoreInteractions( console );
+	}
+
+	@Test
+	@DisplayName( "Command should stop if filter rule cannot be parsed" )
+	void commandShouldStopIfFilterRuleCannotBeParsed( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", Paths.get( "." ) );
+		setField( command, "includeRules", Collections.singletonList( "*:*:[1.0" ) );
+
+		assertThat( command.call( ) ).isEqualTo( -3 );
+		verify( console ).printError( "The filter rule '*:*:[1.0' cannot be parsed." );
+		verifyNoMoreInteractions( console );
+		verifyNoInteractions( listInvalidFiles );
+		verifyNoInteractions( removeInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should stop if shard cannot be parsed" )
+	void commandShouldStopIfShardCannotBeParsed( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final RemoveInvalidFiles removeInvalidFiles = mock( RemoveInvalidFiles.class );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( console, listInvalidFiles, removeInvalidFiles, mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", Paths.get( "." ) );
+		setField( command, "shard", "5/4" );
+
+		assertThat( command.call( ) ).isEqualTo( -3 );
+		verify( console ).printError( "The shard '5/4' cannot be parsed. It has to be given as k/N with 1 <= k <= N." );
+		verifyNoMoreInteractions( console );
+		verifyNoInteractions( listInvalidFiles );
+		verifyNoInteractions( removeInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Command should only validate the given shard" )
+	void commandShouldOnlyValidateGivenShard( ) throws Exception {
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		final Path rootDirectory = Paths.get( "." );
+		when( listInvalidFiles.listInvalidFiles( eq( rootDirectory ), any( ), any( ) ) ).thenReturn( Either.right( Collections.emptyList( ) ) );
+
+		final MavenSHAValidatorCommand command = new MavenSHAValidatorCommand( mock( Console.class ), listInvalidFiles, mock( RemoveInvalidFiles.class ), mock( WatchInvalidFiles.class ), new NoResultReport( ) );
+		setField( command, "repositoryPath", rootDirectory );
+		setField( command, "shard", "1/2" );
+
+		assertThat( command.call( ) ).isEqualTo( 0 );
+		final ArgumentCaptor<TraversalFilter> filterCaptor = ArgumentCaptor.forClass( TraversalFilter.class );
+		verify( listInvalidFiles ).listInvalidFiles( eq( rootDirectory ), filterCaptor.capture( ), any( ) );
+		final String separator = FileSystems.getDefault( ).getSeparator( );
+		final long includedArtifacts = IntStream.range( 0, 100 )
+				.filter( artifact -> filterCaptor.getValue( ).includesFile( "org" + separator + "lib" + artifact + separator + "1.0" + separator + "lib" + artifact + "-1.0.jar" ) )
+				.count( );
+		assertThat( includedArtifacts ).isBetween( 1L, 99L );
 	}
 
 }
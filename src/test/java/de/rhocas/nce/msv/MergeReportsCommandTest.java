@@ -0,0 +1,90 @@
+package de.rhocas.nce.msv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
+import static org.mockito.Mockito.when;
+
+import java.lang.reflect.Field;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.ReportedResults;
+import de.rhocas.nce.msv.domain.error.ReportCannotBeRead;
+import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.ResultReport;
+import de.rhocas.nce.msv.usecase.MergeResultReports;
+import io.vavr.control.Either;
+
+@DisplayName( "Unit-Test for MergeReportsCommand" )
+final class MergeReportsCommandTest {
+
+	private static final List<Path> REPORT_FILES = Arrays.asList( Paths.get( "shard-1.jsonl" ), Paths.get( "shard-2.jsonl" ) );
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "Command should write merged report and removal plan" )
+	void commandShouldWriteMergedReportAndRemovalPlan( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ResultReport resultReport = mock( ResultReport.class );
+		final File invalidFile = new File( Paths.get( "lib-1.0.jar" ), "jar", Paths.get( "" ) );
+		final RemovalReport removalReport = new RemovalReport( Collections.emptyList( ), Collections.emptyList( ), Collections.emptyList( ) );
+		final ReportedResults results = new ReportedResults( Collections.singletonList( invalidFile ), removalReport );
+		final MergeResultReports mergeResultReports = mock( MergeResultReports.class );
+		when( mergeResultReports.merge( REPORT_FILES ) ).thenReturn( Either.right( results ) );
+		when( mergeResultReports.createRemovalPlan( results ) ).thenReturn( Collections.singletonList( invalidFile ) );
+		final Path removalPlanFile = tempDir.resolve( "removal-plan.txt" );
+
+		final MergeReportsCommand command = new MergeReportsCommand( console, mergeResultReports, resultReport );
+		setField( command, "reportFiles", REPORT_FILES );
+		setField( command, "removalPlanFile", removalPlanFile );
+
+		assertThat( command.call( ) ).isEqualTo( 0 );
+		verify( console ).printMessage( "Invalid file detected: lib-1.0.jar" );
+		verify( console ).printMessage( "Merged 2 reports: 1 invalid files, 1 of them not removed yet" );
+		verifyNoMoreInteractions( console );
+		verify( resultReport ).invalidFileDetected( invalidFile );
+		verify( resultReport ).removalFinished( removalReport );
+		verify( resultReport ).close( );
+		assertThat( Files.readAllLines( removalPlanFile, StandardCharsets.UTF_8 ) ).containsExactly( "lib-1.0.jar" );
+	}
+
+	@Test
+	@DisplayName( "Command should stop if report cannot be read" )
+	void commandShouldStopIfReportCannotBeRead( ) throws Exception {
+		final Console console = mock( Console.class );
+		final ResultReport resultReport = mock( ResultReport.class );
+		final MergeResultReports mergeResultReports = mock( MergeResultReports.class );
+		when( mergeResultReports.merge( REPORT_FILES ) ).thenReturn( Either.left( new ReportCannotBeRead( REPORT_FILES.get( 1 ) ) ) );
+
+		final MergeReportsCommand command = new MergeReportsCommand( console, mergeResultReports, resultReport );
+		setField( command, "reportFiles", REPORT_FILES );
+
+		assertThat( command.call( ) ).isEqualTo( -6 );
+		verify( console ).printError( "The report 'shard-2.jsonl' cannot be read." );
+		verifyNoMoreInteractions( console );
+		verify( resultReport ).close( );
+		verifyNoMoreInteractions( resultReport );
+	}
+
+	private void setField( final MergeReportsCommand command, final String fieldName, final Object value ) throws ReflectiveOperationException {
+		final Field field = command.getClass( ).getDeclaredField( fieldName );
+		field.setAccessible( true );
+		field.set( command, value );
+	}
+
+}
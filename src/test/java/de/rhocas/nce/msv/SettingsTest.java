@@ -0,0 +1,42 @@
+package de.rhocas.nce.msv;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.Settings.HashingMode;
+import de.rhocas.nce.msv.Settings.ReadOrderMode;
+import de.rhocas.nce.msv.adapter.sha1.MappedSHA1Calculator;
+
+@DisplayName( "Unit-Test for Settings" )
+final class SettingsTest {
+
+	@Test
+	@DisplayName( "Settings should be parsed among other arguments" )
+	void settingsShouldBeParsedAmongOtherArguments( ) {
+		final Settings settings = Settings.parse( "-r", "-i", "org/apache", "--hashing", "mapped", "--mapping-threshold", "1024", "repository" );
+
+		assertThat( settings.getHashingMode( ) ).isEqualTo( HashingMode.MAPPED );
+		assertThat( settings.getMappingThreshold( ) ).isEqualTo( 1024L );
+	}
+
+	@Test
+	@DisplayName( "Invalid arguments should result in defaults" )
+	void invalidArgumentsShouldResultInDefaults( ) {
+		final Settings settings = Settings.parse( "--hashing", "unknown", "repository" );
+
+		assertThat( settings.getHashingMode( ) ).isEqualTo( HashingMode.DEFAULT );
+		assertThat( settings.getMappingThreshold( ) ).isEqualTo( MappedSHA1Calculator.DEFAULT_MAPPING_THRESHOLD );
+	}
+
+	@Test
+	@DisplayName( "Physical read order should limit the default threads" )
+	void physicalReadOrderShouldLimitTheDefaultThreads( ) {
+		assertThat( Settings.parse( "--read-order", "physical", "repository" ).getThreads( ) ).isEqualTo( Settings.PHYSICAL_READ_ORDER_THREADS );
+		assertThat( Settings.parse( "--read-order", "physical", "-j", "8", "repository" ).getThreads( ) ).isEqualTo( 8 );
+		assertThat( Settings.parse( "repository" ).getReadOrderMode( ) ).isEqualTo( ReadOrderMode.WALK );
+		assertThat( Settings.parse( "repository" ).getThreads( ) ).isEqualTo( Runtime.getRuntime( ).availableProcessors( ) );
+	}
+
+}
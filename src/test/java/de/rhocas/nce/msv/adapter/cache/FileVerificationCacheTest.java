@@ -0,0 +1,237 @@
+package de.rhocas.nce.msv.adapter.cache;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermission;
+import java.nio.file.attribute.PosixFilePermissions;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Stream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileFingerprint;
+import de.rhocas.nce.msv.domain.entity.FileMetadata;
+import de.rhocas.nce.msv.domain.port.Console;
+import io.vavr.control.Option;
+
+@DisplayName( "Unit-Test for FileVerificationCache" )
+final class FileVerificationCacheTest {
+
+	private static final Clock CLOCK = Clock.fixed( Instant.ofEpochSecond( 1_000_000 ), ZoneOffset.UTC );
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "Persisted entries should be available in the next run" )
+	void persistedEntriesShouldBeAvailableInTheNextRun( ) {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		final File validFile = new File( tempDir.resolve( "valid.jar" ), "jar", tempDir );
+		final File invalidFile = new File( tempDir.resolve( "invalid.jar" ), "jar", tempDir );
+		final FileFingerprint validFingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "(dev=1,ino=2)" ), Collections.singletonMap( ChecksumAlgorithm.SHA1, new FileMetadata( 40L, 3L, null ) ) );
+		final FileFingerprint invalidFingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, null ), Collections.emptyMap( ) );
+		final Console console = mock( Console.class );
+
+		final FileVerificationCache firstRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, console );
+		assertThat( firstRun.getValidity( validFile, validFingerprint ) ).isEmpty( );
+		firstRun.putValidity( validFile, validFingerprint, true );
+		firstRun.putValidity( invalidFile, invalidFingerprint, false );
+		firstRun.persist( );
+
+		final FileVerificationCache secondRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, console );
+		assertThat( secondRun.getValidity( validFile, validFingerprint ) ).contains( true );
+		assertThat( secondRun.getValidity( invalidFile, invalidFingerprint ) ).contains( false );
+		verifyNoInteractions( console );
+	}
+
+	@Test
+	@DisplayName( "Metadata of all checksum files should be persisted" )
+	void metadataOfAllChecksumFilesShouldBePersisted( ) {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		final File file = new File( tempDir.resolve( "file.jar" ), "jar", tempDir );
+		final Map<ChecksumAlgorithm, FileMetadata> checksumFileMetadata = new EnumMap<>( ChecksumAlgorithm.class );
+		checksumFileMetadata.put( ChecksumAlgorithm.MD5, new FileMetadata( 32L, 3L, "md5" ) );
+		checksumFileMetadata.put( ChecksumAlgorithm.SHA512, new FileMetadata( 128L, 4L, null ) );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), checksumFileMetadata );
+		final FileFingerprint fingerprintWithoutSHA512 = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.singletonMap( ChecksumAlgorithm.MD5, new FileMetadata( 32L, 3L, "md5" ) ) );
+
+		final FileVerificationCache firstRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		firstRun.putValidity( file, fingerprint, true );
+		firstRun.persist( );
+
+		final FileVerificationCache secondRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		assertThat( secondRun.getValidity( file, fingerprint ) ).contains( true );
+		assertThat( secondRun.getValidity( file, fingerprintWithoutSHA512 ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Changed files should not be taken from the cache" )
+	void changedFilesShouldNotBeTakenFromTheCache( ) {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		final File file = new File( tempDir.resolve( "file.jar" ), "jar", tempDir );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.singletonMap( ChecksumAlgorithm.SHA1, new FileMetadata( 40L, 3L, null ) ) );
+		final FileFingerprint changedSHA1Fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.singletonMap( ChecksumAlgorithm.SHA1, new FileMetadata( 40L, 4L, null ) ) );
+		final FileFingerprint changedFileFingerprint = new FileFingerprint( new FileMetadata( 1L, 5L, "inode" ), Collections.singletonMap( ChecksumAlgorithm.SHA1, new FileMetadata( 40L, 3L, null ) ) );
+
+		final FileVerificationCache cache = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		cache.putValidity( file, fingerprint, true );
+
+		assertThat( cache.getValidity( file, changedSHA1Fingerprint ) ).isEmpty( );
+		assertThat( cache.getValidity( file, changedFileFingerprint ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Expired entries should not be taken from the cache" )
+	void expiredEntriesShouldNotBeTakenFromTheCache( ) {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		final File file = new File( tempDir.resolve( "file.jar" ), "jar", tempDir );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.emptyMap( ) );
+
+		final FileVerificationCache firstRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		firstRun.putValidity( file, fingerprint, true );
+		firstRun.persist( );
+
+		final Clock laterClock = Clock.offset( CLOCK, Duration.ofDays( 3 ) );
+		assertThat( new FileVerificationCache( cacheFile, false, Option.of( Duration.ofDays( 2 ) ), laterClock, mock( Console.class ) ).getValidity( file, fingerprint ) ).isEmpty( );
+		assertThat( new FileVerificationCache( cacheFile, false, Option.of( Duration.ofDays( 4 ) ), laterClock, mock( Console.class ) ).getValidity( file, fingerprint ) ).contains( true );
+	}
+
+	@Test
+	@DisplayName( "Full rescan should ignore stored entries" )
+	void fullRescanShouldIgnoreStoredEntries( ) {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		final File file = new File( tempDir.resolve( "file.jar" ), "jar", tempDir );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.emptyMap( ) );
+
+		final FileVerificationCache firstRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		firstRun.putValidity( file, fingerprint, true );
+		firstRun.persist( );
+
+		assertThat( new FileVerificationCache( cacheFile, true, Option.none( ), CLOCK, mock( Console.class ) ).getValidity( file, fingerprint ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Entries which have not been used should be pruned" )
+	void entriesWhichHaveNotBeenUsedShouldBePruned( ) {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		final File existingFile = new File( tempDir.resolve( "existing.jar" ), "jar", tempDir );
+		final File deletedFile = new File( tempDir.resolve( "deleted.jar" ), "jar", tempDir );
+		final File newFile = new File( tempDir.resolve( "new.jar" ), "jar", tempDir );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.emptyMap( ) );
+
+		final FileVerificationCache firstRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		firstRun.putValidity( existingFile, fingerprint, true );
+		firstRun.putValidity( deletedFile, fingerprint, true );
+		firstRun.persist( );
+
+		final FileVerificationCache secondRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		assertThat( secondRun.getValidity( existingFile, fingerprint ) ).contains( true );
+		secondRun.putValidity( newFile, fingerprint, false );
+		secondRun.prune( );
+		secondRun.persist( );
+
+		final FileVerificationCache thirdRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		assertThat( thirdRun.getValidity( existingFile, fingerprint ) ).contains( true );
+		assertThat( thirdRun.getValidity( newFile, fingerprint ) ).contains( false );
+		assertThat( thirdRun.getValidity( deletedFile, fingerprint ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Permissions of the cache file should be kept" )
+	@EnabledOnOs( { OS.LINUX, OS.MAC } )
+	void permissionsOfTheCacheFileShouldBeKept( ) throws IOException {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		final File file = new File( tempDir.resolve( "file.jar" ), "jar", tempDir );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.emptyMap( ) );
+		final Set<PosixFilePermission> sharedPermissions = PosixFilePermissions.fromString( "rw-rw-r--" );
+
+		final FileVerificationCache firstRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		firstRun.putValidity( file, fingerprint, true );
+		firstRun.persist( );
+		Files.setPosixFilePermissions( cacheFile, sharedPermissions );
+
+		final FileVerificationCache secondRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		secondRun.putValidity( file, fingerprint, false );
+		secondRun.persist( );
+
+		assertThat( Files.getPosixFilePermissions( cacheFile ) ).isEqualTo( sharedPermissions );
+		try ( Stream<Path> files = Files.list( tempDir ) ) {
+			assertThat( files ).containsExactly( cacheFile );
+		}
+	}
+
+	@Test
+	@DisplayName( "Full rescan should keep the entries of files which have not been validated" )
+	void fullRescanShouldKeepEntriesOfFilesWhichHaveNotBeenValidated( ) {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		final File validatedFile = new File( tempDir.resolve( "validated.jar" ), "jar", tempDir );
+		final File otherFile = new File( tempDir.resolve( "other.jar" ), "jar", tempDir );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.emptyMap( ) );
+
+		final FileVerificationCache firstRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		firstRun.putValidity( validatedFile, fingerprint, true );
+		firstRun.putValidity( otherFile, fingerprint, true );
+		firstRun.persist( );
+
+		// E.g. a full rescan of a single shard
+		final FileVerificationCache rescan = new FileVerificationCache( cacheFile, true, Option.none( ), CLOCK, mock( Console.class ) );
+		assertThat( rescan.getValidity( validatedFile, fingerprint ) ).isEmpty( );
+		rescan.putValidity( validatedFile, fingerprint, false );
+		rescan.persist( );
+
+		final FileVerificationCache nextRun = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, mock( Console.class ) );
+		assertThat( nextRun.getValidity( validatedFile, fingerprint ) ).contains( false );
+		assertThat( nextRun.getValidity( otherFile, fingerprint ) ).contains( true );
+	}
+
+	@Test
+	@DisplayName( "Unknown format should be reported and ignored" )
+	void unknownFormatShouldBeReportedAndIgnored( ) throws IOException {
+		final Path cacheFile = tempDir.resolve( "cache" );
+		Files.writeString( cacheFile, "Something else" );
+		final File file = new File( tempDir.resolve( "file.jar" ), "jar", tempDir );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.emptyMap( ) );
+		final Console console = mock( Console.class );
+
+		final FileVerificationCache cache = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, console );
+
+		assertThat( cache.getValidity( file, fingerprint ) ).isEmpty( );
+		verify( console ).printError( anyString( ) );
+	}
+
+	@Test
+	@DisplayName( "Unwritable cache should be reported" )
+	void unwritableCacheShouldBeReported( ) {
+		final Path cacheFile = tempDir.resolve( "doesNotExist" ).resolve( "cache" );
+		final File file = new File( tempDir.resolve( "file.jar" ), "jar", tempDir );
+		final FileFingerprint fingerprint = new FileFingerprint( new FileMetadata( 1L, 2L, "inode" ), Collections.emptyMap( ) );
+		final Console console = mock( Console.class );
+
+		final FileVerificationCache cache = new FileVerificationCache( cacheFile, false, Option.none( ), CLOCK, console );
+		cache.putValidity( file, fingerprint, true );
+		cache.persist( );
+
+		verify( console ).printError( anyString( ) );
+	}
+
+}
@@ -0,0 +1,107 @@
+package de.rhocas.nce.msv.adapter.checkpoint;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.domain.entity.Checkpoint;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.port.Console;
+
+@DisplayName( "Unit-Test for FileCheckpointStore" )
+final class FileCheckpointStoreTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "Saved checkpoint should be resumed" )
+	void savedCheckpointShouldBeResumed( ) {
+		final Path checkpointFile = tempDir.resolve( "checkpoint" );
+		final Path repository = tempDir.resolve( "repository" );
+		final File invalidJar = new File( repository.resolve( "org/lib/1.0/lib-1.0.jar" ), "jar", repository );
+		final File invalidFile = new File( repository.resolve( "org/lib/1.0/lib" ), null, repository );
+		final Console console = mock( Console.class );
+
+		new FileCheckpointStore( checkpointFile, false, console ).save( repository, new Checkpoint( "org/lib/1.0/lib-1.0.pom", Arrays.asList( invalidJar, invalidFile ) ) );
+		final Checkpoint checkpoint = new FileCheckpointStore( checkpointFile, true, console ).load( repository ).get( );
+
+		assertThat( checkpoint.getPosition( ) ).isEqualTo( "org/lib/1.0/lib-1.0.pom" );
+		assertThat( checkpoint.getInvalidFiles( ) ).extracting( File::getPath ).containsExactly( invalidJar.getPath( ), invalidFile.getPath( ) );
+		assertThat( checkpoint.getInvalidFiles( ) ).extracting( File::getPathRelativeToDirectory ).containsExactly( invalidJar.getPathRelativeToDirectory( ), invalidFile.getPathRelativeToDirectory( ) );
+		assertThat( checkpoint.getInvalidFiles( ).get( 0 ).getExtension( ) ).contains( "jar" );
+		assertThat( checkpoint.getInvalidFiles( ).get( 1 ).getExtension( ) ).isEmpty( );
+		verify( console ).printMessage( "Resuming the validation after 'org/lib/1.0/lib-1.0.pom'." );
+	}
+
+	@Test
+	@DisplayName( "Checkpoint should only be loaded if the validation is resumed" )
+	void checkpointShouldOnlyBeLoadedIfValidationIsResumed( ) {
+		final Path checkpointFile = tempDir.resolve( "checkpoint" );
+		final Console console = mock( Console.class );
+
+		final FileCheckpointStore store = new FileCheckpointStore( checkpointFile, false, console );
+		store.save( tempDir, new Checkpoint( "lib-1.0.jar", Collections.emptyList( ) ) );
+
+		assertThat( store.load( tempDir ) ).isEmpty( );
+		verifyNoInteractions( console );
+	}
+
+	@Test
+	@DisplayName( "Checkpoint of another repository should be ignored" )
+	void checkpointOfAnotherRepositoryShouldBeIgnored( ) {
+		final Path checkpointFile = tempDir.resolve( "checkpoint" );
+		final Console console = mock( Console.class );
+
+		new FileCheckpointStore( checkpointFile, false, console ).save( tempDir.resolve( "first" ), new Checkpoint( "lib-1.0.jar", Collections.emptyList( ) ) );
+
+		assertThat( new FileCheckpointStore( checkpointFile, true, console ).load( tempDir.resolve( "second" ) ) ).isEmpty( );
+		verify( console ).printError( "The checkpoint '" + checkpointFile + "' belongs to another repository and is ignored." );
+	}
+
+	@Test
+	@DisplayName( "Unknown format should be ignored" )
+	void unknownFormatShouldBeIgnored( ) throws IOException {
+		final Path checkpointFile = tempDir.resolve( "checkpoint" );
+		Files.write( checkpointFile, Collections.singletonList( "something else" ), StandardCharsets.UTF_8 );
+		final Console console = mock( Console.class );
+
+		assertThat( new FileCheckpointStore( checkpointFile, true, console ).load( tempDir ) ).isEmpty( );
+		verify( console ).printError( "The checkpoint '" + checkpointFile + "' has an unknown format and is ignored." );
+	}
+
+	@Test
+	@DisplayName( "Missing checkpoint should start the validation from the beginning" )
+	void missingCheckpointShouldStartValidationFromBeginning( ) {
+		final Path checkpointFile = tempDir.resolve( "checkpoint" );
+		final Console console = mock( Console.class );
+
+		assertThat( new FileCheckpointStore( checkpointFile, true, console ).load( tempDir ) ).isEmpty( );
+		verify( console ).printMessage( "The checkpoint '" + checkpointFile + "' does not exist. The validation starts from the beginning." );
+	}
+
+	@Test
+	@DisplayName( "Deleted checkpoint should not exist anymore" )
+	void deletedCheckpointShouldNotExistAnymore( ) {
+		final Path checkpointFile = tempDir.resolve( "checkpoint" );
+		final FileCheckpointStore store = new FileCheckpointStore( checkpointFile, true, mock( Console.class ) );
+		store.save( tempDir, new Checkpoint( "lib-1.0.jar", Collections.emptyList( ) ) );
+
+		store.delete( );
+
+		assertThat( checkpointFile ).doesNotExist( );
+	}
+
+}
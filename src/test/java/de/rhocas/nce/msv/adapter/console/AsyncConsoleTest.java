@@ -0,0 +1,168 @@
+package de.rhocas.nce.msv.adapter.console;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.Charset;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.domain.port.Console;
+
+@DisplayName( "Unit-Test for the AsyncConsole" )
+final class AsyncConsoleTest {
+
+	@Test
+	@DisplayName( "Close should write all pending lines" )
+	void closeShouldWriteAllPendingLines( ) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream( );
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final Console console = new AsyncConsole( out, err, AsyncConsole.DEFAULT_BUFFER_SIZE, Duration.ofHours( 1 ), AsyncConsole.DEFAULT_MAXIMAL_PENDING_LINES );
+
+		console.printMessage( "Message 1" );
+		console.printError( "Error" );
+		console.printMessage( "Message 2" );
+		console.printProgress( "Progress" );
+		console.close( );
+
+		assertThat( lines( out ) ).containsExactly( "Message 1", "Message 2" );
+		assertThat( lines( err ) ).containsExactly( "Error", "Progress" );
+	}
+
+	@Test
+	@DisplayName( "Lines should be flushed after the flush interval" )
+	void linesShouldBeFlushedAfterFlushInterval( ) throws InterruptedException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream( );
+		final Console console = new AsyncConsole( out, new ByteArrayOutputStream( ), AsyncConsole.DEFAULT_BUFFER_SIZE, Duration.ofMillis( 10 ), AsyncConsole.DEFAULT_MAXIMAL_PENDING_LINES );
+
+		console.printMessage( "Message" );
+		final long deadline = System.nanoTime( ) + Duration.ofSeconds( 10 ).toNanos( );
+		while ( out.size( ) == 0 && System.nanoTime( ) < deadline ) {
+			Thread.sleep( 10 );
+		}
+
+		assertThat( lines( out ) ).containsExactly( "Message" );
+		console.close( );
+	}
+
+	@Test
+	@DisplayName( "Lines of concurrent threads should be written completely and in order per thread" )
+	void linesOfConcurrentThreadsShouldBeWrittenCompletely( ) throws InterruptedException {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream( );
+		final Console console = new AsyncConsole( out, new ByteArrayOutputStream( ), 128, Duration.ofMillis( 1 ), AsyncConsole.DEFAULT_MAXIMAL_PENDING_LINES );
+
+		final List<Thread> threads = new ArrayList<>( );
+		for ( int thread = 0; thread < 4; thread++ ) {
+			final int threadNumber = thread;
+			threads.add( new Thread( ( ) -> {
+				for ( int line = 0; line < 1000; line++ ) {
+					console.printMessage( threadNumber + ":" + line );
+				}
+			} ) );
+		}
+		threads.forEach( Thread::start );
+		for ( final Thread thread : threads ) {
+			thread.join( );
+		}
+		console.close( );
+
+		final List<String> lines = lines( out );
+		assertThat( lines ).hasSize( 4000 );
+		for ( int thread = 0; thread < 4; thread++ ) {
+			final String prefix = thread + ":";
+			final List<String> linesOfThread = new ArrayList<>( );
+			lines.stream( ).filter( line -> line.startsWith( prefix ) ).forEach( linesOfThread::add );
+			for ( int line = 0; line < 1000; line++ ) {
+				assertThat( linesOfThread.get( line ) ).isEqualTo( prefix + line );
+			}
+		}
+	}
+
+	@Test
+	@DisplayName( "Printing threads should wait for a slow output and keep the order of the lines" )
+	void printingThreadsShouldWaitForSlowOutput( ) throws InterruptedException {
+		final CountDownLatch outputReleased = new CountDownLatch( 1 );
+		final ByteArrayOutputStream slowStream = new ByteArrayOutputStream( ) {
+
+			@Override
+			public synchronized void write( final byte[] bytes, final int offset, final int length ) {
+				try {
+					outputReleased.await( );
+				} catch ( final InterruptedException ex ) {
+					Thread.currentThread( ).interrupt( );
+				}
+				super.write( bytes, offset, length );
+			}
+
+		};
+		final Console console = new AsyncConsole( slowStream, new ByteArrayOutputStream( ), 1, Duration.ofMillis( 1 ), 2 );
+
+		final Thread printingThread = new Thread( ( ) -> {
+			for ( int line = 0; line < 10; line++ ) {
+				console.printMessage( "Message " + line );
+			}
+		} );
+		printingThread.start( );
+		printingThread.join( 200 );
+
+		// The writer thread is blocked by the output, and at most two further lines can be pending
+		assertThat( printingThread.isAlive( ) ).isTrue( );
+		outputReleased.countDown( );
+		printingThread.join( );
+		console.close( );
+
+		final List<String> expectedLines = new ArrayList<>( );
+		for ( int line = 0; line < 10; line++ ) {
+			expectedLines.add( "Message " + line );
+		}
+		assertThat( lines( slowStream ) ).containsExactlyElementsOf( expectedLines );
+	}
+
+	@Test
+	@DisplayName( "Lines printed after closing should be written directly" )
+	void linesPrintedAfterClosingShouldBeWrittenDirectly( ) {
+		final ByteArrayOutputStream out = new ByteArrayOutputStream( );
+		final ByteArrayOutputStream err = new ByteArrayOutputStream( );
+		final Console console = new AsyncConsole( out, err, AsyncConsole.DEFAULT_BUFFER_SIZE, Duration.ofHours( 1 ), AsyncConsole.DEFAULT_MAXIMAL_PENDING_LINES );
+
+		console.printMessage( "Message 1" );
+		console.close( );
+		console.printMessage( "Message 2" );
+		console.printError( "Error" );
+
+		assertThat( lines( out ) ).containsExactly( "Message 1", "Message 2" );
+		assertThat( lines( err ) ).containsExactly( "Error" );
+	}
+
+	@Test
+	@DisplayName( "Close should be idempotent and survive a broken output" )
+	void closeShouldSurviveBrokenOutput( ) {
+		final OutputStream brokenStream = new OutputStream( ) {
+
+			@Override
+			public void write( final int b ) throws IOException {
+				throw new IOException( "Broken pipe" );
+			}
+
+		};
+		final Console console = new AsyncConsole( brokenStream, brokenStream, 1, Duration.ofMillis( 1 ), AsyncConsole.DEFAULT_MAXIMAL_PENDING_LINES );
+
+		console.printMessage( "Message" );
+		console.close( );
+		console.close( );
+	}
+
+	private static List<String> lines( final ByteArrayOutputStream stream ) {
+		final String content = new String( stream.toByteArray( ), Charset.defaultCharset( ) );
+		return content.isEmpty( ) ? new ArrayList<>( ) : Arrays.asList( content.split( System.lineSeparator( ) ) );
+	}
+
+}
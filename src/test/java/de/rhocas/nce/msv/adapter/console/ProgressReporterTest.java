@@ -0,0 +1,130 @@
+package de.rhocas.nce.msv.adapter.console;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.startsWith;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.verify;
+
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.adapter.console.ProgressReporter.SummaryFormat;
+import de.rhocas.nce.msv.domain.entity.ValidationStage;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
+import de.rhocas.nce.msv.domain.port.Console;
+
+@DisplayName( "Unit-Test for ProgressReporter" )
+final class ProgressReporterTest {
+
+	private static final long SECOND = TimeUnit.SECONDS.toNanos( 1 );
+
+	@Test
+	@DisplayName( "Progress should contain an estimated time of arrival" )
+	void progressShouldContainAnEstimatedTimeOfArrival( ) {
+		final ValidationStatistics statistics = new ValidationStatistics( 0 );
+		statistics.filesDiscovered( 400 );
+		statistics.traversalFinished( SECOND );
+		for ( int i = 0; i < 100; i++ ) {
+			statistics.fileHashed( 1024 * 1024 );
+			statistics.fileVerified( i != 0 );
+		}
+
+		final ProgressReporter progressReporter = new ProgressReporter( mock( Console.class ), statistics );
+
+		assertThat( progressReporter.formatProgress( 100 * SECOND ) )
+				.isEqualTo( "Progress: 400 files discovered, 100 verified, 1 invalid, 100.0 MiB hashed (1.0 MiB/s), ETA 0:05:00" );
+	}
+
+	@Test
+	@DisplayName( "Progress should mark the estimation while walking" )
+	void progressShouldMarkTheEstimationWhileWalking( ) {
+		final ValidationStatistics statistics = new ValidationStatistics( 0 );
+		statistics.filesDiscovered( 20 );
+		statistics.fileVerified( true );
+
+		final ProgressReporter progressReporter = new ProgressReporter( mock( Console.class ), statistics );
+
+		assertThat( progressReporter.formatProgress( 10 * SECOND ) )
+				.isEqualTo( "Progress: 20 files discovered so far, 1 verified, 0 invalid, 0 B hashed (0 B/s), ETA at least 0:03:10" );
+	}
+
+	@Test
+	@DisplayName( "Progress without verified files should have an unknown estimation" )
+	void progressWithoutVerifiedFilesShouldHaveAnUnknownEstimation( ) {
+		final ProgressReporter progressReporter = new ProgressReporter( mock( Console.class ), new ValidationStatistics( 0 ) );
+
+		assertThat( progressReporter.formatProgress( SECOND ) ).endsWith( "ETA unknown" );
+	}
+
+	@Test
+	@DisplayName( "Text summary should contain all statistics" )
+	void textSummaryShouldContainAllStatistics( ) {
+		final ValidationStatistics statistics = createStatistics( );
+
+		final ProgressReporter progressReporter = new ProgressReporter( mock( Console.class ), statistics );
+
+		assertThat( progressReporter.formatSummary( SummaryFormat.TEXT, 3723 * SECOND ).split( System.lineSeparator( ) ) ).containsExactly(
+				"Validation finished in 1:02:03 (traversal: 0:00:02)",
+				"Files: 3 discovered, 1 skipped, 2 verified (1 from cache), 1 hashed, 1 invalid",
+				"Hashed: 2.0 KiB (0 B/s)",
+				"Latency of cache lookup: 2 files, mean 0.001 ms, p50 0.001 ms, p90 0.001 ms, p99 0.001 ms, max 0.001 ms",
+				"Latency of hashing: 1 files, mean 2.000 ms, p50 2.000 ms, p90 2.000 ms, p99 2.000 ms, max 2.000 ms" );
+	}
+
+	@Test
+	@DisplayName( "JSON summary should contain all statistics" )
+	void jsonSummaryShouldContainAllStatistics( ) {
+		final ValidationStatistics statistics = createStatistics( );
+
+		final ProgressReporter progressReporter = new ProgressReporter( mock( Console.class ), statistics );
+
+		assertThat( progressReporter.formatSummary( SummaryFormat.JSON, 10 * SECOND ) ).isEqualTo( "{\"elapsedNanos\":10000000000,\"traversalNanos\":2000000000,"
+				+ "\"discoveredFiles\":3,\"skippedFiles\":1,\"verifiedFiles\":2,\"cachedFiles\":1,\"hashedFiles\":1,\"hashedBytes\":2048,\"invalidFiles\":1,"
+				+ "\"latencies\":{\"cache_lookup\":{\"count\":2,\"meanNanos\":1000,\"p50Nanos\":1000,\"p90Nanos\":1000,\"p99Nanos\":1000,\"maxNanos\":1000},"
+				+ "\"extraction\":{\"count\":0,\"meanNanos\":0,\"p50Nanos\":0,\"p90Nanos\":0,\"p99Nanos\":0,\"maxNanos\":0},"
+				+ "\"structure_check\":{\"count\":0,\"meanNanos\":0,\"p50Nanos\":0,\"p90Nanos\":0,\"p99Nanos\":0,\"maxNanos\":0},"
+				+ "\"hashing\":{\"count\":1,\"meanNanos\":2000000,\"p50Nanos\":2000000,\"p90Nanos\":2000000,\"p99Nanos\":2000000,\"maxNanos\":2000000}}}" );
+	}
+
+	@Test
+	@DisplayName( "Progress should be printed periodically" )
+	void progressShouldBePrintedPeriodically( ) {
+		final Console console = mock( Console.class );
+		final ProgressReporter progressReporter = new ProgressReporter( console, new ValidationStatistics( ) );
+
+		progressReporter.start( Duration.ofMillis( 10 ) );
+		try {
+			verify( console, timeout( 5000 ).atLeast( 2 ) ).printProgress( startsWith( "Progress: 0 files discovered so far" ) );
+		} finally {
+			progressReporter.stop( );
+		}
+	}
+
+	@Test
+	@DisplayName( "Bytes should be formatted with binary units" )
+	void bytesShouldBeFormattedWithBinaryUnits( ) {
+		assertThat( ProgressReporter.formatBytes( 1023 ) ).isEqualTo( "1023 B" );
+		assertThat( ProgressReporter.formatBytes( 1536 ) ).isEqualTo( "1.5 KiB" );
+		assertThat( ProgressReporter.formatBytes( 5L * 1024 * 1024 * 1024 * 1024 ) ).isEqualTo( "5.0 TiB" );
+	}
+
+	private ValidationStatistics createStatistics( ) {
+		final ValidationStatistics statistics = new ValidationStatistics( 0 );
+		statistics.filesDiscovered( 3 );
+		statistics.traversalFinished( 2 * SECOND );
+		statistics.fileSkipped( );
+		statistics.recordLatency( ValidationStage.CACHE_LOOKUP, 1000 );
+		statistics.fileCached( );
+		statistics.fileVerified( true );
+		statistics.recordLatency( ValidationStage.CACHE_LOOKUP, 1000 );
+		statistics.recordLatency( ValidationStage.HASHING, 2_000_000 );
+		statistics.fileHashed( 2048 );
+		statistics.fileVerified( false );
+		return statistics;
+	}
+
+}
@@ -21,4 +21,11 @@ final class SysOutConsoleTest {
 		final Console console = new SysOutConsole( );
 		console.printError( "Test" );
 	}
+
+	@Test
+	@DisplayName( "PrintProgress should work" )
+	void printProgressShouldWork( ) {
+		final Console console = new SysOutConsole( );
+		console.printProgress( "Test" );
+	}
 }
@@ -0,0 +1,39 @@
+package de.rhocas.nce.msv.adapter.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.domain.port.ExecutionStrategy;
+
+@DisplayName( "Unit-Test for PlatformThreadExecution" )
+final class PlatformThreadExecutionTest {
+
+	@Test
+	@DisplayName( "Parallelism should be the number of threads" )
+	void parallelismShouldBeTheNumberOfThreads( ) {
+		final ExecutionStrategy executionStrategy = new PlatformThreadExecution( 42 );
+
+		assertThat( executionStrategy.getParallelism( ) ).isEqualTo( 42 );
+	}
+
+	@Test
+	@DisplayName( "Tasks should run on daemon validation threads" )
+	void tasksShouldRunOnDaemonValidationThreads( ) throws InterruptedException, ExecutionException {
+		final ExecutionStrategy executionStrategy = new PlatformThreadExecution( 2 );
+		final ExecutorService executorService = executionStrategy.createExecutorService( );
+
+		try {
+			final Thread thread = executorService.submit( ( ) -> Thread.currentThread( ) ).get( );
+			assertThat( thread.getName( ) ).startsWith( "validation-" );
+			assertThat( thread.isDaemon( ) ).isTrue( );
+		} finally {
+			executorService.shutdownNow( );
+		}
+	}
+
+}
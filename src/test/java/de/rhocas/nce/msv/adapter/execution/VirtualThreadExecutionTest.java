@@ -0,0 +1,48 @@
+package de.rhocas.nce.msv.adapter.execution;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assumptions.assumeFalse;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.domain.port.ExecutionStrategy;
+
+@DisplayName( "Unit-Test for VirtualThreadExecution" )
+final class VirtualThreadExecutionTest {
+
+	@Test
+	@DisplayName( "Parallelism should be routed through" )
+	void parallelismShouldBeRoutedThrough( ) {
+		final ExecutionStrategy executionStrategy = new VirtualThreadExecution( 256 );
+
+		assertThat( executionStrategy.getParallelism( ) ).isEqualTo( 256 );
+	}
+
+	@Test
+	@DisplayName( "Tasks should run if virtual threads are supported" )
+	void tasksShouldRunIfVirtualThreadsAreSupported( ) throws InterruptedException, ExecutionException {
+		assumeTrue( VirtualThreadExecution.isSupported( ) );
+
+		final ExecutorService executorService = new VirtualThreadExecution( 2 ).createExecutorService( );
+		try {
+			assertThat( executorService.submit( ( ) -> 42 ).get( ) ).isEqualTo( 42 );
+		} finally {
+			executorService.shutdownNow( );
+		}
+	}
+
+	@Test
+	@DisplayName( "Creation should fail if virtual threads are not supported" )
+	void creationShouldFailIfVirtualThreadsAreNotSupported( ) {
+		assumeFalse( VirtualThreadExecution.isSupported( ) );
+
+		assertThatThrownBy( ( ) -> new VirtualThreadExecution( 2 ).createExecutorService( ) ).isInstanceOf( IllegalStateException.class );
+	}
+
+}
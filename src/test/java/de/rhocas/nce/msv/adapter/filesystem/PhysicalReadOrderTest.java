@@ -0,0 +1,72 @@
+package de.rhocas.nce.msv.adapter.filesystem;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+import java.io.IOException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.domain.entity.File;
+
+@DisplayName( "Unit-Test for PhysicalReadOrder" )
+final class PhysicalReadOrderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "Files should be ordered by their inodes" )
+	void filesShouldBeOrderedByTheirInodes( ) throws IOException {
+		assumeTrue( FileSystems.getDefault( ).supportedFileAttributeViews( ).contains( "unix" ), "The file system does not provide inodes" );
+
+		final List<File> files = new ArrayList<>( );
+		for ( int i = 0; i < 20; i++ ) {
+			final Path path = Files.writeString( tempDir.resolve( "file" + i + ".jar" ), "content" );
+			files.add( new File( path, "jar", tempDir ) );
+		}
+		// Reverse the creation order, so that the order of the walk differs from the physical order
+		final List<File> walkOrder = new ArrayList<>( files );
+		walkOrder.sort( Comparator.comparing( File::getName ).reversed( ) );
+
+		final List<File> readOrder = new PhysicalReadOrder( ).order( walkOrder );
+
+		assertThat( readOrder ).containsExactlyInAnyOrderElementsOf( walkOrder );
+		assertThat( readOrder ).isSortedAccordingTo( Comparator.comparingLong( file -> getInode( file ) ) );
+	}
+
+	@Test
+	@DisplayName( "Inaccessible files should be read last in the order of the walk" )
+	void inaccessibleFilesShouldBeReadLastInTheOrderOfTheWalk( ) throws IOException {
+		final File missingFile1 = new File( Paths.get( "missing1.jar" ), "jar", tempDir );
+		final File existingFile = new File( Files.writeString( tempDir.resolve( "existing.jar" ), "content" ), "jar", tempDir );
+		final File missingFile2 = new File( Paths.get( "missing2.jar" ), "jar", tempDir );
+
+		final List<File> readOrder = new PhysicalReadOrder( ).order( Arrays.asList( missingFile1, existingFile, missingFile2 ) );
+
+		if ( FileSystems.getDefault( ).supportedFileAttributeViews( ).contains( "unix" ) ) {
+			assertThat( readOrder ).containsExactly( existingFile, missingFile1, missingFile2 );
+		} else {
+			assertThat( readOrder ).containsExactly( missingFile1, existingFile, missingFile2 );
+		}
+	}
+
+	private long getInode( final File file ) {
+		try {
+			return ( (Number) Files.getAttribute( file.getPath( ), "unix:ino" ) ).longValue( );
+		} catch ( final IOException ex ) {
+			throw new IllegalStateException( ex );
+		}
+	}
+
+}
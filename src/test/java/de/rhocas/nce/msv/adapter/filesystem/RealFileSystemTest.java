@@ -5,20 +5,31 @@ import static org.assertj.core.api.Assertions.assertThat;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledOnOs;
+import org.junit.jupiter.api.condition.OS;
 import org.junit.jupiter.api.io.TempDir;
 
+import de.rhocas.nce.msv.domain.entity.DirectoryListing;
 import de.rhocas.nce.msv.domain.entity.File;
 import de.rhocas.nce.msv.domain.error.FilesCannotBeRemoved;
 import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.PathPrefixFilter;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
 import de.rhocas.nce.msv.domain.port.FileSystem;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
@@ -37,7 +48,7 @@ final class RealFileSystemTest {
 		final URL fileUrl = getClass( ).getResource( "file.txt" );
 		final Path filePath = Paths.get( fileUrl.toURI( ) );
 		final Path rootPath = filePath.getParent( );
-		final Either<RootDirectoryCannotBeAccessed, List<File>> result = fileSystem.listFilesInDirectory( rootPath );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = fileSystem.listFilesInDirectory( rootPath, TraversalFilter.ALL );
 
 		assertThat( result.isRight( ) ).isTrue( );
 		final List<File> list = result.get( );
@@ -45,16 +56,143 @@ final class RealFileSystemTest {
 		assertThat( list ).filteredOn( f -> f.getExtension( ).isEmpty( ) ).hasSize( 1 );
 	}
 
+	@Test
+	@DisplayName( "listFilesInDirectory should return files in the walk order" )
+	void listFilesInDirectoryShouldReturnFilesInWalkOrder( ) throws IOException {
+		final FileSystem fileSystem = new RealFileSystem( );
+		for ( final String name : new String[] { "lib-extra/1.0/lib-extra-1.0.jar", "lib/2.0/lib-2.0.jar", "lib/1.0/lib-1.0.pom", "lib/1.0/lib-1.0.jar", "app.jar" } ) {
+			final Path file = tempDir.resolve( name );
+			Files.createDirectories( file.getParent( ) );
+			Files.createFile( file );
+		}
+
+		final List<File> list = fileSystem.listFilesInDirectory( tempDir, TraversalFilter.ALL ).get( );
+
+		assertThat( list ).extracting( file -> tempDir.relativize( file.getPath( ) ) ).containsExactly( Paths.get( "app.jar" ), Paths.get( "lib", "1.0", "lib-1.0.jar" ), Paths.get( "lib", "1.0", "lib-1.0.pom" ),
+				Paths.get( "lib", "2.0", "lib-2.0.jar" ), Paths.get( "lib-extra", "1.0", "lib-extra-1.0.jar" ) );
+	}
+
+	@Test
+	@DisplayName( "getLinkCount should count hard links" )
+	@EnabledOnOs( { OS.LINUX, OS.MAC } )
+	void getLinkCountShouldCountHardLinks( ) throws IOException {
+		final FileSystem fileSystem = new RealFileSystem( );
+		final Path file = Files.createFile( tempDir.resolve( "lib-1.0.jar" ) );
+		final Path link = Files.createLink( tempDir.resolve( "linked-1.0.jar" ), file );
+		final Path otherFile = Files.createFile( tempDir.resolve( "other-1.0.jar" ) );
+
+		assertThat( fileSystem.getLinkCount( new File( link, "jar", tempDir ) ) ).contains( 2 );
+		assertThat( fileSystem.getLinkCount( new File( otherFile, "jar", tempDir ) ) ).contains( 1 );
+		assertThat( fileSystem.getLinkCount( new File( tempDir.resolve( "missing.jar" ), "jar", tempDir ) ) ).isEmpty( );
+	}
+
 	@Test
 	@DisplayName( "listFilesInDirectory should return error" )
 	void listFilesInDirectoryShouldReturnError( ) {
 		final FileSystem fileSystem = new RealFileSystem( );
-		final Either<RootDirectoryCannotBeAccessed, List<File>> result = fileSystem.listFilesInDirectory( Path.of( "doesNotExist" ) );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = fileSystem.listFilesInDirectory( Path.of( "doesNotExist" ), TraversalFilter.ALL );
 
 		assertThat( result.isLeft( ) ).isTrue( );
 		assertThat( result.getLeft( ) ).isNotNull( );
 	}
 
+	@Test
+	@DisplayName( "walkFilesInDirectory should pass files to consumer" )
+	void walkFilesInDirectoryShouldPassFilesToConsumer( ) throws URISyntaxException {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		final URL fileUrl = getClass( ).getResource( "file.txt" );
+		final Path filePath = Paths.get( fileUrl.toURI( ) );
+		final Path rootPath = filePath.getParent( );
+		final List<File> list = new ArrayList<>( );
+		final Option<RootDirectoryCannotBeAccessed> result = fileSystem.walkFilesInDirectory( rootPath, TraversalFilter.ALL, file -> list.add( file ) );
+
+		assertThat( result.isEmpty( ) ).isTrue( );
+		assertThat( list ).filteredOn( f -> f.getExtension( ).exists( e -> e.equals( "txt" ) ) ).hasSize( 2 );
+		assertThat( list ).filteredOn( f -> f.getExtension( ).isEmpty( ) ).hasSize( 1 );
+	}
+
+	@Test
+	@DisplayName( "walkDirectoriesInDirectory should pass directory listings to consumer" )
+	void walkDirectoriesInDirectoryShouldPassDirectoryListingsToConsumer( ) throws IOException {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		final Path versionDirectory = Files.createDirectories( tempDir.resolve( "artifact" ).resolve( "1.0" ) );
+		Files.writeString( versionDirectory.resolve( "artifact-1.0.pom" ), "pom" );
+		Files.writeString( versionDirectory.resolve( "artifact-1.0.pom.sha1" ), "sha1" );
+		Files.writeString( versionDirectory.resolve( "artifact-1.0.jar" ), "jar" );
+		final TraversalFilter filter = new TraversalFilter( ) {
+
+			@Override
+			public boolean includesDirectory( final String relativeDirectory ) {
+				return true;
+			}
+
+			@Override
+			public boolean includesFile( final String relativePath ) {
+				return !relativePath.endsWith( ".jar" );
+			}
+
+		};
+
+		final List<DirectoryListing> listings = new ArrayList<>( );
+		final Option<RootDirectoryCannotBeAccessed> result = fileSystem.walkDirectoriesInDirectory( tempDir, filter, listing -> listings.add( listing ) );
+
+		assertThat( result.isEmpty( ) ).isTrue( );
+		assertThat( listings ).hasSize( 1 );
+		final DirectoryListing listing = listings.get( 0 );
+		assertThat( listing.getDirectory( ) ).isEqualTo( versionDirectory );
+		assertThat( listing.getFiles( ) ).extracting( File::getName ).containsExactlyInAnyOrder( "artifact-1.0.pom", "artifact-1.0.pom.sha1" );
+		assertThat( listing.getEntry( "artifact-1.0.jar" ).map( File::getPath ) ).containsExactly( versionDirectory.resolve( "artifact-1.0.jar" ) );
+		assertThat( listing.getEntry( "artifact-1.0.jar.sha1" ).isEmpty( ) ).isTrue( );
+		assertThat( listing.getMetadata( "artifact-1.0.pom.sha1" ) ).containsExactly( fileSystem.getMetadata( listing.getEntry( "artifact-1.0.pom.sha1" ).get( ) ).get( ) );
+	}
+
+	@Test
+	@DisplayName( "walkFilesInDirectory should return error" )
+	void walkFilesInDirectoryShouldReturnError( ) {
+		final FileSystem fileSystem = new RealFileSystem( );
+		final Option<RootDirectoryCannotBeAccessed> result = fileSystem.walkFilesInDirectory( Path.of( "doesNotExist" ), TraversalFilter.ALL, file -> {
+		} );
+
+		assertThat( result.isDefined( ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "walkFilesInDirectory should skip excluded directories" )
+	void walkFilesInDirectoryShouldSkipExcludedDirectories( ) throws IOException {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		Files.createDirectories( tempDir.resolve( "included" ) );
+		Files.createDirectories( tempDir.resolve( "excluded" ) );
+		Files.writeString( tempDir.resolve( "included" ).resolve( "file.pom" ), "" );
+		Files.writeString( tempDir.resolve( "excluded" ).resolve( "file.pom" ), "" );
+		Files.writeString( tempDir.resolve( "excludedFile.pom" ), "" );
+
+		final List<String> visitedDirectories = new ArrayList<>( );
+		final List<File> list = new ArrayList<>( );
+		final TraversalFilter filter = new TraversalFilter( ) {
+
+			@Override
+			public boolean includesDirectory( final String relativeDirectory ) {
+				visitedDirectories.add( relativeDirectory );
+				return !relativeDirectory.equals( "excluded" );
+			}
+
+			@Override
+			public boolean includesFile( final String relativePath ) {
+				assertThat( relativePath ).doesNotStartWith( "excluded" + java.io.File.separator );
+				return !relativePath.equals( "excludedFile.pom" );
+			}
+
+		};
+		final Option<RootDirectoryCannotBeAccessed> result = fileSystem.walkFilesInDirectory( tempDir, filter, file -> list.add( file ) );
+
+		assertThat( result.isEmpty( ) ).isTrue( );
+		assertThat( visitedDirectories ).containsExactlyInAnyOrder( "included", "excluded" );
+		assertThat( list ).extracting( file -> file.getPathRelativeToDirectory( ) ).containsExactly( Paths.get( "included", "file.pom" ).toString( ) );
+	}
+
 	@Test
 	@DisplayName( "removeFiles should return error" )
 	void removeFilesShouldReturnError( ) {
@@ -85,6 +223,87 @@ final class RealFileSystemTest {
 		assertThat( Files.exists( tempFilePath ) ).isFalse( );
 	}
 
+	@Test
+	@DisplayName( "watchFilesInDirectory should report created files and files of new directories" )
+	void watchFilesInDirectoryShouldReportCreatedFiles( ) throws Exception {
+		final FileSystem fileSystem = new RealFileSystem( );
+		final Path existingDirectory = Files.createDirectory( tempDir.resolve( "existing" ) );
+		final BlockingQueue<Path> changedFiles = new LinkedBlockingQueue<>( );
+		final AtomicReference<Option<RootDirectoryCannotBeAccessed>> result = new AtomicReference<>( );
+		final Thread watchThread = new Thread( ( ) -> result.set( fileSystem.watchFilesInDirectory( tempDir, new PathPrefixFilter( Collections.singletonList( "ignored" ) ), file -> changedFiles.add( file.getPath( ) ) ) ) );
+		watchThread.start( );
+
+		try {
+			// The watch has to be registered before the files are created
+			Path changedFile;
+			final Path createdFile = existingDirectory.resolve( "created.jar" );
+			do {
+				Files.write( createdFile, new byte[] { 1 } );
+				changedFile = changedFiles.poll( 100, TimeUnit.MILLISECONDS );
+			} while ( changedFile == null );
+			assertThat( changedFile ).isEqualTo( createdFile );
+
+			final Path newDirectory = Files.createDirectories( tempDir.resolve( "new/1.0" ) );
+			final Path fileInNewDirectory = Files.write( newDirectory.resolve( "new-1.0.pom" ), new byte[] { 1 } );
+			Files.createDirectories( tempDir.resolve( "ignored" ) );
+			Files.write( tempDir.resolve( "ignored/ignored.jar" ), new byte[] { 1 } );
+			assertThat( waitFor( changedFiles, fileInNewDirectory ) ).isTrue( );
+			assertThat( changedFiles ).doesNotContain( tempDir.resolve( "ignored/ignored.jar" ) );
+		} finally {
+			watchThread.interrupt( );
+			watchThread.join( 10_000 );
+		}
+		assertThat( result.get( ) ).isEmpty( );
+	}
+
+	private static boolean waitFor( final BlockingQueue<Path> changedFiles, final Path expectedFile ) throws InterruptedException {
+		final long deadline = System.nanoTime( ) + TimeUnit.SECONDS.toNanos( 10 );
+		while ( System.nanoTime( ) < deadline ) {
+			if ( expectedFile.equals( changedFiles.poll( 100, TimeUnit.MILLISECONDS ) ) ) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	@Test
+	@DisplayName( "watchFilesInDirectory should return error" )
+	void watchFilesInDirectoryShouldReturnError( ) {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		assertThat( fileSystem.watchFilesInDirectory( tempDir.resolve( "doesNotExist" ), TraversalFilter.ALL, file -> {
+		} ) ).isNotEmpty( );
+	}
+
+	@Test
+	@DisplayName( "removeDirectoryIfEmpty should remove only empty directories" )
+	void removeDirectoryIfEmptyShouldRemoveOnlyEmptyDirectories( ) throws IOException {
+		final FileSystem fileSystem = new RealFileSystem( );
+		final Path emptyDirectory = Files.createDirectory( tempDir.resolve( "empty" ) );
+		final Path nonEmptyDirectory = Files.createDirectory( tempDir.resolve( "nonEmpty" ) );
+		Files.createFile( nonEmptyDirectory.resolve( "file.txt" ) );
+
+		assertThat( fileSystem.removeDirectoryIfEmpty( emptyDirectory ) ).isTrue( );
+		assertThat( fileSystem.removeDirectoryIfEmpty( nonEmptyDirectory ) ).isFalse( );
+		assertThat( Files.exists( emptyDirectory ) ).isFalse( );
+		assertThat( Files.exists( nonEmptyDirectory ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "listSiblingFiles should return the regular files of the directory" )
+	void listSiblingFilesShouldReturnRegularFiles( ) throws IOException {
+		final FileSystem fileSystem = new RealFileSystem( );
+		final Path jarPath = Files.createFile( tempDir.resolve( "lib-1.0.jar" ) );
+		Files.createFile( tempDir.resolve( "lib-1.0.jar.sha1" ) );
+		Files.createDirectory( tempDir.resolve( "subdirectory" ) );
+
+		final Option<List<File>> result = fileSystem.listSiblingFiles( new File( jarPath, "jar", tempDir ) );
+
+		assertThat( result.get( ) ).extracting( File::getName ).containsExactlyInAnyOrder( "lib-1.0.jar", "lib-1.0.jar.sha1" );
+		assertThat( result.get( ) ).allMatch( file -> file.getRootDirectory( ).equals( tempDir ) );
+		assertThat( fileSystem.listSiblingFiles( new File( tempDir.resolve( "doesNotExist/file.jar" ), "jar", tempDir ) ) ).isEmpty( );
+	}
+
 	@Test
 	@DisplayName( "readBytes on non-existing file should return empty option" )
 	void readBytesOnNonExistingFileShouldReturnEmptyOption( ) {
@@ -106,6 +325,82 @@ final class RealFileSystemTest {
 		assertThat( result ).contains( "SomeContent".getBytes( StandardCharsets.UTF_8 ) );
 	}
 
+	@Test
+	@DisplayName( "readTail should return the last bytes" )
+	void readTailShouldReturnLastBytes( ) throws IOException {
+		final FileSystem fileSystem = new RealFileSystem( );
+		final Path file = Files.write( tempDir.resolve( "file.jar" ), "0123456789".getBytes( StandardCharsets.UTF_8 ) );
+
+		assertThat( fileSystem.readTail( new File( file, "jar", tempDir ), 4 ).get( ) ).isEqualTo( "6789".getBytes( StandardCharsets.UTF_8 ) );
+		assertThat( fileSystem.readTail( new File( file, "jar", tempDir ), 100 ).get( ) ).isEqualTo( "0123456789".getBytes( StandardCharsets.UTF_8 ) );
+		assertThat( fileSystem.readTail( new File( tempDir.resolve( "missing.jar" ), "jar", tempDir ), 4 ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "readChunks on non-existing file should return empty option" )
+	void readChunksOnNonExistingFileShouldReturnEmptyOption( ) {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		final File file = new File( Paths.get( "doesNotExist.txt" ), ".txt", Paths.get( "." ) );
+		final Option<Long> result = fileSystem.readChunks( file, ByteBuffer.allocate( 4 ), chunk -> {
+		} );
+		assertThat( result ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "readChunks on existing file should pass content in chunks" )
+	void readChunksOnExistingFileShouldPassContentInChunks( ) throws URISyntaxException {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		final URL fileUrl = getClass( ).getResource( "file.txt" );
+		final Path filePath = Paths.get( fileUrl.toURI( ) );
+		final StringBuilder content = new StringBuilder( );
+		final Option<Long> result = fileSystem.readChunks( new File( filePath, ".txt", filePath.getParent( ) ), ByteBuffer.allocate( 4 ), chunk -> {
+			assertThat( chunk.remaining( ) ).isLessThanOrEqualTo( 4 );
+			content.append( StandardCharsets.UTF_8.decode( chunk ) );
+		} );
+		assertThat( result ).contains( 11L );
+		assertThat( content.toString( ) ).isEqualTo( "SomeContent" );
+	}
+
+	@Test
+	@DisplayName( "mapChunks on non-existing file should return empty option" )
+	void mapChunksOnNonExistingFileShouldReturnEmptyOption( ) {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		final File file = new File( Paths.get( "doesNotExist.txt" ), ".txt", Paths.get( "." ) );
+		final Option<Long> result = fileSystem.mapChunks( file, 4L, chunk -> {
+		} );
+		assertThat( result ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "mapChunks on existing file should pass content in windows" )
+	void mapChunksOnExistingFileShouldPassContentInWindows( ) throws URISyntaxException {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		final URL fileUrl = getClass( ).getResource( "file.txt" );
+		final Path filePath = Paths.get( fileUrl.toURI( ) );
+		final StringBuilder content = new StringBuilder( );
+		final Option<Long> result = fileSystem.mapChunks( new File( filePath, ".txt", filePath.getParent( ) ), 4L, chunk -> {
+			assertThat( chunk.remaining( ) ).isLessThanOrEqualTo( 4 );
+			content.append( StandardCharsets.UTF_8.decode( chunk ) );
+		} );
+		assertThat( result ).contains( 11L );
+		assertThat( content.toString( ) ).isEqualTo( "SomeContent" );
+	}
+
+	@Test
+	@DisplayName( "getSize should return size" )
+	void getSizeShouldReturnSize( ) throws URISyntaxException {
+		final FileSystem fileSystem = new RealFileSystem( );
+
+		final URL fileUrl = getClass( ).getResource( "file.txt" );
+		final Path filePath = Paths.get( fileUrl.toURI( ) );
+		assertThat( fileSystem.getSize( new File( filePath, ".txt", filePath.getParent( ) ) ) ).contains( 11L );
+		assertThat( fileSystem.getSize( new File( Paths.get( "doesNotExist.txt" ), ".txt", Paths.get( "." ) ) ) ).isEmpty( );
+	}
+
 	@Test
 	@DisplayName( "readString on non-existing file should return empty optional" )
 	void readStringOnNonExistingFileShouldReturnEmptyOptional( ) {
@@ -0,0 +1,113 @@
+package de.rhocas.nce.msv.adapter.jfr;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.adapter.filesystem.RealFileSystem;
+import de.rhocas.nce.msv.adapter.sha1.DefaultSHA1Calculator;
+import de.rhocas.nce.msv.adapter.sha1.MappedSHA1Calculator;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.filter.PathPrefixFilter;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import jdk.jfr.Recording;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+
+@DisplayName( "Unit-Test for the flight recorder events" )
+final class FlightRecorderEventsTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "Traversal, hashing and removal should be recorded" )
+	void traversalHashingAndRemovalShouldBeRecorded( ) throws Exception {
+		final Path repository = Files.createDirectories( tempDir.resolve( "repository" ) );
+		final Path artifactDirectory = Files.createDirectories( repository.resolve( "artifact" ) );
+		final Path ignoredDirectory = Files.createDirectories( repository.resolve( "ignored" ) );
+		Files.write( artifactDirectory.resolve( "artifact-1.0.pom" ), "content".getBytes( StandardCharsets.UTF_8 ) );
+		Files.write( ignoredDirectory.resolve( "ignored-1.0.pom" ), "content".getBytes( StandardCharsets.UTF_8 ) );
+
+		final FileSystem fileSystem = new RealFileSystem( );
+		final Path recordingFile = tempDir.resolve( "recording.jfr" );
+		try ( Recording recording = new Recording( ) ) {
+			recording.enable( "de.rhocas.nce.msv.DirectoryVisited" );
+			recording.enable( "de.rhocas.nce.msv.FileRead" );
+			recording.enable( "de.rhocas.nce.msv.FileHashed" );
+			recording.enable( "de.rhocas.nce.msv.FileDeleted" );
+			recording.start( );
+
+			final List<File> files = fileSystem.listFilesInDirectory( repository, new PathPrefixFilter( Collections.singletonList( "ignored" ) ) ).get( );
+			assertThat( files ).hasSize( 1 );
+			new DefaultSHA1Calculator( fileSystem ).calculate( files.get( 0 ), EnumSet.of( ChecksumAlgorithm.SHA1, ChecksumAlgorithm.MD5 ) );
+			new MappedSHA1Calculator( fileSystem, new DefaultSHA1Calculator( fileSystem ), 0, 4 ).calculate( files.get( 0 ), EnumSet.of( ChecksumAlgorithm.SHA1 ) );
+			fileSystem.removeFiles( Collections.singletonList( files.get( 0 ) ) );
+
+			recording.stop( );
+			recording.dump( recordingFile );
+		}
+
+		final List<RecordedEvent> events = RecordingFile.readAllEvents( recordingFile );
+		final String pomPath = artifactDirectory.resolve( "artifact-1.0.pom" ).toString( );
+
+		assertThat( filter( events, "de.rhocas.nce.msv.DirectoryVisited" ) )
+				.extracting( event -> event.getString( "path" ) + ":" + event.getInt( "files" ) + ":" + event.getBoolean( "skipped" ) )
+				.containsExactlyInAnyOrder( repository + ":0:false", artifactDirectory + ":1:false", ignoredDirectory + ":0:true" );
+		assertThat( filter( events, "de.rhocas.nce.msv.FileRead" ) )
+				.extracting( event -> event.getString( "mode" ) + ":" + event.getLong( "bytes" ) )
+				.containsExactlyInAnyOrder( "chunks:7", "mapped:7" );
+		assertThat( filter( events, "de.rhocas.nce.msv.FileHashed" ) )
+				.extracting( event -> event.getString( "path" ) + ":" + event.getLong( "size" ) + ":" + event.getString( "algorithms" ) )
+				.containsExactlyInAnyOrder( pomPath + ":7:[MD5, SHA1]", pomPath + ":7:[SHA1]" );
+		assertThat( filter( events, "de.rhocas.nce.msv.FileHashed" ) )
+				.allSatisfy( event -> assertThat( event.getDuration( "digestTime" ) ).isLessThanOrEqualTo( event.getDuration( ) ) );
+		assertThat( filter( events, "de.rhocas.nce.msv.FileDeleted" ) )
+				.extracting( event -> event.getString( "path" ) + ":" + event.getBoolean( "deleted" ) )
+				.containsExactly( pomPath + ":true" );
+	}
+
+	@Test
+	@DisplayName( "Events should only be created while a recording is running" )
+	void eventsShouldOnlyBeCreatedWhileRecordingIsRunning( ) {
+		assertNoEventIsRecorded( );
+		try ( Recording recording = new Recording( ) ) {
+			recording.enable( "de.rhocas.nce.msv.DirectoryVisited" );
+			recording.enable( "de.rhocas.nce.msv.FileRead" );
+			recording.enable( "de.rhocas.nce.msv.FileHashed" );
+			recording.enable( "de.rhocas.nce.msv.FileDeleted" );
+			recording.start( );
+
+			assertThat( FileHashedEvent.isRecorded( ) ).isTrue( );
+			assertThat( FileReadEvent.beginIfRecorded( ) ).isNotEmpty( );
+			assertThat( DirectoryVisitedEvent.beginIfRecorded( ) ).isNotEmpty( );
+			assertThat( FileDeletedEvent.beginIfRecorded( ) ).isNotEmpty( );
+		}
+		assertNoEventIsRecorded( );
+	}
+
+	private void assertNoEventIsRecorded( ) {
+		assertThat( FileHashedEvent.isRecorded( ) ).isFalse( );
+		assertThat( FileReadEvent.beginIfRecorded( ) ).isEmpty( );
+		assertThat( DirectoryVisitedEvent.beginIfRecorded( ) ).isEmpty( );
+		assertThat( FileDeletedEvent.beginIfRecorded( ) ).isEmpty( );
+	}
+
+	private List<RecordedEvent> filter( final List<RecordedEvent> events, final String name ) {
+		return events.stream( )
+				.filter( event -> event.getEventType( ).getName( ).equals( name ) )
+				.collect( Collectors.toList( ) );
+	}
+
+}
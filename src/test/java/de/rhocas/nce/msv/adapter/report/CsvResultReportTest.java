@@ -0,0 +1,56 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.port.Console;
+
+@DisplayName( "Unit-Test for CsvResultReport" )
+final class CsvResultReportTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "Results should be written below the header" )
+	void resultsShouldBeWrittenBelowHeader( ) throws IOException {
+		final Path reportFile = tempDir.resolve( "report.csv" );
+		final CsvResultReport report = new CsvResultReport( reportFile, mock( Console.class ) );
+		final File jarFile = new File( tempDir.resolve( "lib-1.0.jar" ), "jar", tempDir );
+		final File pomFile = new File( tempDir.resolve( "lib,\"1.0\".pom" ), "pom", tempDir );
+
+		report.invalidFileDetected( jarFile );
+		report.removalFinished( new RemovalReport( Collections.singletonList( jarFile ), Collections.emptyList( ), Collections.singletonList( pomFile ) ) );
+		report.close( );
+
+		assertThat( Files.readAllLines( reportFile, StandardCharsets.UTF_8 ) ).containsExactly(
+				"type,path",
+				"invalid," + jarFile,
+				"removed," + jarFile,
+				"not-removed,\"" + tempDir.resolve( "lib,\"\"1.0\"\".pom" ) + "\"" );
+	}
+
+	@Test
+	@DisplayName( "Empty report should contain the header" )
+	void emptyReportShouldContainHeader( ) throws IOException {
+		final Path reportFile = tempDir.resolve( "report.csv" );
+		final CsvResultReport report = new CsvResultReport( reportFile, mock( Console.class ) );
+
+		report.close( );
+
+		assertThat( Files.readAllLines( reportFile, StandardCharsets.UTF_8 ) ).containsExactly( "type,path" );
+	}
+
+}
@@ -0,0 +1,90 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.ReportedResults;
+import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.ResultReport;
+
+@DisplayName( "Unit-Test for FileResultReportReader" )
+final class FileResultReportReaderTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "JSON lines reports should be read" )
+	void jsonLinesReportsShouldBeRead( ) {
+		final Path reportFile = tempDir.resolve( "report.jsonl" );
+		writeReport( new JsonLinesResultReport( reportFile, mock( Console.class ) ) );
+
+		assertReadResults( reportFile );
+	}
+
+	@Test
+	@DisplayName( "CSV reports should be read" )
+	void csvReportsShouldBeRead( ) {
+		final Path reportFile = tempDir.resolve( "report.csv" );
+		writeReport( new CsvResultReport( reportFile, mock( Console.class ) ) );
+
+		assertReadResults( reportFile );
+	}
+
+	@Test
+	@DisplayName( "Empty reports should be read" )
+	void emptyReportsShouldBeRead( ) {
+		final Path reportFile = tempDir.resolve( "report.csv" );
+		new CsvResultReport( reportFile, mock( Console.class ) ).close( );
+
+		final ReportedResults results = new FileResultReportReader( ).read( reportFile ).get( );
+
+		assertThat( results.getInvalidFiles( ) ).isEmpty( );
+		assertThat( results.getRemovalReport( ).getRemovedFiles( ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Missing and malformed reports should result in an error" )
+	void missingAndMalformedReportsShouldResultInError( ) throws IOException {
+		final Path missingFile = tempDir.resolve( "missing.jsonl" );
+		final Path malformedFile = tempDir.resolve( "malformed.jsonl" );
+		Files.write( malformedFile, Collections.singletonList( "{\"type\":\"unknown\",\"path\":\"lib-1.0.jar\"}" ), StandardCharsets.UTF_8 );
+
+		final FileResultReportReader reader = new FileResultReportReader( );
+
+		assertThat( reader.read( missingFile ).getLeft( ).getReportFile( ) ).isEqualTo( missingFile );
+		assertThat( reader.read( malformedFile ).getLeft( ).getReportFile( ) ).isEqualTo( malformedFile );
+	}
+
+	private void writeReport( final ResultReport report ) {
+		final File jarFile = new File( tempDir.resolve( "lib-1.0.jar" ), "jar", tempDir );
+		final File pomFile = new File( tempDir.resolve( "lib,\"1.0\"\n.pom" ), "pom", tempDir );
+		report.invalidFileDetected( jarFile );
+		report.invalidFileDetected( pomFile );
+		report.removalFinished( new RemovalReport( Collections.singletonList( jarFile ), Collections.singletonList( tempDir ), Collections.singletonList( pomFile ) ) );
+		report.close( );
+	}
+
+	private void assertReadResults( final Path reportFile ) {
+		final ReportedResults results = new FileResultReportReader( ).read( reportFile ).get( );
+
+		assertThat( results.getInvalidFiles( ) ).extracting( File::getPath ).containsExactly( tempDir.resolve( "lib-1.0.jar" ), tempDir.resolve( "lib,\"1.0\"\n.pom" ) );
+		assertThat( results.getInvalidFiles( ).get( 0 ).getExtension( ) ).contains( "jar" );
+		assertThat( results.getRemovalReport( ).getRemovedFiles( ) ).extracting( File::getPath ).containsExactly( tempDir.resolve( "lib-1.0.jar" ) );
+		assertThat( results.getRemovalReport( ).getRemovedDirectories( ) ).containsExactly( tempDir );
+		assertThat( results.getRemovalReport( ).getUnremovableFiles( ) ).extracting( File::getPath ).containsExactly( tempDir.resolve( "lib,\"1.0\"\n.pom" ) );
+	}
+
+}
@@ -0,0 +1,83 @@
+package de.rhocas.nce.msv.adapter.report;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.port.Console;
+
+@DisplayName( "Unit-Test for JsonLinesResultReport" )
+final class JsonLinesResultReportTest {
+
+	@TempDir
+	Path tempDir;
+
+	@Test
+	@DisplayName( "Results should be written as soon as they are reported" )
+	void resultsShouldBeWrittenImmediately( ) throws IOException {
+		final Path reportFile = tempDir.resolve( "report.jsonl" );
+		final Console console = mock( Console.class );
+		final JsonLinesResultReport report = new JsonLinesResultReport( reportFile, console );
+		final File jarFile = new File( tempDir.resolve( "lib-1.0.jar" ), "jar", tempDir );
+		final File pomFile = new File( tempDir.resolve( "lib-\"1.0\".pom" ), "pom", tempDir );
+
+		report.invalidFileDetected( jarFile );
+		assertThat( Files.readAllLines( reportFile, StandardCharsets.UTF_8 ) ).containsExactly( "{\"type\":\"invalid\",\"path\":\"" + jarFile + "\"}" );
+
+		report.removalFinished( new RemovalReport( Collections.singletonList( jarFile ), Collections.singletonList( tempDir ), Collections.singletonList( pomFile ) ) );
+		report.close( );
+
+		assertThat( Files.readAllLines( reportFile, StandardCharsets.UTF_8 ) ).containsExactly(
+				"{\"type\":\"invalid\",\"path\":\"" + jarFile + "\"}",
+				"{\"type\":\"removed\",\"path\":\"" + jarFile + "\"}",
+				"{\"type\":\"directory-removed\",\"path\":\"" + tempDir + "\"}",
+				"{\"type\":\"not-removed\",\"path\":\"" + tempDir.resolve( "lib-\\\"1.0\\\".pom" ) + "\"}" );
+		verifyNoInteractions( console );
+	}
+
+	@Test
+	@DisplayName( "Empty report should be written on close" )
+	void emptyReportShouldBeWrittenOnClose( ) throws IOException {
+		final Path reportFile = tempDir.resolve( "report.jsonl" );
+		final JsonLinesResultReport report = new JsonLinesResultReport( reportFile, mock( Console.class ) );
+
+		report.close( );
+
+		assertThat( Files.readAllLines( reportFile, StandardCharsets.UTF_8 ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Error should be printed once if the report cannot be written" )
+	void errorShouldBePrintedOnce( ) {
+		final Path reportFile = tempDir.resolve( "doesNotExist/report.jsonl" );
+		final Console console = mock( Console.class );
+		final JsonLinesResultReport report = new JsonLinesResultReport( reportFile, console );
+		final File jarFile = new File( tempDir.resolve( "lib-1.0.jar" ), "jar", tempDir );
+
+		report.invalidFileDetected( jarFile );
+		report.invalidFileDetected( jarFile );
+		report.close( );
+
+		verify( console ).printError( "The report '" + reportFile + "' could not be written." );
+	}
+
+	@Test
+	@DisplayName( "Control characters and backslashes should be escaped" )
+	void controlCharactersShouldBeEscaped( ) {
+		assertThat( JsonLinesResultReport.escape( "a\\b\tc" ) ).isEqualTo( "a\\\\b\\u0009c" );
+	}
+
+}
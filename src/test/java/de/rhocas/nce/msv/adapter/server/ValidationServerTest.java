@@ -0,0 +1,162 @@
+package de.rhocas.nce.msv.adapter.server;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.HttpURLConnection;
+import java.net.InetSocketAddress;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import com.sun.net.httpserver.Headers;
+
+import de.rhocas.nce.msv.adapter.server.ValidationServer.Response;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.usecase.ListInvalidFiles;
+import io.vavr.control.Either;
+import io.vavr.control.Option;
+
+@DisplayName( "Unit-Test for ValidationServer" )
+final class ValidationServerTest {
+
+	private static final Path ROOT_DIRECTORY = Paths.get( "repository" );
+	private static final String SEPARATOR = FileSystems.getDefault( ).getSeparator( );
+
+	@Test
+	@DisplayName( "Invalid files of the requested subtree should be returned and passed to the consumer" )
+	void invalidFilesOfRequestedSubtreeShouldBeReturned( ) throws IOException {
+		final File invalidFile = new File( ROOT_DIRECTORY.resolve( "org/lib/1.0/lib-1.0.jar" ), "jar", ROOT_DIRECTORY );
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		when( listInvalidFiles.listInvalidFilesWithoutPersisting( eq( ROOT_DIRECTORY ), any( ), any( ) ) ).thenReturn( Either.right( Collections.singletonList( invalidFile ) ) );
+		final List<File> consumedFiles = new ArrayList<>( );
+
+		final ValidationServer server = new ValidationServer( listInvalidFiles, ROOT_DIRECTORY, TraversalFilter.ALL, consumedFiles::add );
+		final InetSocketAddress address = server.start( 0 );
+		try {
+			final HttpURLConnection connection = (HttpURLConnection) new URL( "http://" + address.getHostString( ) + ':' + address.getPort( ) + "/validate?path=org%2Flib&include=org%3Alib" ).openConnection( );
+			connection.setRequestMethod( "POST" );
+
+			assertThat( connection.getResponseCode( ) ).isEqualTo( 200 );
+			try ( InputStream inputStream = connection.getInputStream( ) ) {
+				final String body = new String( inputStream.readAllBytes( ), StandardCharsets.UTF_8 );
+				assertThat( body ).startsWith( "{\"invalidFiles\":[\"" + invalidFile.getPath( ) + "\"],\"verifiedFiles\":0,\"cachedFiles\":0,\"elapsedNanos\":" );
+			}
+		} finally {
+			server.stop( );
+		}
+
+		assertThat( consumedFiles ).containsExactly( invalidFile );
+		final ArgumentCaptor<TraversalFilter> filterCaptor = ArgumentCaptor.forClass( TraversalFilter.class );
+		verify( listInvalidFiles ).listInvalidFilesWithoutPersisting( eq( ROOT_DIRECTORY ), filterCaptor.capture( ), any( ) );
+		final TraversalFilter filter = filterCaptor.getValue( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "lib" + SEPARATOR + "1.0" + SEPARATOR + "lib-1.0.jar" ) ).isTrue( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "other" + SEPARATOR + "1.0" + SEPARATOR + "other-1.0.jar" ) ).isFalse( );
+		verify( listInvalidFiles ).persistVerificationCache( );
+	}
+
+	@Test
+	@DisplayName( "GET requests should not trigger a validation" )
+	void getRequestsShouldNotTriggerValidation( ) throws IOException {
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+
+		final ValidationServer server = new ValidationServer( listInvalidFiles, ROOT_DIRECTORY, TraversalFilter.ALL, file -> {
+		} );
+		final InetSocketAddress address = server.start( 0 );
+		try {
+			final HttpURLConnection connection = (HttpURLConnection) new URL( "http://" + address.getHostString( ) + ':' + address.getPort( ) + "/validate" ).openConnection( );
+
+			assertThat( connection.getResponseCode( ) ).isEqualTo( 405 );
+			assertThat( connection.getHeaderField( "Allow" ) ).isEqualTo( "POST" );
+		} finally {
+			server.stop( );
+		}
+
+		verify( listInvalidFiles, never( ) ).listInvalidFilesWithoutPersisting( any( ), any( ), any( ) );
+	}
+
+	@Test
+	@DisplayName( "Only requests to the loopback address without foreign origin should be local" )
+	void onlyRequestsToLoopbackAddressWithoutForeignOriginShouldBeLocal( ) {
+		assertThat( ValidationServer.isLocalRequest( headers( "localhost:8787", null ) ) ).isTrue( );
+		assertThat( ValidationServer.isLocalRequest( headers( "127.0.0.1:8787", "http://127.0.0.1:8787" ) ) ).isTrue( );
+		assertThat( ValidationServer.isLocalRequest( headers( "[::1]:8787", null ) ) ).isTrue( );
+		assertThat( ValidationServer.isLocalRequest( headers( "LOCALHOST", null ) ) ).isTrue( );
+
+		assertThat( ValidationServer.isLocalRequest( headers( null, null ) ) ).isFalse( );
+		// DNS rebinding
+		assertThat( ValidationServer.isLocalRequest( headers( "attacker.example:8787", null ) ) ).isFalse( );
+		assertThat( ValidationServer.isLocalRequest( headers( "localhost.attacker.example", null ) ) ).isFalse( );
+		// Forms and scripts of web pages
+		assertThat( ValidationServer.isLocalRequest( headers( "127.0.0.1:8787", "https://attacker.example" ) ) ).isFalse( );
+		assertThat( ValidationServer.isLocalRequest( headers( "127.0.0.1:8787", "null" ) ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "Paths outside of the repository should be rejected" )
+	void pathsOutsideOfRepositoryShouldBeRejected( ) {
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+
+		final ValidationServer server = new ValidationServer( listInvalidFiles, ROOT_DIRECTORY, TraversalFilter.ALL, file -> {
+		} );
+		final Response response = server.validate( "path=..%2Fother" );
+
+		assertThat( response.getStatus( ) ).isEqualTo( 400 );
+		assertThat( response.getBody( ) ).isEqualTo( "{\"error\":\"The path '../other' is not within the repository.\"}" );
+		verifyNoInteractions( listInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Unparsable filter rules and unknown parameters should be rejected" )
+	void unparsableFilterRulesAndUnknownParametersShouldBeRejected( ) {
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+
+		final ValidationServer server = new ValidationServer( listInvalidFiles, ROOT_DIRECTORY, TraversalFilter.ALL, file -> {
+		} );
+
+		assertThat( server.validate( "include=*:*:%5B1.0" ).getBody( ) ).isEqualTo( "{\"error\":\"The filter rule '*:*:[1.0' cannot be parsed.\"}" );
+		assertThat( server.validate( "coordinate=org.lib" ).getBody( ) ).isEqualTo( "{\"error\":\"The parameter 'coordinate' is not supported.\"}" );
+		assertThat( server.validate( "path=%zz" ).getStatus( ) ).isEqualTo( 400 );
+		verifyNoInteractions( listInvalidFiles );
+	}
+
+	@Test
+	@DisplayName( "Cache should not be persisted without validation" )
+	void cacheShouldNotBePersistedWithoutValidation( ) throws IOException {
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+
+		final ValidationServer server = new ValidationServer( listInvalidFiles, ROOT_DIRECTORY, TraversalFilter.ALL, file -> {
+		} );
+		server.start( 0 );
+		server.stop( );
+		server.stop( );
+
+		verify( listInvalidFiles, never( ) ).persistVerificationCache( );
+	}
+
+	private static Headers headers( final String host, final String origin ) {
+		final Headers headers = new Headers( );
+		Option.of( host ).forEach( value -> headers.set( "Host", value ) );
+		Option.of( origin ).forEach( value -> headers.set( "Origin", value ) );
+		return headers;
+	}
+
+}
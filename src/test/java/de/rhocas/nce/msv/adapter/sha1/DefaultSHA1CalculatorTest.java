@@ -1,14 +1,24 @@
 package de.rhocas.nce.msv.adapter.sha1;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
 import de.rhocas.nce.msv.domain.entity.File;
 import de.rhocas.nce.msv.domain.port.FileSystem;
 import io.vavr.control.Option;
@@ -16,16 +26,18 @@ import io.vavr.control.Option;
 @DisplayName( "Unit-Test for DefaultSHA1Calculator" )
 final class DefaultSHA1CalculatorTest {
 
+	private static final Set<ChecksumAlgorithm> SHA1 = EnumSet.of( ChecksumAlgorithm.SHA1 );
+
 	@Test
 	@DisplayName( "Optional from file system should be routed through" )
 	void optionalFromFileSystemShouldBeRoutedThrough( ) {
 		final File file = new File( null, null, null );
 
 		final FileSystem fileSystem = mock( FileSystem.class );
-		when( fileSystem.readBytes( file ) ).thenReturn( Option.none( ) );
+		when( fileSystem.readChunks( eq( file ), any( ), any( ) ) ).thenReturn( Option.none( ) );
 
 		final DefaultSHA1Calculator calculator = new DefaultSHA1Calculator( fileSystem );
-		final Option<String> result = calculator.calculate( file );
+		final Option<Checksums> result = calculator.calculate( file, SHA1 );
 
 		assertThat( result.isEmpty( ) ).isTrue( );
 	}
@@ -36,12 +48,12 @@ final class DefaultSHA1CalculatorTest {
 		final File file = new File( null, null, null );
 
 		final FileSystem fileSystem = mock( FileSystem.class );
-		when( fileSystem.readBytes( file ) ).thenReturn( Option.of( new byte[0] ) );
+		mockReadChunks( fileSystem, file, new byte[0] );
 
 		final DefaultSHA1Calculator calculator = new DefaultSHA1Calculator( fileSystem );
-		final Option<String> result = calculator.calculate( file );
+		final Option<Checksums> result = calculator.calculate( file, SHA1 );
 
-		assertThat( result.get( ) ).isEqualTo( "da39a3ee5e6b4b0d3255bfef95601890afd80709" );
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA1 ).get( ) ).isEqualTo( hex( "da39a3ee5e6b4b0d3255bfef95601890afd80709" ) );
 	}
 
 	@Test
@@ -50,12 +62,70 @@ final class DefaultSHA1CalculatorTest {
 		final File file = new File( null, null, null );
 
 		final FileSystem fileSystem = mock( FileSystem.class );
-		when( fileSystem.readBytes( file ) ).thenReturn( Option.of( "Franz jagt im komplett verwahrlosten Taxi quer durch Bayern".getBytes( StandardCharsets.UTF_8 ) ) );
+		mockReadChunks( fileSystem, file, "Franz jagt im komplett verwahrlosten Taxi quer durch Bayern".getBytes( StandardCharsets.UTF_8 ) );
 
 		final DefaultSHA1Calculator calculator = new DefaultSHA1Calculator( fileSystem );
-		final Option<String> result = calculator.calculate( file );
+		final Option<Checksums> result = calculator.calculate( file, SHA1 );
+
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA1 ).get( ) ).isEqualTo( hex( "68ac906495480a3404beee4874ed853a037a7a8f" ) );
+	}
+
+	@Test
+	@DisplayName( "SHA-1 should be calculated correctly over multiple chunks with direct buffer" )
+	void sha1ShouldBeCalculatedCorrectlyOverMultipleChunksWithDirectBuffer( ) {
+		final File file = new File( null, null, null );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockReadChunks( fileSystem, file, "Franz jagt im komplett verwahrlosten Taxi quer durch Bayern".getBytes( StandardCharsets.UTF_8 ) );
+
+		final DefaultSHA1Calculator calculator = new DefaultSHA1Calculator( fileSystem, 7, true );
+		final Option<Checksums> result = calculator.calculate( file, SHA1 );
+
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA1 ).get( ) ).isEqualTo( hex( "68ac906495480a3404beee4874ed853a037a7a8f" ) );
+	}
+
+	@Test
+	@DisplayName( "All checksums should be calculated correctly over multiple chunks" )
+	void allChecksumsShouldBeCalculatedCorrectlyOverMultipleChunks( ) {
+		final File file = new File( null, null, null );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockReadChunks( fileSystem, file, "Franz jagt im komplett verwahrlosten Taxi quer durch Bayern".getBytes( StandardCharsets.UTF_8 ) );
+
+		final DefaultSHA1Calculator calculator = new DefaultSHA1Calculator( fileSystem, 7, false );
+		final Option<Checksums> result = calculator.calculate( file, EnumSet.allOf( ChecksumAlgorithm.class ) );
+
+		assertThat( result.get( ).get( ChecksumAlgorithm.MD5 ).get( ) ).isEqualTo( hex( "a3cca2b2aa1e3b5b3b5aad99a8529074" ) );
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA1 ).get( ) ).isEqualTo( hex( "68ac906495480a3404beee4874ed853a037a7a8f" ) );
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA256 ).get( ) ).isEqualTo( hex( "d32b568cd1b96d459e7291ebf4b25d007f275c9f13149beeb782fac0716613f8" ) );
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA512 ).get( ) ).isEqualTo( hex( "af9ed2de700433b803240a552b41b5a472a6ef3fe1431a722b2063c75e9f07451f67a28e37d09cde769424c96aea6f8971389db9e1993d6c565c3c71b855723c" ) );
+		verify( fileSystem ).readChunks( eq( file ), any( ), any( ) );
+	}
+
+	@SuppressWarnings( "unchecked" )
+	private void mockReadChunks( final FileSystem fileSystem, final File file, final byte[] content ) {
+		doAnswer( invocation -> {
+			final ByteBuffer buffer = invocation.getArgument( 1, ByteBuffer.class );
+			final Consumer<ByteBuffer> consumer = invocation.getArgument( 2, Consumer.class );
+			int offset = 0;
+			while ( offset < content.length ) {
+				final int length = Math.min( buffer.capacity( ), content.length - offset );
+				buffer.clear( );
+				buffer.put( content, offset, length );
+				buffer.flip( );
+				consumer.accept( buffer );
+				offset += length;
+			}
+			return Option.of( (long) content.length );
+		} ).when( fileSystem ).readChunks( eq( file ), any( ), any( ) );
+	}
 
-		assertThat( result.get( ) ).isEqualTo( "68ac906495480a3404beee4874ed853a037a7a8f" );
+	private static byte[] hex( final String hex ) {
+		final byte[] bytes = new byte[hex.length( ) / 2];
+		for ( int i = 0; i < bytes.length; i++ ) {
+			bytes[i] = (byte) Integer.parseInt( hex.substring( 2 * i, 2 * i + 2 ), 16 );
+		}
+		return bytes;
 	}
 
 }
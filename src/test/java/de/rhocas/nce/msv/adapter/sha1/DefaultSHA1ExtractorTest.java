@@ -1,14 +1,22 @@
 package de.rhocas.nce.msv.adapter.sha1;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.charset.StandardCharsets;
 import java.nio.file.Paths;
+import java.util.Collections;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.DirectoryListing;
 import de.rhocas.nce.msv.domain.entity.File;
 import de.rhocas.nce.msv.domain.port.FileSystem;
 import io.vavr.control.Option;
@@ -17,17 +25,16 @@ import io.vavr.control.Option;
 final class DefaultSHA1ExtractorTest {
 
 	@Test
-	@DisplayName( "Optional from file system should be routed through" )
-	void optionalFromFileSystemShouldBeRoutedThrough( ) {
+	@DisplayName( "Missing checksum files should result in empty checksums" )
+	void missingChecksumFilesShouldResultInEmptyChecksums( ) {
 		final File file = new File( Paths.get( "file.jar" ), null, Paths.get( "." ) );
 
-		final FileSystem fileSystem = mock( FileSystem.class );
-		when( fileSystem.getSiblingFile( file, "file.jar.sha1" ) ).thenReturn( Option.none( ) );
+		final FileSystem fileSystem = mockFileSystem( );
 
 		final DefaultSHA1Extractor calculator = new DefaultSHA1Extractor( fileSystem );
-		final Option<String> result = calculator.extract( file );
+		final Option<Checksums> result = calculator.extract( file );
 
-		assertThat( result.isEmpty( ) ).isTrue( );
+		assertThat( result.get( ).isEmpty( ) ).isTrue( );
 	}
 
 	@Test
@@ -36,12 +43,12 @@ final class DefaultSHA1ExtractorTest {
 		final File file = new File( Paths.get( "file.jar" ), "jar", Paths.get( "." ) );
 		final File sha1File = new File( Paths.get( "file.jar.sha1" ), "sha1", Paths.get( "." ) );
 
-		final FileSystem fileSystem = mock( FileSystem.class );
+		final FileSystem fileSystem = mockFileSystem( );
 		when( fileSystem.getSiblingFile( file, "file.jar.sha1" ) ).thenReturn( Option.of( sha1File ) );
-		when( fileSystem.readString( sha1File ) ).thenReturn( Option.none( ) );
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.none( ) );
 
 		final DefaultSHA1Extractor calculator = new DefaultSHA1Extractor( fileSystem );
-		final Option<String> result = calculator.extract( file );
+		final Option<Checksums> result = calculator.extract( file );
 
 		assertThat( result.isEmpty( ) ).isTrue( );
 	}
@@ -52,14 +59,31 @@ final class DefaultSHA1ExtractorTest {
 		final File file = new File( Paths.get( "file.jar" ), "jar", Paths.get( "." ) );
 		final File sha1File = new File( Paths.get( "file.jar.sha1" ), "sha1", Paths.get( "." ) );
 
-		final FileSystem fileSystem = mock( FileSystem.class );
+		final FileSystem fileSystem = mockFileSystem( );
 		when( fileSystem.getSiblingFile( file, "file.jar.sha1" ) ).thenReturn( Option.of( sha1File ) );
-		when( fileSystem.readString( sha1File ) ).thenReturn( Option.of( "05adf2e681c57d7f48038b602f3ca2254ee82d47" ) );
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.of( "05adf2e681c57d7f48038b602f3ca2254ee82d47".getBytes( StandardCharsets.US_ASCII ) ) );
 
 		final DefaultSHA1Extractor calculator = new DefaultSHA1Extractor( fileSystem );
-		final Option<String> result = calculator.extract( file );
+		final Option<Checksums> result = calculator.extract( file );
 
-		assertThat( result.get( ) ).isEqualTo( "05adf2e681c57d7f48038b602f3ca2254ee82d47" );
+		assertThat( result.get( ) ).isEqualTo( Checksums.of( ChecksumAlgorithm.SHA1, hex( "05adf2e681c57d7f48038b602f3ca2254ee82d47" ) ) );
+	}
+
+	@Test
+	@DisplayName( "Checksum files should be resolved from the directory listing" )
+	void checksumFilesShouldBeResolvedFromTheDirectoryListing( ) {
+		final File file = new File( Paths.get( "file.jar" ), "jar", Paths.get( "." ) );
+		final File sha1File = new File( Paths.get( "file.jar.sha1" ), "sha1", Paths.get( "." ) );
+		final DirectoryListing listing = new DirectoryListing( Paths.get( "." ), Collections.singletonList( file ), Collections.singletonMap( "file.jar.sha1", sha1File ), Collections.emptyMap( ) );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.of( "05adf2e681c57d7f48038b602f3ca2254ee82d47".getBytes( StandardCharsets.US_ASCII ) ) );
+
+		final DefaultSHA1Extractor calculator = new DefaultSHA1Extractor( fileSystem );
+		final Option<Checksums> result = calculator.extract( file, listing );
+
+		assertThat( result.get( ) ).isEqualTo( Checksums.of( ChecksumAlgorithm.SHA1, hex( "05adf2e681c57d7f48038b602f3ca2254ee82d47" ) ) );
+		verify( fileSystem, never( ) ).getSiblingFile( any( ), any( ) );
 	}
 
 	@Test
@@ -68,14 +92,88 @@ final class DefaultSHA1ExtractorTest {
 		final File file = new File( Paths.get( "file.jar" ), "jar", Paths.get( "." ) );
 		final File sha1File = new File( Paths.get( "file.jar.sha1" ), "sha1", Paths.get( "." ) );
 
-		final FileSystem fileSystem = mock( FileSystem.class );
+		final FileSystem fileSystem = mockFileSystem( );
+		when( fileSystem.getSiblingFile( file, "file.jar.sha1" ) ).thenReturn( Option.of( sha1File ) );
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.of( "682f7ac17fed79e92f8e87d8455192b63376347b  /home/maven/repository-staging/to-ibiblio/maven2/backport-util-concurrent/backport-util-concurrent/3.1/backport-util-concurrent-3.1.jar".getBytes( StandardCharsets.US_ASCII ) ) );
+
+		final DefaultSHA1Extractor calculator = new DefaultSHA1Extractor( fileSystem );
+		final Option<Checksums> result = calculator.extract( file );
+
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA1 ).get( ) ).isEqualTo( hex( "682f7ac17fed79e92f8e87d8455192b63376347b" ) );
+	}
+
+	@Test
+	@DisplayName( "All checksum files should be extracted" )
+	void allChecksumFilesShouldBeExtracted( ) {
+		final File file = new File( Paths.get( "file.jar" ), "jar", Paths.get( "." ) );
+		final File md5File = new File( Paths.get( "file.jar.md5" ), "md5", Paths.get( "." ) );
+		final File sha256File = new File( Paths.get( "file.jar.sha256" ), "sha256", Paths.get( "." ) );
+
+		final FileSystem fileSystem = mockFileSystem( );
+		when( fileSystem.getSiblingFile( file, "file.jar.md5" ) ).thenReturn( Option.of( md5File ) );
+		when( fileSystem.getSiblingFile( file, "file.jar.sha256" ) ).thenReturn( Option.of( sha256File ) );
+		when( fileSystem.readBytes( md5File ) ).thenReturn( Option.of( "a3cca2b2aa1e3b5b3b5aad99a8529074".getBytes( StandardCharsets.US_ASCII ) ) );
+		when( fileSystem.readBytes( sha256File ) ).thenReturn( Option.of( "d32b568cd1b96d459e7291ebf4b25d007f275c9f13149beeb782fac0716613f8".getBytes( StandardCharsets.US_ASCII ) ) );
+
+		final DefaultSHA1Extractor calculator = new DefaultSHA1Extractor( fileSystem );
+		final Option<Checksums> result = calculator.extract( file );
+
+		assertThat( result.get( ).getAlgorithms( ) ).containsExactly( ChecksumAlgorithm.MD5, ChecksumAlgorithm.SHA256 );
+		assertThat( result.get( ).get( ChecksumAlgorithm.MD5 ).get( ) ).isEqualTo( hex( "a3cca2b2aa1e3b5b3b5aad99a8529074" ) );
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA256 ).get( ) ).isEqualTo( hex( "d32b568cd1b96d459e7291ebf4b25d007f275c9f13149beeb782fac0716613f8" ) );
+	}
+
+	@Test
+	@DisplayName( "Surrounding whitespace and upper case digits should be accepted" )
+	void surroundingWhitespaceAndUpperCaseDigitsShouldBeAccepted( ) {
+		final File file = new File( Paths.get( "file.jar" ), "jar", Paths.get( "." ) );
+		final File sha1File = new File( Paths.get( "file.jar.sha1" ), "sha1", Paths.get( "." ) );
+
+		final FileSystem fileSystem = mockFileSystem( );
 		when( fileSystem.getSiblingFile( file, "file.jar.sha1" ) ).thenReturn( Option.of( sha1File ) );
-		when( fileSystem.readString( sha1File ) ).thenReturn( Option.of( "682f7ac17fed79e92f8e87d8455192b63376347b  /home/maven/repository-staging/to-ibiblio/maven2/backport-util-concurrent/backport-util-concurrent/3.1/backport-util-concurrent-3.1.jar" ) );
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.of( " 05ADF2E681C57D7F48038B602F3CA2254EE82D47\r\n".getBytes( StandardCharsets.US_ASCII ) ) );
 
 		final DefaultSHA1Extractor calculator = new DefaultSHA1Extractor( fileSystem );
-		final Option<String> result = calculator.extract( file );
+		final Option<Checksums> result = calculator.extract( file );
+
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA1 ).get( ) ).isEqualTo( hex( "05adf2e681c57d7f48038b602f3ca2254ee82d47" ) );
+	}
+
+	@Test
+	@DisplayName( "Malformed checksum files should result in empty option" )
+	void malformedChecksumFilesShouldResultInEmptyOption( ) {
+		final File file = new File( Paths.get( "file.jar" ), "jar", Paths.get( "." ) );
+		final File sha1File = new File( Paths.get( "file.jar.sha1" ), "sha1", Paths.get( "." ) );
+
+		final FileSystem fileSystem = mockFileSystem( );
+		when( fileSystem.getSiblingFile( file, "file.jar.sha1" ) ).thenReturn( Option.of( sha1File ) );
+		final DefaultSHA1Extractor calculator = new DefaultSHA1Extractor( fileSystem );
+
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.of( "05adf2e681c57d7f48038b602f3ca2254ee82d4".getBytes( StandardCharsets.US_ASCII ) ) );
+		assertThat( calculator.extract( file ).isEmpty( ) ).isTrue( );
+
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.of( "05adf2e681c57d7f48038b602f3ca2254ee82d478".getBytes( StandardCharsets.US_ASCII ) ) );
+		assertThat( calculator.extract( file ).isEmpty( ) ).isTrue( );
+
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.of( "05adf2e681c57d7f48038b602f3ca2254ee82dxx".getBytes( StandardCharsets.US_ASCII ) ) );
+		assertThat( calculator.extract( file ).isEmpty( ) ).isTrue( );
+
+		when( fileSystem.readBytes( sha1File ) ).thenReturn( Option.of( new byte[0] ) );
+		assertThat( calculator.extract( file ).isEmpty( ) ).isTrue( );
+	}
+
+	private FileSystem mockFileSystem( ) {
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSiblingFile( any( ), any( ) ) ).thenReturn( Option.none( ) );
+		return fileSystem;
+	}
 
-		assertThat( result.get( ) ).isEqualTo( "682f7ac17fed79e92f8e87d8455192b63376347b" );
+	private static byte[] hex( final String hex ) {
+		final byte[] bytes = new byte[hex.length( ) / 2];
+		for ( int i = 0; i < bytes.length; i++ ) {
+			bytes[i] = (byte) Integer.parseInt( hex.substring( 2 * i, 2 * i + 2 ), 16 );
+		}
+		return bytes;
 	}
 
 }
@@ -0,0 +1,138 @@
+package de.rhocas.nce.msv.adapter.sha1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Paths;
+import java.util.EnumSet;
+import java.util.Set;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileMetadata;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.SHA1Calculator;
+import io.vavr.control.Option;
+
+@DisplayName( "Unit-Test for HardlinkAwareSHA1Calculator" )
+final class HardlinkAwareSHA1CalculatorTest {
+
+	private static final Set<ChecksumAlgorithm> SHA1 = EnumSet.of( ChecksumAlgorithm.SHA1 );
+	private static final Set<ChecksumAlgorithm> SHA1_AND_SHA256 = EnumSet.of( ChecksumAlgorithm.SHA1, ChecksumAlgorithm.SHA256 );
+	private static final FileMetadata METADATA = new FileMetadata( 42L, 4711L, "(dev=1,ino=2)" );
+	private static final Checksums CHECKSUMS = Checksums.of( ChecksumAlgorithm.SHA1, new byte[] { 1, 2, 3 } );
+
+	private final File firstLink = new File( Paths.get( "org/lib/1.0/lib-1.0.jar" ), "jar", Paths.get( "." ) );
+	private final File secondLink = new File( Paths.get( "com/lib/1.0/lib-1.0.jar" ), "jar", Paths.get( "." ) );
+
+	@Test
+	@DisplayName( "Hardlinked files should be hashed only once" )
+	void hardlinkedFilesShouldBeHashedOnlyOnce( ) {
+		final FileSystem fileSystem = mockLinks( 2 );
+		final SHA1Calculator delegate = mock( SHA1Calculator.class );
+		when( delegate.calculate( any( ), any( ) ) ).thenReturn( Option.of( CHECKSUMS ) );
+
+		final HardlinkAwareSHA1Calculator calculator = new HardlinkAwareSHA1Calculator( fileSystem, delegate, HardlinkAwareSHA1Calculator.DEFAULT_MAXIMAL_SHARED_FILES );
+
+		assertThat( calculator.calculate( firstLink, SHA1 ) ).contains( CHECKSUMS );
+		assertThat( calculator.calculate( secondLink, SHA1 ) ).contains( CHECKSUMS );
+		verify( delegate ).calculate( firstLink, SHA1 );
+		verify( delegate, never( ) ).calculate( secondLink, SHA1 );
+	}
+
+	@Test
+	@DisplayName( "Checksums should be forgotten after all links have been hashed" )
+	void checksumsShouldBeForgottenAfterAllLinksHaveBeenHashed( ) {
+		final FileSystem fileSystem = mockLinks( 2 );
+		final SHA1Calculator delegate = mock( SHA1Calculator.class );
+		when( delegate.calculate( any( ), any( ) ) ).thenReturn( Option.of( CHECKSUMS ) );
+
+		final HardlinkAwareSHA1Calculator calculator = new HardlinkAwareSHA1Calculator( fileSystem, delegate, HardlinkAwareSHA1Calculator.DEFAULT_MAXIMAL_SHARED_FILES );
+		calculator.calculate( firstLink, SHA1 );
+		calculator.calculate( secondLink, SHA1 );
+		calculator.calculate( firstLink, SHA1 );
+
+		verify( delegate, times( 2 ) ).calculate( firstLink, SHA1 );
+	}
+
+	@Test
+	@DisplayName( "Only the least recently used checksums should be kept" )
+	void onlyLeastRecentlyUsedChecksumsShouldBeKept( ) {
+		final File otherFile = new File( Paths.get( "org/other/1.0/other-1.0.jar" ), "jar", Paths.get( "." ) );
+		final FileSystem fileSystem = mockLinks( 3 );
+		when( fileSystem.getMetadata( otherFile ) ).thenReturn( Option.of( new FileMetadata( 42L, 4711L, "(dev=1,ino=3)" ) ) );
+		final SHA1Calculator delegate = mock( SHA1Calculator.class );
+		when( delegate.calculate( any( ), any( ) ) ).thenReturn( Option.of( CHECKSUMS ) );
+
+		// The third link of each file is never calculated, e.g. as it is not within the repository
+		final HardlinkAwareSHA1Calculator calculator = new HardlinkAwareSHA1Calculator( fileSystem, delegate, 1 );
+		calculator.calculate( firstLink, SHA1 );
+		calculator.calculate( otherFile, SHA1 );
+		calculator.calculate( secondLink, SHA1 );
+
+		verify( delegate ).calculate( firstLink, SHA1 );
+		verify( delegate ).calculate( otherFile, SHA1 );
+		verify( delegate ).calculate( secondLink, SHA1 );
+	}
+
+	@Test
+	@DisplayName( "Files with a single link should be delegated directly" )
+	void filesWithSingleLinkShouldBeDelegatedDirectly( ) {
+		final FileSystem fileSystem = mockLinks( 1 );
+		final SHA1Calculator delegate = mock( SHA1Calculator.class );
+		when( delegate.calculate( any( ), any( ) ) ).thenReturn( Option.of( CHECKSUMS ) );
+
+		final HardlinkAwareSHA1Calculator calculator = new HardlinkAwareSHA1Calculator( fileSystem, delegate, HardlinkAwareSHA1Calculator.DEFAULT_MAXIMAL_SHARED_FILES );
+		calculator.calculate( firstLink, SHA1 );
+		calculator.calculate( secondLink, SHA1 );
+
+		verify( delegate ).calculate( firstLink, SHA1 );
+		verify( delegate ).calculate( secondLink, SHA1 );
+		verify( fileSystem, never( ) ).getMetadata( any( ) );
+	}
+
+	@Test
+	@DisplayName( "Links requiring further algorithms should be hashed again" )
+	void linksRequiringFurtherAlgorithmsShouldBeHashedAgain( ) {
+		final FileSystem fileSystem = mockLinks( 2 );
+		final SHA1Calculator delegate = mock( SHA1Calculator.class );
+		when( delegate.calculate( any( ), any( ) ) ).thenReturn( Option.of( CHECKSUMS ) );
+
+		final HardlinkAwareSHA1Calculator calculator = new HardlinkAwareSHA1Calculator( fileSystem, delegate, HardlinkAwareSHA1Calculator.DEFAULT_MAXIMAL_SHARED_FILES );
+		calculator.calculate( firstLink, SHA1 );
+		calculator.calculate( secondLink, SHA1_AND_SHA256 );
+
+		verify( delegate ).calculate( secondLink, SHA1_AND_SHA256 );
+	}
+
+	@Test
+	@DisplayName( "Links of unreadable files should be hashed again" )
+	void linksOfUnreadableFilesShouldBeHashedAgain( ) {
+		final FileSystem fileSystem = mockLinks( 2 );
+		final SHA1Calculator delegate = mock( SHA1Calculator.class );
+		when( delegate.calculate( firstLink, SHA1 ) ).thenReturn( Option.none( ) );
+		when( delegate.calculate( secondLink, SHA1 ) ).thenReturn( Option.of( CHECKSUMS ) );
+
+		final HardlinkAwareSHA1Calculator calculator = new HardlinkAwareSHA1Calculator( fileSystem, delegate, HardlinkAwareSHA1Calculator.DEFAULT_MAXIMAL_SHARED_FILES );
+
+		assertThat( calculator.calculate( firstLink, SHA1 ) ).isEmpty( );
+		assertThat( calculator.calculate( secondLink, SHA1 ) ).contains( CHECKSUMS );
+	}
+
+	private FileSystem mockLinks( final int linkCount ) {
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getLinkCount( any( ) ) ).thenReturn( Option.of( linkCount ) );
+		when( fileSystem.getMetadata( any( ) ) ).thenReturn( Option.of( METADATA ) );
+		return fileSystem;
+	}
+
+}
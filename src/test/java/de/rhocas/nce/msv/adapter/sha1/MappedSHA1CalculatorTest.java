@@ -0,0 +1,102 @@
+package de.rhocas.nce.msv.adapter.sha1;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.EnumSet;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.SHA1Calculator;
+import io.vavr.control.Option;
+
+@DisplayName( "Unit-Test for MappedSHA1Calculator" )
+final class MappedSHA1CalculatorTest {
+
+	private static final Set<ChecksumAlgorithm> SHA1 = EnumSet.of( ChecksumAlgorithm.SHA1 );
+
+	@Test
+	@DisplayName( "Small files should be delegated" )
+	void smallFilesShouldBeDelegated( ) {
+		final File file = new File( null, null, null );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( file ) ).thenReturn( Option.of( 10L ) );
+		final SHA1Calculator smallFileCalculator = mock( SHA1Calculator.class );
+		when( smallFileCalculator.calculate( file, SHA1 ) ).thenReturn( Option.of( Checksums.of( ChecksumAlgorithm.SHA1, hex( "da39a3ee5e6b4b0d3255bfef95601890afd80709" ) ) ) );
+
+		final MappedSHA1Calculator calculator = new MappedSHA1Calculator( fileSystem, smallFileCalculator, 10L, 4L );
+		final Option<Checksums> result = calculator.calculate( file, SHA1 );
+
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA1 ).get( ) ).isEqualTo( hex( "da39a3ee5e6b4b0d3255bfef95601890afd80709" ) );
+		verify( fileSystem ).getSize( file );
+		verify( smallFileCalculator ).calculate( file, SHA1 );
+	}
+
+	@Test
+	@DisplayName( "Large files should be mapped" )
+	@SuppressWarnings( "unchecked" )
+	void largeFilesShouldBeMapped( ) {
+		final File file = new File( null, null, null );
+		final byte[] content = "Franz jagt im komplett verwahrlosten Taxi quer durch Bayern".getBytes( StandardCharsets.UTF_8 );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( file ) ).thenReturn( Option.of( (long) content.length ) );
+		doAnswer( invocation -> {
+			final long windowSize = invocation.getArgument( 1, Long.class );
+			final Consumer<ByteBuffer> consumer = invocation.getArgument( 2, Consumer.class );
+			for ( int offset = 0; offset < content.length; offset += windowSize ) {
+				consumer.accept( ByteBuffer.wrap( content, offset, (int) Math.min( windowSize, content.length - offset ) ) );
+			}
+			return Option.of( (long) content.length );
+		} ).when( fileSystem ).mapChunks( eq( file ), eq( 4L ), any( ) );
+		final SHA1Calculator smallFileCalculator = mock( SHA1Calculator.class );
+
+		final MappedSHA1Calculator calculator = new MappedSHA1Calculator( fileSystem, smallFileCalculator, 10L, 4L );
+		final Option<Checksums> result = calculator.calculate( file, SHA1 );
+
+		assertThat( result.get( ).get( ChecksumAlgorithm.SHA1 ).get( ) ).isEqualTo( hex( "68ac906495480a3404beee4874ed853a037a7a8f" ) );
+		verifyNoInteractions( smallFileCalculator );
+	}
+
+	@Test
+	@DisplayName( "Inaccessible files should result in empty option" )
+	void inaccessibleFilesShouldResultInEmptyOption( ) {
+		final File file = new File( null, null, null );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( file ) ).thenReturn( Option.of( 100L ) );
+		when( fileSystem.mapChunks( eq( file ), anyLong( ), any( ) ) ).thenReturn( Option.none( ) );
+		final SHA1Calculator smallFileCalculator = mock( SHA1Calculator.class );
+
+		final MappedSHA1Calculator calculator = new MappedSHA1Calculator( fileSystem, smallFileCalculator, 10L, 4L );
+		final Option<Checksums> result = calculator.calculate( file, SHA1 );
+
+		assertThat( result.isEmpty( ) ).isTrue( );
+	}
+
+	private static byte[] hex( final String hex ) {
+		final byte[] bytes = new byte[hex.length( ) / 2];
+		for ( int i = 0; i < bytes.length; i++ ) {
+			bytes[i] = (byte) Integer.parseInt( hex.substring( 2 * i, 2 * i + 2 ), 16 );
+		}
+		return bytes;
+	}
+
+}
@@ -0,0 +1,87 @@
+package de.rhocas.nce.msv.adapter.structure;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import de.rhocas.nce.msv.adapter.filesystem.RealFileSystem;
+import de.rhocas.nce.msv.domain.entity.File;
+
+@DisplayName( "Unit-Test for ArchiveStructureCheck" )
+final class ArchiveStructureCheckTest {
+
+	@TempDir
+	Path tempDir;
+
+	private final ArchiveStructureCheck structureCheck = new ArchiveStructureCheck( new RealFileSystem( ) );
+
+	@Test
+	@DisplayName( "Complete jars should be intact" )
+	void completeJarsShouldBeIntact( ) throws IOException {
+		final Path jar = writeJar( "lib-1.0.jar", null );
+
+		assertThat( isIntact( jar, "jar" ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Jars with a comment should be intact" )
+	void jarsWithCommentShouldBeIntact( ) throws IOException {
+		final Path jar = writeJar( "lib-1.0.jar", "Built by the release pipeline" );
+
+		assertThat( isIntact( jar, "jar" ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Truncated jars should be damaged" )
+	void truncatedJarsShouldBeDamaged( ) throws IOException {
+		final Path jar = writeJar( "lib-1.0.jar", null );
+		final byte[] content = Files.readAllBytes( jar );
+		Files.write( jar, Arrays.copyOf( content, content.length - 10 ) );
+
+		assertThat( isIntact( jar, "jar" ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "Empty files should be damaged" )
+	void emptyFilesShouldBeDamaged( ) throws IOException {
+		final Path pom = Files.createFile( tempDir.resolve( "lib-1.0.pom" ) );
+
+		assertThat( isIntact( pom, "pom" ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "Other files should only be checked for content" )
+	void otherFilesShouldOnlyBeCheckedForContent( ) throws IOException {
+		final Path pom = Files.write( tempDir.resolve( "lib-1.0.pom" ), "<project/>".getBytes( ) );
+
+		assertThat( isIntact( pom, "pom" ) ).isTrue( );
+	}
+
+	private boolean isIntact( final Path path, final String extension ) throws IOException {
+		return structureCheck.isIntact( new File( path, extension, tempDir ), Files.size( path ) );
+	}
+
+	private Path writeJar( final String name, final String comment ) throws IOException {
+		final Path jar = tempDir.resolve( name );
+		try ( OutputStream outputStream = Files.newOutputStream( jar ); ZipOutputStream zipOutputStream = new ZipOutputStream( outputStream ) ) {
+			zipOutputStream.putNextEntry( new ZipEntry( "META-INF/MANIFEST.MF" ) );
+			zipOutputStream.write( "Manifest-Version: 1.0\n".getBytes( ) );
+			zipOutputStream.closeEntry( );
+			if ( comment != null ) {
+				zipOutputStream.setComment( comment );
+			}
+		}
+		return jar;
+	}
+
+}
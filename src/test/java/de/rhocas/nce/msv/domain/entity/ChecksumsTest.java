@@ -0,0 +1,48 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "Unit-Test for Checksums" )
+final class ChecksumsTest {
+
+	private static final byte[] MD5 = new byte[16];
+	private static final byte[] SHA1 = new byte[20];
+	private static final byte[] SHA256 = new byte[32];
+
+	@Test
+	@DisplayName( "Matching checksums should confirm the file" )
+	void matchingChecksumsShouldConfirmTheFile( ) {
+		final Checksums expectedChecksums = Checksums.of( ChecksumAlgorithm.MD5, MD5 ).with( ChecksumAlgorithm.SHA1, SHA1 );
+		final Checksums actualChecksums = Checksums.of( ChecksumAlgorithm.MD5, MD5 ).with( ChecksumAlgorithm.SHA1, SHA1 );
+
+		assertThat( expectedChecksums.isConfirmedBy( actualChecksums ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Any mismatching checksum should reject the file" )
+	void anyMismatchingChecksumShouldRejectTheFile( ) {
+		final Checksums expectedChecksums = Checksums.of( ChecksumAlgorithm.MD5, new byte[] { 1 } ).with( ChecksumAlgorithm.SHA256, SHA256 );
+		final Checksums actualChecksums = Checksums.of( ChecksumAlgorithm.MD5, MD5 ).with( ChecksumAlgorithm.SHA256, SHA256 );
+
+		assertThat( expectedChecksums.isConfirmedBy( actualChecksums ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "MD5 alone should not confirm the file" )
+	void md5AloneShouldNotConfirmTheFile( ) {
+		final Checksums expectedChecksums = Checksums.of( ChecksumAlgorithm.MD5, MD5 );
+		final Checksums actualChecksums = Checksums.of( ChecksumAlgorithm.MD5, MD5 );
+
+		assertThat( expectedChecksums.isConfirmedBy( actualChecksums ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "No expected checksum should not confirm the file" )
+	void noExpectedChecksumShouldNotConfirmTheFile( ) {
+		assertThat( Checksums.EMPTY.isConfirmedBy( Checksums.of( ChecksumAlgorithm.SHA1, SHA1 ) ) ).isFalse( );
+	}
+
+}
@@ -0,0 +1,52 @@
+package de.rhocas.nce.msv.domain.entity;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "Unit-Test for LatencyHistogram" )
+final class LatencyHistogramTest {
+
+	@Test
+	@DisplayName( "Empty histogram should report zero" )
+	void emptyHistogramShouldReportZero( ) {
+		final LatencyHistogram histogram = new LatencyHistogram( );
+
+		assertThat( histogram.getCount( ) ).isZero( );
+		assertThat( histogram.getMeanNanos( ) ).isZero( );
+		assertThat( histogram.getPercentileNanos( 99 ) ).isZero( );
+		assertThat( histogram.getMaximalNanos( ) ).isZero( );
+	}
+
+	@Test
+	@DisplayName( "Percentiles should be bounded by the buckets" )
+	void percentilesShouldBeBoundedByTheBuckets( ) {
+		final LatencyHistogram histogram = new LatencyHistogram( );
+		for ( int i = 0; i < 90; i++ ) {
+			histogram.record( 1_000 );
+		}
+		for ( int i = 0; i < 10; i++ ) {
+			histogram.record( 1_000_000 );
+		}
+
+		assertThat( histogram.getCount( ) ).isEqualTo( 100 );
+		assertThat( histogram.getMeanNanos( ) ).isEqualTo( 100_900 );
+		assertThat( histogram.getPercentileNanos( 50 ) ).isBetween( 1_000L, 2_047L );
+		assertThat( histogram.getPercentileNanos( 90 ) ).isBetween( 1_000L, 2_047L );
+		assertThat( histogram.getPercentileNanos( 99 ) ).isEqualTo( 1_000_000 );
+		assertThat( histogram.getMaximalNanos( ) ).isEqualTo( 1_000_000 );
+	}
+
+	@Test
+	@DisplayName( "Extreme latencies should be recorded" )
+	void extremeLatenciesShouldBeRecorded( ) {
+		final LatencyHistogram histogram = new LatencyHistogram( );
+		histogram.record( -5 );
+		histogram.record( Long.MAX_VALUE );
+
+		assertThat( histogram.getPercentileNanos( 50 ) ).isZero( );
+		assertThat( histogram.getPercentileNanos( 100 ) ).isEqualTo( Long.MAX_VALUE );
+	}
+
+}
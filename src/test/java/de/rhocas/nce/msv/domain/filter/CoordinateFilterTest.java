@@ -0,0 +1,131 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.domain.error.FilterRuleCannotBeParsed;
+import io.vavr.control.Either;
+
+@DisplayName( "Unit-Test for CoordinateFilter" )
+final class CoordinateFilterTest {
+
+	@Test
+	@DisplayName( "Without rules everything should be included" )
+	void withoutRulesEverythingShouldBeIncluded( ) {
+		final TraversalFilter filter = compile( Collections.emptyList( ), Collections.emptyList( ) );
+
+		assertThat( filter.includesDirectory( path( "org", "apache" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "org", "apache", "commons", "1.0", "commons-1.0.jar" ) ) ).isTrue( );
+		assertThat( filter.includesFile( "archetype-catalog.xml" ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Invalid rules should result in error" )
+	void invalidRulesShouldResultInError( ) {
+		final Either<FilterRuleCannotBeParsed, TraversalFilter> result = CoordinateFilter.compile( Arrays.asList( "*:*:*", "a:b:[1.0" ), Collections.emptyList( ) );
+
+		assertThat( result.getLeft( ).getRule( ) ).isEqualTo( "a:b:[1.0" );
+		assertThat( CoordinateFilter.compile( Collections.emptyList( ), Collections.singletonList( "a:b:c:d:e:f" ) ).isLeft( ) ).isTrue( );
+		assertThat( CoordinateFilter.compile( Collections.emptyList( ), Collections.singletonList( "a:b:(1.0)" ) ).isLeft( ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Snapshots of group should be included" )
+	void snapshotsOfGroupShouldBeIncluded( ) {
+		final TraversalFilter filter = compile( Collections.singletonList( "com.ourcorp:*:*-SNAPSHOT" ), Collections.emptyList( ) );
+
+		assertThat( filter.includesFile( path( "com", "ourcorp", "lib", "1.0-SNAPSHOT", "lib-1.0-SNAPSHOT.jar" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "com", "ourcorp", "lib", "1.0-SNAPSHOT", "lib-1.0-20200101.123456-1-sources.jar" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "com", "ourcorp", "lib", "1.0", "lib-1.0.jar" ) ) ).isFalse( );
+		assertThat( filter.includesFile( path( "com", "ourcorp", "sub", "lib", "1.0-SNAPSHOT", "lib-1.0-SNAPSHOT.jar" ) ) ).isFalse( );
+		assertThat( filter.includesFile( path( "org", "apache", "lib", "1.0-SNAPSHOT", "lib-1.0-SNAPSHOT.jar" ) ) ).isFalse( );
+		assertThat( filter.includesFile( "lib-1.0-SNAPSHOT.jar" ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "Directories which cannot contain included files should be excluded" )
+	void directoriesWhichCannotContainIncludedFilesShouldBeExcluded( ) {
+		final TraversalFilter filter = compile( Collections.singletonList( "com.ourcorp:*:*-SNAPSHOT" ), Collections.emptyList( ) );
+
+		assertThat( filter.includesDirectory( path( "com" ) ) ).isTrue( );
+		assertThat( filter.includesDirectory( path( "com", "ourcorp" ) ) ).isTrue( );
+		assertThat( filter.includesDirectory( path( "com", "ourcorp", "lib" ) ) ).isTrue( );
+		assertThat( filter.includesDirectory( path( "com", "ourcorp", "lib", "1.0-SNAPSHOT" ) ) ).isTrue( );
+		assertThat( filter.includesDirectory( path( "com", "ourcorp", "lib", "1.0" ) ) ).isFalse( );
+		assertThat( filter.includesDirectory( path( "com", "other" ) ) ).isFalse( );
+		assertThat( filter.includesDirectory( path( "org" ) ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "Version ranges should be honored" )
+	void versionRangesShouldBeHonored( ) {
+		final TraversalFilter filter = compile( Collections.singletonList( "*:*:[2020,)" ), Collections.emptyList( ) );
+
+		assertThat( filter.includesFile( path( "a", "lib", "2020", "lib-2020.jar" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "a", "lib", "2021.1.2", "lib-2021.1.2.jar" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "a", "lib", "2019.12", "lib-2019.12.jar" ) ) ).isFalse( );
+		assertThat( filter.includesFile( path( "a", "lib", "2020-SNAPSHOT", "lib-2020-SNAPSHOT.jar" ) ) ).isFalse( );
+		assertThat( filter.includesDirectory( path( "a", "lib", "2019.12" ) ) ).isTrue( );
+
+		final TraversalFilter groupFilter = compile( Collections.singletonList( "a:*:[2020,)" ), Collections.emptyList( ) );
+		assertThat( groupFilter.includesDirectory( path( "a", "lib", "2019.12" ) ) ).isFalse( );
+		assertThat( groupFilter.includesDirectory( path( "a", "lib", "2020.1" ) ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Bounded and exact version ranges should be honored" )
+	void boundedAndExactVersionRangesShouldBeHonored( ) {
+		final TraversalFilter bounded = compile( Collections.singletonList( "*:*:(1.0,2.0-rc1]" ), Collections.emptyList( ) );
+
+		assertThat( bounded.includesFile( path( "a", "lib", "1.0", "lib-1.0.jar" ) ) ).isFalse( );
+		assertThat( bounded.includesFile( path( "a", "lib", "1.0.1", "lib-1.0.1.jar" ) ) ).isTrue( );
+		assertThat( bounded.includesFile( path( "a", "lib", "2.0-beta-2", "lib-2.0-beta-2.jar" ) ) ).isTrue( );
+		assertThat( bounded.includesFile( path( "a", "lib", "2.0-rc1", "lib-2.0-rc1.jar" ) ) ).isTrue( );
+		assertThat( bounded.includesFile( path( "a", "lib", "2.0", "lib-2.0.jar" ) ) ).isFalse( );
+
+		final TraversalFilter exact = compile( Collections.singletonList( "*:*:[1.0]" ), Collections.emptyList( ) );
+		assertThat( exact.includesFile( path( "a", "lib", "1.0", "lib-1.0.jar" ) ) ).isTrue( );
+		assertThat( exact.includesFile( path( "a", "lib", "1.0.0", "lib-1.0.0.jar" ) ) ).isTrue( );
+		assertThat( exact.includesFile( path( "a", "lib", "1.0.1", "lib-1.0.1.jar" ) ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "Extensions and classifiers should be honored" )
+	void extensionsAndClassifiersShouldBeHonored( ) {
+		final TraversalFilter filter = compile( Collections.singletonList( "*:*:*:jar,pom" ), Collections.singletonList( "*:*:*:*:sources,javadoc" ) );
+
+		assertThat( filter.includesFile( path( "a", "lib", "1.0", "lib-1.0.jar" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "a", "lib", "1.0", "lib-1.0.pom" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "a", "lib", "1.0", "lib-1.0-tests.jar" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "a", "lib", "1.0", "lib-1.0-sources.jar" ) ) ).isFalse( );
+		assertThat( filter.includesFile( path( "a", "lib", "1.0", "lib-1.0-javadoc.jar" ) ) ).isFalse( );
+		assertThat( filter.includesFile( path( "a", "lib", "1.0", "lib-1.0.zip" ) ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "Excludes should not prune directories" )
+	void excludesShouldNotPruneDirectories( ) {
+		final TraversalFilter filter = compile( Collections.emptyList( ), Collections.singletonList( "org.apache:*" ) );
+
+		assertThat( filter.includesDirectory( path( "org", "apache" ) ) ).isTrue( );
+		assertThat( filter.includesFile( path( "org", "apache", "lib", "1.0", "lib-1.0.jar" ) ) ).isFalse( );
+		assertThat( filter.includesFile( path( "org", "apache", "sub", "lib", "1.0", "lib-1.0.jar" ) ) ).isTrue( );
+		assertThat( filter.includesFile( "lib-1.0.jar" ) ).isTrue( );
+	}
+
+	private TraversalFilter compile( final List<String> includeRules, final List<String> excludeRules ) {
+		return CoordinateFilter.compile( includeRules, excludeRules ).get( );
+	}
+
+	private String path( final String... segments ) {
+		return String.join( File.separator, segments );
+	}
+
+}
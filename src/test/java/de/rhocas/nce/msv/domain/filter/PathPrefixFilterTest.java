@@ -0,0 +1,52 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "Unit-Test for PathPrefixFilter" )
+final class PathPrefixFilterTest {
+
+	private static final String SEPARATOR = File.separator;
+
+	@Test
+	@DisplayName( "Without prefixes everything should be included" )
+	void withoutPrefixesEverythingShouldBeIncluded( ) {
+		final TraversalFilter filter = new PathPrefixFilter( Collections.emptyList( ) );
+
+		assertThat( filter.includesDirectory( "org" ) ).isTrue( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "file.pom" ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Files with prefixes should be excluded ignoring the case" )
+	void filesWithPrefixesShouldBeExcludedIgnoringTheCase( ) {
+		final TraversalFilter filter = new PathPrefixFilter( Arrays.asList( "org" + SEPARATOR + "Apache", "com" + SEPARATOR + "foo" ) );
+
+		assertThat( filter.includesFile( "org" + SEPARATOR + "apache" + SEPARATOR + "file.pom" ) ).isFalse( );
+		assertThat( filter.includesFile( "ORG" + SEPARATOR + "apachefoo.pom" ) ).isFalse( );
+		assertThat( filter.includesFile( "com" + SEPARATOR + "foo" ) ).isFalse( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "apach.pom" ) ).isTrue( );
+		assertThat( filter.includesFile( "net" + SEPARATOR + "file.pom" ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Directories should only be excluded if all files are excluded" )
+	void directoriesShouldOnlyBeExcludedIfAllFilesAreExcluded( ) {
+		final TraversalFilter filter = new PathPrefixFilter( Arrays.asList( "org" + SEPARATOR + "apache" + SEPARATOR, "com" + SEPARATOR + "foo", "net" + SEPARATOR + "bar" + SEPARATOR + "x" ) );
+
+		assertThat( filter.includesDirectory( "org" ) ).isTrue( );
+		assertThat( filter.includesDirectory( "org" + SEPARATOR + "apache" ) ).isFalse( );
+		assertThat( filter.includesDirectory( "org" + SEPARATOR + "apache" + SEPARATOR + "commons" ) ).isFalse( );
+		assertThat( filter.includesDirectory( "com" + SEPARATOR + "foo" ) ).isFalse( );
+		assertThat( filter.includesDirectory( "com" + SEPARATOR + "foobar" ) ).isFalse( );
+		assertThat( filter.includesDirectory( "com" + SEPARATOR + "fo" ) ).isTrue( );
+		assertThat( filter.includesDirectory( "net" + SEPARATOR + "bar" ) ).isTrue( );
+	}
+
+}
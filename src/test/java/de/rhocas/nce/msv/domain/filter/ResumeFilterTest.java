@@ -0,0 +1,40 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "Unit-Test for ResumeFilter" )
+final class ResumeFilterTest {
+
+	private static final String SEPARATOR = File.separator;
+	private static final String POSITION = "org" + SEPARATOR + "lib" + SEPARATOR + "1.0" + SEPARATOR + "lib-1.0.jar";
+
+	@Test
+	@DisplayName( "Only files after the position should be included" )
+	void onlyFilesAfterPositionShouldBeIncluded( ) {
+		final TraversalFilter filter = new ResumeFilter( POSITION );
+
+		assertThat( filter.includesFile( POSITION ) ).isFalse( );
+		assertThat( filter.includesFile( "com" + SEPARATOR + "app" + SEPARATOR + "1.0" + SEPARATOR + "app-1.0.jar" ) ).isFalse( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "lib" + SEPARATOR + "1.0" + SEPARATOR + "lib-1.0-sources.jar" ) ).isFalse( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "lib" + SEPARATOR + "1.0" + SEPARATOR + "lib-1.0.pom" ) ).isTrue( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "lib" + SEPARATOR + "2.0" + SEPARATOR + "lib-2.0.jar" ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Only directories leading to or after the position should be included" )
+	void onlyDirectoriesLeadingToOrAfterPositionShouldBeIncluded( ) {
+		final TraversalFilter filter = new ResumeFilter( POSITION );
+
+		assertThat( filter.includesDirectory( "org" ) ).isTrue( );
+		assertThat( filter.includesDirectory( "org" + SEPARATOR + "lib" + SEPARATOR + "1.0" ) ).isTrue( );
+		assertThat( filter.includesDirectory( "org" + SEPARATOR + "lib" + SEPARATOR + "2.0" ) ).isTrue( );
+		assertThat( filter.includesDirectory( "com" ) ).isFalse( );
+		assertThat( filter.includesDirectory( "org" + SEPARATOR + "lia" ) ).isFalse( );
+	}
+
+}
@@ -0,0 +1,68 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.IntStream;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "Unit-Test for ShardFilter" )
+final class ShardFilterTest {
+
+	private static final String SEPARATOR = File.separator;
+
+	@Test
+	@DisplayName( "Each file should be included by exactly one shard" )
+	void eachFileShouldBeIncludedByExactlyOneShard( ) {
+		final List<TraversalFilter> filters = new ArrayList<>( );
+		for ( int index = 1; index <= 4; index++ ) {
+			filters.add( ShardFilter.compile( index + "/4" ).get( ) );
+		}
+
+		final int[] filesPerShard = new int[4];
+		for ( int artifact = 0; artifact < 200; artifact++ ) {
+			final String relativePath = "org" + SEPARATOR + "lib" + artifact + SEPARATOR + "1.0" + SEPARATOR + "lib" + artifact + "-1.0.jar";
+			int includingShards = 0;
+			for ( int index = 0; index < filters.size( ); index++ ) {
+				if ( filters.get( index ).includesFile( relativePath ) ) {
+					includingShards++;
+					filesPerShard[index]++;
+				}
+			}
+			assertThat( includingShards ).isEqualTo( 1 );
+		}
+		assertThat( IntStream.of( filesPerShard ).min( ).getAsInt( ) ).isGreaterThan( 20 );
+	}
+
+	@Test
+	@DisplayName( "All versions of an artifact should belong to the same shard" )
+	void allVersionsOfArtifactShouldBelongToSameShard( ) {
+		final String artifactDirectory = "org" + SEPARATOR + "apache" + SEPARATOR + "commons-lang3" + SEPARATOR;
+		final int shard = ShardFilter.getShard( artifactDirectory + "3.0" + SEPARATOR + "commons-lang3-3.0.jar", 16 );
+
+		assertThat( ShardFilter.getShard( artifactDirectory + "3.0" + SEPARATOR + "commons-lang3-3.0.pom", 16 ) ).isEqualTo( shard );
+		assertThat( ShardFilter.getShard( artifactDirectory + "3.12.0" + SEPARATOR + "commons-lang3-3.12.0.jar", 16 ) ).isEqualTo( shard );
+	}
+
+	@Test
+	@DisplayName( "Shards should be stable" )
+	void shardsShouldBeStable( ) {
+		// The CRC32 of "org/lib" is 0x2375B953
+		assertThat( ShardFilter.getShard( "org" + SEPARATOR + "lib" + SEPARATOR + "1.0" + SEPARATOR + "lib-1.0.jar", 1000 ) ).isEqualTo( (int) ( 0x2375B953L % 1000 ) );
+	}
+
+	@Test
+	@DisplayName( "Invalid shards should not be compiled" )
+	void invalidShardsShouldNotBeCompiled( ) {
+		assertThat( ShardFilter.compile( "0/4" ).getLeft( ).getRule( ) ).isEqualTo( "0/4" );
+		assertThat( ShardFilter.compile( "5/4" ).isLeft( ) ).isTrue( );
+		assertThat( ShardFilter.compile( "1" ).isLeft( ) ).isTrue( );
+		assertThat( ShardFilter.compile( "a/b" ).isLeft( ) ).isTrue( );
+		assertThat( ShardFilter.compile( "4/4" ).isRight( ) ).isTrue( );
+	}
+
+}
@@ -0,0 +1,58 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "Unit-Test for SubtreeFilter" )
+final class SubtreeFilterTest {
+
+	private static final String SEPARATOR = File.separator;
+
+	@Test
+	@DisplayName( "Without subtrees everything should be included" )
+	void withoutSubtreesEverythingShouldBeIncluded( ) {
+		final TraversalFilter filter = new SubtreeFilter( Collections.emptyList( ) );
+
+		assertThat( filter.includesDirectory( "org" ) ).isTrue( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "file.pom" ) ).isTrue( );
+	}
+
+	@Test
+	@DisplayName( "Only files within the subtrees should be included" )
+	void onlyFilesWithinSubtreesShouldBeIncluded( ) {
+		final TraversalFilter filter = new SubtreeFilter( Arrays.asList( "org" + SEPARATOR + "lib", "com" + SEPARATOR + "app" + SEPARATOR + "app-1.0.jar" ) );
+
+		assertThat( filter.includesFile( "org" + SEPARATOR + "lib" + SEPARATOR + "1.0" + SEPARATOR + "lib-1.0.jar" ) ).isTrue( );
+		assertThat( filter.includesFile( "com" + SEPARATOR + "app" + SEPARATOR + "app-1.0.jar" ) ).isTrue( );
+		assertThat( filter.includesFile( "com" + SEPARATOR + "app" + SEPARATOR + "app-1.0.pom" ) ).isFalse( );
+		assertThat( filter.includesFile( "org" + SEPARATOR + "library" + SEPARATOR + "1.0" + SEPARATOR + "library-1.0.jar" ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "Only directories within and above the subtrees should be included" )
+	void onlyDirectoriesWithinAndAboveSubtreesShouldBeIncluded( ) {
+		final TraversalFilter filter = new SubtreeFilter( Collections.singletonList( "org" + SEPARATOR + "lib" ) );
+
+		assertThat( filter.includesDirectory( "org" ) ).isTrue( );
+		assertThat( filter.includesDirectory( "org" + SEPARATOR + "lib" ) ).isTrue( );
+		assertThat( filter.includesDirectory( "org" + SEPARATOR + "lib" + SEPARATOR + "1.0" ) ).isTrue( );
+		assertThat( filter.includesDirectory( "org" + SEPARATOR + "library" ) ).isFalse( );
+		assertThat( filter.includesDirectory( "com" ) ).isFalse( );
+	}
+
+	@Test
+	@DisplayName( "An empty subtree should include the whole repository" )
+	void emptySubtreeShouldIncludeWholeRepository( ) {
+		final TraversalFilter filter = new SubtreeFilter( Arrays.asList( "", "org" ) );
+
+		assertThat( filter.includesDirectory( "com" ) ).isTrue( );
+		assertThat( filter.includesFile( "com" + SEPARATOR + "file.pom" ) ).isTrue( );
+	}
+
+}
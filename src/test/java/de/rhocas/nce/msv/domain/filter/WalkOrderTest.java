@@ -0,0 +1,43 @@
+package de.rhocas.nce.msv.domain.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.io.File;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+@DisplayName( "Unit-Test for WalkOrder" )
+final class WalkOrderTest {
+
+	private static final String SEPARATOR = File.separator;
+
+	@Test
+	@DisplayName( "Content of a directory should come before its next sibling" )
+	void contentOfDirectoryShouldComeBeforeItsNextSibling( ) {
+		final String directory = "org" + SEPARATOR + "lib";
+		final String content = directory + SEPARATOR + "1.0" + SEPARATOR + "lib-1.0.jar";
+		final String sibling = "org" + SEPARATOR + "lib-extra";
+		final String siblingContent = sibling + SEPARATOR + "1.0" + SEPARATOR + "lib-extra-1.0.jar";
+		final List<String> paths = new ArrayList<>( Arrays.asList( siblingContent, sibling, content, directory ) );
+
+		paths.sort( WalkOrder.COMPARATOR );
+
+		assertThat( paths ).containsExactly( directory, content, sibling, siblingContent );
+	}
+
+	@Test
+	@DisplayName( "Paths should only be within their parent directories" )
+	void pathsShouldOnlyBeWithinTheirParentDirectories( ) {
+		final String path = "org" + SEPARATOR + "lib" + SEPARATOR + "lib-1.0.jar";
+
+		assertThat( WalkOrder.isWithin( path, "org" + SEPARATOR + "lib" ) ).isTrue( );
+		assertThat( WalkOrder.isWithin( path, "" ) ).isTrue( );
+		assertThat( WalkOrder.isWithin( path, "org" + SEPARATOR + "li" ) ).isFalse( );
+		assertThat( WalkOrder.isWithin( path, path ) ).isFalse( );
+	}
+
+}
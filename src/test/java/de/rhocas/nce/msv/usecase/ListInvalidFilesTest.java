@@ -1,24 +1,63 @@
 package de.rhocas.nce.msv.usecase;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
 
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.EnumSet;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import de.rhocas.nce.msv.adapter.cache.NoVerificationCache;
+import de.rhocas.nce.msv.adapter.execution.PlatformThreadExecution;
+import de.rhocas.nce.msv.domain.entity.Checkpoint;
+import de.rhocas.nce.msv.domain.entity.ChecksumAlgorithm;
+import de.rhocas.nce.msv.domain.entity.Checksums;
+import de.rhocas.nce.msv.domain.entity.DirectoryListing;
 import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.FileFingerprint;
+import de.rhocas.nce.msv.domain.entity.FileMetadata;
+import de.rhocas.nce.msv.domain.entity.ValidationStage;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
 import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.PathPrefixFilter;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.domain.port.CheckpointStore;
+import de.rhocas.nce.msv.domain.port.ExecutionStrategy;
 import de.rhocas.nce.msv.domain.port.FileSystem;
+import de.rhocas.nce.msv.domain.port.ReadOrder;
 import de.rhocas.nce.msv.domain.port.SHA1Calculator;
 import de.rhocas.nce.msv.domain.port.SHA1Extractor;
+import de.rhocas.nce.msv.domain.port.StructureCheck;
+import de.rhocas.nce.msv.domain.port.VerificationCache;
 import io.vavr.control.Either;
 import io.vavr.control.Option;
 
@@ -36,20 +75,46 @@ final class ListInvalidFilesTest {
 		final Path directory = Paths.get( "repository" );
 
 		final FileSystem fileSystem = mock( FileSystem.class );
-		when( fileSystem.listFilesInDirectory( directory ) ).thenReturn( Either.right( Arrays.asList( file1, file2, file3, file4 ) ) );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		mockList( fileSystem, directory, file1, file2, file3, file4 );
 		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
-		when( sha1Calculator.calculate( file1 ) ).thenReturn( Option.of( "f029a2aefe2b3e1517573c580f948caac31b1056" ) );
-		when( sha1Calculator.calculate( file3 ) ).thenReturn( Option.none( ) );
+		when( sha1Calculator.calculate( eq( file1 ), any( ) ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		when( sha1Calculator.calculate( eq( file3 ), any( ) ) ).thenReturn( Option.none( ) );
 		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
-		when( sha1Extractor.extract( file1 ) ).thenReturn( Option.of( "f0" ) );
+		when( sha1Extractor.extract( file1 ) ).thenReturn( Option.of( sha1( "f0" ) ) );
 		when( sha1Extractor.extract( file3 ) ).thenReturn( Option.none( ) );
 
-		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor );
-		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, Collections.emptyList( ) );
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
 
 		assertThat( result.get( ) ).containsExactly( file1, file3 );
 	}
 
+	@Test
+	@DisplayName( "Given files should be validated without walking the directory" )
+	void givenFilesShouldBeValidatedWithoutWalking( ) {
+		final File validFile = new File( Paths.get( "valid.pom" ), "pom", Paths.get( "." ) );
+		final File invalidFile = new File( Paths.get( "invalid.jar" ), "jar", Paths.get( "." ) );
+		final File irrelevantFile = new File( Paths.get( "invalid.jar.sha1" ), "sha1", Paths.get( "." ) );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( any( ), any( ) ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( validFile ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		when( sha1Extractor.extract( invalidFile ) ).thenReturn( Option.of( sha1( "f0" ) ) );
+		final ValidationStatistics statistics = new ValidationStatistics( );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final List<File> result = listInvalidFiles.listInvalidFiles( Arrays.asList( validFile, invalidFile, irrelevantFile ), statistics );
+
+		assertThat( result ).containsExactly( invalidFile );
+		assertThat( statistics.getDiscoveredFiles( ) ).isEqualTo( 3 );
+		assertThat( statistics.getSkippedFiles( ) ).isEqualTo( 1 );
+		verify( fileSystem, never( ) ).listFilesInDirectory( any( ), any( ) );
+	}
+
 	@Test
 	@DisplayName( "Valid files should not be listed" )
 	void validFilesShouldNotBeListed( ) {
@@ -58,16 +123,193 @@ final class ListInvalidFilesTest {
 		final Path directory = Paths.get( "repository" );
 
 		final FileSystem fileSystem = mock( FileSystem.class );
-		when( fileSystem.listFilesInDirectory( directory ) ).thenReturn( Either.right( Arrays.asList( file ) ) );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		mockList( fileSystem, directory, file );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( eq( file ), any( ) ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( file ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
+
+		assertThat( result.get( ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "All checksum files should be verified in a single pass" )
+	void allChecksumFilesShouldBeVerifiedInASinglePass( ) {
+		final File validFile = new File( Paths.get( "commons-logging-1.0.4.pom" ), "pom", Paths.get( "." ) );
+		final File invalidFile = new File( Paths.get( "commons-logging-1.0.4.jar" ), "jar", Paths.get( "." ) );
+		final Checksums expectedChecksums = checksums( "f029a2aefe2b3e1517573c580f948caac31b1056", "4c81b9a4c8e7e1d2b6d36c7a6f51e3a7c6b58f3e6f0d6f1c8e0b6d9e4f5a6b7c" );
+		final Checksums actualInvalidChecksums = checksums( "f029a2aefe2b3e1517573c580f948caac31b1056", "0000000000000000000000000000000000000000000000000000000000000000" );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		mockList( fileSystem, directory, validFile, invalidFile );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( eq( validFile ), any( ) ) ).thenReturn( Option.of( expectedChecksums ) );
+		when( sha1Calculator.calculate( eq( invalidFile ), any( ) ) ).thenReturn( Option.of( actualInvalidChecksums ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( any( ) ) ).thenReturn( Option.of( expectedChecksums ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
+
+		assertThat( result.get( ) ).containsExactly( invalidFile );
+		verify( sha1Calculator ).calculate( validFile, EnumSet.of( ChecksumAlgorithm.SHA1, ChecksumAlgorithm.SHA256 ) );
+		verify( sha1Calculator ).calculate( invalidFile, EnumSet.of( ChecksumAlgorithm.SHA1, ChecksumAlgorithm.SHA256 ) );
+	}
+
+	@Test
+	@DisplayName( "Files without checksum files should not be hashed" )
+	void filesWithoutChecksumFilesShouldNotBeHashed( ) {
+		final File file = new File( Paths.get( "commons-logging-1.0.4.pom" ), "pom", Paths.get( "." ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockList( fileSystem, directory, file );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( file ) ).thenReturn( Option.of( Checksums.EMPTY ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
+
+		assertThat( result.get( ) ).containsExactly( file );
+		verifyNoInteractions( sha1Calculator );
+	}
+
+	@Test
+	@DisplayName( "Damaged files should not be hashed" )
+	void damagedFilesShouldNotBeHashed( ) {
+		final File damagedFile = new File( Paths.get( "commons-logging-1.0.4.jar" ), "jar", Paths.get( "." ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockList( fileSystem, directory, damagedFile );
+		when( fileSystem.getSize( damagedFile ) ).thenReturn( Option.of( 1024L ) );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( damagedFile ) ).thenReturn( Option.of( sha1( "f0" ) ) );
+		final StructureCheck structureCheck = mock( StructureCheck.class );
+		when( structureCheck.isIntact( damagedFile, 1024L ) ).thenReturn( false );
+		final ValidationStatistics statistics = new ValidationStatistics( );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, structureCheck, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL, statistics );
+
+		assertThat( result.get( ) ).containsExactly( damagedFile );
+		verifyNoInteractions( sha1Calculator );
+		assertThat( statistics.getLatencies( ValidationStage.STRUCTURE_CHECK ).getCount( ) ).isEqualTo( 1 );
+		assertThat( statistics.getHashedFiles( ) ).isZero( );
+	}
+
+	@Test
+	@DisplayName( "Statistics should be recorded" )
+	void statisticsShouldBeRecorded( ) {
+		final File validFile = new File( Paths.get( "commons-logging-1.0.4.pom" ), "pom", Paths.get( "." ) );
+		final File checksumFile = new File( Paths.get( "commons-logging-1.0.4.pom.sha1" ), "sha1", Paths.get( "." ) );
+		final File invalidFile = new File( Paths.get( "commons-logging-1.0.4.jar" ), "jar", Paths.get( "." ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( validFile ) ).thenReturn( Option.of( 1024L ) );
+		mockWalk( fileSystem, directory, validFile, checksumFile, invalidFile );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( eq( validFile ), any( ) ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( validFile ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		when( sha1Extractor.extract( invalidFile ) ).thenReturn( Option.of( Checksums.EMPTY ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final ValidationStatistics statistics = new ValidationStatistics( );
+		listInvalidFiles.streamInvalidFiles( directory, TraversalFilter.ALL, file -> {
+		}, statistics );
+
+		assertThat( statistics.isTraversalFinished( ) ).isTrue( );
+		assertThat( statistics.getDiscoveredFiles( ) ).isEqualTo( 3 );
+		assertThat( statistics.getSkippedFiles( ) ).isEqualTo( 1 );
+		assertThat( statistics.getVerifiedFiles( ) ).isEqualTo( 2 );
+		assertThat( statistics.getHashedFiles( ) ).isEqualTo( 1 );
+		assertThat( statistics.getHashedBytes( ) ).isEqualTo( 1024 );
+		assertThat( statistics.getInvalidFiles( ) ).isEqualTo( 1 );
+		assertThat( statistics.getPendingFiles( ) ).isZero( );
+		assertThat( statistics.getLatencies( ValidationStage.EXTRACTION ).getCount( ) ).isEqualTo( 2 );
+		assertThat( statistics.getLatencies( ValidationStage.HASHING ).getCount( ) ).isEqualTo( 1 );
+		assertThat( statistics.getLatencies( ValidationStage.CACHE_LOOKUP ).getCount( ) ).isZero( );
+	}
+
+	@Test
+	@DisplayName( "Files should be read in the read order, but reported in the walk order" )
+	void filesShouldBeReadInTheReadOrderButReportedInTheWalkOrder( ) {
+		final File file1 = new File( Paths.get( "artifact-1.0.pom" ), "pom", Paths.get( "." ) );
+		final File file2 = new File( Paths.get( "artifact-2.0.pom" ), "pom", Paths.get( "." ) );
+		final File file3 = new File( Paths.get( "artifact-3.0.pom" ), "pom", Paths.get( "." ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockList( fileSystem, directory, file1, file2, file3 );
 		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
-		when( sha1Calculator.calculate( file ) ).thenReturn( Option.of( "f029a2aefe2b3e1517573c580f948caac31b1056" ) );
+		final List<File> extractedFiles = Collections.synchronizedList( new ArrayList<>( ) );
 		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
-		when( sha1Extractor.extract( file ) ).thenReturn( Option.of( "f029a2aefe2b3e1517573c580f948caac31b1056" ) );
+		doAnswer( invocation -> {
+			extractedFiles.add( invocation.getArgument( 0, File.class ) );
+			return Option.none( );
+		} ).when( sha1Extractor ).extract( any( File.class ) );
+		final ReadOrder readOrder = files -> Arrays.asList( files.get( 2 ), files.get( 0 ), files.get( 1 ) );
 
-		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor );
-		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, Collections.emptyList( ) );
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 1 ), readOrder, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
+
+		assertThat( extractedFiles ).containsExactly( file3, file1, file2 );
+		assertThat( result.get( ) ).containsExactly( file1, file2, file3 );
+	}
+
+	@Test
+	@DisplayName( "Files should be validated by as many long-living workers as the parallelism" )
+	void filesShouldBeValidatedByAsManyLongLivingWorkersAsTheParallelism( ) {
+		final File[] files = IntStream.range( 0, 50 )
+				.mapToObj( index -> new File( Paths.get( "lib-" + index + ".jar" ), "jar", Paths.get( "." ) ) )
+				.toArray( File[]::new );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		mockList( fileSystem, directory, files );
+		final AtomicInteger runningCalculations = new AtomicInteger( );
+		final AtomicInteger maximalRunningCalculations = new AtomicInteger( );
+		final Set<Thread> calculatingThreads = ConcurrentHashMap.newKeySet( );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( any( ), any( ) ) ).thenAnswer( invocation -> {
+			calculatingThreads.add( Thread.currentThread( ) );
+			maximalRunningCalculations.accumulateAndGet( runningCalculations.incrementAndGet( ), Math::max );
+			Thread.sleep( 5 );
+			runningCalculations.decrementAndGet( );
+			return Option.of( sha1( "f0" ) );
+		} );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( any( File.class ) ) ).thenReturn( Option.of( sha1( "f0" ) ) );
+		// Like the virtual threads, this execution starts a new thread for each task
+		final ExecutionStrategy threadPerTaskExecution = mock( ExecutionStrategy.class );
+		when( threadPerTaskExecution.createExecutorService( ) ).thenAnswer( invocation -> Executors.newCachedThreadPool( ) );
+		when( threadPerTaskExecution.getParallelism( ) ).thenReturn( 2 );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), threadPerTaskExecution, ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
 
 		assertThat( result.get( ) ).isEmpty( );
+		verify( sha1Calculator, times( 50 ) ).calculate( any( ), any( ) );
+		assertThat( maximalRunningCalculations.get( ) ).isLessThanOrEqualTo( 2 );
+		// The threads (and therefore their buffers) are not created per file
+		assertThat( calculatingThreads ).hasSizeLessThanOrEqualTo( 2 );
 	}
 
 	@Test
@@ -78,16 +320,397 @@ final class ListInvalidFilesTest {
 		final Path directory = Paths.get( "repository" );
 
 		final FileSystem fileSystem = mock( FileSystem.class );
-		when( fileSystem.listFilesInDirectory( directory ) ).thenReturn( Either.right( Arrays.asList( file ) ) );
+		mockList( fileSystem, directory, file );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, new PathPrefixFilter( Collections.singletonList( "B" ) ) );
+
+		verifyNoInteractions( sha1Calculator );
+		verifyNoInteractions( sha1Extractor );
+		assertThat( result.get( ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Cached files should not be hashed" )
+	void cachedFilesShouldNotBeHashed( ) {
+		final File validFile = new File( Paths.get( "commons-logging-1.0.4.pom" ), "pom", Paths.get( "." ) );
+		final File invalidFile = new File( Paths.get( "commons-logging-1.0.4.jar" ), "jar", Paths.get( "." ) );
+		final FileMetadata metadata = new FileMetadata( 42L, 4711L, "inode" );
+		final FileFingerprint fingerprint = new FileFingerprint( metadata, Collections.emptyMap( ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockList( fileSystem, directory, validFile, invalidFile );
+		when( fileSystem.getMetadata( any( ) ) ).thenReturn( Option.of( metadata ) );
+		when( fileSystem.getSiblingFile( any( ), any( ) ) ).thenReturn( Option.none( ) );
 		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
 		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		final VerificationCache verificationCache = mock( VerificationCache.class );
+		when( verificationCache.isEnabled( ) ).thenReturn( true );
+		when( verificationCache.getValidity( validFile, fingerprint ) ).thenReturn( Option.of( true ) );
+		when( verificationCache.getValidity( invalidFile, fingerprint ) ).thenReturn( Option.of( false ) );
 
-		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor );
-		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, Collections.singletonList( "B" ) );
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, verificationCache, new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
 
+		assertThat( result.get( ) ).containsExactly( invalidFile );
 		verifyNoInteractions( sha1Calculator );
 		verifyNoInteractions( sha1Extractor );
+		verify( verificationCache ).persist( );
+	}
+
+	@Test
+	@DisplayName( "Cache should only be persisted on request if the validation does not persist it" )
+	void cacheShouldOnlyBePersistedOnRequest( ) {
+		final File invalidFile = new File( Paths.get( "commons-logging-1.0.4.jar" ), "jar", Paths.get( "." ) );
+		final FileMetadata metadata = new FileMetadata( 42L, 4711L, "inode" );
+		final FileFingerprint fingerprint = new FileFingerprint( metadata, Collections.emptyMap( ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockList( fileSystem, directory, invalidFile );
+		when( fileSystem.getMetadata( any( ) ) ).thenReturn( Option.of( metadata ) );
+		when( fileSystem.getSiblingFile( any( ), any( ) ) ).thenReturn( Option.none( ) );
+		final VerificationCache verificationCache = mock( VerificationCache.class );
+		when( verificationCache.isEnabled( ) ).thenReturn( true );
+		when( verificationCache.getValidity( invalidFile, fingerprint ) ).thenReturn( Option.of( false ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, mock( SHA1Calculator.class ), mock( SHA1Extractor.class ), verificationCache, new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFilesWithoutPersisting( directory, TraversalFilter.ALL, new ValidationStatistics( ) );
+
+		assertThat( result.get( ) ).containsExactly( invalidFile );
+		verify( verificationCache, never( ) ).persist( );
+
+		listInvalidFiles.persistVerificationCache( );
+		verify( verificationCache ).persist( );
+	}
+
+	@Test
+	@DisplayName( "Cache should only be pruned after a validation of the whole repository" )
+	void cacheShouldOnlyBePrunedAfterValidationOfWholeRepository( ) {
+		final File file = new File( Paths.get( "commons-logging-1.0.4.jar" ), "jar", Paths.get( "." ) );
+		final FileMetadata metadata = new FileMetadata( 42L, 4711L, "inode" );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockList( fileSystem, directory, file );
+		mockWalk( fileSystem, directory, file );
+		when( fileSystem.getMetadata( any( ) ) ).thenReturn( Option.of( metadata ) );
+		when( fileSystem.getSiblingFile( any( ), any( ) ) ).thenReturn( Option.none( ) );
+		final VerificationCache verificationCache = mock( VerificationCache.class );
+		when( verificationCache.isEnabled( ) ).thenReturn( true );
+		when( verificationCache.getValidity( any( ), any( ) ) ).thenReturn( Option.of( true ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, mock( SHA1Calculator.class ), mock( SHA1Extractor.class ), verificationCache, new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		listInvalidFiles.listInvalidFiles( directory, new PathPrefixFilter( Collections.singletonList( "B" ) ) );
+		listInvalidFiles.streamInvalidFiles( directory, new PathPrefixFilter( Collections.singletonList( "B" ) ), invalidFile -> {
+		} );
+		verify( verificationCache, times( 2 ) ).persist( );
+		verify( verificationCache, never( ) ).prune( );
+
+		listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
+		listInvalidFiles.streamInvalidFiles( directory, TraversalFilter.ALL, invalidFile -> {
+		} );
+		verify( verificationCache, times( 2 ) ).prune( );
+	}
+
+	@Test
+	@DisplayName( "Checkpoints should be saved and an interrupted validation should be resumed" )
+	void checkpointsShouldBeSavedAndInterruptedValidationShouldBeResumed( ) {
+		final Path directory = Paths.get( "repository" );
+		final File validatedFile = new File( directory.resolve( "artifact-1.0.pom" ), "pom", directory );
+		final File previousInvalidFile = new File( directory.resolve( "artifact-2.0.pom" ), "pom", directory );
+		final File validFile = new File( directory.resolve( "artifact-3.0.pom" ), "pom", directory );
+		final File invalidFile = new File( directory.resolve( "artifact-4.0.pom" ), "pom", directory );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		mockList( fileSystem, directory, validatedFile, previousInvalidFile, validFile, invalidFile );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( eq( validFile ), any( ) ) ).thenReturn( Option.of( sha1( "f0" ) ) );
+		when( sha1Calculator.calculate( eq( invalidFile ), any( ) ) ).thenReturn( Option.of( sha1( "0f" ) ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( any( File.class ) ) ).thenReturn( Option.of( sha1( "f0" ) ) );
+		final VerificationCache verificationCache = mock( VerificationCache.class );
+		final CheckpointStore checkpointStore = mock( CheckpointStore.class );
+		when( checkpointStore.isEnabled( ) ).thenReturn( true );
+		when( checkpointStore.load( directory ) ).thenReturn( Option.of( new Checkpoint( previousInvalidFile.getPathRelativeToDirectory( ), Collections.singletonList( previousInvalidFile ) ) ) );
+		final List<Checkpoint> checkpoints = new ArrayList<>( );
+		doAnswer( invocation -> checkpoints.add( invocation.getArgument( 1, Checkpoint.class ) ) ).when( checkpointStore ).save( eq( directory ), any( ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, verificationCache, new PlatformThreadExecution( 2 ), ReadOrder.WALK, checkpointStore, StructureCheck.NONE, Duration.ZERO );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
+
+		assertThat( result.get( ) ).containsExactly( previousInvalidFile, invalidFile );
+		verify( sha1Extractor, never( ) ).extract( validatedFile );
+		verify( sha1Extractor, never( ) ).extract( previousInvalidFile );
+		assertThat( checkpoints ).extracting( Checkpoint::getPosition ).containsExactly( validFile.getPathRelativeToDirectory( ), invalidFile.getPathRelativeToDirectory( ) );
+		assertThat( checkpoints.get( 0 ).getInvalidFiles( ) ).containsExactly( previousInvalidFile );
+		assertThat( checkpoints.get( 1 ).getInvalidFiles( ) ).containsExactly( previousInvalidFile, invalidFile );
+		verify( verificationCache, times( 3 ) ).persist( );
+		verify( checkpointStore ).delete( );
+	}
+
+	@Test
+	@DisplayName( "Checkpoints should be saved while later files are still being hashed" )
+	void checkpointsShouldBeSavedWhileLaterFilesAreStillBeingHashed( ) throws InterruptedException {
+		final Path directory = Paths.get( "repository" );
+		final File firstFile = new File( directory.resolve( "artifact-1.0.pom" ), "pom", directory );
+		final File secondFile = new File( directory.resolve( "artifact-2.0.pom" ), "pom", directory );
+		final File slowFile = new File( directory.resolve( "artifact-3.0.pom" ), "pom", directory );
+		final File lastFile = new File( directory.resolve( "artifact-4.0.pom" ), "pom", directory );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		mockList( fileSystem, directory, firstFile, secondFile, slowFile, lastFile );
+		final CountDownLatch slowFileReleased = new CountDownLatch( 1 );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( any( ), any( ) ) ).thenReturn( Option.of( sha1( "f0" ) ) );
+		when( sha1Calculator.calculate( eq( slowFile ), any( ) ) ).thenAnswer( invocation -> {
+			slowFileReleased.await( 10, TimeUnit.SECONDS );
+			return Option.of( sha1( "f0" ) );
+		} );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( any( File.class ) ) ).thenReturn( Option.of( sha1( "f0" ) ) );
+		final CheckpointStore checkpointStore = mock( CheckpointStore.class );
+		when( checkpointStore.isEnabled( ) ).thenReturn( true );
+		when( checkpointStore.load( directory ) ).thenReturn( Option.none( ) );
+		final CountDownLatch leadingFilesCheckpointed = new CountDownLatch( 1 );
+		doAnswer( invocation -> {
+			if ( invocation.getArgument( 1, Checkpoint.class ).getPosition( ).equals( secondFile.getPathRelativeToDirectory( ) ) ) {
+				leadingFilesCheckpointed.countDown( );
+			}
+			return null;
+		} ).when( checkpointStore ).save( eq( directory ), any( ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 1 ), ReadOrder.WALK, checkpointStore, StructureCheck.NONE, Duration.ZERO );
+		final CompletableFuture<Either<RootDirectoryCannotBeAccessed, List<File>>> result = CompletableFuture.supplyAsync( ( ) -> listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL ) );
+
+		try {
+			assertThat( leadingFilesCheckpointed.await( 10, TimeUnit.SECONDS ) ).isTrue( );
+			assertThat( result ).isNotDone( );
+		} finally {
+			slowFileReleased.countDown( );
+		}
+		assertThat( result.join( ).get( ) ).isEmpty( );
+		verify( checkpointStore ).delete( );
+	}
+
+	@Test
+	@DisplayName( "Uncached files should be hashed and cached" )
+	void uncachedFilesShouldBeHashedAndCached( ) {
+		final File file = new File( Paths.get( "commons-logging-1.0.4.pom" ), "pom", Paths.get( "." ) );
+		final File sha1File = new File( Paths.get( "commons-logging-1.0.4.pom.sha1" ), "sha1", Paths.get( "." ) );
+		final FileMetadata metadata = new FileMetadata( 42L, 4711L, "inode" );
+		final FileMetadata sha1Metadata = new FileMetadata( 40L, 4712L, "inode2" );
+		final FileFingerprint fingerprint = new FileFingerprint( metadata, Collections.singletonMap( ChecksumAlgorithm.SHA1, sha1Metadata ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		mockList( fileSystem, directory, file );
+		when( fileSystem.getMetadata( file ) ).thenReturn( Option.of( metadata ) );
+		when( fileSystem.getMetadata( sha1File ) ).thenReturn( Option.of( sha1Metadata ) );
+		when( fileSystem.getSiblingFile( any( ), any( ) ) ).thenReturn( Option.none( ) );
+		when( fileSystem.getSiblingFile( file, "commons-logging-1.0.4.pom.sha1" ) ).thenReturn( Option.of( sha1File ) );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( eq( file ), any( ) ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( file ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		final VerificationCache verificationCache = mock( VerificationCache.class );
+		when( verificationCache.isEnabled( ) ).thenReturn( true );
+		when( verificationCache.getValidity( file, fingerprint ) ).thenReturn( Option.none( ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, verificationCache, new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Either<RootDirectoryCannotBeAccessed, List<File>> result = listInvalidFiles.listInvalidFiles( directory, TraversalFilter.ALL );
+
 		assertThat( result.get( ) ).isEmpty( );
+		verify( verificationCache ).putValidity( file, fingerprint, true );
+		verify( verificationCache ).persist( );
+	}
+
+	@Test
+	@DisplayName( "Streaming should only report relevant invalid files" )
+	void streamingShouldOnlyReportRelevantInvalidFiles( ) {
+		final File file1 = new File( Paths.get( "commons-logging-1.0.4.pom" ), "pom", Paths.get( "." ) );
+		final File file2 = new File( Paths.get( "_remote.repositories" ), "repositories", Paths.get( "." ) );
+		final File file3 = new File( Paths.get( "commons-logging-1.0.4-sources.jar" ), "jar", Paths.get( "." ) );
+		final File file4 = new File( Paths.get( "commons-logging-1.0.4.jar" ), "jar", Paths.get( "." ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		mockWalk( fileSystem, directory, file1, file2, file3, file4 );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( eq( file1 ), any( ) ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		when( sha1Calculator.calculate( eq( file3 ), any( ) ) ).thenReturn( Option.none( ) );
+		when( sha1Calculator.calculate( eq( file4 ), any( ) ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( file1 ) ).thenReturn( Option.of( sha1( "f0" ) ) );
+		when( sha1Extractor.extract( file3 ) ).thenReturn( Option.none( ) );
+		when( sha1Extractor.extract( file4 ) ).thenReturn( Option.of( sha1( "F029A2AEFE2B3E1517573C580F948CAAC31B1056" ) ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final List<File> invalidFiles = Collections.synchronizedList( new ArrayList<>( ) );
+		final Option<RootDirectoryCannotBeAccessed> result = listInvalidFiles.streamInvalidFiles( directory, TraversalFilter.ALL, invalidFile -> invalidFiles.add( invalidFile ) );
+
+		assertThat( result.isEmpty( ) ).isTrue( );
+		assertThat( invalidFiles ).containsExactlyInAnyOrder( file1, file3 );
+	}
+
+	@Test
+	@DisplayName( "Streaming should handle more files than the queue can hold" )
+	void streamingShouldHandleMoreFilesThanTheQueueCanHold( ) {
+		final File[] files = new File[5000];
+		for ( int i = 0; i < files.length; i++ ) {
+			files[i] = new File( Paths.get( "artifact-" + i + ".pom" ), "pom", Paths.get( "." ) );
+		}
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockWalk( fileSystem, directory, files );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( any( ), any( ) ) ).thenReturn( Option.none( ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( any( ) ) ).thenReturn( Option.none( ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final List<File> invalidFiles = Collections.synchronizedList( new ArrayList<>( ) );
+		listInvalidFiles.streamInvalidFiles( directory, TraversalFilter.ALL, invalidFile -> invalidFiles.add( invalidFile ) );
+
+		assertThat( invalidFiles ).containsExactlyInAnyOrder( files );
+	}
+
+	@Test
+	@DisplayName( "Streaming should honor ignored path prefixes" )
+	void streamingShouldHonorIgnoredPathPrefixes( ) {
+		final File file = new File( Paths.get( "a" ).resolve( "b" ).resolve( "commons-logging-1.0.4.pom" ), "pom", Paths.get( "a" ) );
+
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		mockWalk( fileSystem, directory, file );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final List<File> invalidFiles = Collections.synchronizedList( new ArrayList<>( ) );
+		listInvalidFiles.streamInvalidFiles( directory, new PathPrefixFilter( Collections.singletonList( "B" ) ), invalidFile -> invalidFiles.add( invalidFile ) );
+
+		verifyNoInteractions( sha1Calculator );
+		verifyNoInteractions( sha1Extractor );
+		assertThat( invalidFiles ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Batched streaming should take everything from the directory listing" )
+	@SuppressWarnings( "unchecked" )
+	void batchedStreamingShouldTakeEverythingFromTheDirectoryListing( ) {
+		final Path directory = Paths.get( "repository" );
+		final File validFile = new File( directory.resolve( "commons-logging-1.0.4.pom" ), "pom", directory );
+		final File checksumFile = new File( directory.resolve( "commons-logging-1.0.4.pom.sha1" ), "sha1", directory );
+		final File invalidFile = new File( directory.resolve( "commons-logging-1.0.4.jar" ), "jar", directory );
+		final FileMetadata fileMetadata = new FileMetadata( 42L, 4711L, "inode1" );
+		final FileMetadata checksumFileMetadata = new FileMetadata( 40L, 4711L, "inode2" );
+		final Map<String, File> entries = new HashMap<>( );
+		final Map<String, FileMetadata> metadata = new HashMap<>( );
+		for ( final File file : Arrays.asList( validFile, checksumFile, invalidFile ) ) {
+			entries.put( file.getName( ), file );
+			metadata.put( file.getName( ), file == checksumFile ? checksumFileMetadata : fileMetadata );
+		}
+		final DirectoryListing listing = new DirectoryListing( directory, Arrays.asList( validFile, checksumFile, invalidFile ), entries, metadata );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		doAnswer( invocation -> {
+			invocation.getArgument( 2, Consumer.class ).accept( listing );
+			return Option.none( );
+		} ).when( fileSystem ).walkDirectoriesInDirectory( eq( directory ), any( ), any( ) );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		when( sha1Calculator.calculate( eq( validFile ), any( ) ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+		when( sha1Extractor.extract( validFile, listing ) ).thenReturn( Option.of( sha1( "f029a2aefe2b3e1517573c580f948caac31b1056" ) ) );
+		when( sha1Extractor.extract( invalidFile, listing ) ).thenReturn( Option.of( Checksums.EMPTY ) );
+		final VerificationCache verificationCache = mock( VerificationCache.class );
+		when( verificationCache.isEnabled( ) ).thenReturn( true );
+		when( verificationCache.getValidity( any( ), any( ) ) ).thenReturn( Option.none( ) );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, verificationCache, new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final List<File> invalidFiles = Collections.synchronizedList( new ArrayList<>( ) );
+		final ValidationStatistics statistics = new ValidationStatistics( );
+		listInvalidFiles.streamInvalidFilesByDirectory( directory, TraversalFilter.ALL, file -> invalidFiles.add( file ), statistics );
+
+		assertThat( invalidFiles ).containsExactly( invalidFile );
+		verify( verificationCache ).putValidity( validFile, new FileFingerprint( fileMetadata, Collections.singletonMap( ChecksumAlgorithm.SHA1, checksumFileMetadata ) ), true );
+		verify( fileSystem ).walkDirectoriesInDirectory( eq( directory ), any( ), any( ) );
+		verifyNoMoreInteractions( fileSystem );
+		assertThat( statistics.getDiscoveredFiles( ) ).isEqualTo( 3 );
+		assertThat( statistics.getSkippedFiles( ) ).isEqualTo( 1 );
+		assertThat( statistics.getHashedBytes( ) ).isEqualTo( 42 );
+	}
+
+	@Test
+	@DisplayName( "Streaming should route error through" )
+	void streamingShouldRouteErrorThrough( ) {
+		final Path directory = Paths.get( "repository" );
+
+		final FileSystem fileSystem = mock( FileSystem.class );
+		final RootDirectoryCannotBeAccessed error = new RootDirectoryCannotBeAccessed( );
+		when( fileSystem.walkFilesInDirectory( eq( directory ), any( ), any( ) ) ).thenReturn( Option.of( error ) );
+		final SHA1Calculator sha1Calculator = mock( SHA1Calculator.class );
+		final SHA1Extractor sha1Extractor = mock( SHA1Extractor.class );
+
+		final ListInvalidFiles listInvalidFiles = new ListInvalidFiles( fileSystem, sha1Calculator, sha1Extractor, new NoVerificationCache( ), new PlatformThreadExecution( 2 ), ReadOrder.WALK, CheckpointStore.NONE, StructureCheck.NONE, ListInvalidFiles.DEFAULT_CHECKPOINT_INTERVAL );
+		final Option<RootDirectoryCannotBeAccessed> result = listInvalidFiles.streamInvalidFiles( directory, TraversalFilter.ALL, invalidFile -> {
+		} );
+
+		assertThat( result.get( ) ).isEqualTo( error );
+	}
+
+	private Checksums sha1( final String sha1 ) {
+		return Checksums.of( ChecksumAlgorithm.SHA1, hex( sha1 ) );
+	}
+
+	private Checksums checksums( final String sha1, final String sha256 ) {
+		return sha1( sha1 ).with( ChecksumAlgorithm.SHA256, hex( sha256 ) );
+	}
+
+	private void mockList( final FileSystem fileSystem, final Path directory, final File... files ) {
+		doAnswer( invocation -> {
+			final TraversalFilter filter = invocation.getArgument( 1, TraversalFilter.class );
+			return Either.right( filter( files, filter ) );
+		} ).when( fileSystem ).listFilesInDirectory( eq( directory ), any( ) );
+	}
+
+	@SuppressWarnings( "unchecked" )
+	private void mockWalk( final FileSystem fileSystem, final Path directory, final File... files ) {
+		doAnswer( invocation -> {
+			final TraversalFilter filter = invocation.getArgument( 1, TraversalFilter.class );
+			final Consumer<File> consumer = invocation.getArgument( 2, Consumer.class );
+			filter( files, filter ).forEach( consumer );
+			return Option.none( );
+		} ).when( fileSystem ).walkFilesInDirectory( eq( directory ), any( ), any( ) );
+	}
+
+	private List<File> filter( final File[] files, final TraversalFilter filter ) {
+		return Arrays.stream( files )
+				.filter( file -> filter.includesFile( file.getPathRelativeToDirectory( ) ) )
+				.collect( Collectors.toList( ) );
+	}
+
+	private static byte[] hex( final String hex ) {
+		final byte[] bytes = new byte[hex.length( ) / 2];
+		for ( int i = 0; i < bytes.length; i++ ) {
+			bytes[i] = (byte) Integer.parseInt( hex.substring( 2 * i, 2 * i + 2 ), 16 );
+		}
+		return bytes;
 	}
 
 }
@@ -0,0 +1,76 @@
+package de.rhocas.nce.msv.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.ReportedResults;
+import de.rhocas.nce.msv.domain.error.ReportCannotBeRead;
+import de.rhocas.nce.msv.domain.port.ResultReportReader;
+import io.vavr.control.Either;
+
+@DisplayName( "Unit-Test for MergeResultReports" )
+final class MergeResultReportsTest {
+
+	private static final Path ROOT_DIRECTORY = Paths.get( "repository" );
+	private static final Path FIRST_REPORT = Paths.get( "shard-1.jsonl" );
+	private static final Path SECOND_REPORT = Paths.get( "shard-2.jsonl" );
+
+	@Test
+	@DisplayName( "Reports should be merged sorted and without duplicates" )
+	void reportsShouldBeMergedSortedAndWithoutDuplicates( ) {
+		final File libJar = createFile( "org/lib/1.0/lib-1.0.jar" );
+		final File libPom = createFile( "org/lib/1.0/lib-1.0.pom" );
+		final File appJar = createFile( "com/app/1.0/app-1.0.jar" );
+		final ResultReportReader reader = mock( ResultReportReader.class );
+		when( reader.read( FIRST_REPORT ) ).thenReturn( Either.right( new ReportedResults( Arrays.asList( libJar, libPom ), new RemovalReport( Collections.emptyList( ), Collections.emptyList( ), Collections.singletonList( libJar ) ) ) ) );
+		when( reader.read( SECOND_REPORT ) ).thenReturn( Either.right( new ReportedResults( Arrays.asList( libJar, appJar ), new RemovalReport( Collections.singletonList( libJar ), Collections.emptyList( ), Collections.emptyList( ) ) ) ) );
+
+		final ReportedResults results = new MergeResultReports( reader ).merge( Arrays.asList( FIRST_REPORT, SECOND_REPORT ) ).get( );
+
+		assertThat( results.getInvalidFiles( ) ).containsExactly( appJar, libJar, libPom );
+		assertThat( results.getRemovalReport( ).getRemovedFiles( ) ).containsExactly( libJar );
+		assertThat( results.getRemovalReport( ).getUnremovableFiles( ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "Error should be routed through" )
+	void errorShouldBeRoutedThrough( ) {
+		final ResultReportReader reader = mock( ResultReportReader.class );
+		when( reader.read( FIRST_REPORT ) ).thenReturn( Either.left( new ReportCannotBeRead( FIRST_REPORT ) ) );
+
+		final Either<ReportCannotBeRead, ReportedResults> result = new MergeResultReports( reader ).merge( Arrays.asList( FIRST_REPORT, SECOND_REPORT ) );
+
+		assertThat( result.getLeft( ).getReportFile( ) ).isEqualTo( FIRST_REPORT );
+	}
+
+	@Test
+	@DisplayName( "Removal plan should only contain files which have not been removed" )
+	void removalPlanShouldOnlyContainFilesWhichHaveNotBeenRemoved( ) {
+		final File libJar = createFile( "org/lib/1.0/lib-1.0.jar" );
+		final File libPom = createFile( "org/lib/1.0/lib-1.0.pom" );
+		final File appJar = createFile( "com/app/1.0/app-1.0.jar" );
+		final File toolJar = createFile( "com/tool/1.0/tool-1.0.jar" );
+		final RemovalReport removalReport = new RemovalReport( Collections.singletonList( libJar ), Collections.singletonList( ROOT_DIRECTORY.resolve( "com/app/1.0" ) ), Collections.emptyList( ) );
+
+		final MergeResultReports mergeResultReports = new MergeResultReports( mock( ResultReportReader.class ) );
+
+		assertThat( mergeResultReports.createRemovalPlan( new ReportedResults( Arrays.asList( appJar, libJar, libPom, toolJar ), removalReport ) ) ).containsExactly( libPom, toolJar );
+	}
+
+	private static File createFile( final String relativePath ) {
+		final int lastIndex = relativePath.lastIndexOf( '.' );
+		return new File( ROOT_DIRECTORY.resolve( relativePath ), relativePath.substring( lastIndex + 1 ), ROOT_DIRECTORY );
+	}
+
+}
@@ -1,16 +1,26 @@
 package de.rhocas.nce.msv.usecase;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 
+import de.rhocas.nce.msv.adapter.execution.PlatformThreadExecution;
 import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.RemovalReport;
+import de.rhocas.nce.msv.domain.entity.RemovalScope;
 import de.rhocas.nce.msv.domain.error.FilesCannotBeRemoved;
 import de.rhocas.nce.msv.domain.port.FileSystem;
 import io.vavr.control.Option;
@@ -18,27 +28,144 @@ import io.vavr.control.Option;
 @DisplayName( "Unit-Test for RemoveInvalidFiles" )
 final class RemoveInvalidFilesTest {
 
+	private static final Path ROOT_DIRECTORY = Paths.get( "repository" );
+	private static final Path VERSION_DIRECTORY = ROOT_DIRECTORY.resolve( "lib/1.0" );
+
 	@Test
-	@DisplayName( "Success should be routed through" )
-	void successShouldBeRoutedThrough( ) {
-		final List<File> files = Collections.emptyList( );
+	@DisplayName( "Only the invalid files should be removed in the FILE scope" )
+	void onlyInvalidFilesShouldBeRemovedInFileScope( ) {
+		final File jarFile = createFile( "lib-1.0.jar" );
+		final List<File> files = Collections.singletonList( jarFile );
 		final FileSystem fileSystem = mock( FileSystem.class );
 		when( fileSystem.removeFiles( files ) ).thenReturn( Option.none( ) );
 
-		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem );
-		assertThat( removeInvalidFiles.remove( files ).isEmpty( ) ).isTrue( );
+		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem, new PlatformThreadExecution( 2 ) );
+		final RemovalReport report = removeInvalidFiles.remove( files, RemovalScope.FILE );
+
+		assertThat( report.getRemovedFiles( ) ).containsExactly( jarFile );
+		assertThat( report.getRemovedDirectories( ) ).isEmpty( );
+		assertThat( report.getUnremovableFiles( ) ).isEmpty( );
+		verify( fileSystem, never( ) ).listSiblingFiles( any( ) );
+		verify( fileSystem, never( ) ).removeDirectoryIfEmpty( any( ) );
 	}
 
 	@Test
 	@DisplayName( "Error should be routed through" )
 	void errorShouldBeRoutedThrough( ) {
-		final List<File> files = Collections.emptyList( );
+		final File jarFile = createFile( "lib-1.0.jar" );
+		final File pomFile = createFile( "lib-1.0.pom" );
+		final List<File> files = Arrays.asList( jarFile, pomFile );
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.removeFiles( files ) ).thenReturn( Option.of( new FilesCannotBeRemoved( Collections.singletonList( pomFile ) ) ) );
+
+		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem, new PlatformThreadExecution( 2 ) );
+		final RemovalReport report = removeInvalidFiles.remove( files, RemovalScope.FILE );
+
+		assertThat( report.getRemovedFiles( ) ).containsExactly( jarFile );
+		assertThat( report.getUnremovableFiles( ) ).containsExactly( pomFile );
+	}
+
+	@Test
+	@DisplayName( "Sidecars should be removed, but not the other artifacts of the version" )
+	void sidecarsShouldBeRemoved( ) {
+		final File jarFile = createFile( "lib-1.0.jar" );
+		final File jarSHA1File = createFile( "lib-1.0.jar.sha1" );
+		final File jarMD5File = createFile( "lib-1.0.jar.md5" );
+		final File jarLastUpdatedFile = createFile( "lib-1.0.jar.lastUpdated" );
+		final File pomFile = createFile( "lib-1.0.pom" );
+		final File pomSHA1File = createFile( "lib-1.0.pom.sha1" );
+		final File remoteRepositoriesFile = createFile( "_remote.repositories" );
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.listSiblingFiles( jarFile ) ).thenReturn( Option.of( Arrays.asList( jarFile, jarSHA1File, jarMD5File, jarLastUpdatedFile, pomFile, pomSHA1File, remoteRepositoriesFile ) ) );
+		when( fileSystem.removeFiles( any( ) ) ).thenReturn( Option.none( ) );
+
+		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem, new PlatformThreadExecution( 2 ) );
+		final RemovalReport report = removeInvalidFiles.remove( Collections.singletonList( jarFile ), RemovalScope.SIDECARS );
+
+		assertThat( report.getRemovedFiles( ) ).containsExactly( jarFile, jarSHA1File, jarMD5File, jarLastUpdatedFile );
+		assertThat( report.getRemovedDirectories( ) ).isEmpty( );
+		assertThat( report.getUnremovableFiles( ) ).isEmpty( );
+		verify( fileSystem, never( ) ).removeDirectoryIfEmpty( any( ) );
+	}
+
+	@Test
+	@DisplayName( "Remaining bookkeeping files and the directory should be removed in the SIDECARS scope" )
+	void remainingBookkeepingFilesShouldBeRemovedInSidecarsScope( ) {
+		final File pomFile = createFile( "lib-1.0.pom" );
+		final File pomSHA1File = createFile( "lib-1.0.pom.sha1" );
+		final File remoteRepositoriesFile = createFile( "_remote.repositories" );
+		final File lastUpdatedFile = createFile( "lib-1.0.jar.lastUpdated" );
 		final FileSystem fileSystem = mock( FileSystem.class );
-		final FilesCannotBeRemoved error = new FilesCannotBeRemoved( Collections.emptyList( ) );
-		when( fileSystem.removeFiles( files ) ).thenReturn( Option.of( error ) );
+		when( fileSystem.listSiblingFiles( pomFile ) ).thenReturn( Option.of( Arrays.asList( pomFile, pomSHA1File, remoteRepositoriesFile, lastUpdatedFile ) ) );
+		when( fileSystem.removeFiles( any( ) ) ).thenReturn( Option.none( ) );
+		when( fileSystem.removeDirectoryIfEmpty( VERSION_DIRECTORY.toAbsolutePath( ) ) ).thenReturn( true );
+
+		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem, new PlatformThreadExecution( 2 ) );
+		final RemovalReport report = removeInvalidFiles.remove( Collections.singletonList( pomFile ), RemovalScope.SIDECARS );
+
+		assertThat( report.getRemovedFiles( ) ).containsExactly( pomFile, pomSHA1File, remoteRepositoriesFile, lastUpdatedFile );
+		assertThat( report.getRemovedDirectories( ) ).containsExactly( VERSION_DIRECTORY );
+	}
+
+	@Test
+	@DisplayName( "The whole version should be removed in the VERSION scope" )
+	void wholeVersionShouldBeRemovedInVersionScope( ) {
+		final File jarFile = createFile( "lib-1.0.jar" );
+		final File pomFile = createFile( "lib-1.0.pom" );
+		final File pomSHA1File = createFile( "lib-1.0.pom.sha1" );
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.listSiblingFiles( jarFile ) ).thenReturn( Option.of( Arrays.asList( pomFile, jarFile, pomSHA1File ) ) );
+		when( fileSystem.removeFiles( Arrays.asList( jarFile, pomFile, pomSHA1File ) ) ).thenReturn( Option.none( ) );
+		when( fileSystem.removeDirectoryIfEmpty( VERSION_DIRECTORY.toAbsolutePath( ) ) ).thenReturn( true );
+
+		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem, new PlatformThreadExecution( 2 ) );
+		final RemovalReport report = removeInvalidFiles.remove( Collections.singletonList( jarFile ), RemovalScope.VERSION );
+
+		assertThat( report.getRemovedFiles( ) ).containsExactly( jarFile, pomFile, pomSHA1File );
+		assertThat( report.getRemovedDirectories( ) ).containsExactly( VERSION_DIRECTORY );
+		assertThat( report.getUnremovableFiles( ) ).isEmpty( );
+	}
+
+	@Test
+	@DisplayName( "The directory should be kept if a file cannot be removed" )
+	void directoryShouldBeKeptIfFileCannotBeRemoved( ) {
+		final File jarFile = createFile( "lib-1.0.jar" );
+		final File pomFile = createFile( "lib-1.0.pom" );
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.listSiblingFiles( jarFile ) ).thenReturn( Option.of( Arrays.asList( jarFile, pomFile ) ) );
+		when( fileSystem.removeFiles( any( ) ) ).thenReturn( Option.of( new FilesCannotBeRemoved( Collections.singletonList( pomFile ) ) ) );
+
+		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem, new PlatformThreadExecution( 2 ) );
+		final RemovalReport report = removeInvalidFiles.remove( Collections.singletonList( jarFile ), RemovalScope.VERSION );
+
+		assertThat( report.getRemovedFiles( ) ).containsExactly( jarFile );
+		assertThat( report.getUnremovableFiles( ) ).containsExactly( pomFile );
+		assertThat( report.getRemovedDirectories( ) ).isEmpty( );
+		verify( fileSystem, never( ) ).removeDirectoryIfEmpty( any( ) );
+	}
+
+	@Test
+	@DisplayName( "Files of many directories should be removed in batches and reported in the given order" )
+	void filesOfManyDirectoriesShouldBeRemovedInBatches( ) {
+		final List<File> files = new ArrayList<>( );
+		for ( int index = 0; index < RemoveInvalidFiles.DIRECTORIES_PER_BATCH * 3 + 1; index++ ) {
+			final Path directory = ROOT_DIRECTORY.resolve( "lib/" + index );
+			files.add( new File( directory.resolve( "lib-" + index + ".jar" ), "jar", ROOT_DIRECTORY ) );
+			files.add( new File( directory.resolve( "lib-" + index + ".pom" ), "pom", ROOT_DIRECTORY ) );
+		}
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.removeFiles( any( ) ) ).thenReturn( Option.none( ) );
+
+		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem, new PlatformThreadExecution( 4 ) );
+		final RemovalReport report = removeInvalidFiles.remove( files, RemovalScope.FILE );
+
+		assertThat( report.getRemovedFiles( ) ).containsExactlyElementsOf( files );
+		assertThat( report.getUnremovableFiles( ) ).isEmpty( );
+	}
 
-		final RemoveInvalidFiles removeInvalidFiles = new RemoveInvalidFiles( fileSystem );
-		assertThat( removeInvalidFiles.remove( files ).get( ) ).isEqualTo( error );
+	private static File createFile( final String name ) {
+		final int lastIndex = name.lastIndexOf( '.' );
+		return new File( VERSION_DIRECTORY.resolve( name ), lastIndex == -1 ? null : name.substring( lastIndex + 1 ), ROOT_DIRECTORY );
 	}
 
 }
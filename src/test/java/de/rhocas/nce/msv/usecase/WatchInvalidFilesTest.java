@@ -0,0 +1,192 @@
+package de.rhocas.nce.msv.usecase;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import de.rhocas.nce.msv.domain.entity.File;
+import de.rhocas.nce.msv.domain.entity.ValidationStatistics;
+import de.rhocas.nce.msv.domain.error.RootDirectoryCannotBeAccessed;
+import de.rhocas.nce.msv.domain.filter.TraversalFilter;
+import de.rhocas.nce.msv.domain.port.Console;
+import de.rhocas.nce.msv.domain.port.FileSystem;
+import io.vavr.control.Option;
+
+@DisplayName( "Unit-Test for WatchInvalidFiles" )
+final class WatchInvalidFilesTest {
+
+	private static final Path ROOT_DIRECTORY = Paths.get( "repository" );
+	private static final Duration SETTLE_TIME = Duration.ofSeconds( 2 );
+	private static final long SECOND = TimeUnit.SECONDS.toNanos( 1 );
+
+	private final File jarFile = new File( ROOT_DIRECTORY.resolve( "lib/1.0/lib-1.0.jar" ), "jar", ROOT_DIRECTORY );
+	private final File sha1File = new File( ROOT_DIRECTORY.resolve( "lib/1.0/lib-1.0.jar.sha1" ), "sha1", ROOT_DIRECTORY );
+
+	@Test
+	@DisplayName( "Artifact should be validated once it and its checksum file have settled" )
+	void artifactShouldBeValidatedOnceSettled( ) {
+		final FileSystem fileSystem = mockFileSystem( true );
+		final ListInvalidFiles listInvalidFiles = mockListInvalidFiles( );
+		final List<File> invalidFiles = new ArrayList<>( );
+		final WatchInvalidFiles watchInvalidFiles = new WatchInvalidFiles( fileSystem, listInvalidFiles, mock( Console.class ) );
+
+		watchInvalidFiles.fileChanged( jarFile, 0 );
+		watchInvalidFiles.fileChanged( sha1File, SECOND );
+		watchInvalidFiles.validateSettledArtifacts( 2 * SECOND, SETTLE_TIME, invalidFiles::add, new ValidationStatistics( ) );
+		assertThat( invalidFiles ).isEmpty( );
+
+		watchInvalidFiles.validateSettledArtifacts( 3 * SECOND, SETTLE_TIME, invalidFiles::add, new ValidationStatistics( ) );
+		assertThat( invalidFiles ).extracting( File::getPath ).containsExactly( jarFile.getPath( ) );
+
+		// The artifact is only validated again after the next change
+		watchInvalidFiles.validateSettledArtifacts( 10 * SECOND, SETTLE_TIME, invalidFiles::add, new ValidationStatistics( ) );
+		assertThat( invalidFiles ).hasSize( 1 );
+	}
+
+	@Test
+	@DisplayName( "Artifact without checksum file should be validated after the maximal wait" )
+	void artifactWithoutChecksumFileShouldBeValidatedAfterMaximalWait( ) {
+		final FileSystem fileSystem = mockFileSystem( false );
+		final ListInvalidFiles listInvalidFiles = mockListInvalidFiles( );
+		final List<File> invalidFiles = new ArrayList<>( );
+		final WatchInvalidFiles watchInvalidFiles = new WatchInvalidFiles( fileSystem, listInvalidFiles, mock( Console.class ) );
+
+		watchInvalidFiles.fileChanged( jarFile, 0 );
+		watchInvalidFiles.validateSettledArtifacts( 3 * SECOND, SETTLE_TIME, invalidFiles::add, new ValidationStatistics( ) );
+		assertThat( invalidFiles ).isEmpty( );
+
+		watchInvalidFiles.validateSettledArtifacts( SETTLE_TIME.toNanos( ) * WatchInvalidFiles.MAXIMAL_CHECKSUM_FILE_WAIT_FACTOR, SETTLE_TIME, invalidFiles::add, new ValidationStatistics( ) );
+		assertThat( invalidFiles ).containsExactly( jarFile );
+	}
+
+	@Test
+	@DisplayName( "Irrelevant files should be ignored" )
+	void irrelevantFilesShouldBeIgnored( ) {
+		final FileSystem fileSystem = mockFileSystem( true );
+		final ListInvalidFiles listInvalidFiles = mockListInvalidFiles( );
+		final List<File> invalidFiles = new ArrayList<>( );
+		final WatchInvalidFiles watchInvalidFiles = new WatchInvalidFiles( fileSystem, listInvalidFiles, mock( Console.class ) );
+
+		watchInvalidFiles.fileChanged( new File( ROOT_DIRECTORY.resolve( "lib/1.0/_remote.repositories" ), "repositories", ROOT_DIRECTORY ), 0 );
+		watchInvalidFiles.validateSettledArtifacts( 100 * SECOND, SETTLE_TIME, invalidFiles::add, new ValidationStatistics( ) );
+
+		assertThat( invalidFiles ).isEmpty( );
+		verifyNoInteractions( fileSystem );
+	}
+
+	@Test
+	@DisplayName( "Verification cache should only be persisted if artifacts have been validated" )
+	void verificationCacheShouldOnlyBePersistedIfArtifactsHaveBeenValidated( ) {
+		final FileSystem fileSystem = mockFileSystem( true );
+		final ListInvalidFiles listInvalidFiles = mockListInvalidFiles( );
+		final WatchInvalidFiles watchInvalidFiles = new WatchInvalidFiles( fileSystem, listInvalidFiles, mock( Console.class ) );
+
+		watchInvalidFiles.persistVerificationCache( );
+		verify( listInvalidFiles, never( ) ).persistVerificationCache( );
+
+		watchInvalidFiles.fileChanged( jarFile, 0 );
+		watchInvalidFiles.validateSettledArtifacts( 3 * SECOND, SETTLE_TIME, file -> {
+		}, new ValidationStatistics( ) );
+		watchInvalidFiles.persistVerificationCache( );
+		watchInvalidFiles.persistVerificationCache( );
+		verify( listInvalidFiles, times( 1 ) ).persistVerificationCache( );
+	}
+
+	@Test
+	@DisplayName( "Verification cache should be persisted when the watch ends" )
+	void verificationCacheShouldBePersistedWhenTheWatchEnds( ) {
+		final FileSystem fileSystem = mockFileSystem( true );
+		final ListInvalidFiles listInvalidFiles = mockListInvalidFiles( );
+		final WatchInvalidFiles watchInvalidFiles = new WatchInvalidFiles( fileSystem, listInvalidFiles, mock( Console.class ) );
+		when( fileSystem.watchFilesInDirectory( eq( ROOT_DIRECTORY ), eq( TraversalFilter.ALL ), any( ) ) ).thenAnswer( invocation -> {
+			watchInvalidFiles.fileChanged( jarFile, 0 );
+			watchInvalidFiles.validateSettledArtifacts( 3 * SECOND, SETTLE_TIME, file -> {
+			}, new ValidationStatistics( ) );
+			return Option.none( );
+		} );
+
+		assertThat( watchInvalidFiles.watchInvalidFiles( ROOT_DIRECTORY, TraversalFilter.ALL, SETTLE_TIME, file -> {
+		}, new ValidationStatistics( ) ) ).isEmpty( );
+		verify( listInvalidFiles ).persistVerificationCache( );
+	}
+
+	@Test
+	@DisplayName( "Failed validation should be reported and should not stop the watch" )
+	void failedValidationShouldBeReportedAndShouldNotStopTheWatch( ) {
+		final FileSystem fileSystem = mockFileSystem( true );
+		final ListInvalidFiles listInvalidFiles = mockListInvalidFiles( );
+		when( listInvalidFiles.listInvalidFiles( anyList( ), any( ValidationStatistics.class ) ) )
+				.thenThrow( new IllegalStateException( "The validation failed." ) )
+				.thenReturn( Collections.singletonList( jarFile ) );
+		final Console console = mock( Console.class );
+		final List<File> invalidFiles = new CopyOnWriteArrayList<>( );
+		final WatchInvalidFiles watchInvalidFiles = new WatchInvalidFiles( fileSystem, listInvalidFiles, console );
+		when( fileSystem.watchFilesInDirectory( eq( ROOT_DIRECTORY ), eq( TraversalFilter.ALL ), any( ) ) ).thenAnswer( invocation -> {
+			watchInvalidFiles.fileChanged( jarFile, System.nanoTime( ) );
+			verify( console, timeout( 10_000 ) ).printError( contains( "The validation failed." ) );
+
+			watchInvalidFiles.fileChanged( jarFile, System.nanoTime( ) );
+			verify( listInvalidFiles, timeout( 10_000 ).times( 2 ) ).listInvalidFiles( anyList( ), any( ValidationStatistics.class ) );
+			return Option.none( );
+		} );
+
+		assertThat( watchInvalidFiles.watchInvalidFiles( ROOT_DIRECTORY, TraversalFilter.ALL, Duration.ofMillis( 10 ), invalidFiles::add, new ValidationStatistics( ) ) ).isEmpty( );
+		assertThat( invalidFiles ).containsExactly( jarFile );
+	}
+
+	@Test
+	@DisplayName( "Error should be routed through" )
+	void errorShouldBeRoutedThrough( ) {
+		final FileSystem fileSystem = mock( FileSystem.class );
+		final RootDirectoryCannotBeAccessed error = new RootDirectoryCannotBeAccessed( );
+		when( fileSystem.watchFilesInDirectory( eq( ROOT_DIRECTORY ), eq( TraversalFilter.ALL ), any( ) ) ).thenReturn( Option.of( error ) );
+		final WatchInvalidFiles watchInvalidFiles = new WatchInvalidFiles( fileSystem, mockListInvalidFiles( ), mock( Console.class ) );
+
+		assertThat( watchInvalidFiles.watchInvalidFiles( ROOT_DIRECTORY, TraversalFilter.ALL, SETTLE_TIME, file -> {
+		}, new ValidationStatistics( ) ) ).contains( error );
+		verify( fileSystem ).watchFilesInDirectory( eq( ROOT_DIRECTORY ), eq( TraversalFilter.ALL ), any( ) );
+	}
+
+	private FileSystem mockFileSystem( final boolean checksumFileExists ) {
+		final FileSystem fileSystem = mock( FileSystem.class );
+		when( fileSystem.getSize( any( ) ) ).thenReturn( Option.of( 1024L ) );
+		when( fileSystem.getSiblingFile( any( ), any( ) ) ).thenReturn( Option.none( ) );
+		if ( checksumFileExists ) {
+			when( fileSystem.getSiblingFile( any( ), eq( "lib-1.0.jar.sha1" ) ) ).thenReturn( Option.of( sha1File ) );
+		}
+		return fileSystem;
+	}
+
+	private static ListInvalidFiles mockListInvalidFiles( ) {
+		final ListInvalidFiles listInvalidFiles = mock( ListInvalidFiles.class );
+		when( listInvalidFiles.isRelevantForValidation( any( ) ) ).thenAnswer( invocation -> invocation.getArgument( 0, File.class ).getName( ).endsWith( ".jar" ) );
+		// All validated files are reported as invalid
+		when( listInvalidFiles.listInvalidFiles( anyList( ), any( ValidationStatistics.class ) ) ).thenAnswer( invocation -> {
+			final List<File> files = invocation.getArgument( 0 );
+			return new ArrayList<>( files );
+		} );
+		return listInvalidFiles;
+	}
+
+}